@@ -1,6 +1,11 @@
 package com.example.apartmentmanagerapi.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -8,58 +13,148 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Configuration for asynchronous processing.
- * Enables @Async annotation and configures thread pool for async operations.
+ * Enables @Async annotation and configures one bounded thread pool per workload class,
+ * so a burst in one workload cannot starve or reject work in another.
+ * Pools are exposed as ThreadPoolTaskExecutor beans, which Spring Boot binds to
+ * Micrometer executor metrics tagged with the bean name; rejections are counted
+ * separately as executor.rejected.
+ * Audit log persistence does not use these pools; it has its own writer thread.
  */
 @Configuration
 @EnableAsync
+@RequiredArgsConstructor
 @Slf4j
 public class AsyncConfig implements AsyncConfigurer {
-    
+
+    /**
+     * Side effects of domain events (event listeners running after commit)
+     */
+    public static final String DOMAIN_EVENT_EXECUTOR = "domainEventExecutor";
+
+    /**
+     * Outbound notifications to tenants and managers
+     */
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+
+    /**
+     * Durable background jobs claimed from the job queue
+     */
+    public static final String JOB_EXECUTOR = "jobExecutor";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.async.domain-events.core-size:2}")
+    private int domainEventCoreSize;
+
+    @Value("${app.async.domain-events.max-size:8}")
+    private int domainEventMaxSize;
+
+    @Value("${app.async.domain-events.queue-capacity:500}")
+    private int domainEventQueueCapacity;
+
+    @Value("${app.async.notifications.core-size:2}")
+    private int notificationCoreSize;
+
+    @Value("${app.async.notifications.max-size:4}")
+    private int notificationMaxSize;
+
+    @Value("${app.async.notifications.queue-capacity:1000}")
+    private int notificationQueueCapacity;
+
+    @Value("${app.async.jobs.core-size:4}")
+    private int jobCoreSize;
+
+    @Value("${app.async.jobs.max-size:8}")
+    private int jobMaxSize;
+
+    @Value("${app.async.jobs.queue-capacity:16}")
+    private int jobQueueCapacity;
+
+    /**
+     * Executor for domain event side effects.
+     * When saturated the publishing thread runs the task itself, slowing producers
+     * down instead of losing work.
+     */
+    @Bean(name = DOMAIN_EVENT_EXECUTOR)
+    public ThreadPoolTaskExecutor domainEventExecutor() {
+        return createExecutor(DOMAIN_EVENT_EXECUTOR, "DomainEvent-", domainEventCoreSize, domainEventMaxSize,
+                domainEventQueueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Executor for notifications.
+     * Notifications are best effort, so when saturated new ones are discarded rather than
+     * blocking request threads on slow delivery.
+     */
+    @Bean(name = NOTIFICATION_EXECUTOR)
+    public ThreadPoolTaskExecutor notificationExecutor() {
+        return createExecutor(NOTIFICATION_EXECUTOR, "Notification-", notificationCoreSize, notificationMaxSize,
+                notificationQueueCapacity, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Executor for background jobs.
+     * Jobs are persistent, so when saturated submissions fail fast and the worker hands
+     * the job back to the queue for a later poll.
+     */
+    @Bean(name = JOB_EXECUTOR)
+    public ThreadPoolTaskExecutor jobExecutor() {
+        return createExecutor(JOB_EXECUTOR, "Job-", jobCoreSize, jobMaxSize,
+                jobQueueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+
     /**
-     * Configure the thread pool executor for async operations
+     * Default executor for @Async methods that do not name one
      */
     @Override
     public Executor getAsyncExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        
-        // Core pool size - number of threads to keep in the pool
-        executor.setCorePoolSize(2);
-        
-        // Maximum pool size
-        executor.setMaxPoolSize(10);
-        
-        // Queue capacity - number of tasks to queue before creating new threads
-        executor.setQueueCapacity(100);
-        
-        // Thread name prefix for easier debugging
-        executor.setThreadNamePrefix("AuditAsync-");
-        
-        // Wait for tasks to complete on shutdown
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        
-        // Maximum time to wait for tasks to complete on shutdown
-        executor.setAwaitTerminationSeconds(30);
-        
-        // Initialize the executor
-        executor.initialize();
-        
-        log.info("Async executor configured with core pool size: {}, max pool size: {}", 
-                executor.getCorePoolSize(), executor.getMaxPoolSize());
-        
-        return executor;
+        return domainEventExecutor();
     }
-    
+
     /**
      * Handle exceptions that occur in async methods
      */
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return (throwable, method, objects) -> {
-            log.error("Exception in async method '{}' with parameters {}", 
+            log.error("Exception in async method '{}' with parameters {}",
                     method.getName(), objects, throwable);
         };
     }
-}
\ No newline at end of file
+
+    private ThreadPoolTaskExecutor createExecutor(String name, String threadNamePrefix, int coreSize, int maxSize,
+                                                  int queueCapacity, RejectedExecutionHandler rejectionPolicy) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(countingRejections(name, rejectionPolicy));
+
+        // Wait for tasks to complete on shutdown
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        log.info("Async executor '{}' configured with core pool size: {}, max pool size: {}, queue capacity: {}",
+                name, coreSize, maxSize, queueCapacity);
+        return executor;
+    }
+
+    private RejectedExecutionHandler countingRejections(String name, RejectedExecutionHandler delegate) {
+        Counter rejected = Counter.builder("executor.rejected")
+                .description("Tasks rejected because the executor was saturated")
+                .tag("name", name)
+                .register(meterRegistry);
+        return (task, executor) -> {
+            rejected.increment();
+            log.warn("Async executor '{}' saturated (active: {}, queued: {}), applying {}",
+                    name, executor.getActiveCount(), executor.getQueue().size(), delegate.getClass().getSimpleName());
+            delegate.rejectedExecution(task, executor);
+        };
+    }
+}
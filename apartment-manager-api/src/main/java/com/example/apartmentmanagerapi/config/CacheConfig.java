@@ -59,11 +59,11 @@ public class CacheConfig {
                         .recordStats()
                         .build());
         
-        // Monthly expense totals cache - refreshed every 15 minutes
+        // Monthly expense totals cache - one entry per building and month, refreshed every 15 minutes
         cacheManager.registerCustomCache("monthlyExpenseTotals",
                 Caffeine.newBuilder()
                         .expireAfterWrite(15, TimeUnit.MINUTES)
-                        .maximumSize(100)
+                        .maximumSize(10000)
                         .recordStats()
                         .build());
         
@@ -125,5 +125,14 @@ public class CacheConfig {
                         .maximumSize(200)
                         .recordStats()
                         .build());
+        
+        // Building occupancy analytics cache - refreshed every 30 minutes
+        // Per-flat summaries and monthly series computed from the building's whole contract history
+        cacheManager.registerCustomCache("buildingOccupancy",
+                Caffeine.newBuilder()
+                        .expireAfterWrite(30, TimeUnit.MINUTES)
+                        .maximumSize(100)
+                        .recordStats()
+                        .build());
     }
 }
\ No newline at end of file
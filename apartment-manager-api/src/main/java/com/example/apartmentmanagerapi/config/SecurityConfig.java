@@ -95,6 +95,8 @@ public class SecurityConfig {
                 .requestMatchers("/swagger-ui.html").permitAll() // Swagger UI HTML
                 .requestMatchers("/v3/api-docs/**").permitAll() // OpenAPI 3 spec
                 .requestMatchers("/webjars/**").permitAll() // Swagger UI webjars
+                // Probes and the Prometheus scraper do not carry JWTs; other actuator endpoints stay authenticated
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 .anyRequest().authenticated() // All other requests need authentication
             );
 
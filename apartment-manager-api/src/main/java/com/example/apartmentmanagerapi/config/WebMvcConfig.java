@@ -0,0 +1,59 @@
+package com.example.apartmentmanagerapi.config;
+
+import com.example.apartmentmanagerapi.filter.BuildingETagInterceptor;
+import com.example.apartmentmanagerapi.service.IBuildingAccessService;
+import com.example.apartmentmanagerapi.service.IBuildingVersionService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration.
+ * Registers the handler interceptors of the API. The class itself is not a WebMvcConfigurer so that
+ * {@code @WebMvcTest} slices, which only pick up MVC infrastructure types, leave it and its service
+ * dependencies out.
+ */
+@Configuration
+public class WebMvcConfig {
+    
+    /**
+     * ETag revalidation for building-scoped reads
+     * 
+     * @param buildingVersionService Source of building data versions
+     * @param buildingAccessService Building access checks
+     * @param roleHierarchy Role hierarchy applied by method security
+     * @param applicationContext Resolves bean references such as {@code @buildingAccess} in expressions
+     * @return The interceptor
+     */
+    @Bean
+    public BuildingETagInterceptor buildingETagInterceptor(IBuildingVersionService buildingVersionService,
+                                                           IBuildingAccessService buildingAccessService,
+                                                           RoleHierarchy roleHierarchy,
+                                                           ApplicationContext applicationContext) {
+        // Same evaluation as @EnableMethodSecurity, kept local so method security's own handler is untouched
+        DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setRoleHierarchy(roleHierarchy);
+        expressionHandler.setApplicationContext(applicationContext);
+        return new BuildingETagInterceptor(buildingVersionService, buildingAccessService, expressionHandler);
+    }
+    
+    /**
+     * Adds ETag revalidation to building-scoped API reads
+     * 
+     * @param buildingETagInterceptor The interceptor
+     * @return Configurer registering the interceptor
+     */
+    @Bean
+    public WebMvcConfigurer apiInterceptorConfigurer(BuildingETagInterceptor buildingETagInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(buildingETagInterceptor).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
@@ -2,8 +2,10 @@ package com.example.apartmentmanagerapi.controller;
 
 import com.example.apartmentmanagerapi.dto.ApartmentBuildingRequest;
 import com.example.apartmentmanagerapi.dto.ApartmentBuildingResponse;
+import com.example.apartmentmanagerapi.dto.BuildingAssignmentResponse;
 import com.example.apartmentmanagerapi.dto.MessageResponse;
 import com.example.apartmentmanagerapi.service.IApartmentBuildingService;
+import com.example.apartmentmanagerapi.service.IBuildingAssignmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -31,6 +33,9 @@ public class ApartmentBuildingController {
     @Autowired
     private IApartmentBuildingService apartmentBuildingService;
 
+    @Autowired
+    private IBuildingAssignmentService buildingAssignmentService;
+
     @Operation(
         summary = "Create apartment building",
         description = "Creates a new apartment building. Requires MANAGER or ADMIN role."
@@ -230,4 +235,127 @@ public class ApartmentBuildingController {
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    @Operation(
+        summary = "Get building assignments",
+        description = "Retrieves the users assigned to an apartment building. Only assigned users (and admins) can use the building's endpoints. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Active assignments of the building",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = BuildingAssignmentResponse.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Building not found",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = MessageResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden - User does not have ADMIN role"
+        )
+    })
+    @GetMapping("/{id}/assignments")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getBuildingAssignments(
+            @Parameter(description = "ID of the apartment building", required = true)
+            @PathVariable Long id) {
+        try {
+            List<BuildingAssignmentResponse> assignments = buildingAssignmentService.getAssignments(id);
+            return ResponseEntity.ok(assignments);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Assign user to building",
+        description = "Gives a user access to the building's endpoints. Reactivates a previous assignment if there is one. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "User assigned successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = BuildingAssignmentResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Building or user not found",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = MessageResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden - User does not have ADMIN role"
+        )
+    })
+    @PutMapping("/{id}/assignments/{userId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> assignUser(
+            @Parameter(description = "ID of the apartment building", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "ID of the user to assign", required = true)
+            @PathVariable Long userId,
+            @Parameter(description = "Optional notes about the assignment")
+            @RequestParam(required = false) String notes) {
+        try {
+            BuildingAssignmentResponse response = buildingAssignmentService.assignUser(id, userId, notes);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Unassign user from building",
+        description = "Revokes a user's access to the building's endpoints. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "User unassigned successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = MessageResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "User is not assigned to the building",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = MessageResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden - User does not have ADMIN role"
+        )
+    })
+    @DeleteMapping("/{id}/assignments/{userId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> unassignUser(
+            @Parameter(description = "ID of the apartment building", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "ID of the user to unassign", required = true)
+            @PathVariable Long userId) {
+        try {
+            buildingAssignmentService.unassignUser(id, userId);
+            return ResponseEntity.ok(new MessageResponse("User unassigned from apartment building successfully!"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.apartmentmanagerapi.controller;
+
+import com.example.apartmentmanagerapi.dto.AttachmentResponse;
+import com.example.apartmentmanagerapi.entity.Attachment;
+import com.example.apartmentmanagerapi.exception.TechnicalException;
+import com.example.apartmentmanagerapi.exception.ValidationException;
+import com.example.apartmentmanagerapi.mapper.AttachmentMapper;
+import com.example.apartmentmanagerapi.service.IAttachmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * REST controller for receipt and invoice attachments of expenses and payments.
+ * Uploads are streamed to content-addressed storage; downloads are written straight from the stored
+ * file with FileChannel.transferTo and support single byte ranges and conditional requests.
+ */
+@Tag(name = "Attachments", description = "Attach receipts and invoices to expenses and payments")
+@SecurityRequirement(name = "bearerAuth")
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:4200")
+public class AttachmentController {
+
+    private final IAttachmentService attachmentService;
+    private final AttachmentMapper attachmentMapper;
+
+    @Operation(
+        summary = "Attach file to expense",
+        description = "Uploads a receipt or invoice (PDF or image) for an expense. Uploading the same file again returns the existing attachment. Requires ADMIN or MANAGER role and access to the building."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "File attached successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = AttachmentResponse.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Bad request - empty file or unsupported file type"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - User does not have required role or building access"),
+        @ApiResponse(responseCode = "404", description = "Expense not found")
+    })
+    @PostMapping(value = "/expenses/{expenseId}/attachments", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<AttachmentResponse> attachToExpense(
+            @Parameter(description = "ID of the expense", required = true)
+            @PathVariable Long expenseId,
+            @Parameter(description = "File to attach", required = true)
+            @RequestParam("file") MultipartFile file) {
+        return upload(Attachment.OwnerType.EXPENSE, expenseId, file);
+    }
+
+    @Operation(
+        summary = "List expense attachments",
+        description = "Retrieves the attachments of an expense. Requires ADMIN, MANAGER, or VIEWER role and access to the building."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Attachments retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = AttachmentResponse.class))
+            )
+        ),
+        @ApiResponse(responseCode = "403", description = "Forbidden - User does not have required role or building access"),
+        @ApiResponse(responseCode = "404", description = "Expense not found")
+    })
+    @GetMapping("/expenses/{expenseId}/attachments")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER')")
+    public ResponseEntity<List<AttachmentResponse>> getExpenseAttachments(
+            @Parameter(description = "ID of the expense", required = true)
+            @PathVariable Long expenseId) {
+        return ResponseEntity.ok(attachmentMapper.toResponseList(
+                attachmentService.getAttachments(Attachment.OwnerType.EXPENSE, expenseId)));
+    }
+
+    @Operation(
+        summary = "Attach file to payment",
+        description = "Uploads a receipt (PDF or image) for a payment. Uploading the same file again returns the existing attachment. Requires ADMIN or MANAGER role and access to the building."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "File attached successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = AttachmentResponse.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Bad request - empty file or unsupported file type"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - User does not have required role or building access"),
+        @ApiResponse(responseCode = "404", description = "Payment not found")
+    })
+    @PostMapping(value = "/payments/{paymentId}/attachments", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<AttachmentResponse> attachToPayment(
+            @Parameter(description = "ID of the payment", required = true)
+            @PathVariable Long paymentId,
+            @Parameter(description = "File to attach", required = true)
+            @RequestParam("file") MultipartFile file) {
+        return upload(Attachment.OwnerType.PAYMENT, paymentId, file);
+    }
+
+    @Operation(
+        summary = "List payment attachments",
+        description = "Retrieves the attachments of a payment. Requires ADMIN, MANAGER, or VIEWER role and access to the building."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Attachments retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = AttachmentResponse.class))
+            )
+        ),
+        @ApiResponse(responseCode = "403", description = "Forbidden - User does not have required role or building access"),
+        @ApiResponse(responseCode = "404", description = "Payment not found")
+    })
+    @GetMapping("/payments/{paymentId}/attachments")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER')")
+    public ResponseEntity<List<AttachmentResponse>> getPaymentAttachments(
+            @Parameter(description = "ID of the payment", required = true)
+            @PathVariable Long paymentId) {
+        return ResponseEntity.ok(attachmentMapper.toResponseList(
+                attachmentService.getAttachments(Attachment.OwnerType.PAYMENT, paymentId)));
+    }
+
+    @Operation(
+        summary = "Download attachment",
+        description = "Downloads the content of an attachment. Supports a single byte range (Range, If-Range) and revalidation with the content digest as ETag (If-None-Match). Requires ADMIN, MANAGER, or VIEWER role and access to the building."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Full content"),
+        @ApiResponse(responseCode = "206", description = "Requested byte range"),
+        @ApiResponse(responseCode = "304", description = "Content unchanged since the given ETag"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - User does not have required role or building access"),
+        @ApiResponse(responseCode = "404", description = "Attachment not found"),
+        @ApiResponse(responseCode = "416", description = "Requested range not satisfiable")
+    })
+    @GetMapping("/attachments/{attachmentId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER')")
+    public void downloadAttachment(
+            @Parameter(description = "ID of the attachment", required = true)
+            @PathVariable Long attachmentId,
+            @Parameter(hidden = true) HttpServletRequest request,
+            @Parameter(hidden = true) HttpServletResponse response) throws IOException {
+        Attachment attachment = attachmentService.getAttachment(attachmentId);
+        long size = attachment.getSizeBytes();
+        // The digest identifies the content, so it is a strong validator
+        String etag = "\"" + attachment.getSha256() + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long start = 0;
+        long length = size;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // Multiple ranges are answered with the full content, which RFC 9110 permits
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(size);
+                    length = ranges.get(0).getRangeEnd(size) - start + 1;
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE,
+                            "bytes " + start + "-" + (start + length - 1) + "/" + size);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+        }
+
+        response.setContentType(attachment.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(attachment.getFileName(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        response.setContentLengthLong(length);
+        attachmentService.transferContent(attachment, start, length, Channels.newChannel(response.getOutputStream()));
+    }
+
+    @Operation(
+        summary = "Delete attachment",
+        description = "Deletes an attachment. The stored file is removed by a daily sweep once no other attachment has the same content. Requires ADMIN or MANAGER role and access to the building."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Attachment deleted"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - User does not have required role or building access"),
+        @ApiResponse(responseCode = "404", description = "Attachment not found")
+    })
+    @DeleteMapping("/attachments/{attachmentId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<Void> deleteAttachment(
+            @Parameter(description = "ID of the attachment", required = true)
+            @PathVariable Long attachmentId) {
+        attachmentService.deleteAttachment(attachmentId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<AttachmentResponse> upload(Attachment.OwnerType ownerType, Long ownerId, MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new ValidationException("file", "Attachment is empty");
+        }
+        log.info("Attaching {} ({} bytes) to {} {}", file.getOriginalFilename(), file.getSize(), ownerType, ownerId);
+
+        // Multipart parts are spooled to disk by the container, so this streams from a temporary file
+        try (InputStream content = file.getInputStream()) {
+            Attachment attachment = attachmentService.attach(
+                    ownerType, ownerId, file.getOriginalFilename(), file.getContentType(), content);
+            return ResponseEntity.status(HttpStatus.CREATED).body(attachmentMapper.toResponse(attachment));
+        } catch (IOException e) {
+            throw new TechnicalException("AttachmentController", "upload", e.getMessage(), e);
+        }
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.apartmentmanagerapi.controller;
+
+import com.example.apartmentmanagerapi.dto.AuditLogFilter;
+import com.example.apartmentmanagerapi.dto.CursorSliceResponse;
+import com.example.apartmentmanagerapi.dto.ErrorResponse;
+import com.example.apartmentmanagerapi.entity.AuditLog;
+import com.example.apartmentmanagerapi.service.IAuditService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * REST controller for browsing the audit trail.
+ * Uses keyset pagination so deep pages cost the same as the first one.
+ */
+@Tag(name = "Audit Logs", description = "Browse the audit trail of system actions")
+@SecurityRequirement(name = "bearerAuth")
+@RestController
+@RequestMapping("/api/audit-logs")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:4200")
+public class AuditLogController {
+
+    private final IAuditService auditService;
+
+    @Operation(
+        summary = "Browse audit logs",
+        description = "Returns audit log entries newest first, filtered by any combination of user, action, entity, result and time range. " +
+                "Pass the returned nextCursor to fetch the following slice. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Audit logs retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = CursorSliceResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request - malformed cursor",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized - JWT token is missing or invalid"
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden - User does not have required role"
+        )
+    })
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorSliceResponse<AuditLog>> getAuditLogs(
+            @Parameter(description = "Filter by user ID")
+            @RequestParam(required = false) Long userId,
+            @Parameter(description = "Filter by action")
+            @RequestParam(required = false) AuditLog.AuditAction action,
+            @Parameter(description = "Filter by entity type")
+            @RequestParam(required = false) String entityType,
+            @Parameter(description = "Filter by entity ID")
+            @RequestParam(required = false) Long entityId,
+            @Parameter(description = "Filter by result")
+            @RequestParam(required = false) AuditLog.AuditResult result,
+            @Parameter(description = "Inclusive start of the time range")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Exclusive end of the time range")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Cursor returned with the previous slice")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of entries to return (up to 200)")
+            @RequestParam(defaultValue = "50") int size) {
+
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .userId(userId)
+                .action(action)
+                .entityType(entityType)
+                .entityId(entityId)
+                .result(result)
+                .from(from)
+                .to(to)
+                .build();
+
+        log.debug("Browsing audit logs with filter {} and cursor {}", filter, cursor);
+        return ResponseEntity.ok(auditService.findAuditLogs(filter, cursor, size));
+    }
+}
@@ -1,12 +1,14 @@
 package com.example.apartmentmanagerapi.controller;
 
 import com.example.apartmentmanagerapi.config.JwtUtil;
+import com.example.apartmentmanagerapi.dto.ErrorResponse;
 import com.example.apartmentmanagerapi.dto.JwtResponse;
 import com.example.apartmentmanagerapi.dto.LoginRequest;
 import com.example.apartmentmanagerapi.dto.MessageResponse;
 import com.example.apartmentmanagerapi.dto.SignupRequest;
 import com.example.apartmentmanagerapi.entity.User;
 import com.example.apartmentmanagerapi.repository.UserRepository;
+import com.example.apartmentmanagerapi.service.ILoginThrottleService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,12 +17,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirements;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -49,6 +53,9 @@ public class AuthController {
     @Autowired
     JwtUtil jwtUtil;
 
+    @Autowired
+    ILoginThrottleService loginThrottleService;
+
     @Operation(
         summary = "User Login",
         description = "Authenticates a user and returns a JWT token for API access"
@@ -77,14 +84,36 @@ public class AuthController {
                 mediaType = "application/json",
                 schema = @Schema(implementation = MessageResponse.class)
             )
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many failed login attempts - retry after the lockout expires",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
         )
     })
     @SecurityRequirements // No security required for login endpoint
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                              HttpServletRequest request) {
+
+        // Reject locked-out usernames/IPs before spending a password hash on them.
+        // Keyed on the connection's address: forwarded headers are set by the client and would let it pick a fresh IP
+        // per attempt. Behind a reverse proxy, server.forward-headers-strategy resolves the address from trusted proxies.
+        String clientIp = request.getRemoteAddr();
+        loginThrottleService.checkLoginAllowed(loginRequest.getUsername(), clientIp);
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+        } catch (AuthenticationException e) {
+            loginThrottleService.recordFailedLogin(loginRequest.getUsername(), clientIp);
+            throw e;
+        }
+        loginThrottleService.recordSuccessfulLogin(loginRequest.getUsername(), clientIp);
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtil.generateToken((UserDetails) authentication.getPrincipal());
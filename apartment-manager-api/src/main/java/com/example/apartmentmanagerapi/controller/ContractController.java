@@ -193,7 +193,7 @@ public class ContractController {
         )
     })
     @GetMapping("/building/{buildingId}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER') and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<Page<ContractSummaryResponse>> getContractsByBuilding(
             @Parameter(description = "Building ID", required = true)
             @PathVariable Long buildingId,
@@ -296,6 +296,40 @@ public class ContractController {
         return ResponseEntity.ok(response);
     }
     
+    @Operation(
+        summary = "Renew contracts in batch",
+        description = "Renews many active contracts in one transaction, e.g. at year-end. " +
+                      "Overlaps are validated for the whole batch with one query; contracts that cannot be " +
+                      "renewed are reported per item and do not stop the others. Requires MANAGER or ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Batch processed; see the per-contract results",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = BatchContractRenewalResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request - validation errors",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    @PostMapping("/batch/renew")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<BatchContractRenewalResponse> renewContracts(
+            @Parameter(description = "Contracts to renew with their renewal details", required = true)
+            @Valid @RequestBody BatchContractRenewalRequest request) {
+        log.info("Renewing {} contracts in batch", request.getRenewals().size());
+        BatchContractRenewalResponse response = contractService.renewContracts(request);
+        return ResponseEntity.ok(response);
+    }
+    
     @Operation(
         summary = "Cancel a contract",
         description = "Cancels an active or pending contract. Optionally cancels all unpaid dues. " +
@@ -486,7 +520,7 @@ public class ContractController {
         )
     })
     @GetMapping("/building/{buildingId}/statistics")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER') and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<Map<String, Object>> getContractStatistics(
             @Parameter(description = "Building ID", required = true)
             @PathVariable Long buildingId) {
@@ -510,7 +544,7 @@ public class ContractController {
         )
     })
     @GetMapping("/building/{buildingId}/monthly-rent")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER') and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<Map<String, BigDecimal>> getTotalMonthlyRent(
             @Parameter(description = "Building ID", required = true)
             @PathVariable Long buildingId) {
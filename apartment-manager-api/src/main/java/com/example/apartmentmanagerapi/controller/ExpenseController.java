@@ -60,7 +60,7 @@ public class ExpenseController {
     
     @Operation(
         summary = "Create expense",
-        description = "Records a new expense for a building. Optionally distributes the expense equally among all active flats. Requires ADMIN or MANAGER role."
+        description = "Records a new expense for a building. Optionally distributes the expense among all active flats in equal, area-weighted or rent-weighted shares. Requires ADMIN or MANAGER role."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -111,8 +111,12 @@ public class ExpenseController {
         expense.setRecordedBy(currentUser); // Set who recorded the expense
         
         // Create expense with optional distribution
-        Expense createdExpense = expenseService.createExpense(expense, 
-                request.getDistributeToFlats() != null && request.getDistributeToFlats());
+        Expense.DistributionMethod distributionMethod = null;
+        if (request.getDistributeToFlats() != null && request.getDistributeToFlats()) {
+            distributionMethod = request.getDistributionMethod() != null
+                    ? request.getDistributionMethod() : Expense.DistributionMethod.EQUAL;
+        }
+        Expense createdExpense = expenseService.createExpense(expense, distributionMethod);
         
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(expenseMapper.toResponse(createdExpense));
@@ -141,7 +145,7 @@ public class ExpenseController {
         )
     })
     @GetMapping("/building/{buildingId}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER') and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<List<ExpenseResponse>> getExpensesByBuilding(
             @Parameter(description = "ID of the building", required = true)
             @PathVariable Long buildingId,
@@ -194,7 +198,7 @@ public class ExpenseController {
         )
     })
     @GetMapping("/building/{buildingId}/category/{category}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER') and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<List<ExpenseResponse>> getExpensesByCategory(
             @Parameter(description = "ID of the building", required = true)
             @PathVariable Long buildingId,
@@ -234,7 +238,7 @@ public class ExpenseController {
         )
     })
     @GetMapping("/building/{buildingId}/breakdown")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER') and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<Map<String, Object>> getExpenseBreakdown(
             @Parameter(description = "ID of the building", required = true)
             @PathVariable Long buildingId,
@@ -301,7 +305,7 @@ public class ExpenseController {
         )
     })
     @GetMapping("/building/{buildingId}/monthly-trends")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER') and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<Map<String, Object>> getMonthlyTrends(
             @Parameter(description = "ID of the building", required = true)
             @PathVariable Long buildingId,
@@ -359,7 +363,7 @@ public class ExpenseController {
         )
     })
     @GetMapping("/building/{buildingId}/recurring")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER') and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<List<ExpenseResponse>> getRecurringExpenses(
             @Parameter(description = "ID of the building", required = true)
             @PathVariable Long buildingId) {
@@ -373,6 +377,42 @@ public class ExpenseController {
         return ResponseEntity.ok(responses);
     }
     
+    @Operation(
+        summary = "Suggest vendor names",
+        description = "Type-ahead search over the vendor names used in a building's expenses. " +
+                      "Names starting with the search term are listed first. Requires ADMIN or MANAGER role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Vendor names retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = String.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized - JWT token is missing or invalid"
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden - User does not have required role"
+        )
+    })
+    @GetMapping("/building/{buildingId}/vendors")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER') and @buildingAccess.canAccess(#buildingId)")
+    public ResponseEntity<List<String>> searchVendorNames(
+            @Parameter(description = "ID of the building", required = true)
+            @PathVariable Long buildingId,
+            @Parameter(description = "Search term for vendor name", required = true)
+            @RequestParam String search,
+            @Parameter(description = "Maximum number of suggestions (1-50)")
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("Searching vendor names for building ID: {} with term: {}", buildingId, search);
+        return ResponseEntity.ok(expenseService.searchVendorNames(buildingId, search, limit));
+    }
+    
     @Operation(
         summary = "Analyze expense trends",
         description = "Compares expenses between current and previous periods to identify trends. Requires ADMIN or MANAGER role."
@@ -396,7 +436,7 @@ public class ExpenseController {
         )
     })
     @GetMapping("/building/{buildingId}/trend-analysis")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER') and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<Map<String, Object>> analyzeExpenseTrends(
             @Parameter(description = "ID of the building", required = true)
             @PathVariable Long buildingId,
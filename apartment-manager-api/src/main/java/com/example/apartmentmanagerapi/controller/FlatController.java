@@ -1,9 +1,13 @@
 package com.example.apartmentmanagerapi.controller;
 
+import com.example.apartmentmanagerapi.dto.BuildingOccupancyResponse;
+import com.example.apartmentmanagerapi.dto.CursorSliceResponse;
+import com.example.apartmentmanagerapi.dto.FlatListItem;
 import com.example.apartmentmanagerapi.dto.FlatRequest;
 import com.example.apartmentmanagerapi.dto.FlatResponse;
 import com.example.apartmentmanagerapi.dto.MessageResponse;
 import com.example.apartmentmanagerapi.service.IFlatService;
+import com.example.apartmentmanagerapi.service.IOccupancyAnalyticsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -15,6 +19,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -31,6 +36,9 @@ import java.util.Map;
 public class FlatController {
 
     private final IFlatService flatService;
+    private final IOccupancyAnalyticsService occupancyAnalyticsService;
+
+    private static final int DEFAULT_SLICE_SIZE = 50;
 
     @Operation(
         summary = "Create a new flat",
@@ -63,7 +71,7 @@ public class FlatController {
         )
     })
     @PostMapping
-    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+    @PreAuthorize("(hasRole('MANAGER') or hasRole('ADMIN')) and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<?> createFlat(
             @Parameter(description = "ID of the apartment building", required = true)
             @PathVariable Long buildingId,
@@ -85,7 +93,10 @@ public class FlatController {
 
     @Operation(
         summary = "Get all flats in a building",
-        description = "Retrieves all flats in the specified apartment building. Requires MANAGER, ADMIN, or TENANT role."
+        description = "Retrieves all flats in the specified apartment building. With any of fields, direction, cursor or size, " +
+                      "returns one slice of flats ordered by flat number with only the requested fields, and the cursor of the next slice. " +
+                      "Flat numbers sort as plain text, so \"10\" comes before \"2\". " +
+                      "Requires MANAGER, ADMIN, or TENANT role."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -114,11 +125,22 @@ public class FlatController {
         )
     })
     @GetMapping
-    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN') or hasRole('TENANT')") // Tenants might view flats in their building
+    @PreAuthorize("(hasRole('MANAGER') or hasRole('ADMIN') or hasRole('TENANT')) and @buildingAccess.canAccess(#buildingId)") // Tenants might view flats in their building
     public ResponseEntity<?> getAllFlatsByBuilding(
             @Parameter(description = "ID of the apartment building", required = true)
-            @PathVariable Long buildingId) {
+            @PathVariable Long buildingId,
+            @Parameter(description = "Comma-separated fields to return, e.g. flatNumber,tenantName,activeContract; pages the listing")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Sort direction of the flat number as text (ASC or DESC); pages the listing")
+            @RequestParam(required = false) String direction,
+            @Parameter(description = "Cursor returned with the previous slice; only valid with the same direction")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of flats to return (up to 200); pages the listing")
+            @RequestParam(required = false) Integer size) {
          try {
+            if (isSliceRequest(fields, direction, cursor, size)) {
+                return ResponseEntity.ok(getFlatSlice(buildingId, false, fields, direction, cursor, size));
+            }
             List<FlatResponse> flats = flatService.getAllFlatsByBuildingId(buildingId);
             return ResponseEntity.ok(flats);
         } catch (RuntimeException e) {
@@ -157,7 +179,7 @@ public class FlatController {
         )
     })
     @GetMapping("/{flatId}")
-    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN') or hasRole('TENANT')") // Tenant might view their specific flat
+    @PreAuthorize("(hasRole('MANAGER') or hasRole('ADMIN') or hasRole('TENANT')) and @buildingAccess.canAccess(#buildingId)") // Tenant might view their specific flat
     public ResponseEntity<?> getFlatById(
             @Parameter(description = "ID of the apartment building", required = true)
             @PathVariable Long buildingId,
@@ -202,7 +224,7 @@ public class FlatController {
         )
     })
     @PutMapping("/{flatId}")
-    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+    @PreAuthorize("(hasRole('MANAGER') or hasRole('ADMIN')) and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<?> updateFlat(
             @Parameter(description = "ID of the apartment building", required = true)
             @PathVariable Long buildingId,
@@ -256,7 +278,7 @@ public class FlatController {
         )
     })
     @DeleteMapping("/{flatId}")
-    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+    @PreAuthorize("(hasRole('MANAGER') or hasRole('ADMIN')) and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<?> deleteFlat(
             @Parameter(description = "ID of the apartment building", required = true)
             @PathVariable Long buildingId,
@@ -272,7 +294,8 @@ public class FlatController {
     
     @Operation(
         summary = "Get active flats",
-        description = "Retrieves only active flats in the building (isActive=true). Requires MANAGER or ADMIN role."
+        description = "Retrieves only active flats in the building (isActive=true). Supports the same fields, direction, cursor and size " +
+                      "parameters as the full listing. Requires MANAGER or ADMIN role."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -301,11 +324,22 @@ public class FlatController {
         )
     })
     @GetMapping("/active")
-    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+    @PreAuthorize("(hasRole('MANAGER') or hasRole('ADMIN')) and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<?> getActiveFlatsByBuilding(
             @Parameter(description = "ID of the apartment building", required = true)
-            @PathVariable Long buildingId) {
+            @PathVariable Long buildingId,
+            @Parameter(description = "Comma-separated fields to return, e.g. flatNumber,tenantName,activeContract; pages the listing")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Sort direction of the flat number as text (ASC or DESC); pages the listing")
+            @RequestParam(required = false) String direction,
+            @Parameter(description = "Cursor returned with the previous slice; only valid with the same direction")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of flats to return (up to 200); pages the listing")
+            @RequestParam(required = false) Integer size) {
         try {
+            if (isSliceRequest(fields, direction, cursor, size)) {
+                return ResponseEntity.ok(getFlatSlice(buildingId, true, fields, direction, cursor, size));
+            }
             List<FlatResponse> flats = flatService.getActiveFlatsByBuildingId(buildingId);
             return ResponseEntity.ok(flats);
         } catch (RuntimeException e) {
@@ -313,6 +347,48 @@ public class FlatController {
         }
     }
     
+    @Operation(
+        summary = "Get building occupancy analytics",
+        description = "Retrieves the occupancy history of every active flat in the building and the building's monthly occupancy rate. Requires MANAGER or ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Occupancy analytics retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = BuildingOccupancyResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Building not found",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = MessageResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized - JWT token is missing or invalid"
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden - User does not have required role"
+        )
+    })
+    @GetMapping("/occupancy")
+    @PreAuthorize("(hasRole('MANAGER') or hasRole('ADMIN')) and @buildingAccess.canAccess(#buildingId)")
+    public ResponseEntity<?> getBuildingOccupancy(
+            @Parameter(description = "ID of the apartment building", required = true)
+            @PathVariable Long buildingId) {
+        try {
+            return ResponseEntity.ok(occupancyAnalyticsService.getBuildingOccupancy(buildingId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
     @Operation(
         summary = "Get flat with financial information",
         description = "Retrieves comprehensive financial information for a flat including balance, payments, and dues. Requires MANAGER or ADMIN role."
@@ -344,7 +420,7 @@ public class FlatController {
         )
     })
     @GetMapping("/{flatId}/financial-info")
-    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+    @PreAuthorize("(hasRole('MANAGER') or hasRole('ADMIN')) and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<?> getFlatWithFinancialInfo(
             @Parameter(description = "ID of the apartment building", required = true)
             @PathVariable Long buildingId,
@@ -389,7 +465,7 @@ public class FlatController {
         )
     })
     @PutMapping("/{flatId}/tenant")
-    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+    @PreAuthorize("(hasRole('MANAGER') or hasRole('ADMIN')) and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<?> updateTenantInfo(
             @Parameter(description = "ID of the apartment building", required = true)
             @PathVariable Long buildingId,
@@ -435,7 +511,7 @@ public class FlatController {
         )
     })
     @PutMapping("/{flatId}/deactivate")
-    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+    @PreAuthorize("(hasRole('MANAGER') or hasRole('ADMIN')) and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<?> deactivateFlat(
             @Parameter(description = "ID of the apartment building", required = true)
             @PathVariable Long buildingId,
@@ -448,4 +524,18 @@ public class FlatController {
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
         }
     }
+
+    /**
+     * Any paging or field parameter switches a listing from the full list to cursor slices
+     */
+    private static boolean isSliceRequest(String fields, String direction, String cursor, Integer size) {
+        return fields != null || direction != null || cursor != null || size != null;
+    }
+
+    private CursorSliceResponse<FlatListItem> getFlatSlice(Long buildingId, boolean activeOnly, String fields,
+                                                           String direction, String cursor, Integer size) {
+        Sort.Direction sortDirection = direction != null ? Sort.Direction.fromString(direction) : Sort.Direction.ASC;
+        return flatService.getFlatSlice(buildingId, activeOnly, fields, sortDirection, cursor,
+            size != null ? size : DEFAULT_SLICE_SIZE);
+    }
 }
\ No newline at end of file
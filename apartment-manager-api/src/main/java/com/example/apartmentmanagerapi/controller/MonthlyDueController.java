@@ -241,7 +241,7 @@ public class MonthlyDueController {
         )
     })
     @GetMapping("/building/{buildingId}/debtors")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER') and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<List<Map<String, Object>>> getDebtorsByBuilding(
             @Parameter(description = "ID of the building", required = true)
             @PathVariable Long buildingId) {
@@ -287,7 +287,7 @@ public class MonthlyDueController {
         )
     })
     @GetMapping("/building/{buildingId}/overdue")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER') and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<List<MonthlyDueResponse>> getOverdueDuesByBuilding(
             @Parameter(description = "ID of the building", required = true)
             @PathVariable Long buildingId) {
@@ -324,7 +324,7 @@ public class MonthlyDueController {
         )
     })
     @GetMapping("/building/{buildingId}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER') and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<List<MonthlyDueResponse>> getAllDuesForBuilding(
             @Parameter(description = "ID of the building", required = true)
             @PathVariable Long buildingId) {
@@ -361,7 +361,7 @@ public class MonthlyDueController {
         )
     })
     @GetMapping("/building/{buildingId}/collection-rate")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER') and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<Map<String, Object>> getCollectionRate(
             @Parameter(description = "ID of the building", required = true)
             @PathVariable Long buildingId,
@@ -181,7 +181,7 @@ public class PaymentController {
         )
     })
     @GetMapping("/building/{buildingId}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'VIEWER') and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<List<PaymentResponse>> getPaymentsByBuilding(
             @Parameter(description = "ID of the building", required = true)
             @PathVariable Long buildingId,
@@ -234,7 +234,7 @@ public class PaymentController {
         )
     })
     @GetMapping("/building/{buildingId}/statistics")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER') and @buildingAccess.canAccess(#buildingId)")
     public ResponseEntity<Map<String, Object>> getPaymentStatistics(
             @Parameter(description = "ID of the building", required = true)
             @PathVariable Long buildingId,
@@ -0,0 +1,65 @@
+package com.example.apartmentmanagerapi.dto;
+
+import com.example.apartmentmanagerapi.entity.Attachment;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for returning attachment metadata to clients.
+ * The content itself is downloaded from /api/attachments/{id}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttachmentResponse {
+    
+    /**
+     * Unique attachment ID
+     */
+    private Long id;
+    
+    /**
+     * Kind of record the file is attached to
+     */
+    private Attachment.OwnerType ownerType;
+    
+    /**
+     * ID of the expense or payment
+     */
+    private Long ownerId;
+    
+    /**
+     * File name as uploaded
+     */
+    private String fileName;
+    
+    /**
+     * Media type of the content
+     */
+    private String contentType;
+    
+    /**
+     * Content length in bytes
+     */
+    private long sizeBytes;
+    
+    /**
+     * Hex SHA-256 digest of the content
+     */
+    private String sha256;
+    
+    /**
+     * Username of the uploader
+     */
+    private String uploadedBy;
+    
+    /**
+     * Upload timestamp
+     */
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,36 @@
+package com.example.apartmentmanagerapi.dto;
+
+import com.example.apartmentmanagerapi.entity.AuditLog;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for browsing audit logs.
+ * Null fields are not applied; all non-null fields are combined with AND.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogFilter {
+    
+    private Long userId;
+    private AuditLog.AuditAction action;
+    private String entityType;
+    private Long entityId;
+    private AuditLog.AuditResult result;
+    
+    /**
+     * Inclusive lower bound on the entry timestamp
+     */
+    private LocalDateTime from;
+    
+    /**
+     * Exclusive upper bound on the entry timestamp
+     */
+    private LocalDateTime to;
+}
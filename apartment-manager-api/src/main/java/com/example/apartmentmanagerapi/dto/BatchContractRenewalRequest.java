@@ -0,0 +1,52 @@
+package com.example.apartmentmanagerapi.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for renewing many contracts in one request, e.g. at year-end
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchContractRenewalRequest {
+    
+    /**
+     * Contracts to renew, each with its own renewal terms
+     */
+    @NotEmpty(message = "At least one renewal is required")
+    @Size(max = 500, message = "At most 500 contracts can be renewed in one batch")
+    private List<@Valid @NotNull Item> renewals;
+    
+    /**
+     * One contract of the batch
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        
+        /**
+         * ID of the active contract to renew
+         */
+        @NotNull(message = "Contract ID is required")
+        private Long contractId;
+        
+        /**
+         * Renewal terms, as for a single renewal
+         */
+        @NotNull(message = "Renewal details are required")
+        @Valid
+        private ContractRenewalRequest renewal;
+    }
+}
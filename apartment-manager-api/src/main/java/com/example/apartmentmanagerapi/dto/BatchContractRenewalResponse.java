@@ -0,0 +1,55 @@
+package com.example.apartmentmanagerapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO for a batch contract renewal with one result per requested contract
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchContractRenewalResponse {
+    
+    private int requested;
+    private int renewed;
+    private int failed;
+    private int duesGenerated;
+    
+    /**
+     * Results in request order
+     */
+    private List<ItemResult> results;
+    
+    /**
+     * Outcome of renewing one contract of the batch
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ItemResult {
+        
+        private Long contractId;
+        private boolean success;
+        private Long renewedContractId;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private Integer duesGenerated;
+        private String error;
+        
+        public static ItemResult failure(Long contractId, String error) {
+            return ItemResult.builder()
+                .contractId(contractId)
+                .success(false)
+                .error(error)
+                .build();
+        }
+    }
+}
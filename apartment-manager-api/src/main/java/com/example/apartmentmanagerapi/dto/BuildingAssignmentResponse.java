@@ -0,0 +1,60 @@
+package com.example.apartmentmanagerapi.dto;
+
+import com.example.apartmentmanagerapi.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for returning a user's assignment to a building.
+ * Assigned users pass the building-scoped access check on building endpoints.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BuildingAssignmentResponse {
+    
+    /**
+     * Unique assignment ID
+     */
+    private Long id;
+    
+    /**
+     * Building the user is assigned to
+     */
+    private Long buildingId;
+    
+    /**
+     * Assigned user
+     */
+    private Long userId;
+    
+    /**
+     * Username of the assigned user
+     */
+    private String username;
+    
+    /**
+     * Role of the assigned user
+     */
+    private User.UserRole role;
+    
+    /**
+     * When the assignment was made or last reactivated
+     */
+    private LocalDateTime assignedDate;
+    
+    /**
+     * Username of the user who made the assignment, null for backfilled or creator assignments
+     */
+    private String assignedBy;
+    
+    /**
+     * Optional notes about the assignment
+     */
+    private String notes;
+}
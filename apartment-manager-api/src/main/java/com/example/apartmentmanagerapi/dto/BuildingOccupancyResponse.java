@@ -0,0 +1,61 @@
+package com.example.apartmentmanagerapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for building-wide occupancy analytics: per-flat history summaries and a monthly occupancy series
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuildingOccupancyResponse {
+    private Long buildingId;
+    private Integer totalFlats;
+    private Integer occupiedFlats;
+    
+    // Percentage of active flats occupied today, 0-100
+    private BigDecimal occupancyRate;
+    
+    private List<FlatOccupancy> flats;
+    
+    // Oldest month first, ending with the current month
+    private List<MonthlyOccupancy> timeline;
+    
+    /**
+     * Occupancy history of one flat
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FlatOccupancy {
+        private Long flatId;
+        private String flatNumber;
+        private Boolean currentlyOccupied;
+        private FlatResponse.OccupancySummary summary;
+    }
+    
+    /**
+     * Occupancy of the building in one calendar month.
+     * A flat counts as occupied if any of its contracts covers at least one day of the month.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MonthlyOccupancy {
+        // First day of the month
+        private LocalDate month;
+        private Integer occupiedFlats;
+        private Integer totalFlats;
+        private BigDecimal occupancyRate;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.apartmentmanagerapi.dto;
+
+import com.example.apartmentmanagerapi.entity.Contract;
+import com.example.apartmentmanagerapi.entity.MonthlyDue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Aggregated monthly due figures for one contract.
+ * Loaded for a whole page of contracts by one grouped query, see
+ * MonthlyDueRepository.getDuesStatsByContractIds, and merged into contract DTOs by ContractMapper
+ * and into flat listings by ContractLoadingService.
+ */
+@Data
+@AllArgsConstructor
+public class ContractDuesStats {
+    
+    private Long contractId;
+    private int totalDues;
+    private int paidDues;
+    private int unpaidDues;
+    private BigDecimal totalAmountDue;
+    private BigDecimal totalAmountPaid;
+    
+    /**
+     * Sum of the amounts of dues still UNPAID
+     */
+    private BigDecimal totalAmountUnpaid;
+    private int overdueDues;
+    
+    /**
+     * Earliest unpaid due date that is today or later
+     */
+    private LocalDate nextDueDate;
+    
+    /**
+     * Constructor used by the JPQL constructor expression; aggregate types vary by database
+     */
+    public ContractDuesStats(Long contractId, Number totalDues, Number paidDues, Number unpaidDues,
+                             Number totalAmountDue, Number totalAmountPaid, Number totalAmountUnpaid,
+                             Number overdueDues, LocalDate nextDueDate) {
+        this(contractId, intValue(totalDues), intValue(paidDues), intValue(unpaidDues),
+                decimalValue(totalAmountDue), decimalValue(totalAmountPaid), decimalValue(totalAmountUnpaid),
+                intValue(overdueDues), nextDueDate);
+    }
+    
+    /**
+     * Figures for a contract without any dues
+     * @param contractId The contract ID
+     * @return Zero counts and amounts
+     */
+    public static ContractDuesStats empty(Long contractId) {
+        return new ContractDuesStats(contractId, 0, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0, null);
+    }
+    
+    /**
+     * Compute the figures in one pass over the contract's loaded dues.
+     * Used for single-contract responses; lists should use the grouped query instead.
+     * @param contract The contract
+     * @param today Reference date for overdue and next due date
+     * @return Aggregated figures
+     */
+    public static ContractDuesStats of(Contract contract, LocalDate today) {
+        ContractDuesStats stats = empty(contract.getId());
+        if (contract.getMonthlyDues() == null) {
+            return stats;
+        }
+        for (MonthlyDue due : contract.getMonthlyDues()) {
+            stats.totalDues++;
+            stats.totalAmountDue = stats.totalAmountDue.add(due.getDueAmount());
+            if (due.getStatus() == MonthlyDue.DueStatus.PAID) {
+                stats.paidDues++;
+                stats.totalAmountPaid = stats.totalAmountPaid.add(due.getDueAmount());
+            } else if (due.getStatus() == MonthlyDue.DueStatus.UNPAID && due.getDueDate() != null) {
+                stats.unpaidDues++;
+                stats.totalAmountUnpaid = stats.totalAmountUnpaid.add(due.getDueAmount());
+                if (due.getDueDate().isBefore(today)) {
+                    stats.overdueDues++;
+                } else if (stats.nextDueDate == null || due.getDueDate().isBefore(stats.nextDueDate)) {
+                    stats.nextDueDate = due.getDueDate();
+                }
+            } else if (due.getStatus() == MonthlyDue.DueStatus.UNPAID) {
+                stats.unpaidDues++;
+                stats.totalAmountUnpaid = stats.totalAmountUnpaid.add(due.getDueAmount());
+            }
+        }
+        return stats;
+    }
+    
+    public BigDecimal getOutstandingBalance() {
+        return totalAmountDue.subtract(totalAmountPaid);
+    }
+    
+    public boolean hasOverdueDues() {
+        return overdueDues > 0;
+    }
+    
+    private static int intValue(Number value) {
+        return value != null ? value.intValue() : 0;
+    }
+    
+    private static BigDecimal decimalValue(Number value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+}
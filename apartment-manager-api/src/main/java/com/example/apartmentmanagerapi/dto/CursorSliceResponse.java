@@ -0,0 +1,30 @@
+package com.example.apartmentmanagerapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated listing.
+ * Pass nextCursor back to fetch the following slice; no total count is computed.
+ *
+ * @param <T> Element type
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorSliceResponse<T> {
+    
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    
+    /**
+     * Opaque cursor for the next slice, null when this is the last slice
+     */
+    private String nextCursor;
+}
@@ -83,4 +83,9 @@ public class ExpenseRequest {
      */
     @Builder.Default
     private Boolean distributeToFlats = false;
+    
+    /**
+     * How to split the expense among flats when distributing; defaults to equal shares
+     */
+    private Expense.DistributionMethod distributionMethod;
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.example.apartmentmanagerapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Flat projection of an expiring contract joined with one active manager of its building.
+ * Loaded for a whole notification run by ContractRepository.findExpiringContractRecipients;
+ * contracts of buildings without managers yield one row with empty manager columns.
+ */
+@Data
+@AllArgsConstructor
+public class ExpiringContractRecipientRow {
+    
+    private Long contractId;
+    private Long flatId;
+    private String flatNumber;
+    private Long buildingId;
+    private String buildingName;
+    private String tenantName;
+    private String tenantEmail;
+    private String tenantContact;
+    private LocalDate endDate;
+    private BigDecimal monthlyRent;
+    
+    /**
+     * Manager columns, null when the building has no active manager
+     */
+    private Long managerId;
+    private String managerUsername;
+    private String managerEmail;
+    private String managerFirstName;
+    private String managerLastName;
+    
+    public boolean hasManager() {
+        return managerId != null;
+    }
+    
+    public String getManagerFullName() {
+        if (managerFirstName == null && managerLastName == null) {
+            return null;
+        }
+        return ((managerFirstName != null ? managerFirstName : "") + " " +
+                (managerLastName != null ? managerLastName : "")).trim();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.apartmentmanagerapi.dto;
+
+import com.example.apartmentmanagerapi.exception.ValidationException;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Narrow row of a paginated flat listing.
+ * Built directly by a JPQL constructor query, without loading Flat entities or their building;
+ * only the fields requested with {@code fields=} are kept, and unrequested fields are omitted
+ * from the JSON. Contract fields are filled only when requested.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FlatListItem {
+    private Long id;
+    private String flatNumber;
+    private Integer numberOfRooms;
+    private BigDecimal areaSqMeters;
+    private Boolean isActive;
+    private String tenantName;
+    private BigDecimal monthlyRent;
+    
+    // Contract enrichment, only loaded when one of these fields is requested
+    private FlatResponse.OccupancyStatus occupancyStatus;
+    private ActiveContractInfo activeContract;
+    
+    /**
+     * Constructor used by the JPQL constructor expression of FlatRepositoryCustom
+     */
+    public FlatListItem(Long id, String flatNumber, Integer numberOfRooms, BigDecimal areaSqMeters,
+                        Boolean isActive, String tenantName, BigDecimal monthlyRent) {
+        this.id = id;
+        this.flatNumber = flatNumber;
+        this.numberOfRooms = numberOfRooms;
+        this.areaSqMeters = areaSqMeters;
+        this.isActive = isActive;
+        this.tenantName = tenantName;
+        this.monthlyRent = monthlyRent;
+    }
+    
+    /**
+     * Clears every field that was not requested; the ID is always kept
+     * @param fields Requested fields
+     */
+    public void retainOnly(Set<Field> fields) {
+        if (!fields.contains(Field.FLAT_NUMBER)) {
+            flatNumber = null;
+        }
+        if (!fields.contains(Field.NUMBER_OF_ROOMS)) {
+            numberOfRooms = null;
+        }
+        if (!fields.contains(Field.AREA_SQ_METERS)) {
+            areaSqMeters = null;
+        }
+        if (!fields.contains(Field.IS_ACTIVE)) {
+            isActive = null;
+        }
+        if (!fields.contains(Field.TENANT_NAME)) {
+            tenantName = null;
+        }
+        if (!fields.contains(Field.MONTHLY_RENT)) {
+            monthlyRent = null;
+        }
+        if (!fields.contains(Field.OCCUPANCY_STATUS)) {
+            occupancyStatus = null;
+        }
+        if (!fields.contains(Field.ACTIVE_CONTRACT)) {
+            activeContract = null;
+        }
+    }
+    
+    /**
+     * Fields that can be selected with {@code fields=}, by their JSON names
+     */
+    public enum Field {
+        ID("id"),
+        FLAT_NUMBER("flatNumber"),
+        NUMBER_OF_ROOMS("numberOfRooms"),
+        AREA_SQ_METERS("areaSqMeters"),
+        IS_ACTIVE("isActive"),
+        TENANT_NAME("tenantName"),
+        MONTHLY_RENT("monthlyRent"),
+        OCCUPANCY_STATUS("occupancyStatus"),
+        ACTIVE_CONTRACT("activeContract");
+        
+        /**
+         * Fields returned when none are requested
+         */
+        public static final Set<Field> DEFAULTS =
+            EnumSet.of(ID, FLAT_NUMBER, NUMBER_OF_ROOMS, AREA_SQ_METERS, IS_ACTIVE);
+        
+        private final String jsonName;
+        
+        Field(String jsonName) {
+            this.jsonName = jsonName;
+        }
+        
+        public String getJsonName() {
+            return jsonName;
+        }
+        
+        /**
+         * Whether the field needs the flats' active contracts to be loaded
+         */
+        public boolean requiresContract() {
+            return this == OCCUPANCY_STATUS || this == ACTIVE_CONTRACT;
+        }
+        
+        /**
+         * Parse a comma-separated field list such as "flatNumber,tenantName"
+         * @param fields Field list, or null or blank for the defaults
+         * @return Requested fields, always including the ID
+         * @throws ValidationException if a field is unknown
+         */
+        public static Set<Field> parse(String fields) {
+            if (fields == null || fields.isBlank()) {
+                return EnumSet.copyOf(DEFAULTS);
+            }
+            Set<Field> result = EnumSet.of(ID);
+            for (String name : fields.split(",")) {
+                String trimmed = name.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                result.add(Arrays.stream(values())
+                    .filter(field -> field.jsonName.equalsIgnoreCase(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new ValidationException("fields", String.format(
+                        "Unknown field '%s'; allowed: %s", trimmed,
+                        Arrays.stream(values()).map(Field::getJsonName).toList()))));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.apartmentmanagerapi.dto;
+
+import com.example.apartmentmanagerapi.entity.Contract;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of one contract of a flat, used to compute building occupancy in one pass.
+ * Loaded for a whole building by ContractRepository.findOccupancyRowsByBuildingId, ordered by
+ * flat and start date; flats without contracts yield one row with empty contract columns.
+ */
+@Data
+@AllArgsConstructor
+public class OccupancyContractRow {
+    
+    private Long flatId;
+    private String flatNumber;
+    
+    /**
+     * Contract columns, null when the flat never had a contract
+     */
+    private Long contractId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private BigDecimal monthlyRent;
+    private Contract.ContractStatus status;
+    private LocalDateTime cancellationDate;
+    
+    public boolean hasContract() {
+        return contractId != null;
+    }
+    
+    /**
+     * Last day the flat was occupied under this contract; a cancellation cuts the period short
+     * @return End of occupancy, before the start date if the contract was cancelled before it began
+     */
+    public LocalDate getOccupiedUntil() {
+        if (status == Contract.ContractStatus.CANCELLED && cancellationDate != null
+                && cancellationDate.toLocalDate().isBefore(endDate)) {
+            return cancellationDate.toLocalDate();
+        }
+        return endDate;
+    }
+}
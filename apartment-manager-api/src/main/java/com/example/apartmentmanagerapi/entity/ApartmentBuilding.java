@@ -53,6 +53,14 @@ public class ApartmentBuilding {
     @Column(name = "default_monthly_fee", precision = 10, scale = 2)
     private BigDecimal defaultMonthlyFee;
 
+    /**
+     * Version of the building's data, incremented with bulk updates by every write to its flats,
+     * contracts, dues, payments and expenses. Never written through the entity, so a stale
+     * instance cannot reset it.
+     */
+    @Column(name = "data_version", nullable = false, updatable = false)
+    private Long dataVersion = 0L;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -102,6 +110,10 @@ public class ApartmentBuilding {
         this.flats = flats;
     }
 
+    public Long getDataVersion() {
+        return dataVersion;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
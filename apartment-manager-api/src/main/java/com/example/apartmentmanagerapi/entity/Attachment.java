@@ -0,0 +1,90 @@
+package com.example.apartmentmanagerapi.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Receipt or invoice file attached to an expense or payment.
+ * Only metadata is kept in the database; the content is stored on disk once per SHA-256
+ * digest by AttachmentStorage, so several attachments may share the same stored file.
+ */
+@Entity
+@Table(name = "attachments",
+    indexes = {
+        @Index(name = "idx_attachments_sha256", columnList = "sha256")
+    },
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attachments_owner_sha256", columnNames = {"owner_type", "owner_id", "sha256"})
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Attachment {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attachments_id_seq")
+    @SequenceGenerator(name = "attachments_id_seq", sequenceName = "attachments_id_seq", allocationSize = 50)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "owner_type", nullable = false, length = 20)
+    private OwnerType ownerType;
+    
+    /**
+     * ID of the expense or payment the file is attached to
+     */
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+    
+    /**
+     * Building of the owner, kept for building-scoped access checks
+     */
+    @Column(name = "building_id", nullable = false)
+    private Long buildingId;
+    
+    /**
+     * Hex SHA-256 digest of the content, which is also its storage key
+     */
+    @Column(name = "sha256", nullable = false, length = 64)
+    private String sha256;
+    
+    /**
+     * File name as uploaded
+     */
+    @Column(name = "file_name", nullable = false, length = 255)
+    private String fileName;
+    
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+    
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+    
+    @Column(name = "uploaded_by", length = 100)
+    private String uploadedBy;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+    
+    /**
+     * Kind of record a file is attached to
+     */
+    public enum OwnerType {
+        EXPENSE,
+        PAYMENT
+    }
+}
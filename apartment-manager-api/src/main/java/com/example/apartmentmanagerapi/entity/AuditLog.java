@@ -14,10 +14,10 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "audit_logs", indexes = {
-    @Index(name = "idx_audit_user_id", columnList = "user_id"),
-    @Index(name = "idx_audit_action", columnList = "action"),
-    @Index(name = "idx_audit_timestamp", columnList = "timestamp"),
-    @Index(name = "idx_audit_entity_type_id", columnList = "entity_type,entity_id")
+    @Index(name = "idx_audit_timestamp_id", columnList = "timestamp DESC, id DESC"),
+    @Index(name = "idx_audit_user_timestamp", columnList = "user_id, timestamp DESC, id DESC"),
+    @Index(name = "idx_audit_action_timestamp", columnList = "action, timestamp DESC, id DESC"),
+    @Index(name = "idx_audit_entity_timestamp", columnList = "entity_type, entity_id, timestamp DESC, id DESC")
 })
 @Data
 @NoArgsConstructor
@@ -0,0 +1,116 @@
+package com.example.apartmentmanagerapi.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable background job.
+ * Jobs are queued in the same transaction as the write that causes them and claimed by
+ * BackgroundJobWorker on any node with SELECT ... FOR UPDATE SKIP LOCKED. A claimed job is
+ * RUNNING under a lease held by one worker; failures are retried with backoff until
+ * maxAttempts is reached, after which the job is kept as DEAD.
+ */
+@Entity
+@Table(name = "background_jobs",
+    indexes = {
+        @Index(name = "idx_background_jobs_claim", columnList = "status, job_type, run_at"),
+        @Index(name = "idx_background_jobs_completed_at", columnList = "completed_at")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BackgroundJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "background_jobs_id_seq")
+    @SequenceGenerator(name = "background_jobs_id_seq", sequenceName = "background_jobs_id_seq", allocationSize = 50)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false, length = 50)
+    private JobType jobType;
+    
+    /**
+     * JSON arguments of the job, e.g. {"contractId":42}
+     */
+    @Column(name = "payload", nullable = false, length = 2000)
+    private String payload;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+    
+    /**
+     * Attempts started so far, including the running one
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+    
+    /**
+     * Earliest time the job may be claimed; pushed back after each failed attempt
+     */
+    @Column(name = "run_at", nullable = false)
+    private LocalDateTime runAt;
+    
+    /**
+     * Worker holding the lease of a RUNNING job
+     */
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+    
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+    
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (runAt == null) {
+            runAt = createdAt;
+        }
+    }
+    
+    /**
+     * Kind of work a job performs; each type is handled by one JobHandler
+     */
+    public enum JobType {
+        GENERATE_CONTRACT_DUES,
+        GENERATE_RENEWAL_DUES,
+        CANCEL_CONTRACT_DUES,
+        REGENERATE_MODIFIED_DUES
+    }
+    
+    /**
+     * Processing state of a job
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        SUCCEEDED,
+        /**
+         * Gave up after the maximum number of attempts; kept for inspection
+         */
+        DEAD
+    }
+}
@@ -40,7 +40,8 @@ public class Contract {
      * Unique identifier for the contract
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contracts_id_seq")
+    @SequenceGenerator(name = "contracts_id_seq", sequenceName = "contracts_id_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
     
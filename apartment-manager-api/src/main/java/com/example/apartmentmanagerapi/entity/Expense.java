@@ -20,6 +20,9 @@ import java.time.LocalDateTime;
     indexes = {
         @Index(name = "idx_expense_building_date", columnList = "building_id, expense_date"),
         @Index(name = "idx_expense_category", columnList = "expense_category")
+    },
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_expense_recurring_period", columnNames = {"recurring_template_id", "expense_date"})
     }
 )
 @Data
@@ -32,7 +35,8 @@ public class Expense {
      * Unique identifier for the expense
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expenses_id_seq")
+    @SequenceGenerator(name = "expenses_id_seq", sequenceName = "expenses_id_seq", allocationSize = 50)
     private Long id;
     
     /**
@@ -111,6 +115,27 @@ public class Expense {
     @Column(name = "recurrence_frequency", length = 20)
     private RecurrenceFrequency recurrenceFrequency;
     
+    /**
+     * Date the next instance of a recurring expense is due (templates only)
+     */
+    @Column(name = "next_occurrence_date")
+    private LocalDate nextOccurrenceDate;
+    
+    /**
+     * Recurring expense this instance was materialized from; null for expenses entered by hand.
+     * Unique together with the expense date, so each period is materialized at most once.
+     */
+    @Column(name = "recurring_template_id")
+    private Long recurringTemplateId;
+    
+    /**
+     * How the expense was split among flats, if it was distributed.
+     * Instances of a recurring expense are distributed the same way.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "distribution_method", length = 20)
+    private DistributionMethod distributionMethod;
+    
     /**
      * Timestamp when this record was created
      */
@@ -176,6 +201,25 @@ public class Expense {
         }
     }
     
+    /**
+     * How an expense is split among the active flats of its building
+     */
+    public enum DistributionMethod {
+        EQUAL("Equal shares"),               // Same share for every flat
+        AREA("By area"),                     // Proportional to Flat.areaSqMeters
+        RENT("By rent");                     // Proportional to Flat.monthlyRent
+        
+        private final String displayName;
+        
+        DistributionMethod(String displayName) {
+            this.displayName = displayName;
+        }
+        
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+    
     /**
      * Frequency options for recurring expenses
      */
@@ -195,5 +239,19 @@ public class Expense {
         public String getDisplayName() {
             return displayName;
         }
+        
+        /**
+         * Date of an occurrence counted from the first one; counting from the first
+         * keeps month-end dates from drifting (Jan 31, Feb 29, Mar 31)
+         */
+        public LocalDate occurrence(LocalDate first, int n) {
+            return switch (this) {
+                case WEEKLY -> first.plusWeeks(n);
+                case MONTHLY -> first.plusMonths(n);
+                case QUARTERLY -> first.plusMonths(3L * n);
+                case SEMI_ANNUAL -> first.plusMonths(6L * n);
+                case ANNUAL -> first.plusYears(n);
+            };
+        }
     }
 }
\ No newline at end of file
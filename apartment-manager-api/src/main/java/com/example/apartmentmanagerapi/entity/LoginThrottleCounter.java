@@ -0,0 +1,55 @@
+package com.example.apartmentmanagerapi.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity holding aggregated login failure counters shared between application nodes.
+ * Each node keeps its own in-memory sliding windows and periodically merges its deltas
+ * into this table, so a lockout triggered on one node is visible on the others.
+ * Times are stored as epoch milliseconds to keep rows compact and zone independent.
+ */
+@Entity
+@Table(name = "login_throttle_counters", indexes = {
+    @Index(name = "idx_login_throttle_updated_at", columnList = "updated_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoginThrottleCounter {
+
+    /**
+     * Throttle key, e.g. "user:john" or "ip:10.0.0.1"
+     */
+    @Id
+    @Column(name = "throttle_key", length = 200)
+    private String throttleKey;
+
+    /**
+     * Failed attempts counted across all nodes in the current window
+     */
+    @Column(name = "failure_count", nullable = false)
+    private int failureCount;
+
+    /**
+     * Start of the current counting window (epoch millis)
+     */
+    @Column(name = "window_start", nullable = false)
+    private long windowStart;
+
+    /**
+     * Time until which logins for this key are blocked (epoch millis, 0 when not locked)
+     */
+    @Column(name = "locked_until", nullable = false)
+    private long lockedUntil;
+
+    /**
+     * Last time any node flushed into this row (epoch millis)
+     */
+    @Column(name = "updated_at", nullable = false)
+    private long updatedAt;
+}
@@ -34,7 +34,8 @@ public class MonthlyDue {
      * Unique identifier for the monthly due record
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "monthly_dues_id_seq")
+    @SequenceGenerator(name = "monthly_dues_id_seq", sequenceName = "monthly_dues_id_seq", allocationSize = 50)
     private Long id;
     
     /**
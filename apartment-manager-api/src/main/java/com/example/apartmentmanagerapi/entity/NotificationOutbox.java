@@ -0,0 +1,120 @@
+package com.example.apartmentmanagerapi.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox entry for one notification item addressed to one recipient.
+ * Producers queue entries inside their own transaction; NotificationDispatchService later
+ * coalesces the pending entries of each recipient into one digest and hands it to the
+ * configured transport. The unique dedup key keeps the same item from being queued twice.
+ */
+@Entity
+@Table(name = "notification_outbox",
+    indexes = {
+        @Index(name = "idx_notification_outbox_status_recipient", columnList = "status, recipient"),
+        @Index(name = "idx_notification_outbox_sent_at", columnList = "sent_at")
+    },
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_notification_outbox_dedup_key", columnNames = "dedup_key")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutbox {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_id_seq")
+    @SequenceGenerator(name = "notification_outbox_id_seq", sequenceName = "notification_outbox_id_seq", allocationSize = 50)
+    private Long id;
+    
+    /**
+     * Identifies the notification item, e.g. "contract-expiry:42:2025-06-30:within-30d:jane@example.com"
+     */
+    @Column(name = "dedup_key", nullable = false, length = 300)
+    private String dedupKey;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "notification_type", nullable = false, length = 50)
+    private NotificationType notificationType;
+    
+    /**
+     * ID of the entity the notification is about, e.g. the contract ID
+     */
+    @Column(name = "reference_id")
+    private Long referenceId;
+    
+    @Column(name = "recipient", nullable = false, length = 255)
+    private String recipient;
+    
+    @Column(name = "subject", nullable = false, length = 255)
+    private String subject;
+    
+    /**
+     * Text of this item; digests list the bodies of all coalesced items
+     */
+    @Column(name = "body", nullable = false, length = 2000)
+    private String body;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+    
+    /**
+     * Failed delivery attempts so far
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+    
+    /**
+     * Dispatch run sending this entry; the claim expires after the dispatch lease
+     */
+    @Column(name = "claimed_by", length = 36)
+    private String claimedBy;
+    
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+    
+    /**
+     * Kind of notification queued in the outbox
+     */
+    public enum NotificationType {
+        CONTRACT_EXPIRY
+    }
+    
+    /**
+     * Delivery state of an outbox entry
+     */
+    public enum Status {
+        PENDING,
+        SENT,
+        /**
+         * Delivery gave up after the maximum number of attempts
+         */
+        FAILED
+    }
+}
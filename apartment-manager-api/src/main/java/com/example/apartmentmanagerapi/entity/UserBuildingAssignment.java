@@ -17,6 +17,7 @@ import java.time.LocalDateTime;
  * that a user can only be assigned once to a specific building.
  */
 @Entity
+@EntityListeners(UserBuildingAssignmentListener.class)
 @Table(name = "user_building_assignments",
     uniqueConstraints = {
         @UniqueConstraint(columnNames = {"user_id", "building_id"},
@@ -0,0 +1,38 @@
+package com.example.apartmentmanagerapi.entity;
+
+import com.example.apartmentmanagerapi.service.IBuildingAccessService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that keeps the building access cache in sync with assignments.
+ * Any insert, update or delete of a UserBuildingAssignment evicts the assigned user's
+ * cached building set. The service is resolved lazily to avoid a circular dependency
+ * with the entity manager factory.
+ */
+@Component
+public class UserBuildingAssignmentListener {
+    
+    private final ObjectProvider<IBuildingAccessService> buildingAccessService;
+    
+    public UserBuildingAssignmentListener(ObjectProvider<IBuildingAccessService> buildingAccessService) {
+        this.buildingAccessService = buildingAccessService;
+    }
+    
+    /**
+     * Evict the cached building set of the assignment's user
+     * @param assignment The changed assignment
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onAssignmentChanged(UserBuildingAssignment assignment) {
+        if (assignment.getUser() == null) {
+            return;
+        }
+        buildingAccessService.ifAvailable(service -> service.evictUser(assignment.getUser().getUsername()));
+    }
+}
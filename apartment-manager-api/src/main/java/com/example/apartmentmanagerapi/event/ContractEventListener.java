@@ -1,177 +1,179 @@
 package com.example.apartmentmanagerapi.event;
 
+import com.example.apartmentmanagerapi.config.AsyncConfig;
 import com.example.apartmentmanagerapi.entity.AuditLog;
+import com.example.apartmentmanagerapi.entity.BackgroundJob;
 import com.example.apartmentmanagerapi.entity.Contract;
-import com.example.apartmentmanagerapi.entity.MonthlyDue;
+import com.example.apartmentmanagerapi.job.ContractDuesJobHandler;
 import com.example.apartmentmanagerapi.repository.ContractRepository;
 import com.example.apartmentmanagerapi.service.IAuditService;
-import com.example.apartmentmanagerapi.service.IContractDueGenerationService;
 import com.example.apartmentmanagerapi.service.IContractNotificationService;
+import com.example.apartmentmanagerapi.service.IJobQueueService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Event listener for contract-related events
- * Handles due generation, notifications, and audit logging
+ * Queues due generation jobs with the contract write, and handles notifications and audit logging
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class ContractEventListener {
     
-    private final IContractDueGenerationService dueGenerationService;
     private final IContractNotificationService notificationService;
     private final IAuditService auditService;
+    private final IJobQueueService jobQueueService;
     private final ContractRepository contractRepository;
     
+    @Qualifier(AsyncConfig.NOTIFICATION_EXECUTOR)
+    private final Executor notificationExecutor;
+    
+    /**
+     * Queue due generation for a new contract in the creating transaction.
+     * The job commits atomically with the contract and is run by BackgroundJobWorker,
+     * so the request does not wait for it and a crash after commit cannot lose it.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void enqueueContractCreatedJobs(ContractCreatedEvent event) {
+        if (event.isGenerateDuesImmediately()) {
+            jobQueueService.enqueue(BackgroundJob.JobType.GENERATE_CONTRACT_DUES,
+                ContractDuesJobHandler.generateDuesPayload(event.getContract().getId()));
+        }
+    }
+    
+    /**
+     * Queue extension due generation for a renewal contract in the renewing transaction
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void enqueueContractRenewedJobs(ContractRenewedEvent event) {
+        if (event.isGenerateDuesImmediately()) {
+            // Extension dues start the day after the old contract's end date
+            jobQueueService.enqueue(BackgroundJob.JobType.GENERATE_RENEWAL_DUES,
+                ContractDuesJobHandler.renewalDuesPayload(event.getNewContract().getId(),
+                    event.getOldContract().getEndDate().plusDays(1)));
+        }
+    }
+    
+    /**
+     * Queue cancellation of unpaid dues in the cancelling transaction
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void enqueueContractCancelledJobs(ContractCancelledEvent event) {
+        if (event.isCancelUnpaidDues()) {
+            jobQueueService.enqueue(BackgroundJob.JobType.CANCEL_CONTRACT_DUES,
+                ContractDuesJobHandler.cancelDuesPayload(event.getContract().getId()));
+        }
+    }
+    
+    /**
+     * Queue regeneration of future dues in the modifying transaction
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void enqueueContractModifiedJobs(ContractModifiedEvent event) {
+        jobQueueService.enqueue(BackgroundJob.JobType.REGENERATE_MODIFIED_DUES,
+            ContractDuesJobHandler.modifiedDuesPayload(event.getOldContract().getId(),
+                event.getNewContract().getId(), event.getEffectiveDate()));
+    }
+    
     /**
-     * Handle contract creation - generate dues and send notifications
-     * Using @TransactionalEventListener to ensure contract is committed before processing
+     * Handle contract creation - send notifications once the contract is committed
      */
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @CacheEvict(value = "buildingOccupancy", key = "#event.contract.flat.apartmentBuilding.id",
+                condition = "#event.contract.flat != null")
     public void handleContractCreated(ContractCreatedEvent event) {
-        log.info("=== CONTRACT EVENT LISTENER TRIGGERED ===");
         log.info("Handling contract created event for contract ID: {}, generateDues: {}", 
                 event.getContract().getId(), event.isGenerateDuesImmediately());
         
-        // Generate monthly dues if requested
-        if (event.isGenerateDuesImmediately()) {
-            log.info("Attempting to generate dues for contract ID: {}", event.getContract().getId());
-            try {
-                // Reload the contract to ensure it's attached to the current persistence context
-                Contract contract = contractRepository.findById(event.getContract().getId())
-                    .orElseThrow(() -> new RuntimeException("Contract not found: " + event.getContract().getId()));
-                log.info("Reloaded contract ID: {}, duesGenerated: {}", contract.getId(), contract.isDuesGenerated());
-                
-                List<MonthlyDue> generatedDues = dueGenerationService.generateDuesForContract(contract);
-                log.info("Generated {} monthly dues for contract ID: {}", 
-                        generatedDues.size(), event.getContract().getId());
-                
-                // Audit the due generation
-                auditService.logSuccess(AuditLog.AuditAction.CONTRACT_DUES_GENERATED, 
-                    "Contract", event.getContract().getId(),
-                    String.format("Generated %d monthly dues for contract", generatedDues.size()));
-            } catch (Exception e) {
-                log.error("Error generating dues for contract ID: {}", event.getContract().getId(), e);
-                auditService.logFailure(AuditLog.AuditAction.CONTRACT_DUES_GENERATION_FAILED,
-                    String.format("Failed to generate dues for contract %d", event.getContract().getId()),
-                    e.getMessage());
-            }
-        }
-        
         // Send notification asynchronously
         sendContractCreationNotificationAsync(event);
-        
-        // Evict caches for the flat
-        evictFlatCaches(event.getContract());
     }
     
     /**
-     * Handle contract renewal - generate extension dues
+     * Handle contract renewal - send notifications once the renewal is committed
      */
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @CacheEvict(value = "buildingOccupancy", key = "#event.newContract.flat.apartmentBuilding.id",
+                condition = "#event.newContract.flat != null")
     public void handleContractRenewed(ContractRenewedEvent event) {
         log.info("Handling contract renewed event. Old contract ID: {}, New contract ID: {}", 
                 event.getOldContract().getId(), event.getNewContract().getId());
         
-        if (event.isGenerateDuesImmediately()) {
-            try {
-                // Generate dues starting from the old contract's end date + 1 day
-                List<MonthlyDue> generatedDues = dueGenerationService.generateDuesForContractExtension(
-                    event.getNewContract(), 
-                    event.getOldContract().getEndDate().plusDays(1)
-                );
-                
-                log.info("Generated {} extension dues for renewed contract ID: {}", 
-                        generatedDues.size(), event.getNewContract().getId());
-                
-                auditService.logSuccess(AuditLog.AuditAction.CONTRACT_RENEWAL_DUES_GENERATED,
-                    "Contract", event.getNewContract().getId(),
-                    String.format("Generated %d dues for contract renewal", generatedDues.size()));
-            } catch (Exception e) {
-                log.error("Error generating dues for renewed contract ID: {}", 
-                         event.getNewContract().getId(), e);
-            }
-        }
-        
         // Send renewal notification
         sendContractRenewalNotificationAsync(event);
+    }
+    
+    /**
+     * Handle a batch renewal once it is committed.
+     * Audit entries are queued per renewal and the batch's notifications are sent as a single
+     * notification task. The batch may touch many flats, so the contract-derived caches are cleared.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @CacheEvict(value = {"flatsWithContracts", "flatActiveContract", "flatOccupancySummary", "buildingOccupancy"},
+                allEntries = true)
+    public void handleContractsRenewed(ContractsRenewedEvent event) {
+        List<Contract> renewals = event.getRenewalContracts();
+        log.info("Handling batch renewal of {} contracts", renewals.size());
+        
+        for (Contract renewal : renewals) {
+            auditService.logSuccess(AuditLog.AuditAction.CONTRACT_RENEWED,
+                "Contract", renewal.getId(),
+                String.format("Renewed contract %d with new contract %d (batch)", 
+                    renewal.getPreviousContract().getId(), renewal.getId()));
+        }
+        if (event.getDuesGenerated() > 0) {
+            auditService.logSuccess(AuditLog.AuditAction.CONTRACT_RENEWAL_DUES_GENERATED,
+                String.format("Generated %d dues for %d batch contract renewals", 
+                    event.getDuesGenerated(), renewals.size()));
+        }
         
-        // Evict caches for both old and new contracts
-        evictFlatCaches(event.getOldContract());
-        evictFlatCaches(event.getNewContract());
+        notificationExecutor.execute(() -> {
+            for (Contract renewal : renewals) {
+                try {
+                    notificationService.sendContractRenewalNotification(renewal.getPreviousContract(), renewal);
+                } catch (Exception e) {
+                    log.error("Error sending contract renewal notification for contract ID: {}", 
+                             renewal.getId(), e);
+                }
+            }
+        });
     }
     
     /**
-     * Handle contract cancellation - cancel unpaid dues
+     * Handle contract cancellation - send notifications once the cancellation is committed
      */
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @CacheEvict(value = "buildingOccupancy", key = "#event.contract.flat.apartmentBuilding.id",
+                condition = "#event.contract.flat != null")
     public void handleContractCancelled(ContractCancelledEvent event) {
         log.info("Handling contract cancelled event for contract ID: {}", event.getContract().getId());
         
-        if (event.isCancelUnpaidDues()) {
-            try {
-                int cancelledCount = dueGenerationService.cancelUnpaidDuesForContract(event.getContract());
-                log.info("Cancelled {} unpaid dues for contract ID: {}", 
-                        cancelledCount, event.getContract().getId());
-                
-                auditService.logSuccess(AuditLog.AuditAction.CONTRACT_DUES_CANCELLED,
-                    "Contract", event.getContract().getId(),
-                    String.format("Cancelled %d unpaid dues due to contract cancellation", cancelledCount));
-            } catch (Exception e) {
-                log.error("Error cancelling dues for contract ID: {}", event.getContract().getId(), e);
-            }
-        }
-        
         // Send cancellation notification
         sendContractCancellationNotificationAsync(event);
-        
-        // Evict caches for the flat
-        evictFlatCaches(event.getContract());
     }
     
     /**
-     * Handle contract modification - regenerate future dues
+     * Handle contract modification - send notifications once the modification is committed
      */
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @CacheEvict(value = "buildingOccupancy", key = "#event.newContract.flat.apartmentBuilding.id",
+                condition = "#event.newContract.flat != null")
     public void handleContractModified(ContractModifiedEvent event) {
         log.info("Handling contract modified event. Old contract ID: {}, New contract ID: {}", 
                 event.getOldContract().getId(), event.getNewContract().getId());
         
-        try {
-            // Regenerate dues from the effective date
-            dueGenerationService.regenerateDuesForModifiedContract(
-                event.getOldContract(), 
-                event.getNewContract(), 
-                event.getEffectiveDate()
-            );
-            
-            auditService.logSuccess(AuditLog.AuditAction.CONTRACT_MODIFICATION_DUES_UPDATED,
-                "Contract", event.getNewContract().getId(),
-                String.format("Regenerated dues from %s due to contract modification", 
-                            event.getEffectiveDate()));
-        } catch (Exception e) {
-            log.error("Error regenerating dues for modified contract ID: {}", 
-                     event.getNewContract().getId(), e);
-        }
-        
         // Send modification notification
         sendContractModificationNotificationAsync(event);
-        
-        // Evict caches for both old and new contracts
-        evictFlatCaches(event.getOldContract());
-        evictFlatCaches(event.getNewContract());
     }
     
     /**
@@ -199,92 +201,90 @@ public class ContractEventListener {
         }
     }
     
-    // Async notification methods to avoid blocking the main transaction
-    
-    @Async
-    protected void sendContractCreationNotificationAsync(ContractCreatedEvent event) {
-        try {
-            notificationService.sendContractCreationNotification(event.getContract());
-        } catch (Exception e) {
-            log.error("Error sending contract creation notification for contract ID: {}", 
-                     event.getContract().getId(), e);
-        }
-    }
-    
-    @Async
-    protected void sendContractRenewalNotificationAsync(ContractRenewedEvent event) {
-        try {
-            notificationService.sendContractRenewalNotification(
-                event.getOldContract(), 
-                event.getNewContract()
-            );
-        } catch (Exception e) {
-            log.error("Error sending contract renewal notification for contract ID: {}", 
-                     event.getNewContract().getId(), e);
+    /**
+     * Handle a chunk of contracts moved by a bulk status update.
+     * Audit entries are queued per contract; expiry notifications for the chunk are
+     * loaded with one query and sent as a single notification task.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleContractStatusesChanged(ContractStatusesChangedEvent event) {
+        log.info("{} contracts changed status from {} to {}", 
+                event.getContractIds().size(), event.getOldStatus(), event.getNewStatus());
+        
+        String description = String.format("Status changed from %s to %s (automatic)", 
+                event.getOldStatus(), event.getNewStatus());
+        for (Long contractId : event.getContractIds()) {
+            auditService.logSuccess(AuditLog.AuditAction.CONTRACT_STATUS_CHANGED, "Contract", contractId, description);
         }
-    }
-    
-    @Async
-    protected void sendContractCancellationNotificationAsync(ContractCancelledEvent event) {
-        try {
-            notificationService.sendContractCancellationNotification(
-                event.getContract(), 
-                event.getCancellationReason()
-            );
-        } catch (Exception e) {
-            log.error("Error sending contract cancellation notification for contract ID: {}", 
-                     event.getContract().getId(), e);
+        
+        if (event.getNewStatus() == Contract.ContractStatus.EXPIRED) {
+            List<Contract> expired = contractRepository.findAllById(event.getContractIds());
+            notificationExecutor.execute(() -> {
+                for (Contract contract : expired) {
+                    try {
+                        notificationService.sendContractCancellationNotification(contract, "Contract has expired");
+                    } catch (Exception e) {
+                        log.error("Error sending contract expiry notification for contract ID: {}", 
+                                 contract.getId(), e);
+                    }
+                }
+            });
         }
     }
     
-    @Async
-    protected void sendContractModificationNotificationAsync(ContractModifiedEvent event) {
-        try {
-            notificationService.sendContractModificationNotification(
-                event.getOldContract(), 
-                event.getNewContract()
-            );
-        } catch (Exception e) {
-            log.error("Error sending contract modification notification for contract ID: {}", 
-                     event.getNewContract().getId(), e);
-        }
-    }
+    // Notifications run on the notification executor to avoid blocking the main transaction.
+    // They are submitted directly because @Async is not applied to calls within the same bean.
     
-    /**
-     * Evict flat-related caches when contract changes
-     * This ensures that flat lists show updated contract information
-     */
-    private void evictFlatCaches(Contract contract) {
-        if (contract == null || contract.getFlat() == null) {
-            return;
-        }
-        
-        Long flatId = contract.getFlat().getId();
-        Long buildingId = contract.getFlat().getApartmentBuilding().getId();
-        
-        // Evict the building's flat list cache
-        evictBuildingFlatsCache(buildingId);
-        
-        // Evict individual flat caches
-        evictFlatActiveContractCache(flatId);
-        evictFlatOccupancySummaryCache(flatId);
-        
-        log.debug("Evicted caches for flat {} in building {} due to contract change", 
-                 flatId, buildingId);
+    protected void sendContractCreationNotificationAsync(ContractCreatedEvent event) {
+        notificationExecutor.execute(() -> {
+            try {
+                notificationService.sendContractCreationNotification(event.getContract());
+            } catch (Exception e) {
+                log.error("Error sending contract creation notification for contract ID: {}", 
+                         event.getContract().getId(), e);
+            }
+        });
     }
     
-    @CacheEvict(value = "flatsWithContracts", key = "#buildingId")
-    public void evictBuildingFlatsCache(Long buildingId) {
-        // Method implementation is handled by Spring's @CacheEvict
+    protected void sendContractRenewalNotificationAsync(ContractRenewedEvent event) {
+        notificationExecutor.execute(() -> {
+            try {
+                notificationService.sendContractRenewalNotification(
+                    event.getOldContract(), 
+                    event.getNewContract()
+                );
+            } catch (Exception e) {
+                log.error("Error sending contract renewal notification for contract ID: {}", 
+                         event.getNewContract().getId(), e);
+            }
+        });
     }
     
-    @CacheEvict(value = "flatActiveContract", key = "#flatId")
-    public void evictFlatActiveContractCache(Long flatId) {
-        // Method implementation is handled by Spring's @CacheEvict
+    protected void sendContractCancellationNotificationAsync(ContractCancelledEvent event) {
+        notificationExecutor.execute(() -> {
+            try {
+                notificationService.sendContractCancellationNotification(
+                    event.getContract(), 
+                    event.getCancellationReason()
+                );
+            } catch (Exception e) {
+                log.error("Error sending contract cancellation notification for contract ID: {}", 
+                         event.getContract().getId(), e);
+            }
+        });
     }
     
-    @CacheEvict(value = "flatOccupancySummary", key = "#flatId")
-    public void evictFlatOccupancySummaryCache(Long flatId) {
-        // Method implementation is handled by Spring's @CacheEvict
+    protected void sendContractModificationNotificationAsync(ContractModifiedEvent event) {
+        notificationExecutor.execute(() -> {
+            try {
+                notificationService.sendContractModificationNotification(
+                    event.getOldContract(), 
+                    event.getNewContract()
+                );
+            } catch (Exception e) {
+                log.error("Error sending contract modification notification for contract ID: {}", 
+                         event.getNewContract().getId(), e);
+            }
+        });
     }
-}
\ No newline at end of file
+}
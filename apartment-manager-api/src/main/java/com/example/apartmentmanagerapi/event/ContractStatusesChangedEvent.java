@@ -0,0 +1,38 @@
+package com.example.apartmentmanagerapi.event;
+
+import com.example.apartmentmanagerapi.entity.Contract.ContractStatus;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Event published once per chunk of contracts moved between two statuses by a bulk update
+ * (e.g., all PENDING contracts whose start date has arrived becoming ACTIVE).
+ * Listeners receive the IDs only and should process the chunk in bulk.
+ */
+@Getter
+public class ContractStatusesChangedEvent extends ApplicationEvent {
+    
+    private final List<Long> contractIds;
+    private final ContractStatus oldStatus;
+    private final ContractStatus newStatus;
+    private final String reason;
+    
+    /**
+     * Create a new ContractStatusesChangedEvent
+     * @param source The object on which the event initially occurred
+     * @param contractIds IDs of the contracts whose status changed
+     * @param oldStatus Previous status of every contract in the chunk
+     * @param newStatus New status of every contract in the chunk
+     * @param reason Reason recorded on the contracts
+     */
+    public ContractStatusesChangedEvent(Object source, List<Long> contractIds,
+                                        ContractStatus oldStatus, ContractStatus newStatus, String reason) {
+        super(source);
+        this.contractIds = List.copyOf(contractIds);
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+        this.reason = reason;
+    }
+}
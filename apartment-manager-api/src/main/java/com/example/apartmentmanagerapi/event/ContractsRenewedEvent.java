@@ -0,0 +1,34 @@
+package com.example.apartmentmanagerapi.event;
+
+import com.example.apartmentmanagerapi.entity.Contract;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Event published once for a batch of contract renewals instead of one ContractRenewedEvent each.
+ * Every renewal contract references the contract it replaces through previousContract.
+ */
+@Getter
+public class ContractsRenewedEvent extends ApplicationEvent {
+    
+    private final List<Contract> renewalContracts;
+    private final int duesGenerated;
+    private final Long renewedByUserId;
+    
+    /**
+     * Create a new ContractsRenewedEvent
+     * @param source The object on which the event initially occurred
+     * @param renewalContracts The new renewal contracts
+     * @param duesGenerated Number of extension dues generated for the batch
+     * @param renewedByUserId ID of the user who renewed the contracts
+     */
+    public ContractsRenewedEvent(Object source, List<Contract> renewalContracts,
+                                 int duesGenerated, Long renewedByUserId) {
+        super(source);
+        this.renewalContracts = List.copyOf(renewalContracts);
+        this.duesGenerated = duesGenerated;
+        this.renewedByUserId = renewedByUserId;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.apartmentmanagerapi.event;
 
+import com.example.apartmentmanagerapi.config.AsyncConfig;
 import com.example.apartmentmanagerapi.service.IAuditService;
 import com.example.apartmentmanagerapi.entity.AuditLog;
 import lombok.RequiredArgsConstructor;
@@ -28,7 +29,7 @@ public class ExpenseEventListener {
      * 
      * @param event the expense recorded event
      */
-    @Async
+    @Async(AsyncConfig.DOMAIN_EVENT_EXECUTOR)
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleExpenseRecorded(ExpenseRecordedEvent event) {
         log.info("Processing ExpenseRecordedEvent for expense {} of amount {} in category {} for building {}", 
@@ -67,7 +68,7 @@ public class ExpenseEventListener {
      * 
      * @param buildingId the building ID whose caches should be cleared
      */
-    @CacheEvict(value = {"buildingFinancials", "monthlyExpenseTotals"}, key = "#buildingId")
+    @CacheEvict(value = "buildingFinancials", key = "#buildingId")
     public void clearBuildingFinancialCaches(Long buildingId) {
         log.debug("Cleared building financial caches for building {}", buildingId);
     }
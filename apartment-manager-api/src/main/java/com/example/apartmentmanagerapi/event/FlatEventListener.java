@@ -1,5 +1,6 @@
 package com.example.apartmentmanagerapi.event;
 
+import com.example.apartmentmanagerapi.config.AsyncConfig;
 import com.example.apartmentmanagerapi.service.IAuditService;
 import com.example.apartmentmanagerapi.entity.AuditLog;
 import lombok.RequiredArgsConstructor;
@@ -27,7 +28,7 @@ public class FlatEventListener {
      * 
      * @param event the flat created event
      */
-    @Async
+    @Async(AsyncConfig.DOMAIN_EVENT_EXECUTOR)
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleFlatCreated(FlatCreatedEvent event) {
         log.info("Processing FlatCreatedEvent for flat {} in building {}", 
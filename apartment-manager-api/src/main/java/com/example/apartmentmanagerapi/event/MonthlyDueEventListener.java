@@ -1,5 +1,6 @@
 package com.example.apartmentmanagerapi.event;
 
+import com.example.apartmentmanagerapi.config.AsyncConfig;
 import com.example.apartmentmanagerapi.service.IAuditService;
 import com.example.apartmentmanagerapi.entity.AuditLog;
 import lombok.RequiredArgsConstructor;
@@ -27,7 +28,7 @@ public class MonthlyDueEventListener {
      * 
      * @param event the monthly dues generated event
      */
-    @Async
+    @Async(AsyncConfig.DOMAIN_EVENT_EXECUTOR)
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleMonthlyDuesGenerated(MonthlyDuesGeneratedEvent event) {
         log.info("Processing MonthlyDuesGeneratedEvent for building {} - {} flats affected for {}/{}", 
@@ -1,5 +1,6 @@
 package com.example.apartmentmanagerapi.event;
 
+import com.example.apartmentmanagerapi.config.AsyncConfig;
 import com.example.apartmentmanagerapi.service.IAuditService;
 import com.example.apartmentmanagerapi.entity.AuditLog;
 import lombok.RequiredArgsConstructor;
@@ -28,7 +29,7 @@ public class PaymentEventListener {
      * 
      * @param event the payment recorded event
      */
-    @Async
+    @Async(AsyncConfig.DOMAIN_EVENT_EXECUTOR)
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handlePaymentRecorded(PaymentRecordedEvent event) {
         log.info("Processing PaymentRecordedEvent for payment {} of amount {} for flat {}", 
@@ -7,6 +7,7 @@ import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -34,6 +35,11 @@ import java.util.stream.Collectors;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
     
+    /**
+     * Exclusion constraint preventing overlapping contracts for a flat (see V6 migration)
+     */
+    static final String CONTRACT_OVERLAP_CONSTRAINT = "ex_contracts_flat_period";
+    
     /**
      * Flag to include stack traces in error responses (should be false in production)
      */
@@ -180,6 +186,31 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
     
+    /**
+     * Handle TooManyLoginAttemptsException
+     */
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyLoginAttemptsException(
+            TooManyLoginAttemptsException ex, HttpServletRequest request) {
+        
+        String correlationId = generateCorrelationId();
+        log.warn("Login throttled [{}]: {}", correlationId, ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .errorCode(ex.getErrorCode())
+                .correlationId(correlationId)
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+    
     /**
      * Handle Spring's MethodArgumentNotValidException (Bean Validation)
      */
@@ -248,6 +279,11 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(
             DataIntegrityViolationException ex, HttpServletRequest request) {
         
+        if (isContractOverlapViolation(ex)) {
+            return handleBusinessRuleException(
+                    new ContractOverlapException("Flat has overlapping contracts for the specified period"), request);
+        }
+        
         String correlationId = generateCorrelationId();
         log.error("Data integrity violation [{}]: {}", correlationId, ex.getMessage());
         
@@ -275,6 +311,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
     
+    /**
+     * Check whether a constraint violation comes from the contracts overlap exclusion constraint
+     */
+    private boolean isContractOverlapViolation(DataIntegrityViolationException ex) {
+        if (ex.getCause() instanceof org.hibernate.exception.ConstraintViolationException violation
+                && CONTRACT_OVERLAP_CONSTRAINT.equals(violation.getConstraintName())) {
+            return true;
+        }
+        return ex.getMessage() != null && ex.getMessage().contains(CONTRACT_OVERLAP_CONSTRAINT);
+    }
+    
     /**
      * Handle Spring Security Authentication exceptions
      */
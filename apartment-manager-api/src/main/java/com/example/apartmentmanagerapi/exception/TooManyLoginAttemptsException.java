@@ -0,0 +1,32 @@
+package com.example.apartmentmanagerapi.exception;
+
+/**
+ * Exception thrown when login attempts are temporarily blocked for a username or client IP
+ * because too many failed attempts were made in the throttling window.
+ * This typically maps to HTTP 429 Too Many Requests status code.
+ */
+public class TooManyLoginAttemptsException extends ApartmentManagerException {
+
+    /**
+     * Number of seconds the client should wait before trying again
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructor with retry delay
+     * @param retryAfterSeconds Seconds until the lockout expires
+     */
+    public TooManyLoginAttemptsException(long retryAfterSeconds) {
+        super(String.format("Too many failed login attempts. Try again in %d seconds", retryAfterSeconds),
+              "TOO_MANY_LOGIN_ATTEMPTS");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Get the number of seconds until the lockout expires
+     * @return Retry delay in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
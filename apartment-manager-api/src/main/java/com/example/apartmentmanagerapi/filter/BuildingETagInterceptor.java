@@ -0,0 +1,146 @@
+package com.example.apartmentmanagerapi.filter;
+
+import com.example.apartmentmanagerapi.service.IBuildingAccessService;
+import com.example.apartmentmanagerapi.service.IBuildingVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Conditional GET support for building-scoped read endpoints.
+ * For GET and HEAD requests to handlers mapped with a {buildingId} path variable, the building's data
+ * version is read with one primary-key query before the controller runs. The strong ETag combines it with
+ * a hash of the URL, the user and the current date (some responses depend on today's date), and a
+ * matching If-None-Match is answered with 304 Not Modified without calling any service or cache.
+ * Interceptors run before the controller's method security, so the handler's {@code @PreAuthorize}
+ * expression is evaluated here first; a request it denies never gets an ETag or a 304.
+ * The version is read before the response data, so an ETag may be older than its body but never newer.
+ * Registered by {@link com.example.apartmentmanagerapi.config.WebMvcConfig} rather than component scanning,
+ * so MVC test slices do not need its services.
+ */
+@Slf4j
+public class BuildingETagInterceptor implements HandlerInterceptor {
+    
+    static final String BUILDING_ID_VARIABLE = "buildingId";
+    
+    private final IBuildingVersionService buildingVersionService;
+    private final IBuildingAccessService buildingAccessService;
+    private final PreAuthorizeAuthorizationManager preAuthorizeManager = new PreAuthorizeAuthorizationManager();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    
+    @Value("${app.http.building-etags.enabled:true}")
+    private boolean enabled;
+    
+    /**
+     * @param buildingVersionService Source of building data versions
+     * @param buildingAccessService Building access checks
+     * @param expressionHandler Evaluates the handlers' {@code @PreAuthorize} expressions, with the
+     *                          application's role hierarchy and bean references
+     */
+    public BuildingETagInterceptor(IBuildingVersionService buildingVersionService,
+                                   IBuildingAccessService buildingAccessService,
+                                   MethodSecurityExpressionHandler expressionHandler) {
+        this.buildingVersionService = buildingVersionService;
+        this.buildingAccessService = buildingAccessService;
+        this.preAuthorizeManager.setExpressionHandler(expressionHandler);
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || !(handler instanceof HandlerMethod) || !isSafeMethod(request)) {
+            return true;
+        }
+        Long buildingId = resolveBuildingId(request);
+        // Without access the controller's own checks reject the request; no version is revealed
+        if (buildingId == null || !buildingAccessService.canAccess(buildingId)
+                || !isAuthorized((HandlerMethod) handler, buildingId)) {
+            return true;
+        }
+        Optional<Long> version = buildingVersionService.getVersion(buildingId);
+        if (version.isEmpty()) {
+            return true;
+        }
+        
+        String etag = etag(version.get(), request);
+        // Let clients keep responses but revalidate them on every use
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            log.debug("Building {} unchanged at version {}, answered {} with 304",
+                    buildingId, version.get(), request.getRequestURI());
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Strong ETag of a building-scoped response
+     * @param version The building's data version
+     * @param request The request
+     * @return Quoted ETag, e.g. "42-1a2b3c4d"
+     */
+    String etag(long version, HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication != null ? authentication.getName() : null;
+        int variant = Objects.hash(request.getRequestURI(), request.getQueryString(), username, LocalDate.now());
+        return String.format("\"%d-%08x\"", version, variant);
+    }
+    
+    /**
+     * Evaluates the handler's {@code @PreAuthorize} expression for the current user.
+     * Only the building ID argument is bound; handlers without the annotation are authorized.
+     * @param handler The handler method
+     * @param buildingId The building ID path variable
+     * @return true if the handler would admit the request
+     */
+    boolean isAuthorized(HandlerMethod handler, Long buildingId) {
+        Object[] arguments = new Object[handler.getMethod().getParameterCount()];
+        String[] names = parameterNameDiscoverer.getParameterNames(handler.getMethod());
+        for (int i = 0; names != null && i < names.length; i++) {
+            if (BUILDING_ID_VARIABLE.equals(names[i])) {
+                arguments[i] = buildingId;
+            }
+        }
+        SimpleMethodInvocation invocation = new SimpleMethodInvocation(handler.getBean(), handler.getMethod(), arguments);
+        AuthorizationDecision decision = preAuthorizeManager.check(
+                () -> SecurityContextHolder.getContext().getAuthentication(), invocation);
+        return decision == null || decision.isGranted();
+    }
+    
+    private static boolean isSafeMethod(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Long resolveBuildingId(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String value = variables != null ? variables.get(BUILDING_ID_VARIABLE) : null;
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            // Left to the controller's parameter binding to reject
+            return null;
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.apartmentmanagerapi.filter;
 
 import com.example.apartmentmanagerapi.util.LoggingUtils;
+import com.example.apartmentmanagerapi.util.RequestUtils;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.core.Authentication;
@@ -14,23 +17,43 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
 
 /**
  * Filter that adds logging context to all requests.
- * Sets correlation ID and user information in MDC for structured logging.
+ * Sets correlation ID and user information in MDC for structured logging, and writes one
+ * structured access-log record per request after it completes. Failed and slow requests
+ * are always logged; successful requests are sampled.
  */
-@Slf4j
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class LoggingFilter extends OncePerRequestFilter {
     
     private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
     
+    /**
+     * Dedicated logger so access records can be routed independently of application logs
+     */
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("ACCESS_LOG");
+    
+    @Value("${app.logging.access.enabled:true}")
+    private boolean accessLogEnabled;
+    
+    @Value("${app.logging.access.success-sample-rate:1.0}")
+    private double successSampleRate;
+    
+    @Value("${app.logging.access.slow-request-threshold-ms:1000}")
+    private long slowRequestThresholdMs;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         
-        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        Throwable failure = null;
         
         try {
             // Set correlation ID from header or generate new one
@@ -51,26 +74,56 @@ public class LoggingFilter extends OncePerRequestFilter {
             // Set user context if authenticated
             setUserContext();
             
-            // Log request start
-            log.info("Request started: {} {} from IP: {}", 
-                request.getMethod(), 
-                request.getRequestURI(), 
-                getClientIpAddress(request));
-            
             // Continue with the filter chain
             filterChain.doFilter(request, response);
             
-            // Log request completion
-            long duration = System.currentTimeMillis() - startTime;
-            log.info("Request completed: {} {} - Status: {} - Duration: {}ms", 
-                request.getMethod(), 
-                request.getRequestURI(), 
-                response.getStatus(),
-                duration);
-            
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
         } finally {
-            // Clear MDC context to prevent memory leaks
-            LoggingUtils.clearContext();
+            try {
+                long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                // An exception escaping the chain is reported by the container as a 500
+                int status = failure != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+                if (shouldLogAccess(status, durationMs)) {
+                    logAccess(request, status, durationMs);
+                }
+            } finally {
+                // Clear MDC context to prevent memory leaks
+                LoggingUtils.clearContext();
+            }
+        }
+    }
+    
+    /**
+     * Decide whether a completed request gets an access-log record
+     * @param status Response status
+     * @param durationMs Request duration in milliseconds
+     * @return true for errors, slow requests and the sampled share of the rest
+     */
+    boolean shouldLogAccess(int status, long durationMs) {
+        if (!accessLogEnabled || !ACCESS_LOG.isInfoEnabled()) {
+            return false;
+        }
+        if (status >= 400 || durationMs >= slowRequestThresholdMs) {
+            return true;
+        }
+        return successSampleRate >= 1.0
+                || (successSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < successSampleRate);
+    }
+    
+    private void logAccess(HttpServletRequest request, int status, long durationMs) {
+        Object[] fields = {
+                keyValue("method", request.getMethod()),
+                keyValue("path", request.getRequestURI()),
+                keyValue("status", status),
+                keyValue("durationMs", durationMs),
+                keyValue("clientIp", RequestUtils.getClientIpAddress(request))
+        };
+        if (status >= 500) {
+            ACCESS_LOG.warn("{} {} {} {} {}", fields);
+        } else {
+            ACCESS_LOG.info("{} {} {} {} {}", fields);
         }
     }
     
@@ -90,23 +143,6 @@ public class LoggingFilter extends OncePerRequestFilter {
         }
     }
     
-    /**
-     * Get client IP address considering proxy headers
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-        
-        return request.getRemoteAddr();
-    }
-    
     /**
      * Don't filter actuator endpoints to reduce noise
      */
@@ -115,4 +151,4 @@ public class LoggingFilter extends OncePerRequestFilter {
         String path = request.getRequestURI();
         return path.startsWith("/actuator/");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package com.example.apartmentmanagerapi.filter;
+
+import com.example.apartmentmanagerapi.metrics.QueryCount;
+import com.example.apartmentmanagerapi.metrics.QueryCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Development filter that counts SQL statements per request.
+ * Warns when a request exceeds its statement budget or prepares the same statement
+ * repeatedly, which usually means an N+1 query. When a caller (such as a test) has
+ * already started a counting scope, the filter reports into it and leaves it open.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(value = "app.query-count.enabled", havingValue = "true")
+public class QueryCountFilter extends OncePerRequestFilter {
+    
+    @Value("${app.query-count.max-per-request:30}")
+    private int maxPerRequest;
+    
+    @Value("${app.query-count.repeated-statement-threshold:3}")
+    private int repeatedStatementThreshold;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        
+        boolean ownsScope = !QueryCounter.isActive();
+        QueryCount count = ownsScope ? QueryCounter.start() : QueryCounter.current();
+        int before = count.getTotal();
+        
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (ownsScope) {
+                QueryCounter.stop();
+            }
+            report(request, count, count.getTotal() - before);
+        }
+    }
+    
+    private void report(HttpServletRequest request, QueryCount count, int statements) {
+        String operation = request.getMethod() + " " + request.getRequestURI();
+        if (statements > maxPerRequest) {
+            log.warn("{} prepared {} SQL statements, over the budget of {}", operation, statements, maxPerRequest);
+        }
+        
+        Map<String, Integer> repeated = count.getRepeatedStatements(repeatedStatementThreshold);
+        repeated.forEach((sql, times) ->
+                log.warn("Possible N+1 in {}: statement prepared {} times: {}", operation, times, sql));
+        
+        if (log.isDebugEnabled()) {
+            log.debug("{} prepared {} SQL statements ({} distinct)", operation, statements, count.getDistinct());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.apartmentmanagerapi.job;
+
+import com.example.apartmentmanagerapi.config.AsyncConfig;
+import com.example.apartmentmanagerapi.entity.BackgroundJob;
+import com.example.apartmentmanagerapi.service.IJobQueueService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Claims queued background jobs and runs them on the job executor.
+ * Every job type has its own pool of permits sized by its handler's concurrency limit; a poll
+ * claims at most as many jobs of a type as it has free permits, so a backlog of one type
+ * cannot occupy the workers of the others. Several nodes may poll the same table at once.
+ */
+@Component
+@Slf4j
+public class BackgroundJobWorker {
+    
+    private final IJobQueueService jobQueueService;
+    private final Executor jobExecutor;
+    private final Map<BackgroundJob.JobType, JobHandler> handlers = new EnumMap<>(BackgroundJob.JobType.class);
+    private final Map<BackgroundJob.JobType, Semaphore> permits = new EnumMap<>(BackgroundJob.JobType.class);
+    
+    /**
+     * Identifies this worker's leases, e.g. "12345@host:1a2b3c4d"
+     */
+    private final String workerId;
+    
+    @Value("${app.jobs.poll.batch-size:10}")
+    private int batchSize;
+    
+    public BackgroundJobWorker(IJobQueueService jobQueueService, List<JobHandler> jobHandlers,
+                               @Qualifier(AsyncConfig.JOB_EXECUTOR) Executor jobExecutor) {
+        this.jobQueueService = jobQueueService;
+        this.jobExecutor = jobExecutor;
+        for (JobHandler handler : jobHandlers) {
+            for (BackgroundJob.JobType jobType : handler.getJobTypes()) {
+                if (handlers.putIfAbsent(jobType, handler) != null) {
+                    throw new IllegalStateException("More than one handler registered for job type " + jobType);
+                }
+                permits.put(jobType, new Semaphore(Math.max(1, handler.getMaxConcurrency())));
+            }
+        }
+        this.workerId = ManagementFactory.getRuntimeMXBean().getName() + ":"
+            + UUID.randomUUID().toString().substring(0, 8);
+    }
+    
+    /**
+     * Claim and start due jobs of every type, up to each type's free permits
+     * @return Number of jobs started
+     */
+    public int poll() {
+        int started = 0;
+        for (Map.Entry<BackgroundJob.JobType, JobHandler> entry : handlers.entrySet()) {
+            Semaphore slots = permits.get(entry.getKey());
+            int free = Math.min(slots.availablePermits(), batchSize);
+            if (free <= 0) {
+                continue;
+            }
+            for (BackgroundJob job : jobQueueService.claim(entry.getKey(), free, workerId)) {
+                if (start(job, entry.getValue(), slots)) {
+                    started++;
+                }
+            }
+        }
+        return started;
+    }
+    
+    /**
+     * @return Identifier written to the lease of claimed jobs
+     */
+    public String getWorkerId() {
+        return workerId;
+    }
+    
+    private boolean start(BackgroundJob job, JobHandler handler, Semaphore slots) {
+        if (!slots.tryAcquire()) {
+            jobQueueService.release(job, workerId);
+            return false;
+        }
+        try {
+            jobExecutor.execute(() -> run(job, handler, slots));
+            return true;
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            log.warn("Job executor saturated, handing {} job {} back to the queue", job.getJobType(), job.getId());
+            jobQueueService.release(job, workerId);
+            return false;
+        }
+    }
+    
+    /**
+     * Run one attempt of a claimed job and record its outcome
+     */
+    void run(BackgroundJob job, JobHandler handler, Semaphore slots) {
+        try {
+            handler.handle(job);
+            jobQueueService.markSucceeded(job, workerId);
+        } catch (Exception e) {
+            if (jobQueueService.markFailed(job, workerId, e)) {
+                handler.onDeadLetter(job, e);
+            }
+        } finally {
+            slots.release();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.apartmentmanagerapi.job;
+
+import com.example.apartmentmanagerapi.entity.AuditLog;
+import com.example.apartmentmanagerapi.entity.BackgroundJob;
+import com.example.apartmentmanagerapi.entity.Contract;
+import com.example.apartmentmanagerapi.entity.MonthlyDue;
+import com.example.apartmentmanagerapi.exception.ContractNotFoundException;
+import com.example.apartmentmanagerapi.repository.ContractRepository;
+import com.example.apartmentmanagerapi.service.IAuditService;
+import com.example.apartmentmanagerapi.service.IBuildingVersionService;
+import com.example.apartmentmanagerapi.service.IContractDueGenerationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs the monthly due jobs queued for contract lifecycle events.
+ * Each attempt runs in one transaction, so a failed attempt leaves no partial dues behind.
+ * Attempts are skipped when an earlier attempt already committed its dues.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContractDuesJobHandler implements JobHandler {
+    
+    private final IContractDueGenerationService dueGenerationService;
+    private final ContractRepository contractRepository;
+    private final IAuditService auditService;
+    private final IBuildingVersionService buildingVersionService;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${app.jobs.contract-dues.max-concurrency:2}")
+    private int maxConcurrency;
+    
+    /**
+     * Payload of a GENERATE_CONTRACT_DUES job
+     * @param contractId The new contract
+     * @return Job payload
+     */
+    public static Map<String, Object> generateDuesPayload(Long contractId) {
+        return Map.of("contractId", contractId);
+    }
+    
+    /**
+     * Payload of a GENERATE_RENEWAL_DUES job
+     * @param contractId The renewal contract
+     * @param fromDate First day of the extension
+     * @return Job payload
+     */
+    public static Map<String, Object> renewalDuesPayload(Long contractId, LocalDate fromDate) {
+        return Map.of("contractId", contractId, "fromDate", fromDate.toString());
+    }
+    
+    /**
+     * Payload of a CANCEL_CONTRACT_DUES job
+     * @param contractId The cancelled contract
+     * @return Job payload
+     */
+    public static Map<String, Object> cancelDuesPayload(Long contractId) {
+        return Map.of("contractId", contractId);
+    }
+    
+    /**
+     * Payload of a REGENERATE_MODIFIED_DUES job
+     * @param oldContractId The superseded contract
+     * @param newContractId The replacement contract
+     * @param effectiveDate Date the modification takes effect
+     * @return Job payload
+     */
+    public static Map<String, Object> modifiedDuesPayload(Long oldContractId, Long newContractId,
+                                                          LocalDate effectiveDate) {
+        return Map.of("oldContractId", oldContractId, "newContractId", newContractId,
+            "effectiveDate", effectiveDate.toString());
+    }
+    
+    @Override
+    public Set<BackgroundJob.JobType> getJobTypes() {
+        return EnumSet.of(
+            BackgroundJob.JobType.GENERATE_CONTRACT_DUES,
+            BackgroundJob.JobType.GENERATE_RENEWAL_DUES,
+            BackgroundJob.JobType.CANCEL_CONTRACT_DUES,
+            BackgroundJob.JobType.REGENERATE_MODIFIED_DUES
+        );
+    }
+    
+    @Override
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+    
+    @Override
+    @Transactional
+    public void handle(BackgroundJob job) {
+        JsonNode payload = readPayload(job);
+        switch (job.getJobType()) {
+            case GENERATE_CONTRACT_DUES -> generateDues(payload.get("contractId").asLong());
+            case GENERATE_RENEWAL_DUES -> generateRenewalDues(payload.get("contractId").asLong(),
+                LocalDate.parse(payload.get("fromDate").asText()));
+            case CANCEL_CONTRACT_DUES -> cancelDues(payload.get("contractId").asLong());
+            case REGENERATE_MODIFIED_DUES -> regenerateDues(payload.get("oldContractId").asLong(),
+                payload.get("newContractId").asLong(), LocalDate.parse(payload.get("effectiveDate").asText()));
+            default -> throw new IllegalArgumentException("Unsupported job type: " + job.getJobType());
+        }
+    }
+    
+    @Override
+    public void onDeadLetter(BackgroundJob job, Exception error) {
+        if (job.getJobType() == BackgroundJob.JobType.GENERATE_CONTRACT_DUES) {
+            auditService.logFailure(AuditLog.AuditAction.CONTRACT_DUES_GENERATION_FAILED,
+                String.format("Failed to generate dues (job %d, payload %s)", job.getId(), job.getPayload()),
+                error.getMessage());
+        }
+    }
+    
+    private void generateDues(Long contractId) {
+        Contract contract = loadContract(contractId);
+        if (contract.isDuesGenerated()) {
+            log.info("Dues for contract ID: {} were already generated, skipping", contractId);
+            return;
+        }
+        
+        List<MonthlyDue> generatedDues = dueGenerationService.generateDuesForContract(contract);
+        bumpBuildingVersion(contract);
+        log.info("Generated {} monthly dues for contract ID: {}", generatedDues.size(), contractId);
+        
+        auditService.logSuccess(AuditLog.AuditAction.CONTRACT_DUES_GENERATED,
+            "Contract", contractId,
+            String.format("Generated %d monthly dues for contract", generatedDues.size()));
+    }
+    
+    private void generateRenewalDues(Long contractId, LocalDate fromDate) {
+        Contract contract = loadContract(contractId);
+        // Renewal contracts stay modifiable, so the duesGenerated flag cannot mark a completed attempt
+        if (!dueGenerationService.getDuesByContractId(contractId).isEmpty()) {
+            log.info("Extension dues for contract ID: {} were already generated, skipping", contractId);
+            return;
+        }
+        
+        List<MonthlyDue> generatedDues = dueGenerationService.generateDuesForContractExtension(contract, fromDate);
+        bumpBuildingVersion(contract);
+        log.info("Generated {} extension dues for renewed contract ID: {}", generatedDues.size(), contractId);
+        
+        auditService.logSuccess(AuditLog.AuditAction.CONTRACT_RENEWAL_DUES_GENERATED,
+            "Contract", contractId,
+            String.format("Generated %d dues for contract renewal", generatedDues.size()));
+    }
+    
+    private void cancelDues(Long contractId) {
+        // Already cancelled dues are skipped, so repeating an attempt is harmless
+        Contract contract = loadContract(contractId);
+        int cancelledCount = dueGenerationService.cancelUnpaidDuesForContract(contract);
+        if (cancelledCount > 0) {
+            bumpBuildingVersion(contract);
+        }
+        log.info("Cancelled {} unpaid dues for contract ID: {}", cancelledCount, contractId);
+        
+        auditService.logSuccess(AuditLog.AuditAction.CONTRACT_DUES_CANCELLED,
+            "Contract", contractId,
+            String.format("Cancelled %d unpaid dues due to contract cancellation", cancelledCount));
+    }
+    
+    private void regenerateDues(Long oldContractId, Long newContractId, LocalDate effectiveDate) {
+        Contract newContract = loadContract(newContractId);
+        if (newContract.isDuesGenerated()) {
+            log.info("Dues for modified contract ID: {} were already regenerated, skipping", newContractId);
+            return;
+        }
+        
+        dueGenerationService.regenerateDuesForModifiedContract(loadContract(oldContractId), newContract, effectiveDate);
+        bumpBuildingVersion(newContract);
+        
+        auditService.logSuccess(AuditLog.AuditAction.CONTRACT_MODIFICATION_DUES_UPDATED,
+            "Contract", newContractId,
+            String.format("Regenerated dues from %s due to contract modification", effectiveDate));
+    }
+    
+    /**
+     * The dues of a job commit after the contract change that queued it, so the building's
+     * data version is incremented again with them
+     */
+    private void bumpBuildingVersion(Contract contract) {
+        buildingVersionService.bump(contract.getFlat().getApartmentBuilding().getId());
+    }
+    
+    private Contract loadContract(Long contractId) {
+        return contractRepository.findById(contractId)
+            .orElseThrow(() -> new ContractNotFoundException(contractId));
+    }
+    
+    private JsonNode readPayload(BackgroundJob job) {
+        try {
+            return objectMapper.readTree(job.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed payload of job " + job.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.apartmentmanagerapi.job;
+
+import com.example.apartmentmanagerapi.entity.BackgroundJob;
+
+import java.util.Set;
+
+/**
+ * Runs background jobs of one or more job types for BackgroundJobWorker.
+ * Jobs are delivered at least once: an attempt may be repeated after a failure or after the
+ * worker running it died, so implementations must be idempotent.
+ */
+public interface JobHandler {
+    
+    /**
+     * @return Job types this handler runs; each type has exactly one handler
+     */
+    Set<BackgroundJob.JobType> getJobTypes();
+    
+    /**
+     * @return Maximum number of jobs of each of this handler's types running at once on one node
+     */
+    int getMaxConcurrency();
+    
+    /**
+     * Run one attempt of a job
+     * @param job The claimed job
+     * @throws RuntimeException to fail the attempt; the job is retried with backoff
+     */
+    void handle(BackgroundJob job);
+    
+    /**
+     * Called once when a job used up its attempts and was dead-lettered
+     * @param job The job
+     * @param error Failure of the last attempt
+     */
+    default void onDeadLetter(BackgroundJob job, Exception error) {
+    }
+}
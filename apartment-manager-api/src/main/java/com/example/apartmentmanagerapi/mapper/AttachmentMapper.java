@@ -0,0 +1,31 @@
+package com.example.apartmentmanagerapi.mapper;
+
+import com.example.apartmentmanagerapi.dto.AttachmentResponse;
+import com.example.apartmentmanagerapi.entity.Attachment;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+/**
+ * MapStruct mapper for converting Attachment entities to DTOs.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface AttachmentMapper {
+    
+    /**
+     * Maps an Attachment entity to an AttachmentResponse DTO.
+     * 
+     * @param entity the attachment entity
+     * @return the attachment response DTO
+     */
+    AttachmentResponse toResponse(Attachment entity);
+    
+    /**
+     * Maps a list of Attachment entities to AttachmentResponse DTOs.
+     * 
+     * @param entities the attachment entities
+     * @return the attachment response DTOs
+     */
+    List<AttachmentResponse> toResponseList(List<Attachment> entities);
+}
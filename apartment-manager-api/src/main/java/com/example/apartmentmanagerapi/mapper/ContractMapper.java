@@ -3,15 +3,14 @@ package com.example.apartmentmanagerapi.mapper;
 import com.example.apartmentmanagerapi.dto.*;
 import com.example.apartmentmanagerapi.entity.Contract;
 import com.example.apartmentmanagerapi.entity.Flat;
-import com.example.apartmentmanagerapi.entity.MonthlyDue;
 import com.example.apartmentmanagerapi.entity.User;
 import org.mapstruct.*;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Mapper for Contract entity and DTOs using MapStruct
@@ -40,7 +39,15 @@ public abstract class ContractMapper {
     public abstract Contract toEntity(ContractRequest request);
     
     /**
-     * Map Contract entity to ContractResponse
+     * Map Contract entity to ContractResponse, computing dues figures from its loaded dues
+     */
+    public ContractResponse toResponse(Contract contract) {
+        if (contract == null) return null;
+        return toResponse(contract, ContractDuesStats.of(contract, LocalDate.now()));
+    }
+    
+    /**
+     * Map Contract entity to ContractResponse with pre-aggregated dues figures
      */
     @Mapping(target = "flatId", source = "flat.id")
     @Mapping(target = "flatNumber", source = "flat.flatNumber")
@@ -50,41 +57,55 @@ public abstract class ContractMapper {
     @Mapping(target = "previousContractId", source = "previousContract.id")
     @Mapping(target = "hasRenewal", expression = "java(hasRenewal(contract))")
     @Mapping(target = "cancelledByUsername", source = "cancelledBy.username")
-    @Mapping(target = "totalDuesGenerated", expression = "java(getTotalDuesCount(contract))")
-    @Mapping(target = "paidDuesCount", expression = "java(getPaidDuesCount(contract))")
-    @Mapping(target = "unpaidDuesCount", expression = "java(getUnpaidDuesCount(contract))")
-    @Mapping(target = "totalAmountDue", expression = "java(getTotalAmountDue(contract))")
-    @Mapping(target = "totalAmountPaid", expression = "java(getTotalAmountPaid(contract))")
-    @Mapping(target = "outstandingBalance", expression = "java(getOutstandingBalance(contract))")
+    @Mapping(target = "totalDuesGenerated", expression = "java(duesStats.getTotalDues())")
+    @Mapping(target = "paidDuesCount", expression = "java(duesStats.getPaidDues())")
+    @Mapping(target = "unpaidDuesCount", expression = "java(duesStats.getUnpaidDues())")
+    @Mapping(target = "totalAmountDue", expression = "java(duesStats.getTotalAmountDue())")
+    @Mapping(target = "totalAmountPaid", expression = "java(duesStats.getTotalAmountPaid())")
+    @Mapping(target = "outstandingBalance", expression = "java(duesStats.getOutstandingBalance())")
     @Mapping(target = "isExpiringSoon", expression = "java(isExpiringSoon(contract))")
     @Mapping(target = "daysUntilExpiry", expression = "java(getDaysUntilExpiry(contract))")
-    @Mapping(target = "hasOverdueDues", expression = "java(hasOverdueDues(contract))")
-    @Mapping(target = "nextDueDate", expression = "java(getNextDueDate(contract))")
+    @Mapping(target = "hasOverdueDues", expression = "java(duesStats.hasOverdueDues())")
+    @Mapping(target = "nextDueDate", expression = "java(duesStats.getNextDueDate())")
     @Mapping(target = "isCurrentlyActive", expression = "java(contract.isCurrentlyActive())")
-    @Mapping(target = "canBeRenewed", expression = "java(canBeRenewed(contract))")
+    @Mapping(target = "canBeRenewed", expression = "java(canBeRenewed(contract, duesStats))")
     @Mapping(target = "canBeModified", expression = "java(canBeModified(contract))")
     @Mapping(target = "canBeCancelled", expression = "java(canBeCancelled(contract))")
-    public abstract ContractResponse toResponse(Contract contract);
+    public abstract ContractResponse toResponse(Contract contract, @Context ContractDuesStats duesStats);
+    
+    /**
+     * Map Contract entity to ContractSummaryResponse, computing dues figures from its loaded dues
+     */
+    public ContractSummaryResponse toSummaryResponse(Contract contract) {
+        if (contract == null) return null;
+        return toSummaryResponse(contract, ContractDuesStats.of(contract, LocalDate.now()));
+    }
     
     /**
-     * Map Contract entity to ContractSummaryResponse
+     * Map Contract entity to ContractSummaryResponse with pre-aggregated dues figures
      */
     @Mapping(target = "flatId", source = "flat.id")
     @Mapping(target = "flatNumber", source = "flat.flatNumber")
     @Mapping(target = "buildingName", source = "flat.apartmentBuilding.name")
-    @Mapping(target = "outstandingBalance", expression = "java(getOutstandingBalance(contract))")
+    @Mapping(target = "outstandingBalance", expression = "java(duesStats.getOutstandingBalance())")
     @Mapping(target = "isExpiringSoon", expression = "java(isExpiringSoon(contract))")
     @Mapping(target = "daysUntilExpiry", expression = "java(getDaysUntilExpiry(contract))")
-    @Mapping(target = "hasOverdueDues", expression = "java(hasOverdueDues(contract))")
+    @Mapping(target = "hasOverdueDues", expression = "java(duesStats.hasOverdueDues())")
     @Mapping(target = "isCurrentlyActive", expression = "java(contract.isCurrentlyActive())")
     @Mapping(target = "contractLengthInMonths", expression = "java(calculateContractLength(contract))")
     @Mapping(target = "statusBadgeColor", expression = "java(getStatusBadgeColor(contract))")
-    public abstract ContractSummaryResponse toSummaryResponse(Contract contract);
+    public abstract ContractSummaryResponse toSummaryResponse(Contract contract, @Context ContractDuesStats duesStats);
     
     /**
-     * Map list of contracts to summary responses
+     * Map list of contracts to summary responses.
+     * Dues figures are taken from the given map, keyed by contract ID; contracts missing from it have no dues.
      */
-    public abstract List<ContractSummaryResponse> toSummaryResponseList(List<Contract> contracts);
+    public List<ContractSummaryResponse> toSummaryResponseList(List<Contract> contracts,
+                                                               Map<Long, ContractDuesStats> duesStats) {
+        return contracts.stream()
+            .map(contract -> toSummaryResponse(contract, statsFor(contract, duesStats)))
+            .toList();
+    }
     
     /**
      * Update Contract entity from renewal request
@@ -100,7 +121,15 @@ public abstract class ContractMapper {
     public abstract void updateFromRenewalRequest(@MappingTarget Contract contract, ContractRenewalRequest request);
     
     /**
-     * Create expiry notification from contract
+     * Create expiry notification from contract, computing dues figures from its loaded dues
+     */
+    public ContractExpiryNotification toExpiryNotification(Contract contract) {
+        if (contract == null) return null;
+        return toExpiryNotification(contract, ContractDuesStats.of(contract, LocalDate.now()));
+    }
+    
+    /**
+     * Create expiry notification from contract with pre-aggregated dues figures
      */
     @Mapping(target = "contractId", source = "id")
     @Mapping(target = "flatId", source = "flat.id")
@@ -109,12 +138,13 @@ public abstract class ContractMapper {
     @Mapping(target = "buildingId", source = "flat.apartmentBuilding.id")
     @Mapping(target = "daysUntilExpiry", expression = "java(getDaysUntilExpiry(contract))")
     @Mapping(target = "urgencyLevel", expression = "java(getUrgencyLevel(contract))")
-    @Mapping(target = "outstandingBalance", expression = "java(getOutstandingBalance(contract))")
-    @Mapping(target = "hasOverdueDues", expression = "java(hasOverdueDues(contract))")
+    @Mapping(target = "outstandingBalance", expression = "java(duesStats.getOutstandingBalance())")
+    @Mapping(target = "hasOverdueDues", expression = "java(duesStats.hasOverdueDues())")
     @Mapping(target = "assignedManagers", ignore = true) // Set by service
-    @Mapping(target = "renewalRecommended", expression = "java(!hasOverdueDues(contract))")
-    @Mapping(target = "recommendedAction", expression = "java(getRecommendedAction(contract))")
-    public abstract ContractExpiryNotification toExpiryNotification(Contract contract);
+    @Mapping(target = "renewalRecommended", expression = "java(!duesStats.hasOverdueDues())")
+    @Mapping(target = "recommendedAction", expression = "java(getRecommendedAction(contract, duesStats))")
+    public abstract ContractExpiryNotification toExpiryNotification(Contract contract,
+                                                                    @Context ContractDuesStats duesStats);
     
     // Named mapping methods
     
@@ -140,41 +170,9 @@ public abstract class ContractMapper {
         return false;
     }
     
-    protected Integer getTotalDuesCount(Contract contract) {
-        return contract.getMonthlyDues() != null ? contract.getMonthlyDues().size() : 0;
-    }
-    
-    protected Integer getPaidDuesCount(Contract contract) {
-        if (contract.getMonthlyDues() == null) return 0;
-        return (int) contract.getMonthlyDues().stream()
-            .filter(due -> due.getStatus() == MonthlyDue.DueStatus.PAID)
-            .count();
-    }
-    
-    protected Integer getUnpaidDuesCount(Contract contract) {
-        if (contract.getMonthlyDues() == null) return 0;
-        return (int) contract.getMonthlyDues().stream()
-            .filter(due -> due.getStatus() == MonthlyDue.DueStatus.UNPAID)
-            .count();
-    }
-    
-    protected BigDecimal getTotalAmountDue(Contract contract) {
-        if (contract.getMonthlyDues() == null) return BigDecimal.ZERO;
-        return contract.getMonthlyDues().stream()
-            .map(MonthlyDue::getDueAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-    
-    protected BigDecimal getTotalAmountPaid(Contract contract) {
-        if (contract.getMonthlyDues() == null) return BigDecimal.ZERO;
-        return contract.getMonthlyDues().stream()
-            .filter(due -> due.getStatus() == MonthlyDue.DueStatus.PAID)
-            .map(MonthlyDue::getDueAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-    
-    protected BigDecimal getOutstandingBalance(Contract contract) {
-        return getTotalAmountDue(contract).subtract(getTotalAmountPaid(contract));
+    protected ContractDuesStats statsFor(Contract contract, Map<Long, ContractDuesStats> duesStats) {
+        ContractDuesStats stats = duesStats.get(contract.getId());
+        return stats != null ? stats : ContractDuesStats.empty(contract.getId());
     }
     
     protected boolean isExpiringSoon(Contract contract) {
@@ -191,30 +189,10 @@ public abstract class ContractMapper {
         return days >= 0 ? (int) days : null;
     }
     
-    protected boolean hasOverdueDues(Contract contract) {
-        if (contract.getMonthlyDues() == null) return false;
-        LocalDate today = LocalDate.now();
-        return contract.getMonthlyDues().stream()
-            .anyMatch(due -> due.getStatus() == MonthlyDue.DueStatus.UNPAID && 
-                           due.getDueDate() != null && 
-                           due.getDueDate().isBefore(today));
-    }
-    
-    protected LocalDate getNextDueDate(Contract contract) {
-        if (contract.getMonthlyDues() == null) return null;
-        LocalDate today = LocalDate.now();
-        return contract.getMonthlyDues().stream()
-            .filter(due -> due.getStatus() == MonthlyDue.DueStatus.UNPAID)
-            .map(MonthlyDue::getDueDate)
-            .filter(date -> date != null && !date.isBefore(today))
-            .min(LocalDate::compareTo)
-            .orElse(null);
-    }
-    
-    protected boolean canBeRenewed(Contract contract) {
+    protected boolean canBeRenewed(Contract contract, ContractDuesStats duesStats) {
         return contract.getStatus() == Contract.ContractStatus.ACTIVE && 
                isExpiringSoon(contract) && 
-               !hasOverdueDues(contract);
+               !duesStats.hasOverdueDues();
     }
     
     protected boolean canBeModified(Contract contract) {
@@ -252,8 +230,8 @@ public abstract class ContractMapper {
         return "INFO";
     }
     
-    protected String getRecommendedAction(Contract contract) {
-        if (hasOverdueDues(contract)) {
+    protected String getRecommendedAction(Contract contract, ContractDuesStats duesStats) {
+        if (duesStats.hasOverdueDues()) {
             return "Resolve overdue payments before renewal";
         }
         if (isExpiringSoon(contract)) {
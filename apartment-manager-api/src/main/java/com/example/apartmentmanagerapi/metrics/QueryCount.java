@@ -0,0 +1,52 @@
+package com.example.apartmentmanagerapi.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL statements prepared within one counting scope, such as a single HTTP request.
+ * Statements are keyed by their SQL text, which still contains bind placeholders,
+ * so the same query issued for different rows is counted as a repeat.
+ */
+public class QueryCount {
+    
+    private final Map<String, Integer> statementCounts = new LinkedHashMap<>();
+    private int total;
+    
+    void record(String sql) {
+        total++;
+        statementCounts.merge(sql, 1, Integer::sum);
+    }
+    
+    /**
+     * Total number of statements prepared
+     * @return Statement count
+     */
+    public int getTotal() {
+        return total;
+    }
+    
+    /**
+     * Number of distinct SQL statements prepared
+     * @return Distinct statement count
+     */
+    public int getDistinct() {
+        return statementCounts.size();
+    }
+    
+    /**
+     * Statements prepared at least the given number of times, a typical sign of N+1 loading
+     * @param threshold Minimum number of executions
+     * @return Map of SQL to execution count, in first-seen order
+     */
+    public Map<String, Integer> getRepeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statementCounts.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return Collections.unmodifiableMap(repeated);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.apartmentmanagerapi.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that reports every prepared SQL statement to {@link QueryCounter}.
+ * Registered through hibernate.session_factory.statement_inspector; the SQL is returned unchanged.
+ */
+public class QueryCountInspector implements StatementInspector {
+    
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.record(sql);
+        return sql;
+    }
+}
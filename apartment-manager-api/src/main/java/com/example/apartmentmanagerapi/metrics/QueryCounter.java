@@ -0,0 +1,57 @@
+package com.example.apartmentmanagerapi.metrics;
+
+/**
+ * Thread-bound SQL statement counter fed by {@link QueryCountInspector}.
+ * Counting only happens between {@link #start()} and {@link #stop()} on the same thread;
+ * outside a scope recording is a single ThreadLocal lookup.
+ */
+public final class QueryCounter {
+    
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+    
+    private QueryCounter() {
+    }
+    
+    /**
+     * Begin counting on the current thread, discarding any previous scope
+     * @return The new, empty count
+     */
+    public static QueryCount start() {
+        QueryCount count = new QueryCount();
+        CURRENT.set(count);
+        return count;
+    }
+    
+    /**
+     * Check whether counting is active on the current thread
+     * @return true inside a counting scope
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+    
+    /**
+     * Get the count of the active scope
+     * @return The current count, or null outside a scope
+     */
+    public static QueryCount current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Stop counting on the current thread
+     * @return The final count, or null if no scope was active
+     */
+    public static QueryCount stop() {
+        QueryCount count = CURRENT.get();
+        CURRENT.remove();
+        return count;
+    }
+    
+    static void record(String sql) {
+        QueryCount count = CURRENT.get();
+        if (count != null) {
+            count.record(sql);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.apartmentmanagerapi.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Times every public service-layer operation.
+ * Records app.service.operation with tags for the operation (Class.method), the outcome and
+ * the exception type. Timers publish percentile histograms bounded to 1ms..30s to keep the
+ * bucket count low. Buildings are deliberately not a tag: every building would multiply the
+ * histogram series of each operation, so per-building latency belongs in logs and traces.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    
+    static final String METRIC_NAME = "app.service.operation";
+    
+    private final MeterRegistry meterRegistry;
+    
+    /**
+     * Time public methods of @Service beans in the service package
+     * @param joinPoint The intercepted invocation
+     * @return The method result
+     * @throws Throwable Whatever the method throws
+     */
+    @Around("within(com.example.apartmentmanagerapi.service..*) "
+            + "&& @within(org.springframework.stereotype.Service) "
+            + "&& execution(public * *(..))")
+    public Object timeServiceOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String operation = AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName() + "." + signature.getName();
+        
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Service-layer operation latency")
+                    .tag("operation", operation)
+                    .tag("outcome", "none".equals(exception) ? "success" : "error")
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry));
+        }
+    }
+}
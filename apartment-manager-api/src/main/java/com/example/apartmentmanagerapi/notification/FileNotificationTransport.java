@@ -0,0 +1,51 @@
+package com.example.apartmentmanagerapi.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Local stand-in for an SMTP relay: writes every digest as an RFC 822 style .eml file
+ * into a drop directory, where it can be inspected by developers or picked up by tests.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(value = "app.notifications.transport", havingValue = "file")
+public class FileNotificationTransport implements NotificationTransport {
+    
+    @Value("${app.notifications.file.directory:${LOG_PATH:logs}/outbox}")
+    private String directory;
+    
+    @Value("${app.notifications.file.from:no-reply@apartment-manager.local}")
+    private String from;
+    
+    @Override
+    public void send(NotificationDigest digest) {
+        Path dir = Paths.get(directory);
+        Path file = dir.resolve(System.currentTimeMillis() + "-" + UUID.randomUUID() + ".eml");
+        String message = "From: " + from + "\r\n" +
+            "To: " + digest.getRecipient() + "\r\n" +
+            "Subject: " + digest.getSubject() + "\r\n" +
+            "Date: " + DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now()) + "\r\n" +
+            "Content-Type: text/plain; charset=UTF-8\r\n" +
+            "\r\n" +
+            digest.getBody().replace("\n", "\r\n") + "\r\n";
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(file, message, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new NotificationDeliveryException("Could not write notification to " + file, e);
+        }
+        log.debug("Notification digest to {} written to {}", digest.getRecipient(), file);
+    }
+}
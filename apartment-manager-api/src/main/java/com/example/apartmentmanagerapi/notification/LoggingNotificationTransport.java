@@ -0,0 +1,21 @@
+package com.example.apartmentmanagerapi.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default transport that only logs digests.
+ * Used until a real email/SMS channel is configured.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(value = "app.notifications.transport", havingValue = "log", matchIfMissing = true)
+public class LoggingNotificationTransport implements NotificationTransport {
+    
+    @Override
+    public void send(NotificationDigest digest) {
+        log.info("Notification digest to {} with {} item(s): {}",
+            digest.getRecipient(), digest.getItemCount(), digest.getSubject());
+    }
+}
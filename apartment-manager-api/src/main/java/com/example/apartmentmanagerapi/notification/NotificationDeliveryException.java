@@ -0,0 +1,15 @@
+package com.example.apartmentmanagerapi.notification;
+
+/**
+ * Thrown by a NotificationTransport when a digest could not be delivered
+ */
+public class NotificationDeliveryException extends RuntimeException {
+    
+    public NotificationDeliveryException(String message) {
+        super(message);
+    }
+    
+    public NotificationDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.apartmentmanagerapi.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One outgoing message: all pending notification items of a recipient coalesced together
+ */
+@Data
+@AllArgsConstructor
+public class NotificationDigest {
+    
+    private String recipient;
+    private String subject;
+    private String body;
+    
+    /**
+     * Number of outbox entries combined into this message
+     */
+    private int itemCount;
+}
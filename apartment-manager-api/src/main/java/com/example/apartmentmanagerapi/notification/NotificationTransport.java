@@ -0,0 +1,16 @@
+package com.example.apartmentmanagerapi.notification;
+
+/**
+ * Delivery channel used by NotificationDispatchService.
+ * Exactly one implementation is active, selected with app.notifications.transport.
+ */
+public interface NotificationTransport {
+    
+    /**
+     * Deliver a digest to its recipient
+     * @param digest The message to deliver
+     * @throws NotificationDeliveryException if the message could not be delivered;
+     *         the dispatcher keeps its entries pending and retries them later
+     */
+    void send(NotificationDigest digest);
+}
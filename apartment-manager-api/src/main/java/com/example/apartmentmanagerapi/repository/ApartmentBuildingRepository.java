@@ -2,11 +2,40 @@ package com.example.apartmentmanagerapi.repository;
 
 import com.example.apartmentmanagerapi.entity.ApartmentBuilding;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
 public interface ApartmentBuildingRepository extends JpaRepository<ApartmentBuilding, Long> {
     Optional<ApartmentBuilding> findByName(String name);
+    
+    /**
+     * Read a building's data version without loading the building
+     * @param id Building ID
+     * @return The data version, or empty if the building does not exist
+     */
+    @Query("SELECT b.dataVersion FROM ApartmentBuilding b WHERE b.id = :id")
+    Optional<Long> findDataVersionById(@Param("id") Long id);
+    
+    /**
+     * Increment the data version of some buildings
+     * @param ids Building IDs
+     * @return Number of buildings updated
+     */
+    @Modifying
+    @Query("UPDATE ApartmentBuilding b SET b.dataVersion = b.dataVersion + 1 WHERE b.id IN :ids")
+    int incrementDataVersions(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Increment the data version of every building, after bulk updates spanning buildings
+     * @return Number of buildings updated
+     */
+    @Modifying
+    @Query("UPDATE ApartmentBuilding b SET b.dataVersion = b.dataVersion + 1")
+    int incrementAllDataVersions();
 }
\ No newline at end of file
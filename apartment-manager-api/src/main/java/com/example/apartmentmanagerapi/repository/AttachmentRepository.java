@@ -0,0 +1,87 @@
+package com.example.apartmentmanagerapi.repository;
+
+import com.example.apartmentmanagerapi.entity.Attachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for Attachment entity.
+ * Stored files are shared by digest; the orphan sweep checks for remaining references before deleting one.
+ */
+@Repository
+public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
+    
+    /**
+     * Find the attachments of an expense or payment, oldest first
+     * @param ownerType Kind of owner
+     * @param ownerId Owner ID
+     * @return Attachments of the owner
+     */
+    List<Attachment> findByOwnerTypeAndOwnerIdOrderByIdAsc(Attachment.OwnerType ownerType, Long ownerId);
+    
+    /**
+     * Find the attachment of an owner with the given content, if it was attached before
+     * @param ownerType Kind of owner
+     * @param ownerId Owner ID
+     * @param sha256 Content digest
+     * @return The existing attachment
+     */
+    Optional<Attachment> findByOwnerTypeAndOwnerIdAndSha256(Attachment.OwnerType ownerType, Long ownerId, String sha256);
+    
+    /**
+     * Delete the attachments of an expense or payment that is being deleted
+     * @param ownerType Kind of owner
+     * @param ownerId Owner ID
+     * @return Number of deleted attachments
+     */
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE a.ownerType = :ownerType AND a.ownerId = :ownerId")
+    int deleteByOwner(@Param("ownerType") Attachment.OwnerType ownerType, @Param("ownerId") Long ownerId);
+    
+    /**
+     * Delete the attachments of a flat's payments, before the flat and its payments are deleted
+     * @param flatId Flat ID
+     * @return Number of deleted attachments
+     */
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE a.ownerType = 'PAYMENT' " +
+           "AND a.ownerId IN (SELECT p.id FROM Payment p WHERE p.flat.id = :flatId)")
+    int deletePaymentAttachmentsOfFlat(@Param("flatId") Long flatId);
+    
+    /**
+     * Delete all attachments of a building that is being deleted
+     * @param buildingId Building ID
+     * @return Number of deleted attachments
+     */
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE a.buildingId = :buildingId")
+    int deleteByBuildingId(@Param("buildingId") Long buildingId);
+    
+    /**
+     * Delete attachments whose expense or payment no longer exists, e.g. removed by a cascading delete
+     * that bypassed the services. owner_id has no foreign key because it points to either table.
+     * @return Number of deleted attachments
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE " +
+           "(a.ownerType = 'EXPENSE' AND NOT EXISTS (SELECT 1 FROM Expense e WHERE e.id = a.ownerId)) " +
+           "OR (a.ownerType = 'PAYMENT' AND NOT EXISTS (SELECT 1 FROM Payment p WHERE p.id = a.ownerId))")
+    int deleteOrphaned();
+    
+    /**
+     * Find which of the given stored contents are still referenced by an attachment
+     * @param digests Content digests
+     * @return The referenced subset of the digests
+     */
+    @Query("SELECT DISTINCT a.sha256 FROM Attachment a WHERE a.sha256 IN :digests")
+    List<String> findReferencedSha256(@Param("digests") Collection<String> digests);
+}
@@ -4,6 +4,7 @@ import com.example.apartmentmanagerapi.entity.AuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,9 +15,10 @@ import java.util.List;
 /**
  * Repository interface for AuditLog entity.
  * Provides methods for querying audit logs.
+ * Prefer {@link AuditLogRepositoryCustom#findByKeyset} for browsing, which avoids COUNT queries and deep offsets.
  */
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogRepositoryCustom {
     
     /**
      * Find audit logs by user ID with pagination
@@ -43,7 +45,9 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     Page<AuditLog> findByAction(AuditLog.AuditAction action, Pageable pageable);
     
     /**
-     * Find audit logs within a time range
+     * Find audit logs within a time range.
+     * The range predicate is on the partition key, so PostgreSQL only scans the monthly
+     * partitions that overlap the range (for both the page and its count query).
      * @param startTime Start of the time range
      * @param endTime End of the time range
      * @param pageable Pagination information
@@ -101,6 +105,7 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
      * @param before Delete logs older than this timestamp
      * @return Number of deleted records
      */
+    @Modifying
     @Query("DELETE FROM AuditLog a WHERE a.timestamp < :before")
     int deleteOldAuditLogs(@Param("before") LocalDateTime before);
 }
\ No newline at end of file
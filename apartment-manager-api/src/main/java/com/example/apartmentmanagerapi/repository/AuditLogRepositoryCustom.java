@@ -0,0 +1,24 @@
+package com.example.apartmentmanagerapi.repository;
+
+import com.example.apartmentmanagerapi.dto.AuditLogFilter;
+import com.example.apartmentmanagerapi.entity.AuditLog;
+import com.example.apartmentmanagerapi.util.KeysetCursor;
+
+import java.util.List;
+
+/**
+ * Custom audit log queries that cannot be expressed as derived queries.
+ */
+public interface AuditLogRepositoryCustom {
+    
+    /**
+     * Find audit logs matching the filter, newest first, strictly after the cursor position.
+     * Ordering is (timestamp DESC, id DESC) so each slice is an index range scan
+     * that costs the same regardless of how deep the caller has paged.
+     * @param filter Filters to apply (null fields are ignored)
+     * @param after Position of the last row of the previous slice, or null for the first slice
+     * @param limit Maximum number of rows to return
+     * @return Matching audit logs
+     */
+    List<AuditLog> findByKeyset(AuditLogFilter filter, KeysetCursor after, int limit);
+}
@@ -0,0 +1,65 @@
+package com.example.apartmentmanagerapi.repository;
+
+import com.example.apartmentmanagerapi.dto.AuditLogFilter;
+import com.example.apartmentmanagerapi.entity.AuditLog;
+import com.example.apartmentmanagerapi.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the keyset audit log query from only the filters that are present,
+ * so the database plans each filter combination against its matching composite index.
+ */
+public class AuditLogRepositoryCustomImpl implements AuditLogRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<AuditLog> findByKeyset(AuditLogFilter filter, KeysetCursor after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        
+        if (filter != null) {
+            addCondition(conditions, parameters, "a.userId = :userId", "userId", filter.getUserId());
+            addCondition(conditions, parameters, "a.action = :action", "action", filter.getAction());
+            addCondition(conditions, parameters, "a.entityType = :entityType", "entityType", filter.getEntityType());
+            addCondition(conditions, parameters, "a.entityId = :entityId", "entityId", filter.getEntityId());
+            addCondition(conditions, parameters, "a.result = :result", "result", filter.getResult());
+            addCondition(conditions, parameters, "a.timestamp >= :from", "from", filter.getFrom());
+            addCondition(conditions, parameters, "a.timestamp < :to", "to", filter.getTo());
+        }
+        
+        if (after != null) {
+            // The leading "<=" bound lets the index range scan start at the cursor
+            conditions.add("a.timestamp <= :cursorTimestamp AND (a.timestamp < :cursorTimestamp OR a.id < :cursorId)");
+            parameters.put("cursorTimestamp", after.getTimestamp());
+            parameters.put("cursorId", after.getId());
+        }
+        
+        StringBuilder jpql = new StringBuilder("SELECT a FROM AuditLog a");
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY a.timestamp DESC, a.id DESC");
+        
+        TypedQuery<AuditLog> query = entityManager.createQuery(jpql.toString(), AuditLog.class);
+        parameters.forEach(query::setParameter);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+    
+    private static void addCondition(List<String> conditions, Map<String, Object> parameters,
+                                     String condition, String name, Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            parameters.put(name, value);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.apartmentmanagerapi.repository;
+
+import com.example.apartmentmanagerapi.entity.BackgroundJob;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for BackgroundJob entity.
+ * Workers claim due jobs with row locks that skip rows already locked by other workers, and
+ * record outcomes with bulk updates guarded by the lease, so a worker whose lease expired
+ * cannot overwrite the state written by the worker that took the job over.
+ */
+@Repository
+public interface BackgroundJobRepository extends JpaRepository<BackgroundJob, Long> {
+    
+    /**
+     * Lock pending jobs of a type that are due, oldest first.
+     * Rows locked by a concurrent claim are skipped (FOR UPDATE SKIP LOCKED), so workers on
+     * several nodes never block on or claim the same job. Must run inside a transaction.
+     * @param jobType Job type
+     * @param now Current time; jobs with a later run_at are not due yet
+     * @param pageable Limits the number of claimed jobs
+     * @return Locked jobs
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM BackgroundJob j WHERE j.jobType = :jobType " +
+           "AND j.status = com.example.apartmentmanagerapi.entity.BackgroundJob.Status.PENDING " +
+           "AND j.runAt <= :now ORDER BY j.runAt, j.id")
+    List<BackgroundJob> findClaimable(@Param("jobType") BackgroundJob.JobType jobType,
+                                      @Param("now") LocalDateTime now, Pageable pageable);
+    
+    /**
+     * Count jobs in a status
+     * @param status Job status
+     * @return Number of jobs
+     */
+    long countByStatus(BackgroundJob.Status status);
+    
+    /**
+     * Mark a running job as completed
+     * @param id Job ID
+     * @param workerId Worker holding the lease
+     * @param completedAt Completion time
+     * @return 1 if the worker still held the lease, otherwise 0
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = 'SUCCEEDED', j.completedAt = :completedAt, " +
+           "j.lockedBy = null, j.lockedAt = null, j.lastError = null " +
+           "WHERE j.id = :id AND j.status = 'RUNNING' AND j.lockedBy = :workerId")
+    int markSucceeded(@Param("id") Long id, @Param("workerId") String workerId,
+                      @Param("completedAt") LocalDateTime completedAt);
+    
+    /**
+     * Return a failed running job to the queue, to be claimed again after runAt
+     * @param id Job ID
+     * @param workerId Worker holding the lease
+     * @param runAt Earliest time of the next attempt
+     * @param error Error description
+     * @return 1 if the worker still held the lease, otherwise 0
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = 'PENDING', j.runAt = :runAt, j.lastError = :error, " +
+           "j.lockedBy = null, j.lockedAt = null " +
+           "WHERE j.id = :id AND j.status = 'RUNNING' AND j.lockedBy = :workerId")
+    int reschedule(@Param("id") Long id, @Param("workerId") String workerId,
+                   @Param("runAt") LocalDateTime runAt, @Param("error") String error);
+    
+    /**
+     * Dead-letter a running job that used up its attempts
+     * @param id Job ID
+     * @param workerId Worker holding the lease
+     * @param error Error description
+     * @param completedAt Time the job was given up
+     * @return 1 if the worker still held the lease, otherwise 0
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = 'DEAD', j.lastError = :error, j.completedAt = :completedAt, " +
+           "j.lockedBy = null, j.lockedAt = null " +
+           "WHERE j.id = :id AND j.status = 'RUNNING' AND j.lockedBy = :workerId")
+    int markDead(@Param("id") Long id, @Param("workerId") String workerId,
+                 @Param("error") String error, @Param("completedAt") LocalDateTime completedAt);
+    
+    /**
+     * Hand a claimed job back without counting the attempt, e.g. when the worker could not start it
+     * @param id Job ID
+     * @param workerId Worker holding the lease
+     * @return 1 if the worker still held the lease, otherwise 0
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = 'PENDING', j.attempts = j.attempts - 1, " +
+           "j.lockedBy = null, j.lockedAt = null " +
+           "WHERE j.id = :id AND j.status = 'RUNNING' AND j.lockedBy = :workerId")
+    int release(@Param("id") Long id, @Param("workerId") String workerId);
+    
+    /**
+     * Recover running jobs whose lease expired because their worker died or stalled.
+     * Jobs with attempts left return to the queue; the others are dead-lettered, so a job
+     * that keeps crashing its worker cannot loop forever.
+     * @param lockedBefore Leases taken before this time are expired
+     * @param error Error recorded on the recovered jobs
+     * @return Number of recovered jobs
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.lockedBy = null, j.lockedAt = null, j.lastError = :error, " +
+           "j.status = CASE WHEN j.attempts >= j.maxAttempts " +
+           "  THEN com.example.apartmentmanagerapi.entity.BackgroundJob.Status.DEAD " +
+           "  ELSE com.example.apartmentmanagerapi.entity.BackgroundJob.Status.PENDING END " +
+           "WHERE j.status = 'RUNNING' AND j.lockedAt < :lockedBefore")
+    int recoverExpiredLeases(@Param("lockedBefore") LocalDateTime lockedBefore, @Param("error") String error);
+    
+    /**
+     * Delete succeeded jobs completed before the cutoff; dead jobs are kept until handled
+     * @param cutoff Jobs completed before this time are removed
+     * @return Number of deleted jobs
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BackgroundJob j WHERE j.status = 'SUCCEEDED' AND j.completedAt < :cutoff")
+    int deleteSucceededBefore(@Param("cutoff") LocalDateTime cutoff);
+}
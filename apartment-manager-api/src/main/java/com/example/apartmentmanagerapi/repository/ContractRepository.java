@@ -1,5 +1,7 @@
 package com.example.apartmentmanagerapi.repository;
 
+import com.example.apartmentmanagerapi.dto.ExpiringContractRecipientRow;
+import com.example.apartmentmanagerapi.dto.OccupancyContractRow;
 import com.example.apartmentmanagerapi.entity.Contract;
 import com.example.apartmentmanagerapi.entity.Contract.ContractStatus;
 import org.springframework.data.domain.Page;
@@ -12,6 +14,8 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +25,14 @@ import java.util.Optional;
 @Repository
 public interface ContractRepository extends JpaRepository<Contract, Long> {
     
+    /**
+     * IDs of contracts matching searchIdsByTenantRanked, one index-backed branch per predicate
+     */
+    String TENANT_SEARCH_HITS =
+            "SELECT t.id FROM contracts t WHERE lower(t.tenant_name) LIKE :contains " +
+            "UNION SELECT t.id FROM contracts t WHERE CAST(:term AS text) <% lower(t.tenant_name) " +
+            "UNION SELECT t.id FROM flats ff JOIN contracts t ON t.flat_id = ff.id WHERE lower(ff.flat_number) LIKE :prefix";
+    
     /**
      * Find active contract for a flat
      */
@@ -39,7 +51,9 @@ public interface ContractRepository extends JpaRepository<Contract, Long> {
     /**
      * Find contracts by building with pagination
      */
-    @Query("SELECT c FROM Contract c WHERE c.flat.apartmentBuilding.id = :buildingId ORDER BY c.createdAt DESC")
+    @Query(value = "SELECT c FROM Contract c JOIN FETCH c.flat f JOIN FETCH f.apartmentBuilding b " +
+                   "WHERE b.id = :buildingId ORDER BY c.createdAt DESC",
+           countQuery = "SELECT COUNT(c) FROM Contract c WHERE c.flat.apartmentBuilding.id = :buildingId")
     Page<Contract> findByBuildingId(@Param("buildingId") Long buildingId, Pageable pageable);
     
     /**
@@ -50,20 +64,62 @@ public interface ContractRepository extends JpaRepository<Contract, Long> {
                                         @Param("futureDate") LocalDate futureDate);
     
     /**
-     * Find contracts that need status update
+     * Load the contract history of every active flat of a building in one ordered scan.
+     * Flats without contracts are included with empty contract columns.
+     * @param buildingId Building ID
+     * @return Rows ordered by flat, then contract start date
+     */
+    @Query("SELECT new com.example.apartmentmanagerapi.dto.OccupancyContractRow(" +
+           "f.id, f.flatNumber, c.id, c.startDate, c.endDate, c.monthlyRent, c.status, c.cancellationDate) " +
+           "FROM Flat f LEFT JOIN Contract c ON c.flat = f " +
+           "WHERE f.apartmentBuilding.id = :buildingId AND f.isActive = true " +
+           "ORDER BY f.id, c.startDate, c.id")
+    List<OccupancyContractRow> findOccupancyRowsByBuildingId(@Param("buildingId") Long buildingId);
+    
+    /**
+     * Load everything needed to notify about contracts expiring within a period in one query:
+     * contract, flat and building columns plus one row per active manager of the building
+     */
+    @Query("SELECT new com.example.apartmentmanagerapi.dto.ExpiringContractRecipientRow(" +
+           "c.id, f.id, f.flatNumber, b.id, b.name, c.tenantName, c.tenantEmail, c.tenantContact, " +
+           "c.endDate, c.monthlyRent, u.id, u.username, u.email, u.firstName, u.lastName) " +
+           "FROM Contract c JOIN c.flat f JOIN f.apartmentBuilding b " +
+           "LEFT JOIN b.userAssignments uba ON uba.isActive = true " +
+           "LEFT JOIN uba.user u " +
+           "WHERE c.status = 'ACTIVE' AND c.endDate BETWEEN :today AND :futureDate " +
+           "ORDER BY c.endDate, c.id")
+    List<ExpiringContractRecipientRow> findExpiringContractRecipients(@Param("today") LocalDate today,
+                                                                      @Param("futureDate") LocalDate futureDate);
+    
+    /**
+     * Find IDs of contracts in a status whose start date has been reached
+     */
+    @Query("SELECT c.id FROM Contract c WHERE c.status = :status AND c.startDate <= :today ORDER BY c.id")
+    List<Long> findIdsByStatusAndStartDateOnOrBefore(@Param("status") ContractStatus status,
+                                                     @Param("today") LocalDate today);
+    
+    /**
+     * Find IDs of contracts in a status whose end date has passed
      */
-    @Query("SELECT c FROM Contract c WHERE " +
-           "(c.status = 'PENDING' AND c.startDate <= :today) OR " +
-           "(c.status = 'ACTIVE' AND c.endDate < :today)")
-    List<Contract> findContractsNeedingStatusUpdate(@Param("today") LocalDate today);
+    @Query("SELECT c.id FROM Contract c WHERE c.status = :status AND c.endDate < :today ORDER BY c.id")
+    List<Long> findIdsByStatusAndEndDateBefore(@Param("status") ContractStatus status,
+                                               @Param("today") LocalDate today);
     
     /**
-     * Update contract status in bulk
+     * Move contracts from one status to another in a single UPDATE, recording who changed them and why.
+     * Contracts no longer in the expected status are left untouched.
+     * @return Number of contracts updated
      */
-    @Modifying
-    @Query("UPDATE Contract c SET c.status = :newStatus WHERE c.id IN :contractIds")
-    int updateContractStatusBulk(@Param("contractIds") List<Long> contractIds, 
-                                @Param("newStatus") ContractStatus newStatus);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Contract c SET c.status = :newStatus, c.statusChangedAt = :changedAt, " +
+           "c.statusChangedBy = :changedBy, c.statusChangeReason = :reason, c.updatedAt = :changedAt " +
+           "WHERE c.id IN :contractIds AND c.status = :oldStatus")
+    int transitionStatusBulk(@Param("contractIds") List<Long> contractIds,
+                             @Param("oldStatus") ContractStatus oldStatus,
+                             @Param("newStatus") ContractStatus newStatus,
+                             @Param("changedAt") LocalDateTime changedAt,
+                             @Param("changedBy") String changedBy,
+                             @Param("reason") String reason);
     
     /**
      * Find overlapping contracts for validation
@@ -98,11 +154,63 @@ public interface ContractRepository extends JpaRepository<Contract, Long> {
     Object getContractStatisticsByBuilding(@Param("buildingId") Long buildingId);
     
     /**
-     * Find contracts by tenant name (search)
+     * Find contracts by tenant name (search), names starting with the term first.
+     * Portable fallback for databases without pg_trgm; see searchIdsByTenantRanked.
      */
-    @Query("SELECT c FROM Contract c WHERE LOWER(c.tenantName) LIKE LOWER(CONCAT('%', :search, '%'))")
+    @Query(value = "SELECT c FROM Contract c JOIN FETCH c.flat f JOIN FETCH f.apartmentBuilding " +
+                   "WHERE LOWER(c.tenantName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+                   "ORDER BY CASE WHEN LOWER(c.tenantName) LIKE LOWER(CONCAT(:search, '%')) THEN 0 ELSE 1 END, " +
+                   "c.tenantName, c.id",
+           countQuery = "SELECT COUNT(c) FROM Contract c WHERE LOWER(c.tenantName) LIKE LOWER(CONCAT('%', :search, '%'))")
     Page<Contract> searchByTenantName(@Param("search") String search, Pageable pageable);
     
+    /**
+     * Ranked type-ahead search over tenant names and flat numbers (PostgreSQL with pg_trgm).
+     * Matches tenant names containing the term or fuzzily matching it by word similarity, and flat
+     * numbers starting with it. Each predicate is a separate branch of a UNION over one table, so each
+     * is served by its own trigram index from V8 instead of an OR across the contracts/flats join,
+     * which the planner can only evaluate row by row. The hits are then joined once for ranking:
+     * prefix matches first, then by word similarity.
+     * @param term Normalized search term, see SearchUtils.normalize
+     * @param contains LIKE pattern matching the term anywhere
+     * @param prefix LIKE pattern matching values starting with the term
+     * @param pageable Unsorted page request
+     * @return Page of matching contract IDs in rank order
+     */
+    @Query(value = "SELECT c.id FROM (" + TENANT_SEARCH_HITS + ") hits " +
+                   "JOIN contracts c ON c.id = hits.id JOIN flats f ON f.id = c.flat_id " +
+                   "ORDER BY CASE WHEN lower(c.tenant_name) LIKE :prefix OR lower(f.flat_number) LIKE :prefix " +
+                   "THEN 0 ELSE 1 END, " +
+                   "COALESCE(word_similarity(CAST(:term AS text), lower(c.tenant_name)), 0) DESC, c.id DESC",
+           countQuery = "SELECT COUNT(*) FROM (" + TENANT_SEARCH_HITS + ") hits",
+           nativeQuery = true)
+    Page<Long> searchIdsByTenantRanked(@Param("term") String term,
+                                      @Param("contains") String contains,
+                                      @Param("prefix") String prefix,
+                                      Pageable pageable);
+    
+    /**
+     * Load contracts with flat and building by ID, e.g. a page of search hits
+     * @param ids Contract IDs
+     * @return Contracts in no particular order
+     */
+    @Query("SELECT c FROM Contract c JOIN FETCH c.flat f JOIN FETCH f.apartmentBuilding WHERE c.id IN :ids")
+    List<Contract> findAllWithFlatAndBuildingByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Find the contracts of several flats that count for overlaps and end on or after a date,
+     * e.g. to validate a batch of renewals with one query.
+     * Statuses match findOverlappingContracts.
+     * @param flatIds Flat IDs
+     * @param fromDate Earliest date of interest
+     * @return Contracts in no particular order
+     */
+    @Query("SELECT c FROM Contract c WHERE c.flat.id IN :flatIds " +
+           "AND c.status NOT IN ('CANCELLED', 'SUPERSEDED') " +
+           "AND c.endDate >= :fromDate")
+    List<Contract> findOverlapCandidatesByFlatIds(@Param("flatIds") Collection<Long> flatIds,
+                                                  @Param("fromDate") LocalDate fromDate);
+    
     /**
      * Find renewable contracts (expiring soon and in good standing)
      */
@@ -10,7 +10,9 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Expense entity.
@@ -131,6 +133,62 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
             @Param("year") int year
     );
     
+    /**
+     * Get expense totals per month for a building in one grouped query.
+     * The half-open date range keeps the building/date index usable; months without expenses are omitted.
+     * @param buildingId The building ID
+     * @param startDate First day of the first month
+     * @param endDate First day after the last month
+     * @return List of year, month and total amount rows
+     */
+    @Query("SELECT YEAR(e.expenseDate), MONTH(e.expenseDate), COALESCE(SUM(e.amount), 0) " +
+           "FROM Expense e " +
+           "WHERE e.building.id = :buildingId " +
+           "AND e.expenseDate >= :startDate " +
+           "AND e.expenseDate < :endDate " +
+           "GROUP BY YEAR(e.expenseDate), MONTH(e.expenseDate)")
+    List<Object[]> getMonthlyExpenseTotalsBetween(
+            @Param("buildingId") Long buildingId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+    
+    /**
+     * Find recurring expense templates with an instance due, in ID order for keyset chunking.
+     * Templates that were never scheduled (no next occurrence yet) are included.
+     * @param today Instances due on or before this date
+     * @param afterId Only templates with a greater ID
+     * @param pageable Chunk size
+     * @return Templates with their building
+     */
+    @Query("SELECT e FROM Expense e JOIN FETCH e.building " +
+           "WHERE e.isRecurring = true AND e.recurrenceFrequency IS NOT NULL " +
+           "AND e.recurringTemplateId IS NULL " +
+           "AND (e.nextOccurrenceDate IS NULL OR e.nextOccurrenceDate <= :today) " +
+           "AND e.id > :afterId " +
+           "ORDER BY e.id")
+    List<Expense> findDueRecurringTemplates(
+            @Param("today") LocalDate today,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+    
+    /**
+     * Find the periods already materialized for a set of recurring expense templates
+     * @param templateIds Template IDs
+     * @param startDate Earliest period of interest
+     * @param endDate Latest period of interest
+     * @return List of template ID and expense date pairs
+     */
+    @Query("SELECT e.recurringTemplateId, e.expenseDate FROM Expense e " +
+           "WHERE e.recurringTemplateId IN :templateIds " +
+           "AND e.expenseDate >= :startDate AND e.expenseDate <= :endDate")
+    List<Object[]> findMaterializedPeriods(
+            @Param("templateIds") Collection<Long> templateIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+    
     /**
      * Find recurring expenses for a building
      * @param buildingId The building ID
@@ -139,18 +197,48 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     List<Expense> findByBuildingIdAndIsRecurringTrue(Long buildingId);
     
     /**
-     * Find expenses by vendor name
+     * Ranked vendor name suggestions for a building (PostgreSQL with pg_trgm).
+     * Matches names containing the term or fuzzily matching it by word similarity, both served by
+     * the trigram index from V8. Prefix matches rank first, then by similarity and usage.
      * @param buildingId The building ID
-     * @param vendorName The vendor name (partial match)
-     * @return List of expenses
+     * @param term Normalized search term, see SearchUtils.normalize
+     * @param contains LIKE pattern matching the term anywhere
+     * @param prefix LIKE pattern matching names starting with the term
+     * @param limit Maximum number of names
+     * @return Distinct vendor names in rank order
      */
-    @Query("SELECT e FROM Expense e " +
-           "WHERE e.building.id = :buildingId " +
-           "AND LOWER(e.vendorName) LIKE LOWER(CONCAT('%', :vendorName, '%'))")
-    List<Expense> findByBuildingIdAndVendorNameContaining(
-            @Param("buildingId") Long buildingId,
-            @Param("vendorName") String vendorName
-    );
+    @Query(value = "SELECT e.vendor_name FROM expenses e " +
+                   "WHERE e.building_id = :buildingId " +
+                   "AND (lower(e.vendor_name) LIKE :contains OR CAST(:term AS text) <% lower(e.vendor_name)) " +
+                   "GROUP BY e.vendor_name " +
+                   "ORDER BY MIN(CASE WHEN lower(e.vendor_name) LIKE :prefix THEN 0 ELSE 1 END), " +
+                   "MAX(word_similarity(CAST(:term AS text), lower(e.vendor_name))) DESC, " +
+                   "COUNT(*) DESC, e.vendor_name " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<String> searchVendorNamesRanked(@Param("buildingId") Long buildingId,
+                                         @Param("term") String term,
+                                         @Param("contains") String contains,
+                                         @Param("prefix") String prefix,
+                                         @Param("limit") int limit);
+    
+    /**
+     * Vendor name suggestions for a building, portable fallback for databases without pg_trgm.
+     * Prefix matches rank first, then by usage.
+     * @param buildingId The building ID
+     * @param contains LIKE pattern matching the term anywhere
+     * @param prefix LIKE pattern matching names starting with the term
+     * @param pageable Limits the number of names
+     * @return Distinct vendor names in rank order
+     */
+    @Query("SELECT e.vendorName FROM Expense e " +
+           "WHERE e.building.id = :buildingId AND LOWER(e.vendorName) LIKE :contains " +
+           "GROUP BY e.vendorName " +
+           "ORDER BY MIN(CASE WHEN LOWER(e.vendorName) LIKE :prefix THEN 0 ELSE 1 END), COUNT(e) DESC, e.vendorName")
+    List<String> searchVendorNames(@Param("buildingId") Long buildingId,
+                                   @Param("contains") String contains,
+                                   @Param("prefix") String prefix,
+                                   Pageable pageable);
     
     /**
      * Get top expense categories for a building
@@ -227,4 +315,12 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
             @Param("endDate") LocalDate endDate
     );
     
+    
+    /**
+     * Find the building of an expense without loading the expense
+     * @param id The expense ID
+     * @return The building ID, if the expense exists
+     */
+    @Query("SELECT e.building.id FROM Expense e WHERE e.id = :id")
+    Optional<Long> findBuildingIdById(@Param("id") Long id);
 }
\ No newline at end of file
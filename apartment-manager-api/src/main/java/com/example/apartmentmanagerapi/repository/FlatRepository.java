@@ -4,11 +4,12 @@ import com.example.apartmentmanagerapi.entity.Flat;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface FlatRepository extends JpaRepository<Flat, Long> {
+public interface FlatRepository extends JpaRepository<Flat, Long>, FlatRepositoryCustom {
     List<Flat> findByApartmentBuildingId(Long buildingId);
     Optional<Flat> findByApartmentBuildingIdAndFlatNumber(Long buildingId, String flatNumber);
     Optional<Flat> findByApartmentBuildingIdAndId(Long buildingId, Long flatId);
@@ -19,4 +20,11 @@ public interface FlatRepository extends JpaRepository<Flat, Long> {
      * @return List of active flats
      */
     List<Flat> findByApartmentBuildingIdAndIsActiveTrue(Long buildingId);
+    
+    /**
+     * Find all active flats of several buildings, ordered by building and ID
+     * @param buildingIds The building IDs
+     * @return List of active flats
+     */
+    List<Flat> findByApartmentBuildingIdInAndIsActiveTrueOrderByApartmentBuildingIdAscIdAsc(Collection<Long> buildingIds);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.example.apartmentmanagerapi.repository;
+
+import com.example.apartmentmanagerapi.dto.FlatListItem;
+import com.example.apartmentmanagerapi.util.TextKeysetCursor;
+
+import java.util.List;
+
+/**
+ * Custom flat queries that cannot be expressed as derived queries.
+ */
+public interface FlatRepositoryCustom {
+    
+    /**
+     * Find list rows of a building's flats ordered by (flatNumber, id), strictly after the cursor position.
+     * Rows are built by a constructor expression, so no Flat entities are loaded or tracked, and each
+     * slice is a range scan of idx_flats_building_number_id whatever the depth of the slice.
+     * @param buildingId The building ID
+     * @param activeOnly Whether to return only active flats
+     * @param descending Whether to order by flat number descending
+     * @param after Position of the last row of the previous slice, or null for the first slice
+     * @param limit Maximum number of rows to return
+     * @return Flat list rows
+     */
+    List<FlatListItem> findListItemsByKeyset(Long buildingId, boolean activeOnly, boolean descending,
+                                             TextKeysetCursor after, int limit);
+}
@@ -0,0 +1,49 @@
+package com.example.apartmentmanagerapi.repository;
+
+import com.example.apartmentmanagerapi.dto.FlatListItem;
+import com.example.apartmentmanagerapi.util.TextKeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+
+/**
+ * Builds the keyset flat listing query for the requested direction and filters.
+ */
+public class FlatRepositoryCustomImpl implements FlatRepositoryCustom {
+    
+    private static final String SELECT_LIST_ITEM = "SELECT new com.example.apartmentmanagerapi.dto.FlatListItem(" +
+            "f.id, f.flatNumber, f.numberOfRooms, f.areaSqMeters, f.isActive, f.tenantName, f.monthlyRent) " +
+            "FROM Flat f WHERE f.apartmentBuilding.id = :buildingId";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<FlatListItem> findListItemsByKeyset(Long buildingId, boolean activeOnly, boolean descending,
+                                                    TextKeysetCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder(SELECT_LIST_ITEM);
+        if (activeOnly) {
+            jpql.append(" AND f.isActive = true");
+        }
+        if (after != null) {
+            String comparison = descending ? "<" : ">";
+            // The leading bound on flatNumber lets the index range scan start at the cursor
+            jpql.append(" AND f.flatNumber ").append(comparison).append("= :cursorKey")
+                .append(" AND (f.flatNumber ").append(comparison).append(" :cursorKey")
+                .append(" OR f.id ").append(comparison).append(" :cursorId)");
+        }
+        String direction = descending ? " DESC" : " ASC";
+        jpql.append(" ORDER BY f.flatNumber").append(direction).append(", f.id").append(direction);
+        
+        TypedQuery<FlatListItem> query = entityManager.createQuery(jpql.toString(), FlatListItem.class);
+        query.setParameter("buildingId", buildingId);
+        if (after != null) {
+            query.setParameter("cursorKey", after.getKey());
+            query.setParameter("cursorId", after.getId());
+        }
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+}
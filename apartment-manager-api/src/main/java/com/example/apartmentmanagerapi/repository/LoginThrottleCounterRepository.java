@@ -0,0 +1,62 @@
+package com.example.apartmentmanagerapi.repository;
+
+import com.example.apartmentmanagerapi.entity.LoginThrottleCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for LoginThrottleCounter entity.
+ * Used by the login throttle cluster synchronization to merge per-node counters.
+ */
+@Repository
+public interface LoginThrottleCounterRepository extends JpaRepository<LoginThrottleCounter, String> {
+
+    /**
+     * Merge a node's failure delta into the shared counter (PostgreSQL upsert).
+     * Restarts the counting window when the stored one is older than the window floor
+     * and keeps the latest lockout seen by any node.
+     * @param throttleKey The throttle key
+     * @param failures Failures recorded locally since the last flush
+     * @param lockedUntil Local lockout expiry (epoch millis, 0 when not locked)
+     * @param now Current time (epoch millis)
+     * @param windowFloor Oldest window start still considered current (epoch millis)
+     * @return Number of affected rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO login_throttle_counters (throttle_key, failure_count, window_start, locked_until, updated_at) " +
+           "VALUES (:throttleKey, :failures, :now, :lockedUntil, :now) " +
+           "ON CONFLICT (throttle_key) DO UPDATE SET " +
+           "failure_count = CASE WHEN login_throttle_counters.window_start < :windowFloor " +
+           "  THEN EXCLUDED.failure_count ELSE login_throttle_counters.failure_count + EXCLUDED.failure_count END, " +
+           "window_start = CASE WHEN login_throttle_counters.window_start < :windowFloor " +
+           "  THEN EXCLUDED.window_start ELSE login_throttle_counters.window_start END, " +
+           "locked_until = GREATEST(login_throttle_counters.locked_until, EXCLUDED.locked_until), " +
+           "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int mergeCounter(@Param("throttleKey") String throttleKey,
+                     @Param("failures") int failures,
+                     @Param("lockedUntil") long lockedUntil,
+                     @Param("now") long now,
+                     @Param("windowFloor") long windowFloor);
+
+    /**
+     * Find counters that were updated recently by any node
+     * @param since Only counters updated after this time (epoch millis)
+     * @return List of recently updated counters
+     */
+    List<LoginThrottleCounter> findByUpdatedAtGreaterThan(long since);
+
+    /**
+     * Delete counters that have not been touched for a while
+     * @param cutoff Counters last updated before this time are removed (epoch millis)
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM LoginThrottleCounter c WHERE c.updatedAt < :cutoff")
+    int deleteStaleCounters(@Param("cutoff") long cutoff);
+}
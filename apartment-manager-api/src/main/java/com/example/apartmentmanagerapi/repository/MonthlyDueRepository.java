@@ -1,5 +1,6 @@
 package com.example.apartmentmanagerapi.repository;
 
+import com.example.apartmentmanagerapi.dto.ContractDuesStats;
 import com.example.apartmentmanagerapi.entity.Contract;
 import com.example.apartmentmanagerapi.entity.MonthlyDue;
 import org.springframework.data.domain.Page;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -186,6 +188,17 @@ public interface MonthlyDueRepository extends JpaRepository<MonthlyDue, Long> {
            "AND md.status IN ('UNPAID', 'OVERDUE', 'PARTIALLY_PAID')")
     BigDecimal getTotalUnpaidDuesByFlat(@Param("flatId") Long flatId);
     
+    /**
+     * Get total unpaid dues amount for several flats with one grouped query
+     * @param flatIds The flat IDs
+     * @return Rows of [flat ID, total unpaid amount]; flats without unpaid dues are absent
+     */
+    @Query("SELECT md.flat.id, SUM(md.dueAmount - md.paidAmount) FROM MonthlyDue md " +
+           "WHERE md.flat.id IN :flatIds " +
+           "AND md.status IN ('UNPAID', 'OVERDUE', 'PARTIALLY_PAID') " +
+           "GROUP BY md.flat.id")
+    List<Object[]> getTotalUnpaidDuesByFlatIds(@Param("flatIds") Collection<Long> flatIds);
+    
     /**
      * Find dues by flat and payment date
      * @param flatId The flat ID
@@ -272,4 +285,26 @@ public interface MonthlyDueRepository extends JpaRepository<MonthlyDue, Long> {
      * @return List of monthly dues matching the criteria
      */
     List<MonthlyDue> findByContractAndStatusIn(Contract contract, List<MonthlyDue.DueStatus> statuses);
+    
+    /**
+     * Aggregate due counts and amounts per contract in one grouped query.
+     * Contracts without dues are absent from the result.
+     * @param contractIds The contract IDs, typically one page
+     * @param today Reference date for overdue dues and the next due date
+     * @return One row per contract that has dues
+     */
+    @Query("SELECT new com.example.apartmentmanagerapi.dto.ContractDuesStats(md.contract.id, " +
+           "COUNT(md), " +
+           "SUM(CASE WHEN md.status = 'PAID' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN md.status = 'UNPAID' THEN 1 ELSE 0 END), " +
+           "SUM(md.dueAmount), " +
+           "SUM(CASE WHEN md.status = 'PAID' THEN md.dueAmount ELSE 0 END), " +
+           "SUM(CASE WHEN md.status = 'UNPAID' THEN md.dueAmount ELSE 0 END), " +
+           "SUM(CASE WHEN md.status = 'UNPAID' AND md.dueDate < :today THEN 1 ELSE 0 END), " +
+           "MIN(CASE WHEN md.status = 'UNPAID' AND md.dueDate >= :today THEN md.dueDate END)) " +
+           "FROM MonthlyDue md " +
+           "WHERE md.contract.id IN :contractIds " +
+           "GROUP BY md.contract.id")
+    List<ContractDuesStats> getDuesStatsByContractIds(@Param("contractIds") Collection<Long> contractIds,
+                                                      @Param("today") LocalDate today);
 }
\ No newline at end of file
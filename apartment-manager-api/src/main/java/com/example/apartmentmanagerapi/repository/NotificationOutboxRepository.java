@@ -0,0 +1,124 @@
+package com.example.apartmentmanagerapi.repository;
+
+import com.example.apartmentmanagerapi.entity.NotificationOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for NotificationOutbox entity.
+ * Producers check dedup keys and queue entries; the dispatcher claims pending entries per recipient
+ * with a conditional update and records the delivery outcome with bulk updates guarded by its claim.
+ */
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+    
+    /**
+     * Find which of the given dedup keys are already queued
+     * @param dedupKeys Candidate dedup keys
+     * @return The subset of keys that already exist, in any status
+     */
+    @Query("SELECT n.dedupKey FROM NotificationOutbox n WHERE n.dedupKey IN :dedupKeys")
+    List<String> findExistingDedupKeys(@Param("dedupKeys") Collection<String> dedupKeys);
+    
+    /**
+     * Find recipients with claimable entries, those waiting longest first.
+     * Entries are claimable while PENDING and not claimed by a dispatch run, or claimed before the cutoff.
+     * @param claimedBefore Claims taken before this time have expired
+     * @param pageable Limits the number of recipients
+     * @return Distinct recipients
+     */
+    @Query("SELECT n.recipient FROM NotificationOutbox n WHERE n.status = 'PENDING' " +
+           "AND (n.claimedAt IS NULL OR n.claimedAt < :claimedBefore) " +
+           "GROUP BY n.recipient ORDER BY MIN(n.id)")
+    List<String> findClaimableRecipients(@Param("claimedBefore") LocalDateTime claimedBefore, Pageable pageable);
+    
+    /**
+     * Find the claimable entries of the given recipients
+     * @param recipients Recipients to load
+     * @param claimedBefore Claims taken before this time have expired
+     * @return Entries in queue order
+     */
+    @Query("SELECT n FROM NotificationOutbox n WHERE n.status = 'PENDING' AND n.recipient IN :recipients " +
+           "AND (n.claimedAt IS NULL OR n.claimedAt < :claimedBefore) ORDER BY n.id")
+    List<NotificationOutbox> findClaimable(@Param("recipients") Collection<String> recipients,
+                                           @Param("claimedBefore") LocalDateTime claimedBefore);
+    
+    /**
+     * Claim entries for a dispatch run. The claimable condition is re-checked by the UPDATE itself,
+     * so when concurrent runs race for the same entries each entry is claimed by exactly one of them.
+     * @param ids Candidate entry IDs
+     * @param claimedBy Dispatch run taking the claim
+     * @param claimedAt Claim time
+     * @param claimedBefore Claims taken before this time have expired
+     * @return Number of claimed entries
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox n SET n.claimedBy = :claimedBy, n.claimedAt = :claimedAt " +
+           "WHERE n.id IN :ids AND n.status = 'PENDING' " +
+           "AND (n.claimedAt IS NULL OR n.claimedAt < :claimedBefore)")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy,
+              @Param("claimedAt") LocalDateTime claimedAt, @Param("claimedBefore") LocalDateTime claimedBefore);
+    
+    /**
+     * Find which of the given entries a dispatch run holds
+     * @param ids Entry IDs
+     * @param claimedBy Dispatch run
+     * @return Entries in queue order
+     */
+    List<NotificationOutbox> findByIdInAndClaimedByOrderByIdAsc(Collection<Long> ids, String claimedBy);
+    
+    /**
+     * Mark claimed entries as delivered
+     * @param ids Entry IDs
+     * @param claimedBy Dispatch run holding the claim
+     * @param sentAt Delivery time
+     * @return Number of updated entries; lower than the number of IDs if the claim expired
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox n SET n.status = 'SENT', n.sentAt = :sentAt, n.lastError = null, " +
+           "n.claimedBy = null, n.claimedAt = null " +
+           "WHERE n.id IN :ids AND n.claimedBy = :claimedBy")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy,
+                 @Param("sentAt") LocalDateTime sentAt);
+    
+    /**
+     * Record a failed delivery attempt and release the claim; entries reaching the attempt limit
+     * are marked FAILED, the others stay PENDING and are retried by the next dispatch run
+     * @param ids Entry IDs
+     * @param claimedBy Dispatch run holding the claim
+     * @param error Error description
+     * @param maxAttempts Attempt limit
+     * @return Number of updated entries
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox n SET n.attempts = n.attempts + 1, n.lastError = :error, " +
+           "n.claimedBy = null, n.claimedAt = null, " +
+           "n.status = CASE WHEN n.attempts + 1 >= :maxAttempts " +
+           "  THEN com.example.apartmentmanagerapi.entity.NotificationOutbox.Status.FAILED ELSE n.status END " +
+           "WHERE n.id IN :ids AND n.claimedBy = :claimedBy")
+    int recordFailure(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy,
+                      @Param("error") String error, @Param("maxAttempts") int maxAttempts);
+    
+    /**
+     * Delete delivered and failed entries created before the cutoff.
+     * Their dedup keys only matter while the notification window is open.
+     * @param cutoff Entries created before this time are removed
+     * @return Number of deleted entries
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox n WHERE n.status <> 'PENDING' AND n.createdAt < :cutoff")
+    int deleteCompletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
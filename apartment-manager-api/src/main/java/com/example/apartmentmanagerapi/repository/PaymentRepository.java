@@ -170,4 +170,12 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate
     );
+    
+    /**
+     * Find the building of a payment without loading the payment
+     * @param id The payment ID
+     * @return The building ID, if the payment exists
+     */
+    @Query("SELECT p.flat.apartmentBuilding.id FROM Payment p WHERE p.id = :id")
+    Optional<Long> findBuildingIdById(@Param("id") Long id);
 }
\ No newline at end of file
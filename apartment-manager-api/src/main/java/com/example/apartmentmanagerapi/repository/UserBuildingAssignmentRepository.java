@@ -2,6 +2,7 @@ package com.example.apartmentmanagerapi.repository;
 
 import com.example.apartmentmanagerapi.entity.UserBuildingAssignment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -70,6 +71,16 @@ public interface UserBuildingAssignmentRepository extends JpaRepository<UserBuil
            "WHERE uba.user.id = :userId AND uba.isActive = true")
     List<Long> findActiveBuildingIdsByUserId(@Param("userId") Long userId);
     
+    /**
+     * Get all buildings a user is actively assigned to, looked up by username
+     * Used by building-scoped authorization where only the principal name is known
+     * @param username The username
+     * @return List of building IDs
+     */
+    @Query("SELECT uba.building.id FROM UserBuildingAssignment uba " +
+           "WHERE uba.user.username = :username AND uba.isActive = true")
+    List<Long> findActiveBuildingIdsByUsername(@Param("username") String username);
+    
     /**
      * Get all users managing a building
      * @param buildingId The building ID
@@ -104,8 +115,10 @@ public interface UserBuildingAssignmentRepository extends JpaRepository<UserBuil
      * Deactivate all assignments for a user
      * Used when a user is deactivated or role changed
      * @param userId The user ID
+     * Bulk update - callers must evict the building access cache afterwards
      * @return Number of records updated
      */
+    @Modifying
     @Query("UPDATE UserBuildingAssignment uba " +
            "SET uba.isActive = false, uba.unassignedDate = CURRENT_TIMESTAMP " +
            "WHERE uba.user.id = :userId AND uba.isActive = true")
@@ -115,8 +128,10 @@ public interface UserBuildingAssignmentRepository extends JpaRepository<UserBuil
      * Deactivate all assignments for a building
      * Used when a building is deactivated
      * @param buildingId The building ID
+     * Bulk update - callers must evict the building access cache afterwards
      * @return Number of records updated
      */
+    @Modifying
     @Query("UPDATE UserBuildingAssignment uba " +
            "SET uba.isActive = false, uba.unassignedDate = CURRENT_TIMESTAMP " +
            "WHERE uba.building.id = :buildingId AND uba.isActive = true")
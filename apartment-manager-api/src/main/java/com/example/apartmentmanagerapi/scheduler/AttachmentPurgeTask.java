@@ -0,0 +1,36 @@
+package com.example.apartmentmanagerapi.scheduler;
+
+import com.example.apartmentmanagerapi.service.IAttachmentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task that removes attachments of deleted owners and contents no attachment references any more
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(
+    value = "app.scheduling.enabled",
+    havingValue = "true",
+    matchIfMissing = true
+)
+public class AttachmentPurgeTask {
+    
+    private final IAttachmentService attachmentService;
+    
+    /**
+     * Sweep unreferenced attachment contents daily at 4:15 AM
+     */
+    @Scheduled(cron = "${app.attachments.purge-cron:0 15 4 * * ?}")
+    public void purgeUnreferencedAttachments() {
+        try {
+            attachmentService.purgeUnreferencedContent();
+        } catch (Exception e) {
+            log.error("Error purging unreferenced attachment contents", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.apartmentmanagerapi.scheduler;
+
+import com.example.apartmentmanagerapi.service.IAuditPartitionService;
+import com.example.apartmentmanagerapi.service.IAuditService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled maintenance for the partitioned audit_logs table.
+ * Pre-creates upcoming monthly partitions and enforces retention by dropping expired ones.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(
+    value = "app.scheduling.enabled",
+    havingValue = "true",
+    matchIfMissing = true
+)
+public class AuditPartitionMaintenanceTask {
+    
+    private final IAuditPartitionService auditPartitionService;
+    private final IAuditService auditService;
+    
+    @Value("${app.audit.partitioning.months-ahead:3}")
+    private int monthsAhead;
+    
+    @Value("${app.audit.retention-days:365}")
+    private int retentionDays;
+    
+    /**
+     * Create future partitions and drop expired ones daily at 2:30 AM
+     */
+    @Scheduled(cron = "${app.audit.partitioning.maintenance-cron:0 30 2 * * ?}")
+    public void maintainAuditPartitions() {
+        log.info("Starting scheduled audit log partition maintenance");
+        try {
+            int created = auditPartitionService.createFuturePartitions(monthsAhead);
+            int removed = auditService.cleanupOldAuditLogs(retentionDays);
+            log.info("Audit log partition maintenance completed: {} partitions created, {} old entries removed",
+                    created, removed);
+        } catch (Exception e) {
+            log.error("Error maintaining audit log partitions", e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.apartmentmanagerapi.scheduler;
+
+import com.example.apartmentmanagerapi.job.BackgroundJobWorker;
+import com.example.apartmentmanagerapi.service.IJobQueueService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled tasks that run queued background jobs and maintain the job table
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(
+    value = "app.scheduling.enabled",
+    havingValue = "true",
+    matchIfMissing = true
+)
+public class BackgroundJobTask {
+    
+    private final BackgroundJobWorker worker;
+    private final IJobQueueService jobQueueService;
+    
+    /**
+     * Claim and start due jobs on a fixed delay
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.poll.interval-ms:1000}",
+               initialDelayString = "${app.jobs.poll.interval-ms:1000}")
+    public void pollJobs() {
+        try {
+            worker.poll();
+        } catch (Exception e) {
+            log.error("Error polling background jobs", e);
+        }
+    }
+    
+    /**
+     * Return jobs of dead or stalled workers to the queue
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.recovery.interval-ms:60000}",
+               initialDelayString = "${app.jobs.recovery.interval-ms:60000}")
+    public void recoverExpiredLeases() {
+        try {
+            jobQueueService.recoverExpiredLeases();
+        } catch (Exception e) {
+            log.error("Error recovering expired background job leases", e);
+        }
+    }
+    
+    /**
+     * Remove succeeded jobs daily at 3:45 AM
+     */
+    @Scheduled(cron = "${app.jobs.purge-cron:0 45 3 * * ?}")
+    public void purgeCompletedJobs() {
+        try {
+            jobQueueService.purgeCompleted();
+        } catch (Exception e) {
+            log.error("Error purging background jobs", e);
+        }
+    }
+}
@@ -51,7 +51,7 @@ public class ContractScheduledTasks {
         try {
             int daysAhead = 30; // Look for contracts expiring in next 30 days
             var notifications = notificationService.sendExpiryNotifications(daysAhead);
-            log.info("Sent {} contract expiry notifications", notifications.size());
+            log.info("Queued {} contract expiry notifications", notifications.size());
         } catch (Exception e) {
             log.error("Error sending contract expiry notifications", e);
         }
@@ -67,7 +67,7 @@ public class ContractScheduledTasks {
         try {
             int daysAhead = 7; // Look for contracts expiring in next 7 days
             var notifications = notificationService.sendExpiryNotifications(daysAhead);
-            log.info("Sent {} urgent contract expiry notifications", notifications.size());
+            log.info("Queued {} urgent contract expiry notifications", notifications.size());
         } catch (Exception e) {
             log.error("Error sending urgent contract expiry notifications", e);
         }
@@ -0,0 +1,36 @@
+package com.example.apartmentmanagerapi.scheduler;
+
+import com.example.apartmentmanagerapi.service.ILoginThrottleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task that merges in-memory login throttle counters across nodes.
+ * Only needed when more than one application instance serves logins.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(
+    value = "app.security.login-throttle.cluster-sync.enabled",
+    havingValue = "true"
+)
+public class LoginThrottleSyncTask {
+    
+    private final ILoginThrottleService loginThrottleService;
+    
+    /**
+     * Flush local counters and pull remote lockouts on a fixed delay
+     */
+    @Scheduled(fixedDelayString = "${app.security.login-throttle.cluster-sync.interval-ms:10000}")
+    public void synchronizeLoginThrottle() {
+        try {
+            loginThrottleService.synchronizeWithCluster();
+        } catch (Exception e) {
+            log.error("Error synchronizing login throttle counters", e);
+        }
+    }
+}
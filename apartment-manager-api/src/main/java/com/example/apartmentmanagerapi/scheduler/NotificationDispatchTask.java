@@ -0,0 +1,49 @@
+package com.example.apartmentmanagerapi.scheduler;
+
+import com.example.apartmentmanagerapi.service.INotificationDispatchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled tasks that deliver queued notifications and clean up the notification outbox
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(
+    value = "app.scheduling.enabled",
+    havingValue = "true",
+    matchIfMissing = true
+)
+public class NotificationDispatchTask {
+    
+    private final INotificationDispatchService dispatchService;
+    
+    /**
+     * Deliver pending notifications on a fixed delay
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.dispatch.interval-ms:60000}",
+               initialDelayString = "${app.notifications.dispatch.interval-ms:60000}")
+    public void dispatchNotifications() {
+        try {
+            dispatchService.dispatchPending();
+        } catch (Exception e) {
+            log.error("Error dispatching notifications", e);
+        }
+    }
+    
+    /**
+     * Remove completed outbox entries daily at 3:30 AM
+     */
+    @Scheduled(cron = "${app.notifications.outbox.purge-cron:0 30 3 * * ?}")
+    public void purgeNotificationOutbox() {
+        try {
+            dispatchService.purgeCompleted();
+        } catch (Exception e) {
+            log.error("Error purging notification outbox", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.apartmentmanagerapi.scheduler;
+
+import com.example.apartmentmanagerapi.service.IRecurringExpenseService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Scheduled task that creates the due instances of recurring expenses
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(
+    value = "app.scheduling.enabled",
+    havingValue = "true",
+    matchIfMissing = true
+)
+public class RecurringExpenseTask {
+
+    private final IRecurringExpenseService recurringExpenseService;
+
+    /**
+     * Materialize due recurring expenses daily at 1:15 AM
+     */
+    @Scheduled(cron = "${app.expenses.recurring.cron:0 15 1 * * ?}")
+    public void materializeRecurringExpenses() {
+        try {
+            recurringExpenseService.materializeDueExpenses(LocalDate.now());
+        } catch (Exception e) {
+            log.error("Error materializing recurring expenses", e);
+        }
+    }
+}
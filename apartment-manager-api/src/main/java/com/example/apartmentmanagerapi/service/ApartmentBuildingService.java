@@ -4,6 +4,7 @@ import com.example.apartmentmanagerapi.entity.ApartmentBuilding;
 import com.example.apartmentmanagerapi.dto.ApartmentBuildingRequest;
 import com.example.apartmentmanagerapi.dto.ApartmentBuildingResponse;
 import com.example.apartmentmanagerapi.repository.ApartmentBuildingRepository;
+import com.example.apartmentmanagerapi.repository.AttachmentRepository;
 import com.example.apartmentmanagerapi.mapper.ApartmentBuildingMapper;
 import com.example.apartmentmanagerapi.exception.ResourceNotFoundException;
 import com.example.apartmentmanagerapi.exception.DuplicateResourceException;
@@ -21,6 +22,9 @@ public class ApartmentBuildingService implements IApartmentBuildingService {
 
     private final ApartmentBuildingRepository apartmentBuildingRepository;
     private final ApartmentBuildingMapper apartmentBuildingMapper;
+    private final IBuildingVersionService buildingVersionService;
+    private final AttachmentRepository attachmentRepository;
+    private final IBuildingAssignmentService buildingAssignmentService;
 
     @Transactional
     public ApartmentBuildingResponse createApartmentBuilding(ApartmentBuildingRequest request) {
@@ -30,6 +34,8 @@ public class ApartmentBuildingService implements IApartmentBuildingService {
 
         ApartmentBuilding building = apartmentBuildingMapper.toEntity(request);
         ApartmentBuilding savedBuilding = apartmentBuildingRepository.save(building);
+        // Building endpoints are gated by assignment, so a manager must be assigned to the building they create
+        buildingAssignmentService.assignCurrentUser(savedBuilding.getId());
 
         return apartmentBuildingMapper.toResponse(savedBuilding);
     }
@@ -61,6 +67,8 @@ public class ApartmentBuildingService implements IApartmentBuildingService {
         // Update the entity using mapper
         apartmentBuildingMapper.updateEntityFromRequest(request, building);
         ApartmentBuilding updatedBuilding = apartmentBuildingRepository.save(building);
+        // Building-scoped responses embed the building's name and address
+        buildingVersionService.bump(id);
         return apartmentBuildingMapper.toResponse(updatedBuilding);
     }
 
@@ -71,6 +79,9 @@ public class ApartmentBuildingService implements IApartmentBuildingService {
         }
         // Consider implications: what happens to flats in this building?
         // For now, simple delete. Later, might need to check if flats exist.
+        buildingVersionService.bump(id);
+        // Attachments reference the building's expenses and payments, which are deleted with it
+        attachmentRepository.deleteByBuildingId(id);
         apartmentBuildingRepository.deleteById(id);
     }
 }
\ No newline at end of file
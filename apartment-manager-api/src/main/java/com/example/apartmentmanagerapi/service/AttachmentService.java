@@ -0,0 +1,222 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.entity.Attachment;
+import com.example.apartmentmanagerapi.exception.ResourceNotFoundException;
+import com.example.apartmentmanagerapi.exception.UnauthorizedException;
+import com.example.apartmentmanagerapi.exception.ValidationException;
+import com.example.apartmentmanagerapi.repository.AttachmentRepository;
+import com.example.apartmentmanagerapi.repository.ExpenseRepository;
+import com.example.apartmentmanagerapi.repository.PaymentRepository;
+import com.example.apartmentmanagerapi.storage.AttachmentStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Receipt and invoice attachments of expenses and payments.
+ * Uploads are streamed into the content-addressed AttachmentStorage before any row is written, so no
+ * database transaction or connection is held while a file arrives; the metadata row is inserted
+ * afterwards. Identical files share one stored content. Contents are never deleted together with a row:
+ * a daily sweep removes contents that no row references once they are older than a grace period, which
+ * keeps a concurrent upload of the same bytes from losing its file. Access follows the owner's building.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AttachmentService implements IAttachmentService {
+
+    private static final int MAX_FILE_NAME_LENGTH = 255;
+    private static final int PURGE_BATCH_SIZE = 500;
+
+    private final AttachmentRepository attachmentRepository;
+    private final ExpenseRepository expenseRepository;
+    private final PaymentRepository paymentRepository;
+    private final IBuildingAccessService buildingAccessService;
+    private final AttachmentStorage storage;
+
+    @Value("${app.attachments.allowed-content-types:application/pdf,image/jpeg,image/png,image/webp,image/heic}")
+    private Set<String> allowedContentTypes;
+
+    @Value("${app.attachments.purge.grace-hours:24}")
+    private long purgeGraceHours;
+
+    @Override
+    public Attachment attach(Attachment.OwnerType ownerType, Long ownerId, String fileName, String contentType,
+                             InputStream content) {
+        Long buildingId = requireAccessibleOwner(ownerType, ownerId);
+        String mediaType = normalizeContentType(contentType);
+        if (allowedContentTypes.stream().map(AttachmentService::normalizeContentType).noneMatch(mediaType::equals)) {
+            throw new ValidationException("contentType", "Unsupported attachment type: " + contentType);
+        }
+
+        AttachmentStorage.StoredContent stored = storage.store(content);
+        if (stored.size() == 0) {
+            throw new ValidationException("file", "Attachment is empty");
+        }
+
+        Optional<Attachment> existing = attachmentRepository
+                .findByOwnerTypeAndOwnerIdAndSha256(ownerType, ownerId, stored.sha256());
+        if (existing.isPresent()) {
+            log.debug("{} {} already has attachment {} with content {}", ownerType, ownerId,
+                    existing.get().getId(), stored.sha256());
+            return existing.get();
+        }
+
+        Attachment attachment = Attachment.builder()
+                .ownerType(ownerType)
+                .ownerId(ownerId)
+                .buildingId(buildingId)
+                .sha256(stored.sha256())
+                .fileName(sanitizeFileName(fileName))
+                .contentType(mediaType)
+                .sizeBytes(stored.size())
+                .uploadedBy(currentUsername())
+                .build();
+        try {
+            attachment = attachmentRepository.save(attachment);
+        } catch (DataIntegrityViolationException e) {
+            // The same content was attached concurrently
+            return attachmentRepository.findByOwnerTypeAndOwnerIdAndSha256(ownerType, ownerId, stored.sha256())
+                    .orElseThrow(() -> e);
+        }
+        log.info("Attached {} ({} bytes, {}) to {} {}", attachment.getFileName(), stored.size(),
+                stored.sha256(), ownerType, ownerId);
+        return attachment;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Attachment> getAttachments(Attachment.OwnerType ownerType, Long ownerId) {
+        requireAccessibleOwner(ownerType, ownerId);
+        return attachmentRepository.findByOwnerTypeAndOwnerIdOrderByIdAsc(ownerType, ownerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Attachment getAttachment(Long attachmentId) {
+        Attachment attachment = attachmentRepository.findById(attachmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Attachment", attachmentId));
+        requireAccess(attachment.getBuildingId());
+        return attachment;
+    }
+
+    @Override
+    public long transferContent(Attachment attachment, long position, long count, WritableByteChannel target) {
+        return storage.transferTo(attachment.getSha256(), position, count, target);
+    }
+
+    @Override
+    @Transactional
+    public void deleteAttachment(Long attachmentId) {
+        Attachment attachment = getAttachment(attachmentId);
+        attachmentRepository.delete(attachment);
+        log.info("Deleted attachment {} of {} {}", attachmentId, attachment.getOwnerType(), attachment.getOwnerId());
+    }
+
+    @Override
+    public int purgeUnreferencedContent() {
+        int orphanedRows = attachmentRepository.deleteOrphaned();
+        if (orphanedRows > 0) {
+            log.info("Removed {} attachments whose expense or payment no longer exists", orphanedRows);
+        }
+        Instant cutoff = Instant.now().minus(Duration.ofHours(purgeGraceHours));
+        int removed = 0;
+        try (Stream<String> stored = storage.findStoredBefore(cutoff)) {
+            Iterator<String> digests = stored.iterator();
+            List<String> batch = new ArrayList<>(PURGE_BATCH_SIZE);
+            while (digests.hasNext()) {
+                batch.add(digests.next());
+                if (batch.size() == PURGE_BATCH_SIZE || !digests.hasNext()) {
+                    removed += purgeUnreferenced(batch, cutoff);
+                    batch.clear();
+                }
+            }
+        }
+        if (removed > 0) {
+            log.info("Removed {} unreferenced attachment contents stored more than {} hours ago", removed, purgeGraceHours);
+        }
+        return removed;
+    }
+
+    /**
+     * Deletes the digests of a batch that no attachment references; the storage re-checks their age
+     * under its digest lock, so contents uploaded again in the meantime are kept
+     */
+    private int purgeUnreferenced(List<String> digests, Instant cutoff) {
+        Set<String> referenced = new HashSet<>(attachmentRepository.findReferencedSha256(digests));
+        int removed = 0;
+        for (String sha256 : digests) {
+            if (!referenced.contains(sha256) && storage.deleteIfStoredBefore(sha256, cutoff)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Resolves the building of an expense or payment and checks the current user may access it
+     */
+    private Long requireAccessibleOwner(Attachment.OwnerType ownerType, Long ownerId) {
+        Optional<Long> buildingId = switch (ownerType) {
+            case EXPENSE -> expenseRepository.findBuildingIdById(ownerId);
+            case PAYMENT -> paymentRepository.findBuildingIdById(ownerId);
+        };
+        String resourceType = ownerType == Attachment.OwnerType.EXPENSE ? "Expense" : "Payment";
+        Long id = buildingId.orElseThrow(() -> new ResourceNotFoundException(resourceType, ownerId));
+        requireAccess(id);
+        return id;
+    }
+
+    private void requireAccess(Long buildingId) {
+        if (!buildingAccessService.canAccess(buildingId)) {
+            throw new UnauthorizedException("Access denied to attachments of building " + buildingId);
+        }
+    }
+
+    /**
+     * Media type without parameters, e.g. "image/jpeg" for "image/JPEG; name=scan.jpg"
+     */
+    private static String normalizeContentType(String contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        int parameters = contentType.indexOf(';');
+        String mediaType = parameters >= 0 ? contentType.substring(0, parameters) : contentType;
+        return mediaType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * File name without any client-side path, limited to the column length
+     */
+    private static String sanitizeFileName(String fileName) {
+        String name = fileName != null ? StringUtils.getFilename(StringUtils.cleanPath(fileName.replace('\\', '/'))) : null;
+        if (!StringUtils.hasText(name)) {
+            return "attachment";
+        }
+        return name.length() > MAX_FILE_NAME_LENGTH ? name.substring(name.length() - MAX_FILE_NAME_LENGTH) : name;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
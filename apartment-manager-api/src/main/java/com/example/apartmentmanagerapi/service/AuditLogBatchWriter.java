@@ -0,0 +1,425 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.entity.AuditLog;
+import com.example.apartmentmanagerapi.util.BoundedRingBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Batched, backpressured audit log writer.
+ * Callers enqueue entries into a bounded lock-free ring buffer and return immediately.
+ * A single writer thread drains the buffer into JDBC batch inserts whenever a full batch
+ * is available or the flush interval elapses, so audit logging holds at most one pooled
+ * connection regardless of load. When the buffer is full the configured overflow policy
+ * decides whether callers wait, entries are dropped, or entries are spilled to a file
+ * that is replayed once the writer is idle.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogBatchWriter implements IAuditLogWriter, SmartLifecycle {
+
+    /**
+     * What to do with an entry when the ring buffer is full
+     */
+    public enum OverflowPolicy {
+        /** Wait for space up to the block timeout, then drop */
+        BLOCK,
+        /** Drop the entry and count it */
+        DROP,
+        /** Append the entry to the spill file for later replay */
+        SPILL
+    }
+
+    static final String INSERT_SQL = "INSERT INTO audit_logs (timestamp, user_id, username, action, entity_type, " +
+            "entity_id, description, ip_address, user_agent, correlation_id, result, error_message) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SYSTEM_USERNAME = "system";
+    private static final long SPILL_REPLAY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.audit.writer.capacity:8192}")
+    private int capacity;
+
+    @Value("${app.audit.writer.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.audit.writer.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${app.audit.writer.overflow-policy:BLOCK}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${app.audit.writer.block-timeout-ms:500}")
+    private long blockTimeoutMs;
+
+    @Value("${app.audit.writer.spill-file:logs/audit-spill.jsonl}")
+    private String spillFile;
+
+    private BoundedRingBuffer<AuditLog> buffer;
+    private TransactionTemplate transactionTemplate;
+    private Path spillPath;
+    private final Object spillLock = new Object();
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+    private long lastReplayAttempt;
+
+    private Counter droppedCounter;
+    private Counter spilledCounter;
+    private Counter failedCounter;
+    private DistributionSummary batchSizeSummary;
+    private Timer flushTimer;
+
+    /**
+     * Create the buffer and register metrics once properties are injected
+     */
+    @PostConstruct
+    void initialize() {
+        buffer = new BoundedRingBuffer<>(capacity);
+        spillPath = Paths.get(spillFile);
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Gauge.builder("audit.writer.queue.depth", buffer, BoundedRingBuffer::size)
+                .description("Audit log entries waiting to be written")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("audit.writer.dropped")
+                .description("Audit log entries dropped because the queue was full")
+                .register(meterRegistry);
+        spilledCounter = Counter.builder("audit.writer.spilled")
+                .description("Audit log entries written to the spill file")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("audit.writer.failed")
+                .description("Audit log entries lost because a batch insert failed")
+                .register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("audit.writer.batch.size")
+                .description("Number of audit log entries per batch insert")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("audit.writer.flush.latency")
+                .description("Time taken to write one audit log batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        log.info("Audit log writer configured with capacity: {}, batch size: {}, flush interval: {} ms, overflow policy: {}",
+                buffer.capacity(), batchSize, flushIntervalMs, overflowPolicy);
+    }
+
+    /**
+     * Queue an audit log entry, applying the overflow policy when the buffer is full
+     * @param auditLog The entry to write
+     * @return true if the entry was queued or spilled, false if it was dropped
+     */
+    @Override
+    public boolean enqueue(AuditLog auditLog) {
+        if (buffer.offer(auditLog)) {
+            if (buffer.size() >= batchSize) {
+                wakeWriter();
+            }
+            return true;
+        }
+
+        wakeWriter();
+        switch (overflowPolicy) {
+            case BLOCK:
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+                while (System.nanoTime() < deadline) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                    if (buffer.offer(auditLog)) {
+                        return true;
+                    }
+                }
+                return drop(auditLog);
+            case SPILL:
+                return spill(List.of(auditLog)) || drop(auditLog);
+            case DROP:
+            default:
+                return drop(auditLog);
+        }
+    }
+
+    /**
+     * Number of entries waiting to be written
+     * @return Current queue depth
+     */
+    @Override
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    /**
+     * Start the single writer thread
+     */
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::runWriter, "AuditWriter");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+    }
+
+    /**
+     * Stop accepting work and wait for the writer to drain the buffer
+     */
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writerThread = null;
+        }
+        if (!buffer.isEmpty()) {
+            log.warn("Audit log writer stopped with {} entries still queued", buffer.size());
+            spill(drain(Integer.MAX_VALUE));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop after regular beans so entries logged during shutdown are still written
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 1000;
+    }
+
+    /**
+     * Writer loop: flush when a full batch is queued or the flush interval has elapsed
+     */
+    private void runWriter() {
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        long lastFlush = System.nanoTime();
+
+        while (true) {
+            boolean stopping = !running;
+            int depth = buffer.size();
+            long sinceFlush = System.nanoTime() - lastFlush;
+
+            if (depth >= batchSize || (depth > 0 && (stopping || sinceFlush >= flushIntervalNanos))) {
+                flush(drain(batchSize));
+                lastFlush = System.nanoTime();
+                continue;
+            }
+            if (stopping) {
+                break;
+            }
+            if (depth == 0) {
+                replaySpillFile();
+            }
+            LockSupport.parkNanos(this, Math.max(flushIntervalNanos - sinceFlush, TimeUnit.MILLISECONDS.toNanos(1)));
+        }
+    }
+
+    /**
+     * Write one batch; failed batches go to the spill file when the policy allows it
+     */
+    void flush(List<AuditLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            writeBatch(batch);
+        } catch (Exception e) {
+            log.error("Failed to write batch of {} audit logs", batch.size(), e);
+            if (overflowPolicy != OverflowPolicy.SPILL || !spill(batch)) {
+                failedCounter.increment(batch.size());
+            }
+        }
+    }
+
+    /**
+     * Insert a batch in one transaction using JDBC batching
+     */
+    private void writeBatch(List<AuditLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, auditLog) -> {
+                    ps.setTimestamp(1, Timestamp.valueOf(auditLog.getTimestamp() != null
+                            ? auditLog.getTimestamp() : LocalDateTime.now()));
+                    if (auditLog.getUserId() != null) {
+                        ps.setLong(2, auditLog.getUserId());
+                    } else {
+                        ps.setNull(2, Types.BIGINT);
+                    }
+                    ps.setString(3, truncate(auditLog.getUsername() != null ? auditLog.getUsername() : SYSTEM_USERNAME, 50));
+                    ps.setString(4, auditLog.getAction().name());
+                    ps.setString(5, truncate(auditLog.getEntityType(), 50));
+                    if (auditLog.getEntityId() != null) {
+                        ps.setLong(6, auditLog.getEntityId());
+                    } else {
+                        ps.setNull(6, Types.BIGINT);
+                    }
+                    ps.setString(7, truncate(auditLog.getDescription(), 500));
+                    ps.setString(8, truncate(auditLog.getIpAddress(), 45));
+                    ps.setString(9, truncate(auditLog.getUserAgent(), 255));
+                    ps.setString(10, truncate(auditLog.getCorrelationId(), 36));
+                    ps.setString(11, auditLog.getResult().name());
+                    ps.setString(12, truncate(auditLog.getErrorMessage(), 500));
+                }));
+        sample.stop(flushTimer);
+        batchSizeSummary.record(batch.size());
+        log.debug("Wrote batch of {} audit logs", batch.size());
+    }
+
+    /**
+     * Take up to the given number of entries off the buffer
+     */
+    private List<AuditLog> drain(int maxEntries) {
+        List<AuditLog> batch = new ArrayList<>(Math.min(maxEntries, Math.max(buffer.size(), 1)));
+        AuditLog auditLog;
+        while (batch.size() < maxEntries && (auditLog = buffer.poll()) != null) {
+            batch.add(auditLog);
+        }
+        return batch;
+    }
+
+    /**
+     * Append entries to the spill file as JSON lines
+     * @return true if the entries were written
+     */
+    private boolean spill(List<AuditLog> entries) {
+        if (entries.isEmpty()) {
+            return true;
+        }
+
+        synchronized (spillLock) {
+            try {
+                if (spillPath.getParent() != null) {
+                    Files.createDirectories(spillPath.getParent());
+                }
+                try (BufferedWriter writer = Files.newBufferedWriter(spillPath, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (AuditLog entry : entries) {
+                        writer.write(objectMapper.writeValueAsString(entry));
+                        writer.newLine();
+                    }
+                }
+                spilledCounter.increment(entries.size());
+                return true;
+            } catch (IOException e) {
+                log.error("Failed to spill {} audit logs to {}", entries.size(), spillPath, e);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Re-insert spilled entries while the writer has nothing else to do.
+     * Replay is at-least-once: a batch that fails midway is retried on the next attempt.
+     */
+    private void replaySpillFile() {
+        long now = System.nanoTime();
+        if (now - lastReplayAttempt < SPILL_REPLAY_INTERVAL_NANOS) {
+            return;
+        }
+        lastReplayAttempt = now;
+
+        Path replayPath = spillPath.resolveSibling(spillPath.getFileName() + ".replay");
+        try {
+            synchronized (spillLock) {
+                if (!Files.exists(replayPath)) {
+                    if (!Files.exists(spillPath) || Files.size(spillPath) == 0) {
+                        return;
+                    }
+                    Files.move(spillPath, replayPath, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+
+            int replayed = 0;
+            try (BufferedReader reader = Files.newBufferedReader(replayPath, StandardCharsets.UTF_8)) {
+                List<AuditLog> batch = new ArrayList<>(batchSize);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    batch.add(objectMapper.readValue(line, AuditLog.class));
+                    if (batch.size() >= batchSize) {
+                        writeBatch(batch);
+                        replayed += batch.size();
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                writeBatch(batch);
+                replayed += batch.size();
+            }
+            Files.delete(replayPath);
+            log.info("Replayed {} spilled audit logs from {}", replayed, replayPath);
+        } catch (Exception e) {
+            log.warn("Failed to replay spilled audit logs from {}: {}", replayPath, e.getMessage());
+        }
+    }
+
+    private boolean drop(AuditLog auditLog) {
+        droppedCounter.increment();
+        log.warn("Audit log queue full, dropped entry for action: {}", auditLog.getAction());
+        return false;
+    }
+
+    private void wakeWriter() {
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.apartmentmanagerapi.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Maintains monthly range partitions of audit_logs on PostgreSQL.
+ * Partitions are named audit_logs_pYYYYMM and cover [first day of month, first day of next month).
+ * Expired partitions are detached and dropped, which is a metadata operation and leaves
+ * no dead tuples behind, unlike a row-by-row DELETE. On databases without partitioning
+ * support (such as H2 in tests) every operation is a no-op.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditPartitionService implements IAuditPartitionService {
+
+    static final String PARENT_TABLE = "audit_logs";
+    static final String PARTITION_PREFIX = "audit_logs_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String PARTITIONED_SQL = "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt " +
+            "JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname = ? AND pg_table_is_visible(c.oid))";
+    private static final String PARTITIONS_SQL = "SELECT child.relname FROM pg_inherits i " +
+            "JOIN pg_class parent ON parent.oid = i.inhparent " +
+            "JOIN pg_class child ON child.oid = i.inhrelid " +
+            "WHERE parent.relname = ? AND pg_table_is_visible(parent.oid) ORDER BY child.relname";
+    private static final String ROW_ESTIMATE_SQL = "SELECT GREATEST(reltuples, 0)::bigint FROM pg_class " +
+            "WHERE relname = ? AND pg_table_is_visible(oid)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.audit.partitioning.lock-timeout-ms:5000}")
+    private long lockTimeoutMs;
+
+    private TransactionTemplate transactionTemplate;
+    private Clock clock = Clock.systemDefaultZone();
+    private volatile Boolean partitioned;
+
+    @PostConstruct
+    void initialize() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public boolean isPartitioned() {
+        Boolean result = partitioned;
+        if (result == null) {
+            result = detectPartitioning();
+            partitioned = result;
+        }
+        return result;
+    }
+
+    @Override
+    public int createFuturePartitions(int monthsAhead) {
+        if (!isPartitioned()) {
+            return 0;
+        }
+
+        List<String> existing = listPartitions();
+        YearMonth current = YearMonth.now(clock);
+        int created = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            String name = partitionName(month);
+            if (existing.contains(name)) {
+                continue;
+            }
+            try {
+                String sql = String.format("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                        name, PARENT_TABLE, month.atDay(1), month.plusMonths(1).atDay(1));
+                executeWithLockTimeout(sql);
+                created++;
+                log.info("Created audit log partition {}", name);
+            } catch (DataAccessException e) {
+                // Typically rows for this month already landed in the default partition
+                log.warn("Could not create audit log partition {}: {}", name, e.getMessage());
+            }
+        }
+        return created;
+    }
+
+    @Override
+    public long dropPartitionsBefore(LocalDateTime cutoff) {
+        if (!isPartitioned()) {
+            return 0;
+        }
+
+        LocalDate cutoffDate = cutoff.toLocalDate();
+        long removedRows = 0;
+        for (String name : listPartitions()) {
+            YearMonth month = parsePartitionMonth(name);
+            // Only drop partitions whose upper bound is at or before the cutoff
+            if (month == null || month.plusMonths(1).atDay(1).isAfter(cutoffDate)) {
+                continue;
+            }
+            try {
+                Long rows = jdbcTemplate.queryForObject(ROW_ESTIMATE_SQL, Long.class, name);
+                executeWithLockTimeout(String.format("ALTER TABLE %s DETACH PARTITION %s", PARENT_TABLE, name),
+                        "DROP TABLE IF EXISTS " + name);
+                removedRows += rows != null ? rows : 0;
+                log.info("Dropped expired audit log partition {}", name);
+            } catch (DataAccessException e) {
+                log.warn("Could not drop audit log partition {}: {}", name, e.getMessage());
+            }
+        }
+        return removedRows;
+    }
+
+    /**
+     * Replace the clock used to determine the current month (for testing)
+     * @param clock The clock to use
+     */
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    static YearMonth parsePartitionMonth(String partitionName) {
+        if (!partitionName.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private boolean detectPartitioning() {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equalsIgnoreCase(product)) {
+                log.info("Audit log partitioning not available on {}", product);
+                return false;
+            }
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(PARTITIONED_SQL, Boolean.class, PARENT_TABLE));
+        } catch (DataAccessException e) {
+            log.warn("Could not determine whether audit_logs is partitioned: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, PARENT_TABLE);
+    }
+
+    /**
+     * Run partition DDL in its own transaction with a lock timeout so it never queues
+     * behind long-running audit queries while blocking the writer behind it
+     */
+    private void executeWithLockTimeout(String... statements) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMs);
+            for (String sql : statements) {
+                jdbcTemplate.execute(sql);
+            }
+        });
+    }
+}
@@ -1,15 +1,18 @@
 package com.example.apartmentmanagerapi.service;
 
+import com.example.apartmentmanagerapi.dto.AuditLogFilter;
+import com.example.apartmentmanagerapi.dto.CursorSliceResponse;
 import com.example.apartmentmanagerapi.entity.AuditLog;
 import com.example.apartmentmanagerapi.entity.User;
 import com.example.apartmentmanagerapi.repository.AuditLogRepository;
+import com.example.apartmentmanagerapi.util.KeysetCursor;
 import com.example.apartmentmanagerapi.util.LoggingUtils;
+import com.example.apartmentmanagerapi.util.RequestUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,31 +23,36 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Service for managing audit logs.
  * Handles logging of critical business operations asynchronously.
+ * Entries are built on the caller's thread, so user and request details are captured,
+ * and handed to the batched audit log writer for persistence.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuditService implements IAuditService {
     
+    static final int MAX_SLICE_SIZE = 200;
+    
     private final AuditLogRepository auditLogRepository;
+    private final IAuditLogWriter auditLogWriter;
+    private final IAuditPartitionService auditPartitionService;
     
     /**
      * Log a successful action asynchronously
      * @param action The action performed
      * @param description Description of the action
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logSuccess(AuditLog.AuditAction action, String description) {
         try {
             AuditLog auditLog = createAuditLog(action, description, AuditLog.AuditResult.SUCCESS, null);
-            auditLogRepository.save(auditLog);
-            log.debug("Audit log created for action: {} - {}", action, description);
+            auditLogWriter.enqueue(auditLog);
+            log.debug("Audit log queued for action: {} - {}", action, description);
         } catch (Exception e) {
             log.error("Failed to create audit log for action: {}", action, e);
         }
@@ -57,15 +65,13 @@ public class AuditService implements IAuditService {
      * @param entityId The ID of the entity affected
      * @param description Description of the action
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logSuccess(AuditLog.AuditAction action, String entityType, Long entityId, String description) {
         try {
             AuditLog auditLog = createAuditLog(action, description, AuditLog.AuditResult.SUCCESS, null);
             auditLog.setEntityType(entityType);
             auditLog.setEntityId(entityId);
-            auditLogRepository.save(auditLog);
-            log.debug("Audit log created for action: {} on {} {}", action, entityType, entityId);
+            auditLogWriter.enqueue(auditLog);
+            log.debug("Audit log queued for action: {} on {} {}", action, entityType, entityId);
         } catch (Exception e) {
             log.error("Failed to create audit log for action: {}", action, e);
         }
@@ -77,13 +83,11 @@ public class AuditService implements IAuditService {
      * @param description Description of the action
      * @param errorMessage The error that occurred
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logFailure(AuditLog.AuditAction action, String description, String errorMessage) {
         try {
             AuditLog auditLog = createAuditLog(action, description, AuditLog.AuditResult.FAILURE, errorMessage);
-            auditLogRepository.save(auditLog);
-            log.debug("Audit log created for failed action: {} - {}", action, errorMessage);
+            auditLogWriter.enqueue(auditLog);
+            log.debug("Audit log queued for failed action: {} - {}", action, errorMessage);
         } catch (Exception e) {
             log.error("Failed to create audit log for failed action: {}", action, e);
         }
@@ -116,8 +120,6 @@ public class AuditService implements IAuditService {
      * @param result Success or failure
      * @param ipAddress IP address
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logAuthentication(Long userId, String username, AuditLog.AuditAction action, 
                                   String description, AuditLog.AuditResult result, String ipAddress) {
         try {
@@ -137,8 +139,8 @@ public class AuditService implements IAuditService {
                 auditLog.setUserAgent(request.getHeader("User-Agent"));
             });
             
-            auditLogRepository.save(auditLog);
-            log.debug("Authentication audit log created for user: {} - Action: {}", username, action);
+            auditLogWriter.enqueue(auditLog);
+            log.debug("Authentication audit log queued for user: {} - Action: {}", username, action);
         } catch (Exception e) {
             log.error("Failed to create authentication audit log", e);
         }
@@ -178,6 +180,37 @@ public class AuditService implements IAuditService {
         return auditLogRepository.findByTimestampBetween(startTime, endTime, pageable);
     }
     
+    /**
+     * Browse audit logs newest first using (timestamp, id) keyset pagination
+     * @param filter Optional filters
+     * @param cursor Cursor from the previous slice, or null for the first slice
+     * @param size Requested slice size, capped at MAX_SLICE_SIZE
+     * @return Slice of audit logs with the next cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorSliceResponse<AuditLog> findAuditLogs(AuditLogFilter filter, String cursor, int size) {
+        int sliceSize = Math.max(1, Math.min(size, MAX_SLICE_SIZE));
+        KeysetCursor after = cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+        
+        // Fetch one extra row to know whether another slice exists
+        List<AuditLog> rows = auditLogRepository.findByKeyset(filter, after, sliceSize + 1);
+        boolean hasNext = rows.size() > sliceSize;
+        List<AuditLog> content = hasNext ? rows.subList(0, sliceSize) : rows;
+        
+        String nextCursor = null;
+        if (hasNext) {
+            AuditLog last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        
+        return CursorSliceResponse.<AuditLog>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
     /**
      * Count failed login attempts for a user in the last specified minutes
      * @param username Username
@@ -191,16 +224,23 @@ public class AuditService implements IAuditService {
     }
     
     /**
-     * Clean up old audit logs
+     * Clean up old audit logs.
+     * When audit_logs is partitioned, whole expired monthly partitions are dropped first and
+     * the DELETE only touches the partition that straddles the cutoff.
      * @param daysToKeep Number of days to keep audit logs
-     * @return Number of deleted records
+     * @return Number of deleted records (approximate for dropped partitions)
      */
     @Transactional
     public int cleanupOldAuditLogs(int daysToKeep) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysToKeep);
+        long droppedCount = 0;
+        if (auditPartitionService.isPartitioned()) {
+            droppedCount = auditPartitionService.dropPartitionsBefore(cutoffDate);
+        }
         int deletedCount = auditLogRepository.deleteOldAuditLogs(cutoffDate);
-        log.info("Cleaned up {} audit logs older than {} days", deletedCount, daysToKeep);
-        return deletedCount;
+        log.info("Cleaned up {} audit logs older than {} days ({} via dropped partitions)",
+                droppedCount + deletedCount, daysToKeep, droppedCount);
+        return (int) Math.min(Integer.MAX_VALUE, droppedCount + deletedCount);
     }
     
     /**
@@ -224,7 +264,7 @@ public class AuditService implements IAuditService {
         
         // Get request information
         getRequestDetails().ifPresent(request -> {
-            auditLog.setIpAddress(getClientIpAddress(request));
+            auditLog.setIpAddress(RequestUtils.getClientIpAddress(request));
             auditLog.setUserAgent(request.getHeader("User-Agent"));
         });
         
@@ -268,23 +308,6 @@ public class AuditService implements IAuditService {
         }
     }
     
-    /**
-     * Get client IP address from request
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-        
-        return request.getRemoteAddr();
-    }
-    
     /**
      * Helper class to hold user information
      */
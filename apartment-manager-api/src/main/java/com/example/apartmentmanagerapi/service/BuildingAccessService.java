@@ -0,0 +1,162 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.entity.User;
+import com.example.apartmentmanagerapi.repository.UserBuildingAssignmentRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building-scoped authorization backed by an in-memory cache of assignments.
+ * Each user's active building IDs are kept as a sorted primitive array, so an access
+ * check is a cache lookup plus a binary search. Entries are evicted whenever an
+ * assignment changes and also expire after a short TTL as a safety net.
+ */
+@Service("buildingAccess")
+@RequiredArgsConstructor
+@Slf4j
+public class BuildingAccessService implements IBuildingAccessService {
+    
+    private static final long[] NO_BUILDINGS = new long[0];
+    
+    private final UserBuildingAssignmentRepository assignmentRepository;
+    
+    @Value("${app.security.building-access.cache-ttl-seconds:300}")
+    private long cacheTtlSeconds;
+    
+    @Value("${app.security.building-access.cache-max-users:10000}")
+    private long cacheMaxUsers;
+    
+    private Cache<String, long[]> buildingIdsByUser;
+    
+    /**
+     * Build the per-user building cache once properties are injected
+     */
+    @PostConstruct
+    void initialize() {
+        buildingIdsByUser = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtlSeconds, TimeUnit.SECONDS)
+                .maximumSize(cacheMaxUsers)
+                .recordStats()
+                .build();
+    }
+    
+    /**
+     * Check whether the current user may access a building
+     * @param buildingId The building ID
+     * @return true if access is allowed
+     */
+    @Override
+    public boolean canAccess(Long buildingId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || buildingId == null) {
+            return false;
+        }
+        
+        if (isAdmin(authentication)) {
+            return true;
+        }
+        
+        boolean allowed = isAssigned(authentication.getName(), buildingId);
+        if (!allowed) {
+            log.warn("User {} denied access to building {}", authentication.getName(), buildingId);
+        }
+        return allowed;
+    }
+    
+    /**
+     * Check whether a user is actively assigned to a building
+     * @param username The username
+     * @param buildingId The building ID
+     * @return true if an active assignment exists
+     */
+    @Override
+    public boolean isAssigned(String username, Long buildingId) {
+        if (username == null || buildingId == null) {
+            return false;
+        }
+        return Arrays.binarySearch(getAssignedBuildingIds(username), buildingId) >= 0;
+    }
+    
+    /**
+     * Get the IDs of the buildings a user is actively assigned to, loading them on a cache miss
+     * @param username The username
+     * @return Sorted array of building IDs
+     */
+    @Override
+    public long[] getAssignedBuildingIds(String username) {
+        return buildingIdsByUser.get(username, this::loadBuildingIds);
+    }
+    
+    /**
+     * Drop the cached building set for a user. When called inside a transaction the entry
+     * is evicted again after commit, so a concurrent read cannot re-cache the old assignments.
+     * @param username The username
+     */
+    @Override
+    public void evictUser(String username) {
+        if (username == null) {
+            return;
+        }
+        
+        buildingIdsByUser.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buildingIdsByUser.invalidate(username);
+                }
+            });
+        }
+        log.debug("Evicted building access cache for user {}", username);
+    }
+    
+    /**
+     * Drop all cached building sets
+     */
+    @Override
+    public void evictAll() {
+        buildingIdsByUser.invalidateAll();
+        log.debug("Evicted building access cache for all users");
+    }
+    
+    /**
+     * Load a user's active building IDs as a sorted primitive array
+     */
+    private long[] loadBuildingIds(String username) {
+        List<Long> buildingIds = assignmentRepository.findActiveBuildingIdsByUsername(username);
+        if (buildingIds.isEmpty()) {
+            return NO_BUILDINGS;
+        }
+        
+        long[] ids = buildingIds.stream().mapToLong(Long::longValue).distinct().toArray();
+        Arrays.sort(ids);
+        return ids;
+    }
+    
+    /**
+     * Admins are not restricted to assigned buildings
+     */
+    private boolean isAdmin(Authentication authentication) {
+        String adminRole = User.UserRole.ADMIN.getRoleName();
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (adminRole.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
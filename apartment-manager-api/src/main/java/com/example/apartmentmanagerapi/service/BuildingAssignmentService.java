@@ -0,0 +1,137 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.dto.BuildingAssignmentResponse;
+import com.example.apartmentmanagerapi.entity.ApartmentBuilding;
+import com.example.apartmentmanagerapi.entity.User;
+import com.example.apartmentmanagerapi.entity.UserBuildingAssignment;
+import com.example.apartmentmanagerapi.exception.ResourceNotFoundException;
+import com.example.apartmentmanagerapi.repository.ApartmentBuildingRepository;
+import com.example.apartmentmanagerapi.repository.UserBuildingAssignmentRepository;
+import com.example.apartmentmanagerapi.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Manages user-to-building assignments.
+ * The building access cache is evicted by UserBuildingAssignmentListener whenever an assignment is saved.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BuildingAssignmentService implements IBuildingAssignmentService {
+
+    private final UserBuildingAssignmentRepository assignmentRepository;
+    private final ApartmentBuildingRepository apartmentBuildingRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    @Transactional
+    public BuildingAssignmentResponse assignUser(Long buildingId, Long userId, String notes) {
+        ApartmentBuilding building = apartmentBuildingRepository.findById(buildingId)
+                .orElseThrow(() -> new ResourceNotFoundException("ApartmentBuilding", buildingId));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", userId));
+        
+        return toResponse(assign(building, user, currentUser(), notes));
+    }
+
+    @Override
+    @Transactional
+    public void unassignUser(Long buildingId, Long userId) {
+        UserBuildingAssignment assignment = assignmentRepository.findByUserIdAndBuildingId(userId, buildingId)
+                .filter(UserBuildingAssignment::isCurrentlyActive)
+                .orElseThrow(() -> new ResourceNotFoundException("User", userId, "ApartmentBuilding", buildingId));
+        
+        assignment.deactivate();
+        assignmentRepository.save(assignment);
+        log.info("Unassigned user {} from building {}", userId, buildingId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BuildingAssignmentResponse> getAssignments(Long buildingId) {
+        if (!apartmentBuildingRepository.existsById(buildingId)) {
+            throw new ResourceNotFoundException("ApartmentBuilding", buildingId);
+        }
+        return assignmentRepository.findByBuildingIdAndIsActiveTrue(buildingId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void assignCurrentUser(Long buildingId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || isAdmin(authentication)) {
+            return;
+        }
+        User user = userRepository.findByUsername(authentication.getName()).orElse(null);
+        if (user == null) {
+            return;
+        }
+        ApartmentBuilding building = apartmentBuildingRepository.getReferenceById(buildingId);
+        assign(building, user, null, "Creator of the building");
+    }
+    
+    private UserBuildingAssignment assign(ApartmentBuilding building, User user, User assignedBy, String notes) {
+        UserBuildingAssignment assignment = assignmentRepository.findByUserIdAndBuildingId(user.getId(), building.getId())
+                .orElse(null);
+        if (assignment != null && assignment.isCurrentlyActive()) {
+            return assignment;
+        }
+        if (assignment == null) {
+            assignment = UserBuildingAssignment.builder()
+                    .user(user)
+                    .building(building)
+                    .build();
+        } else {
+            // Reuse the row: (user_id, building_id) is unique
+            assignment.setUnassignedDate(null);
+            assignment.setIsActive(true);
+            assignment.setAssignedDate(LocalDateTime.now());
+        }
+        assignment.setAssignedBy(assignedBy);
+        assignment.setNotes(notes);
+        
+        UserBuildingAssignment saved = assignmentRepository.save(assignment);
+        log.info("Assigned user {} to building {}", user.getId(), building.getId());
+        return saved;
+    }
+    
+    private User currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? userRepository.findByUsername(authentication.getName()).orElse(null) : null;
+    }
+    
+    private static boolean isAdmin(Authentication authentication) {
+        String adminRole = User.UserRole.ADMIN.getRoleName();
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (adminRole.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private BuildingAssignmentResponse toResponse(UserBuildingAssignment assignment) {
+        User user = assignment.getUser();
+        return BuildingAssignmentResponse.builder()
+                .id(assignment.getId())
+                .buildingId(assignment.getBuilding().getId())
+                .userId(user.getId())
+                .username(user.getUsername())
+                .role(user.getRole())
+                .assignedDate(assignment.getAssignedDate())
+                .assignedBy(assignment.getAssignedBy() != null ? assignment.getAssignedBy().getUsername() : null)
+                .notes(assignment.getNotes())
+                .build();
+    }
+}
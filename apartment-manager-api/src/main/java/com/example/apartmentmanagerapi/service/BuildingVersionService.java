@@ -0,0 +1,124 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.repository.ApartmentBuildingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Per-building data versions kept in the data_version column of apartment_buildings.
+ * Versions are incremented with a bulk update joining the writer's transaction, so a version and
+ * the data it stands for commit together and survive restarts; the update also holds the building
+ * row lock until commit, so writers call it last. Several buildings are incremented in ID order
+ * to keep the lock order consistent between transactions.
+ * 
+ * The ETag of a building-scoped response is its building's version, but several of those responses are
+ * served from caches. Every increment therefore also evicts the building's cached reads, once right away
+ * and once after commit so a read racing the write cannot leave a stale entry behind a new version.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BuildingVersionService implements IBuildingVersionService {
+    
+    /**
+     * Building-scoped caches keyed by the building ID
+     */
+    static final List<String> BUILDING_KEYED_CACHES = List.of(
+            "flatsWithContracts", "debtorList", "buildingOccupancy", "buildingStatistics");
+    
+    /**
+     * Building-scoped caches keyed by flat or by building and period; cleared as a whole
+     */
+    static final List<String> DERIVED_CACHES = List.of(
+            "buildingFinancials", "monthlyExpenseTotals", "expenseCategoryBreakdown", "paymentSummary",
+            "flatBalance", "flatActiveContract", "flatOccupancySummary");
+    
+    private final ApartmentBuildingRepository apartmentBuildingRepository;
+    private final CacheManager cacheManager;
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getVersion(Long buildingId) {
+        return apartmentBuildingRepository.findDataVersionById(buildingId);
+    }
+    
+    @Override
+    @Transactional
+    public void bump(Long buildingId) {
+        if (buildingId != null) {
+            apartmentBuildingRepository.incrementDataVersions(List.of(buildingId));
+            evictCaches(List.of(buildingId));
+            log.trace("Incremented data version of building {}", buildingId);
+        }
+    }
+    
+    @Override
+    @Transactional
+    public void bump(Collection<Long> buildingIds) {
+        List<Long> ids = buildingIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+        if (!ids.isEmpty()) {
+            apartmentBuildingRepository.incrementDataVersions(ids);
+            evictCaches(ids);
+            log.trace("Incremented data versions of buildings {}", ids);
+        }
+    }
+    
+    @Override
+    @Transactional
+    public void bumpAll() {
+        int updated = apartmentBuildingRepository.incrementAllDataVersions();
+        evictCaches(null);
+        log.debug("Incremented data versions of all {} buildings", updated);
+    }
+    
+    /**
+     * Evict the cached reads of some buildings now and again after commit
+     * @param buildingIds The building IDs, or null for all buildings
+     */
+    private void evictCaches(List<Long> buildingIds) {
+        doEvictCaches(buildingIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvictCaches(buildingIds);
+                }
+            });
+        }
+    }
+    
+    private void doEvictCaches(List<Long> buildingIds) {
+        for (String name : BUILDING_KEYED_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache == null) {
+                continue;
+            }
+            if (buildingIds == null) {
+                cache.clear();
+            } else {
+                buildingIds.forEach(cache::evict);
+            }
+        }
+        for (String name : DERIVED_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
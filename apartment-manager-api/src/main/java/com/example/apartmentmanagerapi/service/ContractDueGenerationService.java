@@ -99,26 +99,31 @@ public class ContractDueGenerationService implements IContractDueGenerationServi
         log.info("Generating extension dues for contract ID: {} starting from {}", 
             contract.getId(), extensionStartDate);
         
-        List<MonthlyDue> generatedDues = new ArrayList<>();
+        // Save all dues
+        List<MonthlyDue> generatedDues = monthlyDueRepository.saveAll(
+            buildDuesForContractExtension(contract, extensionStartDate));
+        
+        log.info("Generated {} extension dues for contract ID: {}", 
+            generatedDues.size(), contract.getId());
+        
+        return generatedDues;
+    }
+
+    @Override
+    public List<MonthlyDue> buildDuesForContractExtension(Contract contract, LocalDate extensionStartDate) {
+        List<MonthlyDue> dues = new ArrayList<>();
         LocalDate currentDueDate = adjustDayOfMonth(extensionStartDate, contract.getDayOfMonth());
         
         // Generate dues from extension start to contract end (exclusive)
         while (currentDueDate.isBefore(contract.getEndDate())) {
             MonthlyDue monthlyDue = createMonthlyDue(contract, currentDueDate);
             monthlyDue.setDescription(monthlyDue.getDescription() + " (Extension)");
-            generatedDues.add(monthlyDue);
+            dues.add(monthlyDue);
             
             // Move to next month
             currentDueDate = calculateNextDueDate(currentDueDate, contract.getDayOfMonth());
         }
-        
-        // Save all dues
-        generatedDues = monthlyDueRepository.saveAll(generatedDues);
-        
-        log.info("Generated {} extension dues for contract ID: {}", 
-            generatedDues.size(), contract.getId());
-        
-        return generatedDues;
+        return dues;
     }
 
     @Override
@@ -1,9 +1,11 @@
 package com.example.apartmentmanagerapi.service;
 
 import com.example.apartmentmanagerapi.dto.ActiveContractInfo;
+import com.example.apartmentmanagerapi.dto.ContractDuesStats;
 import com.example.apartmentmanagerapi.dto.FlatResponse;
 import com.example.apartmentmanagerapi.entity.Contract;
 import com.example.apartmentmanagerapi.repository.ContractRepository;
+import com.example.apartmentmanagerapi.repository.MonthlyDueRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
@@ -14,8 +16,10 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -29,6 +33,7 @@ import java.util.stream.Collectors;
 public class ContractLoadingService {
     
     private final ContractRepository contractRepository;
+    private final MonthlyDueRepository monthlyDueRepository;
     
     /**
      * Efficiently load active contracts for multiple flats
@@ -66,6 +71,29 @@ public class ContractLoadingService {
         return contractMap;
     }
     
+    /**
+     * Build ActiveContractInfo DTOs for a batch of active contracts.
+     * Outstanding balances and overdue flags of all contracts are aggregated with one grouped
+     * query instead of loading each contract's monthly dues.
+     * 
+     * @param activeContracts Map of flat ID to active contract, as returned by loadActiveContractsForFlats
+     * @return Map of flat ID to ActiveContractInfo
+     */
+    public Map<Long, ActiveContractInfo> loadActiveContractInfos(Map<Long, Contract> activeContracts) {
+        if (activeContracts.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        
+        Map<Long, ContractDuesStats> duesStats = loadDuesStats(activeContracts.values().stream()
+            .map(Contract::getId)
+            .toList());
+        
+        Map<Long, ActiveContractInfo> infos = new HashMap<>();
+        activeContracts.forEach((flatId, contract) -> infos.put(flatId, mapToActiveContractInfo(contract,
+            duesStats.getOrDefault(contract.getId(), ContractDuesStats.empty(contract.getId())))));
+        return infos;
+    }
+    
     /**
      * Convert Contract entity to ActiveContractInfo DTO
      * 
@@ -77,6 +105,17 @@ public class ContractLoadingService {
             return null;
         }
         
+        return loadActiveContractInfos(Map.of(contract.getId(), contract)).get(contract.getId());
+    }
+    
+    /**
+     * Convert Contract entity to ActiveContractInfo DTO with pre-aggregated dues figures
+     * 
+     * @param contract The contract entity
+     * @param duesStats Dues figures of the contract
+     * @return ActiveContractInfo DTO
+     */
+    private ActiveContractInfo mapToActiveContractInfo(Contract contract, ContractDuesStats duesStats) {
         return ActiveContractInfo.builder()
             .contractId(contract.getId())
             .tenantName(contract.getTenantName())
@@ -90,11 +129,22 @@ public class ContractLoadingService {
             .daysUntilExpiry(calculateDaysUntilExpiry(contract))
             .isExpiringSoon(isExpiringSoon(contract))
             .contractStatus(contract.getStatus().name())
-            .outstandingBalance(calculateOutstandingBalance(contract))
-            .hasOverdueDues(hasOverdueDues(contract))
+            .outstandingBalance(duesStats.getTotalAmountUnpaid())
+            .hasOverdueDues(duesStats.hasOverdueDues())
             .build();
     }
     
+    /**
+     * Aggregate dues figures for the given contracts in one grouped query
+     * 
+     * @param contractIds Contract IDs
+     * @return Map of contract ID to dues figures; contracts without dues are absent
+     */
+    private Map<Long, ContractDuesStats> loadDuesStats(List<Long> contractIds) {
+        return monthlyDueRepository.getDuesStatsByContractIds(contractIds, LocalDate.now()).stream()
+            .collect(Collectors.toMap(ContractDuesStats::getContractId, Function.identity()));
+    }
+    
     /**
      * Load occupancy summary for a flat
      * This includes historical contract data
@@ -168,37 +218,6 @@ public class ContractLoadingService {
         return daysUntilExpiry != null && daysUntilExpiry <= 30;
     }
     
-    /**
-     * Calculate outstanding balance from monthly dues
-     */
-    private BigDecimal calculateOutstandingBalance(Contract contract) {
-        if (contract.getMonthlyDues() == null || contract.getMonthlyDues().isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-        
-        return contract.getMonthlyDues().stream()
-            .filter(due -> due.getStatus() == com.example.apartmentmanagerapi.entity.MonthlyDue.DueStatus.UNPAID)
-            .map(com.example.apartmentmanagerapi.entity.MonthlyDue::getDueAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-    
-    /**
-     * Check if contract has overdue dues
-     */
-    private boolean hasOverdueDues(Contract contract) {
-        if (contract.getMonthlyDues() == null || contract.getMonthlyDues().isEmpty()) {
-            return false;
-        }
-        
-        LocalDate today = LocalDate.now();
-        return contract.getMonthlyDues().stream()
-            .anyMatch(due -> 
-                due.getStatus() == com.example.apartmentmanagerapi.entity.MonthlyDue.DueStatus.UNPAID &&
-                due.getDueDate() != null &&
-                due.getDueDate().isBefore(today)
-            );
-    }
-    
     /**
      * Calculate number of months in a contract
      */
@@ -1,20 +1,32 @@
 package com.example.apartmentmanagerapi.service;
 
 import com.example.apartmentmanagerapi.dto.ContractExpiryNotification;
+import com.example.apartmentmanagerapi.dto.ExpiringContractRecipientRow;
 import com.example.apartmentmanagerapi.entity.Contract;
+import com.example.apartmentmanagerapi.entity.NotificationOutbox;
 import com.example.apartmentmanagerapi.repository.ContractRepository;
+import com.example.apartmentmanagerapi.repository.NotificationOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of contract notification service
- * Currently provides stub implementation - actual email/SMS sending would be added later
+ * Expiry notifications are queued in the notification outbox and delivered by NotificationDispatchService;
+ * the other notifications are still stubs that only log
  */
 @Service
 @RequiredArgsConstructor
@@ -22,12 +34,23 @@ import java.util.List;
 @Transactional
 public class ContractNotificationService implements IContractNotificationService {
     
+    private static final String EXPIRY_DEDUP_PREFIX = "contract-expiry:";
+    
+    /**
+     * Dedup keys looked up per query, keeps IN lists bounded
+     */
+    private static final int DEDUP_LOOKUP_CHUNK_SIZE = 1000;
+    
     private final ContractRepository contractRepository;
+    private final NotificationOutboxRepository outboxRepository;
     
     /**
-     * Send contract expiry notifications for contracts expiring within specified days
+     * Queue contract expiry notifications for contracts expiring within specified days.
+     * Contracts, flats, buildings and building managers are loaded with one query. Every contract
+     * is queued in the notification outbox once per recipient (tenant and building managers) and
+     * window; recipients get them as digests from NotificationDispatchService.
      * @param daysAhead Number of days to look ahead for expiring contracts
-     * @return List of sent notifications
+     * @return Notifications for contracts that were newly queued for at least one recipient
      */
     @Override
     public List<ContractExpiryNotification> sendExpiryNotifications(int daysAhead) {
@@ -36,22 +59,92 @@ public class ContractNotificationService implements IContractNotificationService
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = startDate.plusDays(daysAhead);
         
-        // Find contracts expiring in the specified period
-        List<Contract> expiringContracts = contractRepository.findExpiringContracts(startDate, endDate);
+        // One row per contract and active building manager
+        Map<Long, ContractExpiryNotification> notifications = new LinkedHashMap<>();
+        Map<Long, Set<String>> recipients = new HashMap<>();
+        for (ExpiringContractRecipientRow row : contractRepository.findExpiringContractRecipients(startDate, endDate)) {
+            ContractExpiryNotification notification = notifications.computeIfAbsent(row.getContractId(),
+                id -> createExpiryNotification(row, startDate));
+            Set<String> contractRecipients = recipients.computeIfAbsent(row.getContractId(), id -> new LinkedHashSet<>());
+            if (row.getTenantEmail() != null && !row.getTenantEmail().isBlank()) {
+                contractRecipients.add(row.getTenantEmail().trim().toLowerCase(Locale.ROOT));
+            }
+            if (row.hasManager()) {
+                notification.getAssignedManagers().add(ContractExpiryNotification.ManagerInfo.builder()
+                    .userId(row.getManagerId())
+                    .username(row.getManagerUsername())
+                    .email(row.getManagerEmail())
+                    .fullName(row.getManagerFullName())
+                    .build());
+                if (row.getManagerEmail() != null && !row.getManagerEmail().isBlank()) {
+                    contractRecipients.add(row.getManagerEmail().trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        if (notifications.isEmpty()) {
+            return List.of();
+        }
+        
+        String window = "within-" + daysAhead + "d";
+        Map<String, NotificationOutbox> candidates = new LinkedHashMap<>();
+        for (ContractExpiryNotification notification : notifications.values()) {
+            for (String recipient : recipients.get(notification.getContractId())) {
+                String dedupKey = EXPIRY_DEDUP_PREFIX + notification.getContractId() + ":" +
+                    notification.getEndDate() + ":" + window + ":" + recipient;
+                candidates.put(dedupKey, toOutboxEntry(dedupKey, recipient, notification));
+            }
+        }
         
-        List<ContractExpiryNotification> notifications = new ArrayList<>();
-        for (Contract contract : expiringContracts) {
-            ContractExpiryNotification notification = createExpiryNotification(contract);
-            notifications.add(notification);
-            
-            // In a real implementation, this would send actual emails/SMS
-            log.info("Contract expiry notification prepared for contract ID: {}, flat: {}, expires on: {}", 
-                contract.getId(), 
-                contract.getFlat().getFlatNumber(), 
-                contract.getEndDate());
+        List<String> keys = new ArrayList<>(candidates.keySet());
+        for (int from = 0; from < keys.size(); from += DEDUP_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = keys.subList(from, Math.min(from + DEDUP_LOOKUP_CHUNK_SIZE, keys.size()));
+            outboxRepository.findExistingDedupKeys(chunk).forEach(candidates::remove);
         }
         
-        return notifications;
+        List<NotificationOutbox> queued = outboxRepository.saveAll(candidates.values());
+        Set<Long> queuedContractIds = queued.stream()
+            .map(NotificationOutbox::getReferenceId)
+            .collect(Collectors.toSet());
+        
+        log.info("Queued {} contract expiry notification(s) for {} of {} contract(s) expiring within {} days",
+            queued.size(), queuedContractIds.size(), notifications.size(), daysAhead);
+        
+        return notifications.values().stream()
+            .filter(notification -> queuedContractIds.contains(notification.getContractId()))
+            .toList();
+    }
+    
+    private ContractExpiryNotification createExpiryNotification(ExpiringContractRecipientRow row, LocalDate today) {
+        return ContractExpiryNotification.builder()
+            .contractId(row.getContractId())
+            .flatId(row.getFlatId())
+            .flatNumber(row.getFlatNumber())
+            .buildingId(row.getBuildingId())
+            .buildingName(row.getBuildingName())
+            .tenantName(row.getTenantName())
+            .tenantEmail(row.getTenantEmail())
+            .tenantContact(row.getTenantContact())
+            .endDate(row.getEndDate())
+            .daysUntilExpiry((int) ChronoUnit.DAYS.between(today, row.getEndDate()))
+            .monthlyRent(row.getMonthlyRent())
+            .assignedManagers(new ArrayList<>())
+            .build();
+    }
+    
+    private NotificationOutbox toOutboxEntry(String dedupKey, String recipient, ContractExpiryNotification notification) {
+        String subject = "Contract for flat " + notification.getFlatNumber() + ", " +
+            notification.getBuildingName() + " expires on " + notification.getEndDate();
+        String body = "The contract of " + notification.getTenantName() + " for flat " +
+            notification.getFlatNumber() + " in " + notification.getBuildingName() + " expires on " +
+            notification.getEndDate() + " (in " + notification.getDaysUntilExpiry() + " days).";
+        return NotificationOutbox.builder()
+            .dedupKey(dedupKey)
+            .notificationType(NotificationOutbox.NotificationType.CONTRACT_EXPIRY)
+            .referenceId(notification.getContractId())
+            .recipient(recipient)
+            .subject(subject.length() > 255 ? subject.substring(0, 255) : subject)
+            .body(body)
+            .build();
     }
     
     /**
@@ -66,7 +159,7 @@ public class ContractNotificationService implements IContractNotificationService
             .flatNumber(contract.getFlat().getFlatNumber())
             .buildingName(contract.getFlat().getApartmentBuilding().getName())
             .endDate(contract.getEndDate())
-            .daysUntilExpiry((int) LocalDate.now().until(contract.getEndDate()).getDays())
+            .daysUntilExpiry((int) ChronoUnit.DAYS.between(LocalDate.now(), contract.getEndDate()))
             .tenantName(contract.getTenantName())
             .tenantContact(contract.getTenantContact())
             .build();
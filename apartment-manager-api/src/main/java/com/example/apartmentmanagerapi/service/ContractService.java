@@ -6,10 +6,14 @@ import com.example.apartmentmanagerapi.event.*;
 import com.example.apartmentmanagerapi.exception.*;
 import com.example.apartmentmanagerapi.mapper.ContractMapper;
 import com.example.apartmentmanagerapi.repository.*;
+import com.example.apartmentmanagerapi.util.SearchUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -18,10 +22,15 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service implementation for contract management
@@ -39,6 +48,18 @@ public class ContractService implements IContractService {
     private final ContractMapper contractMapper;
     private final ApplicationEventPublisher eventPublisher;
     private final IAuditService auditService;
+    private final MonthlyDueRepository monthlyDueRepository;
+    private final IContractDueGenerationService dueGenerationService;
+    private final IBuildingVersionService buildingVersionService;
+
+    @Value("${app.contracts.overlap-precheck.enabled:true}")
+    private boolean overlapPrecheckEnabled;
+
+    @Value("${app.contracts.status-update.chunk-size:500}")
+    private int statusUpdateChunkSize;
+
+    @Value("${app.search.trigram.enabled:false}")
+    private boolean trigramSearchEnabled;
 
     @Override
     public ContractResponse createContract(ContractRequest request) {
@@ -61,12 +82,14 @@ public class ContractService implements IContractService {
             throw new ValidationException("Invalid day of month: " + request.getDayOfMonth());
         }
         
-        // Check for overlapping contracts
-        List<Contract> overlapping = contractRepository.findOverlappingContracts(
-            request.getFlatId(), request.getStartDate(), request.getEndDate(), 0L);
-        
-        if (!overlapping.isEmpty()) {
-            throw new ContractOverlapException("Flat has overlapping contracts for the specified period");
+        // Check for overlapping contracts; the database exclusion constraint enforces this on insert
+        if (overlapPrecheckEnabled) {
+            List<Contract> overlapping = contractRepository.findOverlappingContracts(
+                request.getFlatId(), request.getStartDate(), request.getEndDate(), 0L);
+            
+            if (!overlapping.isEmpty()) {
+                throw new ContractOverlapException("Flat has overlapping contracts for the specified period");
+            }
         }
         
         // Create contract entity
@@ -92,6 +115,8 @@ public class ContractService implements IContractService {
             this, contract, request.isGenerateDuesImmediately(), userId));
         log.info("ContractCreatedEvent published successfully");
         
+        buildingVersionService.bump(flat.getApartmentBuilding().getId());
+        
         // Audit log
         auditService.logSuccess(
             AuditLog.AuditAction.CONTRACT_CREATED,
@@ -124,24 +149,7 @@ public class ContractService implements IContractService {
         }
         
         // Create renewal contract
-        Contract renewalContract = Contract.builder()
-            .flat(existingContract.getFlat())
-            .tenant(existingContract.getTenant())
-            .tenantName(existingContract.getTenantName())
-            .tenantContact(existingContract.getTenantContact())
-            .tenantEmail(existingContract.getTenantEmail())
-            .startDate(existingContract.getEndDate().plusDays(1))
-            .endDate(request.getNewEndDate() != null ? 
-                request.getNewEndDate() : existingContract.getEndDate().plusYears(1))
-            .monthlyRent(request.getNewMonthlyRent() != null ? 
-                request.getNewMonthlyRent() : existingContract.getMonthlyRent())
-            .dayOfMonth(existingContract.getDayOfMonth())
-            .depositAmount(existingContract.getDepositAmount())
-            .autoRenew(existingContract.isAutoRenew())
-            .status(Contract.ContractStatus.PENDING)
-            .previousContract(existingContract)
-            .notes(request.getRenewalNotes())
-            .build();
+        Contract renewalContract = buildRenewalContract(existingContract, request);
         
         // Save renewal contract
         renewalContract = contractRepository.save(renewalContract);
@@ -162,6 +170,8 @@ public class ContractService implements IContractService {
         eventPublisher.publishEvent(new ContractRenewedEvent(
             this, existingContract, renewalContract, request.isGenerateDuesImmediately(), userId));
         
+        buildingVersionService.bump(existingContract.getFlat().getApartmentBuilding().getId());
+        
         // Audit log
         auditService.logSuccess(
             AuditLog.AuditAction.CONTRACT_RENEWED,
@@ -174,6 +184,117 @@ public class ContractService implements IContractService {
         return contractMapper.toResponse(renewalContract);
     }
 
+    @Override
+    public BatchContractRenewalResponse renewContracts(BatchContractRenewalRequest request) {
+        List<BatchContractRenewalRequest.Item> items = request.getRenewals();
+        log.info("Renewing {} contracts in batch", items.size());
+        
+        Map<Long, Contract> existingContracts = contractRepository.findAllWithFlatAndBuildingByIdIn(
+                items.stream().map(BatchContractRenewalRequest.Item::getContractId).collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(Contract::getId, Function.identity()));
+        
+        // Validate each item on its own and build its renewal contract
+        BatchContractRenewalResponse.ItemResult[] results = new BatchContractRenewalResponse.ItemResult[items.size()];
+        Contract[] renewals = new Contract[items.size()];
+        Set<Long> seenContractIds = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            BatchContractRenewalRequest.Item item = items.get(i);
+            Contract existingContract = existingContracts.get(item.getContractId());
+            String error = validateRenewal(item.getContractId(), existingContract, item.getRenewal());
+            if (error == null && !seenContractIds.add(item.getContractId())) {
+                error = "Contract is listed more than once in the batch";
+            }
+            if (error != null) {
+                results[i] = BatchContractRenewalResponse.ItemResult.failure(item.getContractId(), error);
+            } else {
+                renewals[i] = buildRenewalContract(existingContract, item.getRenewal());
+            }
+        }
+        
+        // Check all renewal periods for overlaps with one query, including overlaps within the batch
+        Map<Long, List<Contract>> contractsByFlat = loadOverlapCandidates(renewals);
+        List<Contract> accepted = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            Contract renewal = renewals[i];
+            if (renewal == null) {
+                continue;
+            }
+            List<Contract> flatContracts = contractsByFlat.computeIfAbsent(
+                renewal.getFlat().getId(), flatId -> new ArrayList<>());
+            boolean overlaps = flatContracts.stream().anyMatch(other ->
+                !other.getStartDate().isAfter(renewal.getEndDate())
+                    && !other.getEndDate().isBefore(renewal.getStartDate()));
+            if (overlaps) {
+                renewals[i] = null;
+                results[i] = BatchContractRenewalResponse.ItemResult.failure(items.get(i).getContractId(),
+                    "Flat has overlapping contracts for the renewal period");
+            } else {
+                flatContracts.add(renewal);
+                accepted.add(renewal);
+            }
+        }
+        
+        // Pooled contract and due IDs let both saves run as JDBC batches at flush
+        contractRepository.saveAll(accepted);
+        
+        String username = getCurrentUsername();
+        LocalDateTime now = LocalDateTime.now();
+        List<MonthlyDue> dues = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            Contract renewal = renewals[i];
+            if (renewal == null) {
+                continue;
+            }
+            Contract existingContract = renewal.getPreviousContract();
+            existingContract.setStatus(Contract.ContractStatus.RENEWED);
+            existingContract.setStatusChangedAt(now);
+            existingContract.setStatusChangedBy(username);
+            existingContract.setStatusChangeReason("Renewed with contract ID: " + renewal.getId());
+            
+            Integer duesGenerated = null;
+            if (items.get(i).getRenewal().isGenerateDuesImmediately()) {
+                // Extension dues start the day after the old contract's end date
+                List<MonthlyDue> renewalDues = dueGenerationService.buildDuesForContractExtension(
+                    renewal, existingContract.getEndDate().plusDays(1));
+                dues.addAll(renewalDues);
+                duesGenerated = renewalDues.size();
+            }
+            results[i] = BatchContractRenewalResponse.ItemResult.builder()
+                .contractId(existingContract.getId())
+                .success(true)
+                .renewedContractId(renewal.getId())
+                .startDate(renewal.getStartDate())
+                .endDate(renewal.getEndDate())
+                .duesGenerated(duesGenerated)
+                .build();
+        }
+        monthlyDueRepository.saveAll(dues);
+        
+        if (!accepted.isEmpty()) {
+            User currentUser = userRepository.findByUsername(username).orElse(null);
+            Long userId = currentUser != null ? currentUser.getId() : null;
+            
+            // One event for the whole batch; its listener audits and notifies per contract
+            eventPublisher.publishEvent(new ContractsRenewedEvent(this, accepted, dues.size(), userId));
+            
+            buildingVersionService.bump(accepted.stream()
+                .map(renewal -> renewal.getFlat().getApartmentBuilding().getId())
+                .toList());
+        }
+        
+        log.info("Batch renewal finished: {} of {} contracts renewed, {} dues generated",
+                accepted.size(), items.size(), dues.size());
+        
+        return BatchContractRenewalResponse.builder()
+            .requested(items.size())
+            .renewed(accepted.size())
+            .failed(items.size() - accepted.size())
+            .duesGenerated(dues.size())
+            .results(List.of(results))
+            .build();
+    }
+
     @Override
     public ContractResponse cancelContract(Long contractId, ContractCancellationRequest request) {
         log.info("Cancelling contract ID: {}", contractId);
@@ -221,6 +342,8 @@ public class ContractService implements IContractService {
         eventPublisher.publishEvent(new ContractCancelledEvent(
             this, contract, request.getCancellationReason(), request.isCancelUnpaidDues(), userId));
         
+        buildingVersionService.bump(contract.getFlat().getApartmentBuilding().getId());
+        
         // Audit log
         auditService.logSuccess(
             AuditLog.AuditAction.CONTRACT_CANCELLED,
@@ -266,13 +389,16 @@ public class ContractService implements IContractService {
             .notes(request.getNotes())
             .build();
         
+        // Supersede the original contract first so the replacement does not overlap it
+        contract.setStatus(Contract.ContractStatus.SUPERSEDED);
+        contract.setStatusChangedAt(LocalDateTime.now());
+        contract.setStatusChangedBy(getCurrentUsername());
+        contractRepository.saveAndFlush(contract);
+        
         // Save modified contract
         modifiedContract = contractRepository.save(modifiedContract);
         
         // Update original contract
-        contract.setStatus(Contract.ContractStatus.SUPERSEDED);
-        contract.setStatusChangedAt(LocalDateTime.now());
-        contract.setStatusChangedBy(getCurrentUsername());
         contract.setStatusChangeReason("Superseded by modified contract ID: " + modifiedContract.getId());
         contractRepository.save(contract);
         
@@ -286,6 +412,8 @@ public class ContractService implements IContractService {
             this, contract, modifiedContract, request.getEffectiveDate(), 
             request.getModificationDetails(), userId, request.isRegenerateDues()));
         
+        buildingVersionService.bump(contract.getFlat().getApartmentBuilding().getId());
+        
         // Audit log
         auditService.logSuccess(
             AuditLog.AuditAction.CONTRACT_MODIFIED,
@@ -317,23 +445,37 @@ public class ContractService implements IContractService {
     @Override
     @Transactional(readOnly = true)
     public List<ContractSummaryResponse> getContractsByFlatId(Long flatId) {
-        return contractRepository.findByFlatIdOrderByStartDateDesc(flatId).stream()
-            .map(contractMapper::toSummaryResponse)
-            .toList();
+        return toSummaryResponses(contractRepository.findByFlatIdOrderByStartDateDesc(flatId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ContractSummaryResponse> getContractsByBuildingId(Long buildingId, Pageable pageable) {
-        return contractRepository.findByBuildingId(buildingId, pageable)
-            .map(contractMapper::toSummaryResponse);
+        return toSummaryResponses(contractRepository.findByBuildingId(buildingId, pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ContractSummaryResponse> searchContractsByTenantName(String search, Pageable pageable) {
-        return contractRepository.searchByTenantName(search, pageable)
-            .map(contractMapper::toSummaryResponse);
+        String term = SearchUtils.normalize(search);
+        if (!trigramSearchEnabled || term.isEmpty()) {
+            return toSummaryResponses(contractRepository.searchByTenantName(search, pageable));
+        }
+
+        // Rank on the trigram indexes, then load only the hits of this page
+        Page<Long> ids = contractRepository.searchIdsByTenantRanked(term, SearchUtils.containsPattern(term),
+            SearchUtils.prefixPattern(term), PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+        Map<Long, Contract> contractsById = contractRepository.findAllWithFlatAndBuildingByIdIn(ids.getContent())
+            .stream()
+            .collect(Collectors.toMap(Contract::getId, Function.identity()));
+        List<Contract> ranked = ids.getContent().stream()
+            .map(contractsById::get)
+            .filter(Objects::nonNull)
+            .toList();
+        return new PageImpl<>(toSummaryResponses(ranked), pageable, ids.getTotalElements());
     }
 
     @Override
@@ -341,38 +483,29 @@ public class ContractService implements IContractService {
     public List<ContractSummaryResponse> getExpiringContracts(int days) {
         LocalDate today = LocalDate.now();
         LocalDate futureDate = today.plusDays(days);
-        return contractRepository.findExpiringContracts(today, futureDate).stream()
-            .map(contractMapper::toSummaryResponse)
-            .toList();
+        return toSummaryResponses(contractRepository.findExpiringContracts(today, futureDate));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ContractSummaryResponse> getContractsWithOverdueDues() {
-        return contractRepository.findContractsWithOverdueDues(LocalDate.now()).stream()
-            .map(contractMapper::toSummaryResponse)
-            .toList();
+        return toSummaryResponses(contractRepository.findContractsWithOverdueDues(LocalDate.now()));
     }
 
     @Override
     public void updateContractStatuses() {
         LocalDate today = LocalDate.now();
-        List<Contract> contractsToUpdate = contractRepository.findContractsNeedingStatusUpdate(today);
-        
-        for (Contract contract : contractsToUpdate) {
-            if (contract.getStatus() == Contract.ContractStatus.PENDING && !contract.getStartDate().isAfter(today)) {
-                contract.setStatus(Contract.ContractStatus.ACTIVE);
-                contract.setStatusChangedAt(LocalDateTime.now());
-                contract.setStatusChangedBy("SYSTEM");
-                contract.setStatusChangeReason("Contract activated on start date");
-            } else if (contract.getStatus() == Contract.ContractStatus.ACTIVE && contract.getEndDate().isBefore(today)) {
-                contract.setStatus(Contract.ContractStatus.EXPIRED);
-                contract.setStatusChangedAt(LocalDateTime.now());
-                contract.setStatusChangedBy("SYSTEM");
-                contract.setStatusChangeReason("Contract expired");
-            }
-            contractRepository.save(contract);
+        int activated = transitionStatuses(
+            contractRepository.findIdsByStatusAndStartDateOnOrBefore(Contract.ContractStatus.PENDING, today),
+            Contract.ContractStatus.PENDING, Contract.ContractStatus.ACTIVE, "Contract activated on start date");
+        int expired = transitionStatuses(
+            contractRepository.findIdsByStatusAndEndDateBefore(Contract.ContractStatus.ACTIVE, today),
+            Contract.ContractStatus.ACTIVE, Contract.ContractStatus.EXPIRED, "Contract expired");
+        if (activated + expired > 0) {
+            // Status changes span all buildings; one statement is cheaper than resolving each contract's building
+            buildingVersionService.bumpAll();
         }
+        log.info("Contract status update: {} activated, {} expired", activated, expired);
     }
 
     @Override
@@ -402,9 +535,7 @@ public class ContractService implements IContractService {
         LocalDate today = LocalDate.now();
         LocalDate startDate = today;
         LocalDate endDate = today.plusDays(daysAhead);
-        return contractRepository.findRenewableContracts(startDate, endDate, today).stream()
-            .map(contractMapper::toSummaryResponse)
-            .toList();
+        return toSummaryResponses(contractRepository.findRenewableContracts(startDate, endDate, today));
     }
 
     @Override
@@ -414,8 +545,10 @@ public class ContractService implements IContractService {
         LocalDate futureDate = today.plusDays(30);
         List<Contract> expiringContracts = contractRepository.findExpiringContracts(today, futureDate);
         
+        Map<Long, ContractDuesStats> duesStats = loadDuesStats(expiringContracts);
         return expiringContracts.stream()
-            .map(contractMapper::toExpiryNotification)
+            .map(contract -> contractMapper.toExpiryNotification(contract,
+                duesStats.getOrDefault(contract.getId(), ContractDuesStats.empty(contract.getId()))))
             .toList();
     }
 
@@ -432,6 +565,51 @@ public class ContractService implements IContractService {
         return contractRepository.existsByFlatIdAndStatus(flatId, Contract.ContractStatus.ACTIVE);
     }
 
+    /**
+     * Apply one status transition with chunked bulk UPDATEs, publishing one event per chunk
+     * @return Number of contracts updated
+     */
+    private int transitionStatuses(List<Long> contractIds, Contract.ContractStatus oldStatus,
+                                   Contract.ContractStatus newStatus, String reason) {
+        int chunkSize = Math.max(1, statusUpdateChunkSize);
+        LocalDateTime changedAt = LocalDateTime.now();
+        int updated = 0;
+        for (int from = 0; from < contractIds.size(); from += chunkSize) {
+            List<Long> chunk = contractIds.subList(from, Math.min(from + chunkSize, contractIds.size()));
+            updated += contractRepository.transitionStatusBulk(chunk, oldStatus, newStatus, changedAt, "SYSTEM", reason);
+            eventPublisher.publishEvent(new ContractStatusesChangedEvent(this, chunk, oldStatus, newStatus, reason));
+        }
+        return updated;
+    }
+
+    /**
+     * Map a page of contracts to summaries, loading dues figures for the whole page in one query
+     */
+    private Page<ContractSummaryResponse> toSummaryResponses(Page<Contract> contracts) {
+        List<ContractSummaryResponse> content = toSummaryResponses(contracts.getContent());
+        return new PageImpl<>(content, contracts.getPageable(), contracts.getTotalElements());
+    }
+
+    /**
+     * Map contracts to summaries, loading dues figures for all of them in one query
+     */
+    private List<ContractSummaryResponse> toSummaryResponses(List<Contract> contracts) {
+        return contractMapper.toSummaryResponseList(contracts, loadDuesStats(contracts));
+    }
+
+    /**
+     * Aggregate dues per contract with a single grouped query
+     * @return Dues figures keyed by contract ID; contracts without dues are absent
+     */
+    private Map<Long, ContractDuesStats> loadDuesStats(List<Contract> contracts) {
+        if (contracts.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> contractIds = contracts.stream().map(Contract::getId).toList();
+        return monthlyDueRepository.getDuesStatsByContractIds(contractIds, LocalDate.now()).stream()
+            .collect(Collectors.toMap(ContractDuesStats::getContractId, Function.identity()));
+    }
+
     /**
      * Validate contract dates
      */
@@ -449,6 +627,72 @@ public class ContractService implements IContractService {
         }
     }
 
+    /**
+     * Check one item of a batch renewal against the rules of a single renewal
+     * @return Error message, or null if the contract can be renewed
+     */
+    private String validateRenewal(Long contractId, Contract existingContract, ContractRenewalRequest request) {
+        if (existingContract == null) {
+            return new ContractNotFoundException(contractId).getMessage();
+        }
+        if (existingContract.getStatus() != Contract.ContractStatus.ACTIVE) {
+            return "Only active contracts can be renewed";
+        }
+        if (request.getNewEndDate() != null &&
+            !request.getNewEndDate().isAfter(existingContract.getEndDate())) {
+            return "New end date must be after current end date";
+        }
+        return null;
+    }
+
+    /**
+     * Build the unsaved contract that continues an existing contract
+     */
+    private Contract buildRenewalContract(Contract existingContract, ContractRenewalRequest request) {
+        return Contract.builder()
+            .flat(existingContract.getFlat())
+            .tenant(existingContract.getTenant())
+            .tenantName(existingContract.getTenantName())
+            .tenantContact(existingContract.getTenantContact())
+            .tenantEmail(existingContract.getTenantEmail())
+            .startDate(existingContract.getEndDate().plusDays(1))
+            .endDate(request.getNewEndDate() != null ? 
+                request.getNewEndDate() : existingContract.getEndDate().plusYears(1))
+            .monthlyRent(request.getNewMonthlyRent() != null ? 
+                request.getNewMonthlyRent() : existingContract.getMonthlyRent())
+            .dayOfMonth(existingContract.getDayOfMonth())
+            .depositAmount(existingContract.getDepositAmount())
+            .autoRenew(existingContract.isAutoRenew())
+            .status(Contract.ContractStatus.PENDING)
+            .previousContract(existingContract)
+            .notes(request.getRenewalNotes())
+            .build();
+    }
+
+    /**
+     * Load the contracts that renewal periods could overlap, grouped by flat
+     * @param renewals Renewal contracts, null where an item was rejected
+     * @return Mutable lists of contracts per flat ID
+     */
+    private Map<Long, List<Contract>> loadOverlapCandidates(Contract[] renewals) {
+        Set<Long> flatIds = new HashSet<>();
+        LocalDate earliestStart = null;
+        for (Contract renewal : renewals) {
+            if (renewal != null) {
+                flatIds.add(renewal.getFlat().getId());
+                if (earliestStart == null || renewal.getStartDate().isBefore(earliestStart)) {
+                    earliestStart = renewal.getStartDate();
+                }
+            }
+        }
+        if (flatIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return contractRepository.findOverlapCandidatesByFlatIds(flatIds, earliestStart).stream()
+            .collect(Collectors.groupingBy(contract -> contract.getFlat().getId(),
+                HashMap::new, Collectors.toCollection(ArrayList::new)));
+    }
+
     /**
      * Get current authenticated username
      */
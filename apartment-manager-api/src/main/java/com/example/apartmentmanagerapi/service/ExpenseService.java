@@ -1,19 +1,27 @@
 package com.example.apartmentmanagerapi.service;
 
 import com.example.apartmentmanagerapi.entity.ApartmentBuilding;
+import com.example.apartmentmanagerapi.entity.Attachment;
 import com.example.apartmentmanagerapi.entity.Expense;
 import com.example.apartmentmanagerapi.entity.Flat;
 import com.example.apartmentmanagerapi.entity.MonthlyDue;
 import com.example.apartmentmanagerapi.event.ExpenseRecordedEvent;
 import com.example.apartmentmanagerapi.repository.ApartmentBuildingRepository;
+import com.example.apartmentmanagerapi.repository.AttachmentRepository;
 import com.example.apartmentmanagerapi.repository.ExpenseRepository;
 import com.example.apartmentmanagerapi.repository.FlatRepository;
+import com.example.apartmentmanagerapi.util.SearchUtils;
+import com.example.apartmentmanagerapi.util.ShareAllocator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,7 +29,9 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -42,21 +52,50 @@ public class ExpenseService implements IExpenseService {
     private final FlatRepository flatRepository;
     private final MonthlyDueService monthlyDueService;
     private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final IBuildingVersionService buildingVersionService;
+    private final AttachmentRepository attachmentRepository;
+    
+    private static final int MAX_VENDOR_SUGGESTIONS = 50;
+    private static final String MONTHLY_EXPENSE_TOTALS_CACHE = "monthlyExpenseTotals";
+    
+    @Value("${app.search.trigram.enabled:false}")
+    private boolean trigramSearchEnabled;
     
     /**
      * Creates a new expense for a building.
-     * If marked for distribution, automatically creates monthly dues for flats.
+     * If marked for distribution, splits it equally among the flats as monthly dues.
      * 
      * @param expense Expense entity to create
      * @param distributeToFlats Whether to distribute expense among flats
      * @return Created expense
      */
     @Caching(evict = {
-        @CacheEvict(value = "monthlyExpenseTotals", key = "#expense.building.id"),
+        @CacheEvict(value = "monthlyExpenseTotals",
+                key = "#expense.building.id + '-' + T(java.time.YearMonth).from(#expense.expenseDate)"),
         @CacheEvict(value = "expenseCategoryBreakdown", key = "#expense.building.id"),
         @CacheEvict(value = "buildingFinancials", key = "#expense.building.id")
     })
     public Expense createExpense(Expense expense, boolean distributeToFlats) {
+        return createExpense(expense, distributeToFlats ? Expense.DistributionMethod.EQUAL : null);
+    }
+    
+    /**
+     * Creates a new expense for a building.
+     * If a distribution method is given, creates monthly dues for the flats' shares.
+     * 
+     * @param expense Expense entity to create
+     * @param distributionMethod How to split the expense among flats, or null to not distribute it
+     * @return Created expense
+     */
+    @Caching(evict = {
+        @CacheEvict(value = "monthlyExpenseTotals",
+                key = "#expense.building.id + '-' + T(java.time.YearMonth).from(#expense.expenseDate)"),
+        @CacheEvict(value = "expenseCategoryBreakdown", key = "#expense.building.id"),
+        @CacheEvict(value = "buildingFinancials", key = "#expense.building.id")
+    })
+    public Expense createExpense(Expense expense, Expense.DistributionMethod distributionMethod) {
+        boolean distributeToFlats = distributionMethod != null;
         log.info("Creating expense for building ID: {} with amount: {} in category: {}", 
                 expense.getBuilding().getId(), expense.getAmount(), expense.getCategory());
         
@@ -67,13 +106,20 @@ public class ExpenseService implements IExpenseService {
                         "Building not found with ID: " + expense.getBuilding().getId()));
         
         expense.setBuilding(building);
+        expense.setDistributionMethod(distributionMethod);
+        
+        // Recurring expenses are templates; the scheduled job materializes the later instances
+        if (Boolean.TRUE.equals(expense.getIsRecurring()) && expense.getRecurrenceFrequency() != null
+                && expense.getRecurringTemplateId() == null) {
+            expense.setNextOccurrenceDate(expense.getRecurrenceFrequency().occurrence(expense.getExpenseDate(), 1));
+        }
         
         // Save the expense
         Expense savedExpense = expenseRepository.save(expense);
         
         // Distribute to flats if requested
         if (distributeToFlats) {
-            distributeExpenseToFlats(savedExpense);
+            distributeExpenseToFlats(savedExpense, distributionMethod);
         }
         
         // Publish expense recorded event
@@ -90,53 +136,101 @@ public class ExpenseService implements IExpenseService {
         eventPublisher.publishEvent(event);
         log.debug("Published ExpenseRecordedEvent for expense {}", savedExpense.getId());
         
+        buildingVersionService.bump(building.getId());
+        
         log.info("Expense created successfully with ID: {}", savedExpense.getId());
         return savedExpense;
     }
     
     /**
-     * Distributes an expense equally among all active flats in the building.
-     * Creates monthly dues for each flat's share of the expense.
+     * Distributes an expense among all active flats in the building.
+     * All shares are computed in one pass and reconciled to the cent, then saved as one batch
+     * of monthly dues with a single cache invalidation for the building.
      * 
      * @param expense Expense to distribute
+     * @param method How to weight the flats' shares
      */
-    private void distributeExpenseToFlats(Expense expense) {
-        log.debug("Distributing expense ID: {} to flats", expense.getId());
+    private void distributeExpenseToFlats(Expense expense, Expense.DistributionMethod method) {
+        log.debug("Distributing expense ID: {} to flats ({})", expense.getId(), method);
         
         // Get all active flats in the building
-        List<Flat> activeFlats = flatRepository
-                .findByApartmentBuildingIdAndIsActiveTrue(expense.getBuilding().getId());
+        Long buildingId = expense.getBuilding().getId();
+        List<Flat> activeFlats = flatRepository.findByApartmentBuildingIdAndIsActiveTrue(buildingId);
         
         if (activeFlats.isEmpty()) {
-            log.warn("No active flats found for expense distribution in building ID: {}", 
-                    expense.getBuilding().getId());
+            log.warn("No active flats found for expense distribution in building ID: {}", buildingId);
             return;
         }
         
-        // Calculate amount per flat (equal distribution)
-        BigDecimal amountPerFlat = expense.getAmount()
-                .divide(BigDecimal.valueOf(activeFlats.size()), 2, RoundingMode.HALF_UP);
+        List<MonthlyDue> dues = buildDistributedDues(expense, activeFlats, method);
+        monthlyDueService.createMonthlyDues(buildingId, dues);
+        
+        log.info("Distributed expense ID: {} to {} flats ({})", 
+                expense.getId(), activeFlats.size(), method.getDisplayName());
+    }
+    
+    /**
+     * Builds the unsaved monthly dues holding the flats' shares of an expense.
+     * Shares are reconciled to the cent, so they always add up to the expense amount.
+     * 
+     * @param expense Expense to distribute
+     * @param flats Flats sharing the expense
+     * @param method How to weight the flats' shares
+     * @return One monthly due per flat, in flat order
+     * @throws IllegalArgumentException if a flat lacks the value the method weights by, or all weights are zero
+     */
+    static List<MonthlyDue> buildDistributedDues(Expense expense, List<Flat> flats, Expense.DistributionMethod method) {
+        List<BigDecimal> weights = flats.stream().map(flat -> distributionWeight(flat, method)).toList();
+        if (weights.stream().allMatch(weight -> weight.signum() == 0)) {
+            throw new IllegalArgumentException(String.format(
+                    "No flat has a positive %s to distribute the expense by", weightName(method)));
+        }
+        List<BigDecimal> shares = ShareAllocator.allocate(expense.getAmount(), weights);
         
         // Create monthly due for each flat
         LocalDate dueDate = expense.getExpenseDate().plusDays(30); // 30 days to pay
         String description = String.format("%s expense: %s", 
                 expense.getCategory().getDisplayName(), expense.getDescription());
         
-        for (Flat flat : activeFlats) {
-            MonthlyDue monthlyDue = MonthlyDue.builder()
-                    .flat(flat)
-                    .dueAmount(amountPerFlat)
+        List<MonthlyDue> dues = new ArrayList<>(flats.size());
+        for (int i = 0; i < flats.size(); i++) {
+            dues.add(MonthlyDue.builder()
+                    .flat(flats.get(i))
+                    .dueAmount(shares.get(i))
                     .dueDate(dueDate)
                     .dueDescription(description)
                     .status(MonthlyDue.DueStatus.UNPAID)
                     .paidAmount(BigDecimal.ZERO)
-                    .build();
-            
-            monthlyDueService.createMonthlyDue(monthlyDue);
+                    .build());
         }
-        
-        log.info("Distributed expense ID: {} to {} flats with {} per flat", 
-                expense.getId(), activeFlats.size(), amountPerFlat);
+        return dues;
+    }
+    
+    /**
+     * Weight of a flat's share for a distribution method
+     */
+    private static BigDecimal distributionWeight(Flat flat, Expense.DistributionMethod method) {
+        BigDecimal weight = switch (method) {
+            case EQUAL -> BigDecimal.ONE;
+            case AREA -> flat.getAreaSqMeters();
+            case RENT -> flat.getMonthlyRent();
+        };
+        if (weight == null || weight.signum() < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Flat %s has no %s to distribute the expense by", flat.getFlatNumber(), weightName(method)));
+        }
+        return weight;
+    }
+    
+    /**
+     * Name of the flat value a distribution method weights by, for error messages
+     */
+    private static String weightName(Expense.DistributionMethod method) {
+        return switch (method) {
+            case EQUAL -> "share";
+            case AREA -> "area";
+            case RENT -> "monthly rent";
+        };
     }
     
     /**
@@ -200,36 +294,64 @@ public class ExpenseService implements IExpenseService {
     
     /**
      * Calculates monthly expense totals for a building over multiple months.
+     * Totals are cached per building and month, so any range is assembled from cached months
+     * plus at most one grouped query spanning the months that are missing.
      * 
      * @param buildingId ID of the building
      * @param startMonth Start month
      * @param endMonth End month
-     * @return Map of YearMonth to total expenses
+     * @return Map of YearMonth to total expenses, in month order
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "monthlyExpenseTotals", key = "#buildingId + '-' + #startMonth + '-' + #endMonth")
     public Map<YearMonth, BigDecimal> getMonthlyExpenseTotals(
             Long buildingId, YearMonth startMonth, YearMonth endMonth) {
         log.debug("Calculating monthly expense totals for building ID: {} from {} to {}", 
                 buildingId, startMonth, endMonth);
         
-        Map<YearMonth, BigDecimal> monthlyTotals = new HashMap<>();
-        YearMonth currentMonth = startMonth;
+        Cache cache = cacheManager.getCache(MONTHLY_EXPENSE_TOTALS_CACHE);
+        Map<YearMonth, BigDecimal> monthlyTotals = new LinkedHashMap<>();
+        YearMonth firstMissing = null;
+        YearMonth lastMissing = null;
+        
+        for (YearMonth month = startMonth; !month.isAfter(endMonth); month = month.plusMonths(1)) {
+            BigDecimal cached = cache != null ? cache.get(monthlyTotalKey(buildingId, month), BigDecimal.class) : null;
+            monthlyTotals.put(month, cached);
+            if (cached == null) {
+                if (firstMissing == null) {
+                    firstMissing = month;
+                }
+                lastMissing = month;
+            }
+        }
         
-        while (!currentMonth.isAfter(endMonth)) {
-            LocalDate monthStart = currentMonth.atDay(1);
-            LocalDate monthEnd = currentMonth.atEndOfMonth();
-            
-            BigDecimal monthTotal = expenseRepository
-                    .getTotalExpensesByBuildingAndDateRange(buildingId, monthStart, monthEnd);
+        if (firstMissing != null) {
+            Map<YearMonth, BigDecimal> loaded = new HashMap<>();
+            for (Object[] row : expenseRepository.getMonthlyExpenseTotalsBetween(
+                    buildingId, firstMissing.atDay(1), lastMissing.plusMonths(1).atDay(1))) {
+                loaded.put(YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue()),
+                        (BigDecimal) row[2]);
+            }
             
-            monthlyTotals.put(currentMonth, monthTotal != null ? monthTotal : BigDecimal.ZERO);
-            currentMonth = currentMonth.plusMonths(1);
+            // Months without expenses are zero-filled and cached as well
+            for (YearMonth month = firstMissing; !month.isAfter(lastMissing); month = month.plusMonths(1)) {
+                BigDecimal total = loaded.getOrDefault(month, BigDecimal.ZERO);
+                monthlyTotals.put(month, total);
+                if (cache != null) {
+                    cache.put(monthlyTotalKey(buildingId, month), total);
+                }
+            }
         }
         
         return monthlyTotals;
     }
     
+    /**
+     * Cache key of one building's expense total for one month, e.g. "12-2024-03"
+     */
+    static String monthlyTotalKey(Long buildingId, YearMonth month) {
+        return buildingId + "-" + month;
+    }
+    
     /**
      * Retrieves recurring expenses for a building.
      * 
@@ -242,6 +364,30 @@ public class ExpenseService implements IExpenseService {
         return expenseRepository.findByBuildingIdAndIsRecurringTrue(buildingId);
     }
     
+    /**
+     * Suggests vendor names of a building for type-ahead input.
+     * Uses the ranked trigram search on PostgreSQL and a LIKE fallback elsewhere.
+     * 
+     * @param buildingId ID of the building
+     * @param search Search input
+     * @param limit Maximum number of suggestions
+     * @return Distinct vendor names, best matches first
+     */
+    @Transactional(readOnly = true)
+    public List<String> searchVendorNames(Long buildingId, String search, int limit) {
+        String term = SearchUtils.normalize(search);
+        if (term.isEmpty()) {
+            return List.of();
+        }
+        int size = Math.max(1, Math.min(limit, MAX_VENDOR_SUGGESTIONS));
+        if (trigramSearchEnabled) {
+            return expenseRepository.searchVendorNamesRanked(buildingId, term,
+                    SearchUtils.containsPattern(term), SearchUtils.prefixPattern(term), size);
+        }
+        return expenseRepository.searchVendorNames(buildingId,
+                SearchUtils.containsPattern(term), SearchUtils.prefixPattern(term), PageRequest.of(0, size));
+    }
+    
     /**
      * Updates an expense.
      * Note: Changing amount after distribution would require recalculation.
@@ -279,7 +425,9 @@ public class ExpenseService implements IExpenseService {
                     "Manual adjustment of monthly dues may be required.");
         }
         
-        return expenseRepository.save(existingExpense);
+        Expense savedExpense = expenseRepository.save(existingExpense);
+        buildingVersionService.bump(savedExpense.getBuilding().getId());
+        return savedExpense;
     }
     
     /**
@@ -304,7 +452,9 @@ public class ExpenseService implements IExpenseService {
         // 1. Soft delete for audit trail
         // 2. Check if monthly dues were created and handle appropriately
         
+        attachmentRepository.deleteByOwner(Attachment.OwnerType.EXPENSE, expenseId);
         expenseRepository.delete(expense);
+        buildingVersionService.bump(expense.getBuilding().getId());
         log.info("Expense ID: {} deleted successfully", expenseId);
     }
     
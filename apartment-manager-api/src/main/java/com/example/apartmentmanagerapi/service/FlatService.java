@@ -2,19 +2,26 @@ package com.example.apartmentmanagerapi.service;
 
 import com.example.apartmentmanagerapi.entity.ApartmentBuilding;
 import com.example.apartmentmanagerapi.entity.Flat;
+import com.example.apartmentmanagerapi.dto.ActiveContractInfo;
+import com.example.apartmentmanagerapi.dto.CursorSliceResponse;
+import com.example.apartmentmanagerapi.dto.FlatListItem;
 import com.example.apartmentmanagerapi.dto.FlatRequest;
 import com.example.apartmentmanagerapi.dto.FlatResponse;
 import com.example.apartmentmanagerapi.event.FlatCreatedEvent;
 import com.example.apartmentmanagerapi.exception.ResourceNotFoundException;
 import com.example.apartmentmanagerapi.exception.DuplicateResourceException;
+import com.example.apartmentmanagerapi.exception.ValidationException;
 import com.example.apartmentmanagerapi.mapper.FlatMapper;
 import com.example.apartmentmanagerapi.repository.ApartmentBuildingRepository;
+import com.example.apartmentmanagerapi.repository.AttachmentRepository;
 import com.example.apartmentmanagerapi.repository.FlatRepository;
+import com.example.apartmentmanagerapi.util.TextKeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +30,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,6 +45,10 @@ public class FlatService implements IFlatService {
     private final FlatMapper flatMapper;
     private final ApplicationEventPublisher eventPublisher;
     private final ContractLoadingService contractLoadingService;
+    private final IBuildingVersionService buildingVersionService;
+    private final AttachmentRepository attachmentRepository;
+    
+    static final int MAX_SLICE_SIZE = 200;
 
     @Transactional
     @CacheEvict(value = "flatsWithContracts", key = "#request.apartmentBuildingId")
@@ -71,6 +83,8 @@ public class FlatService implements IFlatService {
         eventPublisher.publishEvent(event);
         log.debug("Published FlatCreatedEvent for flat {}", savedFlat.getId());
         
+        buildingVersionService.bump(building.getId());
+        
         // Map entity to response and return
         return flatMapper.toResponse(savedFlat);
     }
@@ -91,18 +105,20 @@ public class FlatService implements IFlatService {
             .map(Flat::getId)
             .collect(Collectors.toList());
         
-        // Batch load active contracts
+        // Batch load active contracts and their dues figures
         Map<Long, com.example.apartmentmanagerapi.entity.Contract> activeContracts = 
             contractLoadingService.loadActiveContractsForFlats(flatIds);
+        Map<Long, ActiveContractInfo> activeContractInfos = 
+            contractLoadingService.loadActiveContractInfos(activeContracts);
         
         // Map to responses with contract info
         return flats.stream()
             .map(flat -> {
                 FlatResponse response = flatMapper.toResponse(flat);
-                com.example.apartmentmanagerapi.entity.Contract activeContract = activeContracts.get(flat.getId());
+                ActiveContractInfo activeContract = activeContractInfos.get(flat.getId());
                 
                 if (activeContract != null) {
-                    response.setActiveContract(contractLoadingService.mapToActiveContractInfo(activeContract));
+                    response.setActiveContract(activeContract);
                     response.setOccupancyStatus(FlatResponse.OccupancyStatus.OCCUPIED);
                 } else {
                     response.setOccupancyStatus(FlatResponse.OccupancyStatus.VACANT);
@@ -114,6 +130,60 @@ public class FlatService implements IFlatService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Get one slice of a building's flats, ordered by flat number.
+     * Rows come from a constructor query over the flat columns only; active contracts are
+     * loaded, in one batch for the slice, only when a contract field is requested.
+     */
+    @Transactional(readOnly = true)
+    public CursorSliceResponse<FlatListItem> getFlatSlice(Long buildingId, boolean activeOnly, String fields,
+                                                          Sort.Direction direction, String cursor, int size) {
+        // Verify apartment building exists
+        if (!apartmentBuildingRepository.existsById(buildingId)) {
+            throw new ResourceNotFoundException("ApartmentBuilding", buildingId);
+        }
+        
+        Set<FlatListItem.Field> requested = FlatListItem.Field.parse(fields);
+        int sliceSize = Math.max(1, Math.min(size, MAX_SLICE_SIZE));
+        boolean descending = direction == Sort.Direction.DESC;
+        TextKeysetCursor after = cursor != null && !cursor.isBlank() ? TextKeysetCursor.decode(cursor) : null;
+        if (after != null && after.isDescending() != descending) {
+            throw new ValidationException("cursor", "Cursor was issued for the opposite sort direction");
+        }
+        
+        // Fetch one extra row to know whether another slice exists
+        List<FlatListItem> rows = flatRepository.findListItemsByKeyset(
+            buildingId, activeOnly, descending, after, sliceSize + 1);
+        boolean hasNext = rows.size() > sliceSize;
+        List<FlatListItem> content = hasNext ? rows.subList(0, sliceSize) : rows;
+        
+        String nextCursor = null;
+        if (hasNext) {
+            FlatListItem last = content.get(content.size() - 1);
+            nextCursor = new TextKeysetCursor(descending, last.getFlatNumber(), last.getId()).encode();
+        }
+        
+        if (!content.isEmpty() && requested.stream().anyMatch(FlatListItem.Field::requiresContract)) {
+            Map<Long, com.example.apartmentmanagerapi.entity.Contract> activeContracts = 
+                contractLoadingService.loadActiveContractsForFlats(content.stream().map(FlatListItem::getId).toList());
+            Map<Long, ActiveContractInfo> activeContractInfos = requested.contains(FlatListItem.Field.ACTIVE_CONTRACT)
+                ? contractLoadingService.loadActiveContractInfos(activeContracts) : Map.of();
+            for (FlatListItem item : content) {
+                item.setOccupancyStatus(activeContracts.containsKey(item.getId())
+                    ? FlatResponse.OccupancyStatus.OCCUPIED : FlatResponse.OccupancyStatus.VACANT);
+                item.setActiveContract(activeContractInfos.get(item.getId()));
+            }
+        }
+        content.forEach(item -> item.retainOnly(requested));
+        
+        return CursorSliceResponse.<FlatListItem>builder()
+            .content(content)
+            .size(content.size())
+            .hasNext(hasNext)
+            .nextCursor(nextCursor)
+            .build();
+    }
+
     @Transactional(readOnly = true)
     public FlatResponse getFlatById(Long buildingId, Long flatId) {
         // Find flat and map to response
@@ -174,6 +244,7 @@ public class FlatService implements IFlatService {
 
         // Save and return the updated flat
         Flat updatedFlat = flatRepository.save(flat);
+        buildingVersionService.bump(List.of(buildingId, updatedFlat.getApartmentBuilding().getId()));
         return flatMapper.toResponse(updatedFlat);
     }
 
@@ -194,7 +265,10 @@ public class FlatService implements IFlatService {
         
         // Consider implications: what happens to tenants in this flat?
         // For soft delete, consider setting isActive to false instead
+        // The flat's payments are deleted with it, so their attachments go first
+        attachmentRepository.deletePaymentAttachmentsOfFlat(flatId);
         flatRepository.delete(flat);
+        buildingVersionService.bump(buildingId);
     }
     
     /**
@@ -242,18 +316,20 @@ public class FlatService implements IFlatService {
             .map(Flat::getId)
             .collect(Collectors.toList());
         
-        // Batch load active contracts
+        // Batch load active contracts and their dues figures
         Map<Long, com.example.apartmentmanagerapi.entity.Contract> activeContracts = 
             contractLoadingService.loadActiveContractsForFlats(flatIds);
+        Map<Long, ActiveContractInfo> activeContractInfos = 
+            contractLoadingService.loadActiveContractInfos(activeContracts);
         
         // Map to responses with contract info
         return activeFlats.stream()
             .map(flat -> {
                 FlatResponse response = flatMapper.toResponse(flat);
-                com.example.apartmentmanagerapi.entity.Contract activeContract = activeContracts.get(flat.getId());
+                ActiveContractInfo activeContract = activeContractInfos.get(flat.getId());
                 
                 if (activeContract != null) {
-                    response.setActiveContract(contractLoadingService.mapToActiveContractInfo(activeContract));
+                    response.setActiveContract(activeContract);
                     response.setOccupancyStatus(FlatResponse.OccupancyStatus.OCCUPIED);
                 } else {
                     response.setOccupancyStatus(FlatResponse.OccupancyStatus.VACANT);
@@ -287,6 +363,7 @@ public class FlatService implements IFlatService {
         
         // Save and return updated flat
         Flat updatedFlat = flatRepository.save(flat);
+        buildingVersionService.bump(buildingId);
         return flatMapper.toResponse(updatedFlat);
     }
     
@@ -306,6 +383,7 @@ public class FlatService implements IFlatService {
         
         // Save and return updated flat
         Flat updatedFlat = flatRepository.save(flat);
+        buildingVersionService.bump(buildingId);
         return flatMapper.toResponse(updatedFlat);
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.entity.Attachment;
+
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+/**
+ * Service interface for receipt and invoice attachments of expenses and payments.
+ */
+public interface IAttachmentService {
+    
+    /**
+     * Attach a file to an expense or payment.
+     * Attaching the same content to the same owner again returns the existing attachment.
+     * @param ownerType Kind of owner
+     * @param ownerId Expense or payment ID
+     * @param fileName File name as uploaded
+     * @param contentType Media type of the content
+     * @param content Content stream; read to the end but not closed
+     * @return The attachment
+     */
+    Attachment attach(Attachment.OwnerType ownerType, Long ownerId, String fileName, String contentType,
+                      InputStream content);
+    
+    /**
+     * Get the attachments of an expense or payment
+     * @param ownerType Kind of owner
+     * @param ownerId Expense or payment ID
+     * @return Attachments, oldest first
+     */
+    List<Attachment> getAttachments(Attachment.OwnerType ownerType, Long ownerId);
+    
+    /**
+     * Get an attachment
+     * @param attachmentId Attachment ID
+     * @return The attachment
+     */
+    Attachment getAttachment(Long attachmentId);
+    
+    /**
+     * Write a byte range of an attachment's content to a channel
+     * @param attachment The attachment
+     * @param position Offset of the first byte
+     * @param count Number of bytes
+     * @param target Channel to write to; not closed
+     * @return Number of bytes written
+     */
+    long transferContent(Attachment attachment, long position, long count, WritableByteChannel target);
+    
+    /**
+     * Delete an attachment; its stored content is removed by the orphan sweep once no other attachment shares it
+     * @param attachmentId Attachment ID
+     */
+    void deleteAttachment(Long attachmentId);
+    
+    /**
+     * Delete attachments whose expense or payment no longer exists, then stored contents that no attachment references and that were last stored before the grace period
+     * @return Number of deleted contents
+     */
+    int purgeUnreferencedContent();
+}
@@ -0,0 +1,22 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.entity.AuditLog;
+
+/**
+ * Writer that persists audit log entries off the caller's thread.
+ */
+public interface IAuditLogWriter {
+
+    /**
+     * Queue an audit log entry for persistence
+     * @param auditLog The entry to write
+     * @return true if the entry was queued or spilled, false if it was dropped
+     */
+    boolean enqueue(AuditLog auditLog);
+
+    /**
+     * Number of entries waiting to be written
+     * @return Current queue depth
+     */
+    int getQueueDepth();
+}
@@ -0,0 +1,29 @@
+package com.example.apartmentmanagerapi.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Maintenance of the monthly range partitions backing the audit_logs table.
+ */
+public interface IAuditPartitionService {
+
+    /**
+     * Check whether audit_logs is a partitioned table in the current database
+     * @return true if partition maintenance applies
+     */
+    boolean isPartitioned();
+
+    /**
+     * Create monthly partitions from the current month up to the given number of months ahead
+     * @param monthsAhead Number of future months to pre-create
+     * @return Number of partitions created
+     */
+    int createFuturePartitions(int monthsAhead);
+
+    /**
+     * Detach and drop every monthly partition whose whole range is older than the cutoff
+     * @param cutoff Rows before this timestamp are expired
+     * @return Approximate number of rows removed, based on planner statistics
+     */
+    long dropPartitionsBefore(LocalDateTime cutoff);
+}
@@ -1,5 +1,7 @@
 package com.example.apartmentmanagerapi.service;
 
+import com.example.apartmentmanagerapi.dto.AuditLogFilter;
+import com.example.apartmentmanagerapi.dto.CursorSliceResponse;
 import com.example.apartmentmanagerapi.entity.AuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -93,6 +95,17 @@ public interface IAuditService {
      */
     Page<AuditLog> getAuditLogsByTimeRange(LocalDateTime startTime, LocalDateTime endTime, Pageable pageable);
 
+    /**
+     * Browses audit logs newest first using keyset pagination.
+     * Unlike the page-based methods, no COUNT query is issued and every slice costs the same.
+     * 
+     * @param filter optional filters combined with AND (null fields are ignored)
+     * @param cursor cursor returned with the previous slice, or null for the first slice
+     * @param size maximum number of entries to return
+     * @return slice of audit logs with the cursor for the next slice
+     */
+    CursorSliceResponse<AuditLog> findAuditLogs(AuditLogFilter filter, String cursor, int size);
+
     /**
      * Counts recent failed login attempts for security monitoring.
      * 
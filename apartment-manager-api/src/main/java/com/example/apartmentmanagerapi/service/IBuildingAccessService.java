@@ -0,0 +1,43 @@
+package com.example.apartmentmanagerapi.service;
+
+/**
+ * Service interface for building-scoped authorization.
+ * Designed to be called from {@code @PreAuthorize} expressions, e.g.
+ * {@code @PreAuthorize("@buildingAccess.canAccess(#buildingId)")}.
+ */
+public interface IBuildingAccessService {
+    
+    /**
+     * Check whether the current user may access a building.
+     * Admins can access every building; other users need an active assignment.
+     * @param buildingId The building ID
+     * @return true if access is allowed
+     */
+    boolean canAccess(Long buildingId);
+    
+    /**
+     * Check whether a user is actively assigned to a building
+     * @param username The username
+     * @param buildingId The building ID
+     * @return true if an active assignment exists
+     */
+    boolean isAssigned(String username, Long buildingId);
+    
+    /**
+     * Get the IDs of the buildings a user is actively assigned to
+     * @param username The username
+     * @return Sorted array of building IDs
+     */
+    long[] getAssignedBuildingIds(String username);
+    
+    /**
+     * Drop the cached building set for a user after their assignments changed
+     * @param username The username
+     */
+    void evictUser(String username);
+    
+    /**
+     * Drop all cached building sets, e.g. after bulk assignment updates
+     */
+    void evictAll();
+}
@@ -0,0 +1,49 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.dto.BuildingAssignmentResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for managing which users are assigned to which buildings.
+ * Non-admin users can only reach building-scoped endpoints of buildings they are assigned to.
+ */
+public interface IBuildingAssignmentService {
+
+    /**
+     * Assigns a user to a building, reactivating a previous assignment if one exists.
+     * 
+     * @param buildingId the building ID
+     * @param userId the user ID
+     * @param notes optional notes about the assignment
+     * @return the active assignment
+     * @throws com.example.apartmentmanagerapi.exception.ResourceNotFoundException if the building or user does not exist
+     */
+    BuildingAssignmentResponse assignUser(Long buildingId, Long userId, String notes);
+
+    /**
+     * Ends a user's assignment to a building. The assignment row is kept for history.
+     * 
+     * @param buildingId the building ID
+     * @param userId the user ID
+     * @throws com.example.apartmentmanagerapi.exception.ResourceNotFoundException if the user is not assigned to the building
+     */
+    void unassignUser(Long buildingId, Long userId);
+
+    /**
+     * Retrieves the active assignments of a building.
+     * 
+     * @param buildingId the building ID
+     * @return list of active assignments
+     * @throws com.example.apartmentmanagerapi.exception.ResourceNotFoundException if the building does not exist
+     */
+    List<BuildingAssignmentResponse> getAssignments(Long buildingId);
+
+    /**
+     * Assigns the current user to a building they just created, so a manager keeps access to it.
+     * Does nothing for admins, who are not restricted to assigned buildings.
+     * 
+     * @param buildingId the building ID
+     */
+    void assignCurrentUser(Long buildingId);
+}
@@ -0,0 +1,40 @@
+package com.example.apartmentmanagerapi.service;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Service interface for per-building data versions.
+ * Every write to a building's flats, contracts, dues, payments or expenses increments the
+ * building's version in its own transaction, so the version changes exactly when the data
+ * readers can see changes. Read endpoints use it as a cheap validator for ETags.
+ */
+public interface IBuildingVersionService {
+    
+    /**
+     * Get the current data version of a building
+     * @param buildingId The building ID
+     * @return The version, or empty if the building does not exist
+     */
+    Optional<Long> getVersion(Long buildingId);
+    
+    /**
+     * Increment the data version of a building within the current transaction
+     * and evict the building's cached reads
+     * @param buildingId The building ID
+     */
+    void bump(Long buildingId);
+    
+    /**
+     * Increment the data versions of several buildings with one statement
+     * and evict their cached reads
+     * @param buildingIds The building IDs; nulls and duplicates are ignored
+     */
+    void bump(Collection<Long> buildingIds);
+    
+    /**
+     * Increment the data version of every building, after bulk updates spanning buildings,
+     * and evict all building-scoped caches
+     */
+    void bumpAll();
+}
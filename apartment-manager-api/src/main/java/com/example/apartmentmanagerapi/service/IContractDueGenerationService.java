@@ -26,6 +26,14 @@ public interface IContractDueGenerationService {
      */
     List<MonthlyDue> generateDuesForContractExtension(Contract contract, LocalDate fromDate);
     
+    /**
+     * Build the unsaved monthly dues for a contract extension, e.g. to save many contracts' dues at once
+     * @param contract The renewed contract
+     * @param fromDate Start generating from this date
+     * @return Unsaved monthly dues
+     */
+    List<MonthlyDue> buildDuesForContractExtension(Contract contract, LocalDate fromDate);
+    
     /**
      * Cancel unpaid dues for a contract
      * @param contract The contract being cancelled
@@ -11,9 +11,10 @@ import java.util.List;
 public interface IContractNotificationService {
     
     /**
-     * Send contract expiry notifications
+     * Queue contract expiry notifications for delivery.
+     * A contract is queued at most once per recipient and look-ahead window, however often this runs.
      * @param daysAhead Number of days to look ahead for expiring contracts
-     * @return List of sent notifications
+     * @return List of newly queued notifications
      */
     List<ContractExpiryNotification> sendExpiryNotifications(int daysAhead);
     
@@ -67,6 +67,14 @@ public interface IContractService {
      */
     ContractResponse renewContract(Long contractId, ContractRenewalRequest request);
     
+    /**
+     * Renew many contracts in one transaction.
+     * Items that fail validation are reported in the response and do not stop the others.
+     * @param request Batch renewal request
+     * @return One result per requested contract
+     */
+    BatchContractRenewalResponse renewContracts(BatchContractRenewalRequest request);
+    
     /**
      * Cancel a contract
      * @param contractId Contract ID
@@ -23,6 +23,16 @@ public interface IExpenseService {
      * @return the created expense
      */
     Expense createExpense(Expense expense, boolean distributeToFlats);
+    
+    /**
+     * Creates a new expense for a building.
+     * Optionally distributes the expense to all active flats with equal, area- or rent-weighted shares.
+     * 
+     * @param expense the expense to create
+     * @param distributionMethod how to split the expense among flats, or null to not distribute it
+     * @return the created expense
+     */
+    Expense createExpense(Expense expense, Expense.DistributionMethod distributionMethod);
 
     /**
      * Retrieves expenses for a building within a date range.
@@ -51,6 +61,17 @@ public interface IExpenseService {
      */
     List<Expense> getRecurringExpenses(Long buildingId);
 
+    /**
+     * Suggests vendor names of a building for type-ahead input.
+     * Prefix matches rank first; fuzzy matches are included where the database supports them.
+     * 
+     * @param buildingId the building ID
+     * @param search the search input
+     * @param limit maximum number of suggestions
+     * @return distinct vendor names, best matches first
+     */
+    List<String> searchVendorNames(Long buildingId, String search, int limit);
+
     /**
      * Gets expense breakdown by category for a date range.
      * 
@@ -1,8 +1,12 @@
 package com.example.apartmentmanagerapi.service;
 
+import com.example.apartmentmanagerapi.dto.CursorSliceResponse;
+import com.example.apartmentmanagerapi.dto.FlatListItem;
 import com.example.apartmentmanagerapi.dto.FlatRequest;
 import com.example.apartmentmanagerapi.dto.FlatResponse;
 
+import org.springframework.data.domain.Sort;
+
 import java.util.List;
 import java.util.Map;
 
@@ -30,6 +34,23 @@ public interface IFlatService {
      */
     List<FlatResponse> getAllFlatsByBuildingId(Long buildingId);
 
+    /**
+     * Retrieves one slice of the flats in a building, ordered by flat number.
+     * Only the requested fields are returned; active contracts are loaded only when
+     * activeContract or occupancyStatus is requested.
+     * 
+     * @param buildingId the apartment building ID
+     * @param activeOnly whether to return only active flats
+     * @param fields comma-separated field names, or null for the default columns
+     * @param direction sort direction of the flat number, compared as text
+     * @param cursor cursor returned with the previous slice in the same direction, or null for the first slice
+     * @param size maximum number of flats to return
+     * @return the slice of flats and the cursor of the next slice
+     * @throws RuntimeException if building not found, or the cursor or a field is invalid
+     */
+    CursorSliceResponse<FlatListItem> getFlatSlice(Long buildingId, boolean activeOnly, String fields,
+                                                   Sort.Direction direction, String cursor, int size);
+
     /**
      * Retrieves a specific flat by building ID and flat ID.
      * 
@@ -0,0 +1,67 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.entity.BackgroundJob;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service interface for the durable background job queue
+ */
+public interface IJobQueueService {
+    
+    /**
+     * Queue a job in the caller's transaction, so it is committed or rolled back together
+     * with the write that caused it
+     * @param jobType Job type
+     * @param payload Job arguments, stored as JSON
+     * @return The queued job
+     */
+    BackgroundJob enqueue(BackgroundJob.JobType jobType, Map<String, Object> payload);
+    
+    /**
+     * Claim due jobs of a type for a worker, skipping jobs locked by concurrent claims.
+     * Claimed jobs are RUNNING under the worker's lease and count one attempt.
+     * @param jobType Job type
+     * @param limit Maximum number of jobs to claim
+     * @param workerId Worker taking the lease
+     * @return Claimed jobs, oldest first
+     */
+    List<BackgroundJob> claim(BackgroundJob.JobType jobType, int limit, String workerId);
+    
+    /**
+     * Record that a claimed job completed
+     * @param job The job
+     * @param workerId Worker holding the lease
+     */
+    void markSucceeded(BackgroundJob job, String workerId);
+    
+    /**
+     * Record a failed attempt; the job is retried with exponential backoff or, once its
+     * attempts are used up, dead-lettered
+     * @param job The job
+     * @param workerId Worker holding the lease
+     * @param error The failure
+     * @return true if the job was dead-lettered
+     */
+    boolean markFailed(BackgroundJob job, String workerId, Exception error);
+    
+    /**
+     * Hand a claimed job back to the queue without counting the attempt
+     * @param job The job
+     * @param workerId Worker holding the lease
+     */
+    void release(BackgroundJob job, String workerId);
+    
+    /**
+     * Return jobs whose worker lease expired to the queue
+     * @return Number of recovered jobs
+     */
+    int recoverExpiredLeases();
+    
+    /**
+     * Remove succeeded jobs past the retention period
+     * @return Number of removed jobs
+     */
+    int purgeCompleted();
+}
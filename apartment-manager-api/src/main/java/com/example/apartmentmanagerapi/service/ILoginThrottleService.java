@@ -0,0 +1,36 @@
+package com.example.apartmentmanagerapi.service;
+
+/**
+ * Service interface for throttling login attempts.
+ * Tracks failed logins per username and per client IP and blocks further attempts
+ * with an exponentially growing lockout once a limit is reached.
+ */
+public interface ILoginThrottleService {
+
+    /**
+     * Check whether a login attempt is currently allowed
+     * @param username The username being authenticated
+     * @param clientIp The client IP address
+     * @throws com.example.apartmentmanagerapi.exception.TooManyLoginAttemptsException if the username or IP is locked out
+     */
+    void checkLoginAllowed(String username, String clientIp);
+
+    /**
+     * Record a failed login attempt
+     * @param username The username that failed to authenticate
+     * @param clientIp The client IP address
+     */
+    void recordFailedLogin(String username, String clientIp);
+
+    /**
+     * Record a successful login, clearing the username's failure window
+     * @param username The authenticated username
+     * @param clientIp The client IP address
+     */
+    void recordSuccessfulLogin(String username, String clientIp);
+
+    /**
+     * Merge local counters with the shared counter table so lockouts apply across nodes
+     */
+    void synchronizeWithCluster();
+}
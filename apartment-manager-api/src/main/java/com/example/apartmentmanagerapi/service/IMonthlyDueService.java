@@ -101,6 +101,16 @@ public interface IMonthlyDueService {
      */
     MonthlyDue createMonthlyDue(MonthlyDue monthlyDue);
 
+    /**
+     * Creates many monthly dues of one building in a single batched insert.
+     * The dues' flats must already be loaded; caches are invalidated once for the building.
+     * 
+     * @param buildingId the building all dues belong to
+     * @param monthlyDues the monthly due entities to create
+     * @return the created monthly dues
+     */
+    List<MonthlyDue> createMonthlyDues(Long buildingId, List<MonthlyDue> monthlyDues);
+
     /**
      * Updates an existing monthly due.
      * 
@@ -0,0 +1,20 @@
+package com.example.apartmentmanagerapi.service;
+
+/**
+ * Service interface for delivering queued notifications from the notification outbox
+ */
+public interface INotificationDispatchService {
+    
+    /**
+     * Deliver pending outbox entries, coalescing the entries of each recipient into one digest.
+     * At most the configured number of digests is sent per call; the rest waits for the next run.
+     * @return Number of digests delivered
+     */
+    int dispatchPending();
+    
+    /**
+     * Remove delivered and failed outbox entries past the retention period
+     * @return Number of removed entries
+     */
+    int purgeCompleted();
+}
@@ -0,0 +1,17 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.dto.BuildingOccupancyResponse;
+
+/**
+ * Service interface for building-wide occupancy analytics
+ */
+public interface IOccupancyAnalyticsService {
+    
+    /**
+     * Compute occupancy summaries for every active flat of a building and the building's
+     * monthly occupancy rate over the configured number of months, from one scan of its contracts
+     * @param buildingId The building ID
+     * @return Occupancy analytics for the building
+     */
+    BuildingOccupancyResponse getBuildingOccupancy(Long buildingId);
+}
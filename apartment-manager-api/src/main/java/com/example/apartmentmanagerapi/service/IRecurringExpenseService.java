@@ -0,0 +1,17 @@
+package com.example.apartmentmanagerapi.service;
+
+import java.time.LocalDate;
+
+/**
+ * Materialization of recurring expenses into dated expense instances.
+ */
+public interface IRecurringExpenseService {
+
+    /**
+     * Create the instances of all recurring expenses that are due on or before the given date.
+     * Each period of a recurring expense is created at most once, so running this again is harmless.
+     * @param today Instances due on or before this date are created
+     * @return Number of expense instances created
+     */
+    int materializeDueExpenses(LocalDate today);
+}
@@ -0,0 +1,156 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.entity.BackgroundJob;
+import com.example.apartmentmanagerapi.repository.BackgroundJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Durable job queue on the background_jobs table.
+ * Producers enqueue inside their own transaction. Workers claim jobs in a short transaction
+ * that locks due rows with FOR UPDATE SKIP LOCKED and marks them RUNNING under a lease, then
+ * run them without holding any lock; outcomes are written back with lease-guarded updates.
+ * Failed attempts are retried with exponential backoff and dead-lettered after max-attempts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobQueueService implements IJobQueueService {
+    
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    private final BackgroundJobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${app.jobs.max-attempts:5}")
+    private int maxAttempts;
+    
+    @Value("${app.jobs.backoff.initial-seconds:30}")
+    private long initialBackoffSeconds;
+    
+    @Value("${app.jobs.backoff.max-seconds:3600}")
+    private long maxBackoffSeconds;
+    
+    @Value("${app.jobs.lease-seconds:600}")
+    private long leaseSeconds;
+    
+    @Value("${app.jobs.retention-days:7}")
+    private int retentionDays;
+    
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BackgroundJob enqueue(BackgroundJob.JobType jobType, Map<String, Object> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Job payload is not serializable: " + payload, e);
+        }
+        BackgroundJob job = jobRepository.save(BackgroundJob.builder()
+            .jobType(jobType)
+            .payload(json)
+            .maxAttempts(maxAttempts)
+            .runAt(LocalDateTime.now())
+            .build());
+        log.debug("Queued {} job {} with payload {}", jobType, job.getId(), json);
+        return job;
+    }
+    
+    @Override
+    @Transactional
+    public List<BackgroundJob> claim(BackgroundJob.JobType jobType, int limit, String workerId) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<BackgroundJob> jobs = jobRepository.findClaimable(jobType, now, PageRequest.of(0, limit));
+        for (BackgroundJob job : jobs) {
+            job.setStatus(BackgroundJob.Status.RUNNING);
+            job.setLockedBy(workerId);
+            job.setLockedAt(now);
+            job.setAttempts(job.getAttempts() + 1);
+        }
+        return jobs;
+    }
+    
+    @Override
+    public void markSucceeded(BackgroundJob job, String workerId) {
+        if (jobRepository.markSucceeded(job.getId(), workerId, LocalDateTime.now()) == 0) {
+            log.warn("Lease on {} job {} was lost before it completed", job.getJobType(), job.getId());
+        }
+    }
+    
+    @Override
+    public boolean markFailed(BackgroundJob job, String workerId, Exception error) {
+        String message = truncate(error.toString());
+        boolean dead = job.getAttempts() >= job.getMaxAttempts();
+        int updated;
+        if (dead) {
+            log.error("{} job {} failed after {} attempt(s), moving it to the dead letter state",
+                job.getJobType(), job.getId(), job.getAttempts(), error);
+            updated = jobRepository.markDead(job.getId(), workerId, message, LocalDateTime.now());
+        } else {
+            Duration backoff = backoffFor(job.getAttempts());
+            log.warn("{} job {} failed (attempt {} of {}), retrying in {}s: {}",
+                job.getJobType(), job.getId(), job.getAttempts(), job.getMaxAttempts(),
+                backoff.toSeconds(), error.getMessage());
+            updated = jobRepository.reschedule(job.getId(), workerId, LocalDateTime.now().plus(backoff), message);
+        }
+        if (updated == 0) {
+            log.warn("Lease on {} job {} was lost before its failure was recorded", job.getJobType(), job.getId());
+            return false;
+        }
+        return dead;
+    }
+    
+    @Override
+    public void release(BackgroundJob job, String workerId) {
+        jobRepository.release(job.getId(), workerId);
+    }
+    
+    @Override
+    public int recoverExpiredLeases() {
+        int recovered = jobRepository.recoverExpiredLeases(
+            LocalDateTime.now().minusSeconds(leaseSeconds), "Worker lease expired");
+        if (recovered > 0) {
+            log.warn("Recovered {} background job(s) whose worker lease expired", recovered);
+        }
+        return recovered;
+    }
+    
+    @Override
+    public int purgeCompleted() {
+        int removed = jobRepository.deleteSucceededBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (removed > 0) {
+            log.info("Removed {} succeeded background jobs older than {} days", removed, retentionDays);
+        }
+        return removed;
+    }
+    
+    /**
+     * Delay before the next attempt: the initial backoff doubled for every failed attempt, capped
+     * @param failedAttempts Attempts failed so far, at least 1
+     * @return Delay before the job may be claimed again
+     */
+    Duration backoffFor(int failedAttempts) {
+        int doublings = Math.min(Math.max(failedAttempts - 1, 0), 30);
+        long seconds = Math.min(initialBackoffSeconds << doublings, maxBackoffSeconds);
+        return Duration.ofSeconds(seconds);
+    }
+    
+    private String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,335 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.entity.LoginThrottleCounter;
+import com.example.apartmentmanagerapi.exception.TooManyLoginAttemptsException;
+import com.example.apartmentmanagerapi.repository.LoginThrottleCounterRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login throttling based on in-memory sliding-window counters.
+ * Failed attempts are tracked separately per username and per client IP. When either
+ * exceeds its limit inside the window the key is locked out, and each consecutive lockout
+ * doubles in length up to a configured maximum. Checks never touch the database; when
+ * cluster sync is enabled the counters are merged into a shared table on a fixed schedule.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoginThrottleService implements ILoginThrottleService {
+
+    static final String USER_KEY_PREFIX = "user:";
+    static final String IP_KEY_PREFIX = "ip:";
+
+    private final LoginThrottleCounterRepository counterRepository;
+
+    @Value("${app.security.login-throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.security.login-throttle.max-failures-per-user:5}")
+    private int maxFailuresPerUser;
+
+    @Value("${app.security.login-throttle.max-failures-per-ip:20}")
+    private int maxFailuresPerIp;
+
+    @Value("${app.security.login-throttle.window-seconds:900}")
+    private long windowSeconds;
+
+    @Value("${app.security.login-throttle.base-lockout-seconds:30}")
+    private long baseLockoutSeconds;
+
+    @Value("${app.security.login-throttle.max-lockout-seconds:3600}")
+    private long maxLockoutSeconds;
+
+    @Value("${app.security.login-throttle.max-tracked-keys:100000}")
+    private long maxTrackedKeys;
+
+    private Clock clock = Clock.systemUTC();
+
+    private Cache<String, AttemptWindow> windows;
+
+    /**
+     * Time of the last successful cluster synchronization (epoch millis)
+     */
+    private volatile long lastSyncMillis;
+
+    /**
+     * Build the bounded in-memory window store once properties are injected.
+     * Entries idle longer than the window plus the longest lockout carry no state worth keeping.
+     */
+    @PostConstruct
+    void initialize() {
+        windows = Caffeine.newBuilder()
+                .expireAfterAccess(windowSeconds + maxLockoutSeconds, TimeUnit.SECONDS)
+                .maximumSize(maxTrackedKeys)
+                .build();
+    }
+
+    /**
+     * Check whether a login attempt is currently allowed
+     * @param username The username being authenticated
+     * @param clientIp The client IP address
+     */
+    @Override
+    public void checkLoginAllowed(String username, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = clock.millis();
+        long lockedUntil = Math.max(lockedUntil(userKey(username)), lockedUntil(ipKey(clientIp)));
+        if (lockedUntil > now) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(lockedUntil - now + 999));
+            log.warn("Login blocked for user {} from IP {} for another {} seconds", username, clientIp, retryAfterSeconds);
+            throw new TooManyLoginAttemptsException(retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Record a failed login attempt against both the username and the client IP
+     * @param username The username that failed to authenticate
+     * @param clientIp The client IP address
+     */
+    @Override
+    public void recordFailedLogin(String username, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = clock.millis();
+        recordFailure(userKey(username), maxFailuresPerUser, now);
+        recordFailure(ipKey(clientIp), maxFailuresPerIp, now);
+    }
+
+    /**
+     * Record a successful login. Only the username window is cleared; the IP window keeps
+     * counting so one valid account cannot be used to reset a spraying client.
+     * @param username The authenticated username
+     * @param clientIp The client IP address
+     */
+    @Override
+    public void recordSuccessfulLogin(String username, String clientIp) {
+        if (!enabled || username == null) {
+            return;
+        }
+
+        AttemptWindow window = windows.getIfPresent(userKey(username));
+        if (window != null) {
+            window.reset();
+        }
+    }
+
+    /**
+     * Flush local failure deltas into the shared counter table, then pull lockouts and
+     * cluster-wide counts written by other nodes into the local windows.
+     */
+    @Override
+    @Transactional
+    public void synchronizeWithCluster() {
+        if (!enabled) {
+            return;
+        }
+
+        long now = clock.millis();
+        long windowMillis = TimeUnit.SECONDS.toMillis(windowSeconds);
+        long windowFloor = now - windowMillis;
+
+        // Push local deltas - one upsert per key that changed since the last flush
+        int flushed = 0;
+        for (var entry : windows.asMap().entrySet()) {
+            AttemptWindow.Delta delta = entry.getValue().drainDelta();
+            if (delta != null) {
+                counterRepository.mergeCounter(entry.getKey(), delta.failures(), delta.lockedUntil(), now, windowFloor);
+                flushed++;
+            }
+        }
+
+        // Pull rows touched by any node since our previous sync
+        List<LoginThrottleCounter> recent = counterRepository.findByUpdatedAtGreaterThan(
+                lastSyncMillis > 0 ? lastSyncMillis : windowFloor);
+        for (LoginThrottleCounter counter : recent) {
+            applyClusterCounter(counter, now, windowFloor);
+        }
+
+        int purged = counterRepository.deleteStaleCounters(now - windowMillis - TimeUnit.SECONDS.toMillis(maxLockoutSeconds));
+        lastSyncMillis = now;
+
+        log.debug("Login throttle sync: flushed {} keys, merged {} remote counters, purged {} stale rows",
+                flushed, recent.size(), purged);
+    }
+
+    /**
+     * Replace the clock used for window arithmetic (for testing)
+     * @param clock The clock to use
+     */
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Apply a shared counter row to the local window for the same key
+     */
+    private void applyClusterCounter(LoginThrottleCounter counter, long now, long windowFloor) {
+        String key = counter.getThrottleKey();
+        int limit = key.startsWith(USER_KEY_PREFIX) ? maxFailuresPerUser : maxFailuresPerIp;
+
+        if (counter.getLockedUntil() > now) {
+            windows.get(key, k -> new AttemptWindow(limit)).applyLockout(counter.getLockedUntil());
+        } else if (counter.getWindowStart() >= windowFloor
+                && counter.getFailureCount() >= limit
+                && counter.getLockedUntil() < counter.getWindowStart()) {
+            // Limit reached only when counting all nodes together and nobody locked it yet in this window
+            windows.get(key, k -> new AttemptWindow(limit)).lock(now, baseLockoutMillis(), maxLockoutMillis());
+        }
+    }
+
+    /**
+     * Record a failure for one key and lock it out when the window limit is reached
+     */
+    private void recordFailure(String key, int limit, long now) {
+        if (key == null) {
+            return;
+        }
+
+        AttemptWindow window = windows.get(key, k -> new AttemptWindow(limit));
+        long lockedUntil = window.recordFailure(now, TimeUnit.SECONDS.toMillis(windowSeconds),
+                baseLockoutMillis(), maxLockoutMillis());
+        if (lockedUntil > 0) {
+            log.warn("Login throttle lockout for {} until epoch millis {}", key, lockedUntil);
+        }
+    }
+
+    private long lockedUntil(String key) {
+        if (key == null) {
+            return 0;
+        }
+        AttemptWindow window = windows.getIfPresent(key);
+        return window != null ? window.lockedUntil() : 0;
+    }
+
+    private long baseLockoutMillis() {
+        return TimeUnit.SECONDS.toMillis(baseLockoutSeconds);
+    }
+
+    private long maxLockoutMillis() {
+        return TimeUnit.SECONDS.toMillis(maxLockoutSeconds);
+    }
+
+    private static String userKey(String username) {
+        return username != null ? USER_KEY_PREFIX + username.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static String ipKey(String clientIp) {
+        return clientIp != null ? IP_KEY_PREFIX + clientIp : null;
+    }
+
+    /**
+     * Sliding window of failure timestamps for a single key.
+     * Timestamps live in a fixed-size ring sized to the limit, so memory per key is constant.
+     */
+    static final class AttemptWindow {
+
+        private final long[] failures;
+        private int head;
+        private int size;
+        private int lockoutLevel;
+        private long lockedUntil;
+        private long lastFailureAt;
+
+        // Changes not yet flushed to the shared counter table
+        private int unsyncedFailures;
+        private boolean lockoutDirty;
+
+        AttemptWindow(int limit) {
+            this.failures = new long[Math.max(1, limit)];
+        }
+
+        synchronized long lockedUntil() {
+            return lockedUntil;
+        }
+
+        /**
+         * Record a failure and lock the key once the ring is full of in-window failures
+         * @return The new lockout expiry, or 0 when no lockout was triggered
+         */
+        synchronized long recordFailure(long now, long windowMillis, long baseLockoutMillis, long maxLockoutMillis) {
+            // Escalation only applies to repeated lockouts; forget it after a quiet period
+            if (lockoutLevel > 0 && now - lastFailureAt > windowMillis + maxLockoutMillis) {
+                lockoutLevel = 0;
+            }
+            lastFailureAt = now;
+            unsyncedFailures++;
+
+            // Drop timestamps that slid out of the window
+            while (size > 0 && failures[head] <= now - windowMillis) {
+                head = (head + 1) % failures.length;
+                size--;
+            }
+            failures[(head + size) % failures.length] = now;
+            size++;
+
+            if (size >= failures.length) {
+                return lock(now, baseLockoutMillis, maxLockoutMillis);
+            }
+            return 0;
+        }
+
+        /**
+         * Start a lockout whose length doubles with every consecutive lockout
+         * @return The new lockout expiry
+         */
+        synchronized long lock(long now, long baseLockoutMillis, long maxLockoutMillis) {
+            long duration = baseLockoutMillis << Math.min(lockoutLevel, 20);
+            lockedUntil = Math.max(lockedUntil, now + Math.min(duration, maxLockoutMillis));
+            lockoutLevel++;
+            head = 0;
+            size = 0;
+            lockoutDirty = true;
+            return lockedUntil;
+        }
+
+        /**
+         * Adopt a lockout decided by another node without escalating the local level
+         */
+        synchronized void applyLockout(long until) {
+            if (until > lockedUntil) {
+                lockedUntil = until;
+            }
+        }
+
+        synchronized void reset() {
+            head = 0;
+            size = 0;
+            lockoutLevel = 0;
+            lockedUntil = 0;
+        }
+
+        /**
+         * Take the changes made since the last flush
+         * @return The pending delta, or null if nothing changed
+         */
+        synchronized Delta drainDelta() {
+            if (unsyncedFailures == 0 && !lockoutDirty) {
+                return null;
+            }
+            Delta delta = new Delta(unsyncedFailures, lockedUntil);
+            unsyncedFailures = 0;
+            lockoutDirty = false;
+            return delta;
+        }
+
+        record Delta(int failures, long lockedUntil) {
+        }
+    }
+}
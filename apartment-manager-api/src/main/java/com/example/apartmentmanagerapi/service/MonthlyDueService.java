@@ -42,6 +42,7 @@ public class MonthlyDueService implements IMonthlyDueService {
     private final FlatRepository flatRepository;
     private final ApartmentBuildingRepository apartmentBuildingRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final IBuildingVersionService buildingVersionService;
     
     /**
      * Generates monthly dues for all active flats in a building.
@@ -97,6 +98,7 @@ public class MonthlyDueService implements IMonthlyDueService {
         
         // Publish event if dues were generated
         if (!createdDues.isEmpty()) {
+            buildingVersionService.bump(buildingId);
             MonthlyDuesGeneratedEvent event = new MonthlyDuesGeneratedEvent(
                 this,
                 buildingId,
@@ -216,6 +218,7 @@ public class MonthlyDueService implements IMonthlyDueService {
         
         // Publish event if dues were generated
         if (!createdDues.isEmpty()) {
+            buildingVersionService.bump(buildingId);
             MonthlyDuesGeneratedEvent event = new MonthlyDuesGeneratedEvent(
                 this,
                 buildingId,
@@ -325,6 +328,11 @@ public class MonthlyDueService implements IMonthlyDueService {
             updatedCount++;
         }
         
+        if (updatedCount > 0) {
+            // Overdue dues span all buildings; one statement is cheaper than resolving each due's building
+            buildingVersionService.bumpAll();
+        }
+        
         log.info("Updated {} monthly dues to OVERDUE status", updatedCount);
     }
     
@@ -342,6 +350,7 @@ public class MonthlyDueService implements IMonthlyDueService {
     
     /**
      * Gets detailed debtor information including total debt amount.
+     * Debts of all debtors are summed with one grouped query.
      * 
      * @param buildingId ID of the building
      * @return Map of flat to total debt amount
@@ -352,11 +361,18 @@ public class MonthlyDueService implements IMonthlyDueService {
         log.debug("Retrieving detailed debtor information for building ID: {}", buildingId);
         
         List<Flat> debtors = getDebtorsByBuilding(buildingId);
+        if (debtors.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        
+        Map<Long, BigDecimal> debtByFlatId = monthlyDueRepository
+                .getTotalUnpaidDuesByFlatIds(debtors.stream().map(Flat::getId).toList()).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (BigDecimal) row[1]));
         
         return debtors.stream()
                 .collect(Collectors.toMap(
                         flat -> flat,
-                        flat -> calculateTotalDebt(flat.getId())
+                        flat -> debtByFlatId.getOrDefault(flat.getId(), BigDecimal.ZERO)
                 ));
     }
     
@@ -428,7 +444,38 @@ public class MonthlyDueService implements IMonthlyDueService {
             monthlyDue.setPaidAmount(BigDecimal.ZERO);
         }
         
-        return monthlyDueRepository.save(monthlyDue);
+        MonthlyDue savedDue = monthlyDueRepository.save(monthlyDue);
+        buildingVersionService.bump(flat.getApartmentBuilding().getId());
+        return savedDue;
+    }
+    
+    /**
+     * Creates many monthly dues of one building, e.g. the shares of a distributed expense.
+     * The flats are not re-fetched and all rows are saved together, so they are inserted in JDBC batches.
+     * 
+     * @param buildingId Building all dues belong to
+     * @param monthlyDues Monthly due entities with loaded flats
+     * @return Created monthly dues
+     */
+    @Caching(evict = {
+        @CacheEvict(value = "debtorList", key = "#buildingId"),
+        @CacheEvict(value = "flatBalance", allEntries = true)
+    })
+    public List<MonthlyDue> createMonthlyDues(Long buildingId, List<MonthlyDue> monthlyDues) {
+        log.info("Creating {} monthly dues for building ID: {}", monthlyDues.size(), buildingId);
+        
+        for (MonthlyDue monthlyDue : monthlyDues) {
+            if (monthlyDue.getStatus() == null) {
+                monthlyDue.setStatus(MonthlyDue.DueStatus.UNPAID);
+            }
+            if (monthlyDue.getPaidAmount() == null) {
+                monthlyDue.setPaidAmount(BigDecimal.ZERO);
+            }
+        }
+        
+        List<MonthlyDue> savedDues = monthlyDueRepository.saveAll(monthlyDues);
+        buildingVersionService.bump(buildingId);
+        return savedDues;
     }
     
     /**
@@ -452,7 +499,9 @@ public class MonthlyDueService implements IMonthlyDueService {
         existingDue.setPaidAmount(monthlyDue.getPaidAmount());
         existingDue.setPaymentDate(monthlyDue.getPaymentDate());
         
-        return monthlyDueRepository.save(existingDue);
+        MonthlyDue savedDue = monthlyDueRepository.save(existingDue);
+        buildingVersionService.bump(savedDue.getFlat().getApartmentBuilding().getId());
+        return savedDue;
     }
     
     /**
@@ -474,6 +523,7 @@ public class MonthlyDueService implements IMonthlyDueService {
         
         monthlyDue.setStatus(MonthlyDue.DueStatus.CANCELLED);
         monthlyDueRepository.save(monthlyDue);
+        buildingVersionService.bump(monthlyDue.getFlat().getApartmentBuilding().getId());
         
         log.info("Monthly due ID: {} cancelled successfully", monthlyDueId);
     }
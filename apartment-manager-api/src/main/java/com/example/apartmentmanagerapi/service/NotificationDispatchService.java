@@ -0,0 +1,138 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.entity.NotificationOutbox;
+import com.example.apartmentmanagerapi.notification.NotificationDigest;
+import com.example.apartmentmanagerapi.notification.NotificationTransport;
+import com.example.apartmentmanagerapi.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers notification outbox entries as per-recipient digests.
+ * Each run picks the recipients waiting longest, loads their pending entries with one query,
+ * claims them with a conditional update and sends one message per recipient through the
+ * configured transport. Claims keep overlapping runs from sending the same entries twice;
+ * a run that dies leaves claims that expire after the lease. The per-run digest limit together
+ * with the dispatch interval bounds the send rate. Outcomes are written back with bulk updates
+ * guarded by the claim; no transaction is held open while the transport is called.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDispatchService implements INotificationDispatchService {
+    
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationTransport transport;
+    
+    @Value("${app.notifications.dispatch.max-digests-per-run:100}")
+    private int maxDigestsPerRun;
+    
+    @Value("${app.notifications.dispatch.max-items-per-digest:50}")
+    private int maxItemsPerDigest;
+    
+    @Value("${app.notifications.dispatch.max-attempts:5}")
+    private int maxAttempts;
+    
+    @Value("${app.notifications.dispatch.lease-seconds:600}")
+    private long leaseSeconds;
+    
+    @Value("${app.notifications.outbox.retention-days:90}")
+    private int retentionDays;
+    
+    @Override
+    public int dispatchPending() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime claimedBefore = now.minusSeconds(leaseSeconds);
+        List<String> recipients = outboxRepository.findClaimableRecipients(
+            claimedBefore, PageRequest.of(0, Math.max(1, maxDigestsPerRun)));
+        if (recipients.isEmpty()) {
+            return 0;
+        }
+        
+        // Very long backlogs are split over several runs instead of one oversized message
+        List<Long> candidateIds = groupByRecipient(outboxRepository.findClaimable(recipients, claimedBefore))
+            .values().stream()
+            .flatMap(items -> items.stream().limit(Math.max(1, maxItemsPerDigest)))
+            .map(NotificationOutbox::getId)
+            .toList();
+        String runId = UUID.randomUUID().toString();
+        if (outboxRepository.claim(candidateIds, runId, now, claimedBefore) == 0) {
+            log.debug("Pending notifications were claimed by a concurrent dispatch run");
+            return 0;
+        }
+        // Only what this run claimed; a concurrent run may have taken some of the candidates
+        Map<String, List<NotificationOutbox>> entriesByRecipient =
+            groupByRecipient(outboxRepository.findByIdInAndClaimedByOrderByIdAsc(candidateIds, runId));
+        
+        int delivered = 0;
+        int failed = 0;
+        for (Map.Entry<String, List<NotificationOutbox>> entry : entriesByRecipient.entrySet()) {
+            List<NotificationOutbox> items = entry.getValue();
+            List<Long> ids = items.stream().map(NotificationOutbox::getId).toList();
+            try {
+                transport.send(toDigest(entry.getKey(), items));
+                if (outboxRepository.markSent(ids, runId, LocalDateTime.now()) < ids.size()) {
+                    log.warn("Claim on the notification digest to {} expired before it was recorded as sent; "
+                        + "it may be delivered again", entry.getKey());
+                }
+                delivered++;
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("Failed to deliver notification digest to {} ({} item(s)): {}",
+                    entry.getKey(), items.size(), e.getMessage());
+                outboxRepository.recordFailure(ids, runId, truncate(e.toString()), maxAttempts);
+            }
+        }
+        
+        log.info("Notification dispatch completed: {} digest(s) delivered, {} failed", delivered, failed);
+        return delivered;
+    }
+    
+    @Override
+    public int purgeCompleted() {
+        int removed = outboxRepository.deleteCompletedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (removed > 0) {
+            log.info("Removed {} completed notification outbox entries older than {} days", removed, retentionDays);
+        }
+        return removed;
+    }
+    
+    /**
+     * Coalesce the entries of one recipient into a single message
+     * @param recipient The recipient
+     * @param items Pending entries in queue order
+     * @return The digest; a single entry keeps its own subject
+     */
+    NotificationDigest toDigest(String recipient, List<NotificationOutbox> items) {
+        if (items.size() == 1) {
+            NotificationOutbox item = items.get(0);
+            return new NotificationDigest(recipient, item.getSubject(), item.getBody(), 1);
+        }
+        String subject = items.size() + " contract notifications";
+        String body = items.stream()
+            .map(item -> "- " + item.getSubject() + "\n  " + item.getBody().replace("\n", "\n  "))
+            .collect(Collectors.joining("\n\n"));
+        return new NotificationDigest(recipient, subject, body, items.size());
+    }
+    
+    private static Map<String, List<NotificationOutbox>> groupByRecipient(List<NotificationOutbox> entries) {
+        return entries.stream()
+            .collect(Collectors.groupingBy(NotificationOutbox::getRecipient, LinkedHashMap::new, Collectors.toList()));
+    }
+    
+    private String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.dto.BuildingOccupancyResponse;
+import com.example.apartmentmanagerapi.dto.FlatResponse;
+import com.example.apartmentmanagerapi.dto.OccupancyContractRow;
+import com.example.apartmentmanagerapi.exception.ResourceNotFoundException;
+import com.example.apartmentmanagerapi.repository.ApartmentBuildingRepository;
+import com.example.apartmentmanagerapi.repository.ContractRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Building-wide occupancy analytics.
+ * Loads the contract history of all flats of a building with one query ordered by flat and
+ * start date, and computes the per-flat summaries and the monthly occupancy series in a single
+ * pass over the rows. Results are cached per building and evicted when a contract changes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class OccupancyAnalyticsService implements IOccupancyAnalyticsService {
+    
+    private final ContractRepository contractRepository;
+    private final ApartmentBuildingRepository apartmentBuildingRepository;
+    
+    @Value("${app.analytics.occupancy.timeline-months:24}")
+    private int timelineMonths;
+    
+    @Override
+    @Cacheable(value = "buildingOccupancy", key = "#buildingId")
+    public BuildingOccupancyResponse getBuildingOccupancy(Long buildingId) {
+        if (!apartmentBuildingRepository.existsById(buildingId)) {
+            throw new ResourceNotFoundException("ApartmentBuilding", buildingId);
+        }
+        
+        LocalDate today = LocalDate.now();
+        int months = Math.max(1, timelineMonths);
+        YearMonth firstMonth = YearMonth.from(today).minusMonths(months - 1);
+        int[] occupiedPerMonth = new int[months];
+        
+        List<BuildingOccupancyResponse.FlatOccupancy> flats = new ArrayList<>();
+        FlatAccumulator current = null;
+        for (OccupancyContractRow row : contractRepository.findOccupancyRowsByBuildingId(buildingId)) {
+            if (current == null || !current.flatId.equals(row.getFlatId())) {
+                if (current != null) {
+                    flats.add(current.finish(occupiedPerMonth));
+                }
+                current = new FlatAccumulator(row.getFlatId(), row.getFlatNumber(), firstMonth, months, today);
+            }
+            if (row.hasContract()) {
+                current.add(row);
+            }
+        }
+        if (current != null) {
+            flats.add(current.finish(occupiedPerMonth));
+        }
+        
+        int totalFlats = flats.size();
+        List<BuildingOccupancyResponse.MonthlyOccupancy> timeline = new ArrayList<>(months);
+        for (int i = 0; i < months; i++) {
+            timeline.add(BuildingOccupancyResponse.MonthlyOccupancy.builder()
+                .month(firstMonth.plusMonths(i).atDay(1))
+                .occupiedFlats(occupiedPerMonth[i])
+                .totalFlats(totalFlats)
+                .occupancyRate(percentage(occupiedPerMonth[i], totalFlats))
+                .build());
+        }
+        
+        int occupiedFlats = (int) flats.stream()
+            .filter(BuildingOccupancyResponse.FlatOccupancy::getCurrentlyOccupied)
+            .count();
+        log.debug("Computed occupancy for building {}: {} of {} flats occupied", buildingId, occupiedFlats, totalFlats);
+        
+        return BuildingOccupancyResponse.builder()
+            .buildingId(buildingId)
+            .totalFlats(totalFlats)
+            .occupiedFlats(occupiedFlats)
+            .occupancyRate(percentage(occupiedFlats, totalFlats))
+            .flats(flats)
+            .timeline(timeline)
+            .build();
+    }
+    
+    private static BigDecimal percentage(int part, int total) {
+        if (total == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(part * 100L).divide(BigDecimal.valueOf(total), 2, RoundingMode.HALF_UP);
+    }
+    
+    /**
+     * Running totals for the contracts of one flat, fed in start date order
+     */
+    private static class FlatAccumulator {
+        
+        private final Long flatId;
+        private final String flatNumber;
+        private final YearMonth firstMonth;
+        private final int months;
+        private final LocalDate today;
+        private final BitSet occupiedMonths;
+        
+        private int contracts;
+        private LocalDate firstOccupancyDate;
+        private BigDecimal totalRent = BigDecimal.ZERO;
+        private int totalMonthsOccupied;
+        private LocalDate coveredUntil;
+        private LocalDate lastVacancyDate;
+        private boolean currentlyOccupied;
+        
+        FlatAccumulator(Long flatId, String flatNumber, YearMonth firstMonth, int months, LocalDate today) {
+            this.flatId = flatId;
+            this.flatNumber = flatNumber;
+            this.firstMonth = firstMonth;
+            this.months = months;
+            this.today = today;
+            this.occupiedMonths = new BitSet(months);
+        }
+        
+        void add(OccupancyContractRow row) {
+            contracts++;
+            if (firstOccupancyDate == null) {
+                firstOccupancyDate = row.getStartDate();
+            }
+            if (row.getMonthlyRent() != null) {
+                totalRent = totalRent.add(row.getMonthlyRent());
+            }
+            totalMonthsOccupied += (int) ChronoUnit.MONTHS.between(row.getStartDate(), row.getEndDate()) + 1;
+            
+            LocalDate occupiedUntil = row.getOccupiedUntil();
+            if (occupiedUntil.isBefore(row.getStartDate())) {
+                // Cancelled before it started; the flat was never occupied under it
+                return;
+            }
+            if (coveredUntil != null && row.getStartDate().isAfter(coveredUntil.plusDays(1))) {
+                lastVacancyDate = coveredUntil.plusDays(1);
+            }
+            if (coveredUntil == null || occupiedUntil.isAfter(coveredUntil)) {
+                coveredUntil = occupiedUntil;
+            }
+            if (!today.isBefore(row.getStartDate()) && !today.isAfter(occupiedUntil)) {
+                currentlyOccupied = true;
+            }
+            
+            int from = Math.max(0, (int) firstMonth.until(YearMonth.from(row.getStartDate()), ChronoUnit.MONTHS));
+            int to = Math.min(months - 1, (int) firstMonth.until(YearMonth.from(occupiedUntil), ChronoUnit.MONTHS));
+            if (from <= to) {
+                occupiedMonths.set(from, to + 1);
+            }
+        }
+        
+        BuildingOccupancyResponse.FlatOccupancy finish(int[] occupiedPerMonth) {
+            occupiedMonths.stream().forEach(month -> occupiedPerMonth[month]++);
+            // A flat whose last contract has ended has been vacant since the day after
+            if (coveredUntil != null && coveredUntil.isBefore(today)) {
+                lastVacancyDate = coveredUntil.plusDays(1);
+            }
+            
+            FlatResponse.OccupancySummary summary = FlatResponse.OccupancySummary.builder()
+                .totalContracts(contracts)
+                .firstOccupancyDate(firstOccupancyDate)
+                .lastVacancyDate(lastVacancyDate)
+                .averageRent(contracts == 0 ? BigDecimal.ZERO
+                    : totalRent.divide(BigDecimal.valueOf(contracts), 2, RoundingMode.HALF_UP))
+                .totalMonthsOccupied(totalMonthsOccupied)
+                .build();
+            return BuildingOccupancyResponse.FlatOccupancy.builder()
+                .flatId(flatId)
+                .flatNumber(flatNumber)
+                .currentlyOccupied(currentlyOccupied)
+                .summary(summary)
+                .build();
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.apartmentmanagerapi.service;
 
+import com.example.apartmentmanagerapi.entity.Attachment;
 import com.example.apartmentmanagerapi.entity.Flat;
 import com.example.apartmentmanagerapi.entity.Payment;
 import com.example.apartmentmanagerapi.entity.MonthlyDue;
 import com.example.apartmentmanagerapi.event.PaymentRecordedEvent;
+import com.example.apartmentmanagerapi.repository.AttachmentRepository;
 import com.example.apartmentmanagerapi.repository.FlatRepository;
 import com.example.apartmentmanagerapi.repository.PaymentRepository;
 import com.example.apartmentmanagerapi.repository.MonthlyDueRepository;
@@ -35,6 +37,8 @@ public class PaymentService implements IPaymentService {
     private final FlatRepository flatRepository;
     private final MonthlyDueRepository monthlyDueRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final IBuildingVersionService buildingVersionService;
+    private final AttachmentRepository attachmentRepository;
     
     /**
      * Creates a new payment for a flat.
@@ -90,6 +94,8 @@ public class PaymentService implements IPaymentService {
         eventPublisher.publishEvent(event);
         log.debug("Published PaymentRecordedEvent for payment {}", savedPayment.getId());
         
+        buildingVersionService.bump(flat.getApartmentBuilding().getId());
+        
         log.info("Payment created successfully with ID: {}", savedPayment.getId());
         return savedPayment;
     }
@@ -242,7 +248,9 @@ public class PaymentService implements IPaymentService {
         // 2. Re-allocate with new amount
         // This is complex and typically not allowed in financial systems
         
-        return paymentRepository.save(existingPayment);
+        Payment savedPayment = paymentRepository.save(existingPayment);
+        buildingVersionService.bump(savedPayment.getFlat().getApartmentBuilding().getId());
+        return savedPayment;
     }
     
     /**
@@ -265,7 +273,9 @@ public class PaymentService implements IPaymentService {
         // Reverse payment allocations before deletion
         reversePaymentAllocations(payment);
         
+        attachmentRepository.deleteByOwner(Attachment.OwnerType.PAYMENT, paymentId);
         paymentRepository.delete(payment);
+        buildingVersionService.bump(payment.getFlat().getApartmentBuilding().getId());
         log.info("Payment ID: {} deleted successfully", paymentId);
     }
     
@@ -0,0 +1,268 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.entity.Expense;
+import com.example.apartmentmanagerapi.entity.Flat;
+import com.example.apartmentmanagerapi.entity.MonthlyDue;
+import com.example.apartmentmanagerapi.repository.ExpenseRepository;
+import com.example.apartmentmanagerapi.repository.FlatRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Materializes recurring expenses into dated expense instances.
+ * A recurring expense is the template of its series: the n-th instance is dated n periods after the
+ * template's own expense date, and the template's next occurrence date marks the first instance not yet
+ * created. Due templates are processed in ID-ordered chunks, one transaction per chunk; the instances and,
+ * for distributed templates, the flats' shares of a chunk are inserted with one saveAll per table.
+ * Instances reference their template and are unique per (template, expense date), so a period is never
+ * created twice. Expense caches are invalidated once at the end of a run instead of per instance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecurringExpenseService implements IRecurringExpenseService {
+
+    private static final String MONTHLY_EXPENSE_TOTALS_CACHE = "monthlyExpenseTotals";
+
+    private final ExpenseRepository expenseRepository;
+    private final FlatRepository flatRepository;
+    private final IMonthlyDueService monthlyDueService;
+    private final IBuildingVersionService buildingVersionService;
+    private final CacheManager cacheManager;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.expenses.recurring.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${app.expenses.recurring.max-periods-per-run:12}")
+    private int maxPeriodsPerRun;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void initialize() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public int materializeDueExpenses(LocalDate today) {
+        int size = Math.max(1, chunkSize);
+        Map<Long, Set<YearMonth>> changedMonths = new HashMap<>();
+        int created = 0;
+        long afterId = 0;
+
+        try {
+            while (true) {
+                long from = afterId;
+                ChunkResult chunk = transactionTemplate.execute(status ->
+                        materializeChunk(today, from, size, changedMonths));
+                if (chunk == null || chunk.lastTemplateId() == null) {
+                    break;
+                }
+                created += chunk.created();
+                afterId = chunk.lastTemplateId();
+            }
+        } catch (DataAccessException e) {
+            // Committed chunks stay; the next run resumes with the templates that are still due
+            log.warn("Recurring expense materialization stopped after template {}: {}", afterId, e.getMessage());
+        } finally {
+            evictExpenseCaches(changedMonths);
+        }
+
+        if (created > 0) {
+            log.info("Materialized {} recurring expense instances in {} buildings", created, changedMonths.size());
+        }
+        return created;
+    }
+
+    /**
+     * Materializes the due periods of one chunk of templates within the current transaction
+     */
+    private ChunkResult materializeChunk(LocalDate today, long afterId, int size,
+                                         Map<Long, Set<YearMonth>> changedMonths) {
+        List<Expense> templates = expenseRepository.findDueRecurringTemplates(today, afterId, PageRequest.of(0, size));
+        if (templates.isEmpty()) {
+            return new ChunkResult(null, 0);
+        }
+        Long lastTemplateId = templates.get(templates.size() - 1).getId();
+
+        List<Schedule> schedules = new ArrayList<>(templates.size());
+        LocalDate earliest = today;
+        for (Expense template : templates) {
+            Schedule schedule = schedule(template, today);
+            schedules.add(schedule);
+            if (!schedule.periods().isEmpty() && schedule.periods().get(0).isBefore(earliest)) {
+                earliest = schedule.periods().get(0);
+            }
+        }
+
+        Map<Long, Set<LocalDate>> existing = loadMaterializedPeriods(templates, earliest, today);
+        Map<Long, List<Flat>> flatsByBuilding = loadFlatsForDistribution(schedules);
+
+        List<Expense> instances = new ArrayList<>();
+        Map<Long, List<MonthlyDue>> duesByBuilding = new LinkedHashMap<>();
+        for (Schedule schedule : schedules) {
+            Expense template = schedule.template();
+            Long buildingId = template.getBuilding().getId();
+            Set<LocalDate> done = existing.getOrDefault(template.getId(), Set.of());
+
+            List<Expense> templateInstances = new ArrayList<>();
+            List<MonthlyDue> templateDues = new ArrayList<>();
+            try {
+                for (LocalDate period : schedule.periods()) {
+                    if (done.contains(period)) {
+                        continue;
+                    }
+                    Expense instance = instanceOf(template, period);
+                    templateInstances.add(instance);
+                    List<Flat> flats = flatsByBuilding.getOrDefault(buildingId, List.of());
+                    if (template.getDistributionMethod() != null && !flats.isEmpty()) {
+                        templateDues.addAll(ExpenseService.buildDistributedDues(
+                                instance, flats, template.getDistributionMethod()));
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                // Left due, so the periods are created once the flats' data is complete
+                log.warn("Skipping recurring expense {} of building {}: {}", template.getId(), buildingId, e.getMessage());
+                continue;
+            }
+
+            template.setNextOccurrenceDate(schedule.nextOccurrence());
+            instances.addAll(templateInstances);
+            if (!templateDues.isEmpty()) {
+                duesByBuilding.computeIfAbsent(buildingId, id -> new ArrayList<>()).addAll(templateDues);
+            }
+            for (Expense instance : templateInstances) {
+                changedMonths.computeIfAbsent(buildingId, id -> new HashSet<>())
+                        .add(YearMonth.from(instance.getExpenseDate()));
+            }
+        }
+
+        expenseRepository.saveAll(instances);
+        duesByBuilding.forEach(monthlyDueService::createMonthlyDues);
+        buildingVersionService.bump(instances.stream().map(instance -> instance.getBuilding().getId()).toList());
+        log.debug("Materialized {} recurring expense instances for {} templates up to ID {}",
+                instances.size(), templates.size(), lastTemplateId);
+        return new ChunkResult(lastTemplateId, instances.size());
+    }
+
+    /**
+     * Due periods of a template, capped per run, and the occurrence following them.
+     * Templates without a next occurrence start with their first occurrence on or after today,
+     * so enabling an old series does not backfill its past periods.
+     */
+    private Schedule schedule(Expense template, LocalDate today) {
+        Expense.RecurrenceFrequency frequency = template.getRecurrenceFrequency();
+        LocalDate first = template.getExpenseDate();
+        LocalDate start = template.getNextOccurrenceDate() != null ? template.getNextOccurrenceDate() : today;
+
+        int n = 1;
+        LocalDate occurrence = frequency.occurrence(first, n);
+        while (occurrence.isBefore(start)) {
+            occurrence = frequency.occurrence(first, ++n);
+        }
+
+        List<LocalDate> periods = new ArrayList<>();
+        int limit = Math.max(1, maxPeriodsPerRun);
+        while (!occurrence.isAfter(today) && periods.size() < limit) {
+            periods.add(occurrence);
+            occurrence = frequency.occurrence(first, ++n);
+        }
+        return new Schedule(template, periods, occurrence);
+    }
+
+    /**
+     * Periods of the chunk's templates that already have an instance, by template ID
+     */
+    private Map<Long, Set<LocalDate>> loadMaterializedPeriods(List<Expense> templates, LocalDate from, LocalDate to) {
+        List<Long> templateIds = templates.stream().map(Expense::getId).toList();
+        Map<Long, Set<LocalDate>> periods = new HashMap<>();
+        for (Object[] row : expenseRepository.findMaterializedPeriods(templateIds, from, to)) {
+            periods.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((LocalDate) row[1]);
+        }
+        return periods;
+    }
+
+    /**
+     * Active flats of every building with a distributed template due in the chunk, loaded with one query
+     */
+    private Map<Long, List<Flat>> loadFlatsForDistribution(List<Schedule> schedules) {
+        Set<Long> buildingIds = schedules.stream()
+                .filter(schedule -> !schedule.periods().isEmpty())
+                .map(Schedule::template)
+                .filter(template -> template.getDistributionMethod() != null)
+                .map(template -> template.getBuilding().getId())
+                .collect(Collectors.toSet());
+        if (buildingIds.isEmpty()) {
+            return Map.of();
+        }
+        return flatRepository.findByApartmentBuildingIdInAndIsActiveTrueOrderByApartmentBuildingIdAscIdAsc(buildingIds)
+                .stream()
+                .collect(Collectors.groupingBy(flat -> flat.getApartmentBuilding().getId()));
+    }
+
+    private static Expense instanceOf(Expense template, LocalDate period) {
+        return Expense.builder()
+                .building(template.getBuilding())
+                .category(template.getCategory())
+                .amount(template.getAmount())
+                .expenseDate(period)
+                .description(template.getDescription())
+                .notes(template.getNotes())
+                .vendorName(template.getVendorName())
+                .recordedBy(template.getRecordedBy())
+                .isRecurring(false)
+                .recurringTemplateId(template.getId())
+                .distributionMethod(template.getDistributionMethod())
+                .build();
+    }
+
+    /**
+     * Evicts the changed months' expense totals per building, and clears the caches whose keys
+     * cover arbitrary date ranges once for the whole run
+     */
+    private void evictExpenseCaches(Map<Long, Set<YearMonth>> changedMonths) {
+        if (changedMonths.isEmpty()) {
+            return;
+        }
+        Cache monthlyTotals = cacheManager.getCache(MONTHLY_EXPENSE_TOTALS_CACHE);
+        if (monthlyTotals != null) {
+            changedMonths.forEach((buildingId, months) ->
+                    months.forEach(month -> monthlyTotals.evict(ExpenseService.monthlyTotalKey(buildingId, month))));
+        }
+        for (String cacheName : List.of("expenseCategoryBreakdown", "buildingFinancials")) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private record Schedule(Expense template, List<LocalDate> periods, LocalDate nextOccurrence) {
+    }
+
+    private record ChunkResult(Long lastTemplateId, int created) {
+    }
+}
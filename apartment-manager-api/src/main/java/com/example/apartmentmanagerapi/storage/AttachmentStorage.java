@@ -0,0 +1,217 @@
+package com.example.apartmentmanagerapi.storage;
+
+import com.example.apartmentmanagerapi.exception.TechnicalException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed file store for attachments on local disk.
+ * Each content is stored once under its hex SHA-256 digest, fanned out by the first two byte pairs
+ * (ab/cd/abcd...), so storing the same bytes again only costs the digest computation. Uploads are
+ * streamed through the digest into a temporary file in the same file system and then moved into
+ * place atomically; stored files are never modified, only deleted when no longer referenced.
+ * Storing a content that already exists refreshes its modification time, and deletion only removes
+ * contents last stored before a cutoff. Both run under a per-digest lock, so a delete racing with an
+ * upload of the same bytes either happens first (and the upload stores the file again) or sees the
+ * refreshed time and keeps the file.
+ */
+@Component
+@Slf4j
+public class AttachmentStorage {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+    private static final String TEMP_DIRECTORY = "tmp";
+
+    @Value("${app.attachments.storage.directory:data/attachments}")
+    private String directory;
+
+    /**
+     * Lock stripes by the first byte of the digest
+     */
+    private final Object[] digestLocks = IntStream.range(0, 256).mapToObj(i -> new Object()).toArray();
+
+    /**
+     * Result of storing a content: its digest and length
+     */
+    public record StoredContent(String sha256, long size) {
+    }
+
+    /**
+     * Streams a content to disk and returns its digest.
+     * The content is never held in memory as a whole.
+     *
+     * @param content Content to store; not closed
+     * @return Digest and length of the content
+     */
+    public StoredContent store(InputStream content) {
+        Path root = Paths.get(directory);
+        Path temp = null;
+        try {
+            Path tempDir = Files.createDirectories(root.resolve(TEMP_DIRECTORY));
+            temp = Files.createTempFile(tempDir, "upload-", ".part");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (OutputStream out = Files.newOutputStream(temp, StandardOpenOption.TRUNCATE_EXISTING)) {
+                size = new DigestInputStream(content, digest).transferTo(out);
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+
+            Path target = resolve(sha256);
+            synchronized (lockFor(sha256)) {
+                if (Files.exists(target)) {
+                    // Keeps the content out of the next orphan sweep until the caller has referenced it
+                    Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                    log.debug("Attachment content {} is already stored", sha256);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    try {
+                        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                        temp = null;
+                    } catch (FileAlreadyExistsException e) {
+                        // Stored concurrently by another process sharing the directory
+                        log.debug("Attachment content {} was stored concurrently", sha256);
+                    }
+                }
+            }
+            return new StoredContent(sha256, size);
+        } catch (IOException e) {
+            throw new TechnicalException("AttachmentStorage", "store", e.getMessage(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        } finally {
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    /**
+     * Check whether a content is stored
+     * @param sha256 Content digest
+     * @return true if the file exists
+     */
+    public boolean exists(String sha256) {
+        return Files.exists(resolve(sha256));
+    }
+
+    /**
+     * Copies a byte range of a stored content to a channel with FileChannel.transferTo.
+     * The operating system only moves the bytes directly when the target is a file or socket channel;
+     * for the servlet output stream wrapped by the download endpoint the JDK copies them through a
+     * small transfer buffer, so memory use stays bounded but the copy is not zero-copy
+     *
+     * @param sha256 Content digest
+     * @param position Offset of the first byte
+     * @param count Number of bytes
+     * @param target Channel to write to; not closed
+     * @return Number of bytes transferred
+     */
+    public long transferTo(String sha256, long position, long count, WritableByteChannel target) {
+        try (FileChannel channel = FileChannel.open(resolve(sha256), StandardOpenOption.READ)) {
+            long end = Math.min(position + count, channel.size());
+            long offset = position;
+            while (offset < end) {
+                long transferred = channel.transferTo(offset, end - offset, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                offset += transferred;
+            }
+            return offset - position;
+        } catch (IOException e) {
+            throw new TechnicalException("AttachmentStorage", "transfer", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lists the stored contents last stored before a cutoff, candidates for the orphan sweep.
+     * The stream walks the directory lazily and must be closed.
+     *
+     * @param cutoff Contents stored at or after this time are skipped
+     * @return Digests of the older contents
+     */
+    public Stream<String> findStoredBefore(Instant cutoff) {
+        Path root = Paths.get(directory);
+        if (!Files.isDirectory(root)) {
+            return Stream.empty();
+        }
+        try {
+            // Contents sit at depth 3 (ab/cd/abcd...); temporary uploads never match the digest pattern
+            return Files.find(root, 3, (path, attributes) -> attributes.isRegularFile()
+                            && attributes.lastModifiedTime().toInstant().isBefore(cutoff)
+                            && SHA256_HEX.matcher(path.getFileName().toString()).matches())
+                    .map(path -> path.getFileName().toString());
+        } catch (IOException e) {
+            throw new TechnicalException("AttachmentStorage", "list", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deletes a stored content unless it was stored again since the cutoff.
+     * Callers make sure it is no longer referenced.
+     *
+     * @param sha256 Content digest
+     * @param cutoff Contents stored at or after this time are kept
+     * @return true if the content was deleted
+     */
+    public boolean deleteIfStoredBefore(String sha256, Instant cutoff) {
+        Path file = resolve(sha256);
+        synchronized (lockFor(sha256)) {
+            try {
+                if (!Files.exists(file) || !Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    return false;
+                }
+                Files.delete(file);
+                log.debug("Deleted attachment content {}", sha256);
+                return true;
+            } catch (IOException e) {
+                log.warn("Could not delete attachment content {}: {}", sha256, e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Path of a stored content, e.g. ab/cd/abcd... below the storage directory
+     */
+    Path resolve(String sha256) {
+        if (sha256 == null || !SHA256_HEX.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Invalid content digest: " + sha256);
+        }
+        return Paths.get(directory, sha256.substring(0, 2), sha256.substring(2, 4), sha256);
+    }
+
+    private Object lockFor(String sha256) {
+        return digestLocks[Integer.parseInt(sha256, 0, 2, 16)];
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary upload {}: {}", file, e.getMessage());
+        }
+    }
+}
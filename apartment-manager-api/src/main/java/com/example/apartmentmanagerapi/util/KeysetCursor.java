@@ -0,0 +1,57 @@
+package com.example.apartmentmanagerapi.util;
+
+import com.example.apartmentmanagerapi.exception.ValidationException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by (timestamp, id), encoded as an opaque URL-safe string.
+ */
+@Value
+public class KeysetCursor {
+    
+    private static final String SEPARATOR = "|";
+    
+    /**
+     * Timestamp of the last row returned
+     */
+    LocalDateTime timestamp;
+    
+    /**
+     * ID of the last row returned, breaking ties between equal timestamps
+     */
+    Long id;
+    
+    /**
+     * Encode the cursor for use in a response
+     * @return Opaque cursor string
+     */
+    public String encode() {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode a cursor received from a client
+     * @param cursor Opaque cursor string
+     * @return The decoded cursor
+     * @throws ValidationException if the cursor is malformed
+     */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException("cursor", "Malformed cursor");
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("cursor", "Malformed cursor");
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
 
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Utility class for structured logging with MDC support.
@@ -115,11 +116,16 @@ public class LoggingUtils {
     }
     
     /**
-     * Generate a new correlation ID
-     * @return A new UUID string
+     * Generate a new correlation ID.
+     * Uses ThreadLocalRandom instead of UUID.randomUUID(), which draws from a shared SecureRandom;
+     * correlation IDs only need to be unique, not unpredictable.
+     * @return A new random (version 4 format) UUID string
      */
     private static String generateCorrelationId() {
-        return UUID.randomUUID().toString();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
     }
     
     /**
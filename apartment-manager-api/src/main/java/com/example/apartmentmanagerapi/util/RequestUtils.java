@@ -0,0 +1,33 @@
+package com.example.apartmentmanagerapi.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Utility methods for extracting client information from HTTP requests.
+ */
+public final class RequestUtils {
+    
+    private RequestUtils() {
+    }
+    
+    /**
+     * Resolve the client IP address, honouring proxy headers when present.
+     * The headers are not verified and any client can set them, so the result is only fit for logging and
+     * auditing; security decisions such as login throttling use {@link HttpServletRequest#getRemoteAddr()}.
+     * @param request The HTTP request
+     * @return The client IP address
+     */
+    public static String getClientIpAddress(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            return xForwardedFor.split(",")[0].trim();
+        }
+        
+        String xRealIp = request.getHeader("X-Real-IP");
+        if (xRealIp != null && !xRealIp.isEmpty()) {
+            return xRealIp;
+        }
+        
+        return request.getRemoteAddr();
+    }
+}
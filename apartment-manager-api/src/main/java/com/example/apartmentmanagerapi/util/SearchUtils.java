@@ -0,0 +1,53 @@
+package com.example.apartmentmanagerapi.util;
+
+import java.util.Locale;
+
+/**
+ * Utility methods for building type-ahead search parameters.
+ * Terms are trimmed and lower-cased to match the lower(...) trigram indexes (V8),
+ * and LIKE wildcards typed by the user are escaped so they match literally.
+ */
+public final class SearchUtils {
+    
+    private SearchUtils() {
+    }
+    
+    /**
+     * Normalize a user supplied search term
+     * @param search Raw search input, may be null
+     * @return Trimmed, lower-cased term with inner whitespace collapsed; empty for blank input
+     */
+    public static String normalize(String search) {
+        if (search == null) {
+            return "";
+        }
+        return search.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * LIKE pattern matching the term anywhere
+     * @param term Normalized term
+     * @return Pattern of the form %term%
+     */
+    public static String containsPattern(String term) {
+        return "%" + escapeLike(term) + "%";
+    }
+    
+    /**
+     * LIKE pattern matching values starting with the term
+     * @param term Normalized term
+     * @return Pattern of the form term%
+     */
+    public static String prefixPattern(String term) {
+        return escapeLike(term) + "%";
+    }
+    
+    /**
+     * Escape LIKE wildcards using the default backslash escape character
+     * @param value Raw value
+     * @return Value matching itself literally in a LIKE pattern
+     */
+    public static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.apartmentmanagerapi.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Splits an amount into weighted shares that add up to the amount to the cent.
+ * Every share is rounded down to cents first; the cents left over go one each to the shares
+ * with the largest rounded-off remainders (largest remainder method), earlier shares winning ties.
+ */
+public final class ShareAllocator {
+    
+    private static final int CENTS_SCALE = 2;
+    
+    private ShareAllocator() {
+    }
+    
+    /**
+     * Split an amount into shares proportional to the weights
+     * @param amount Non-negative amount to split
+     * @param weights Non-negative weights, at least one positive
+     * @return One share per weight, in weight order, summing exactly to the amount
+     */
+    public static List<BigDecimal> allocate(BigDecimal amount, List<BigDecimal> weights) {
+        if (amount == null || amount.signum() < 0) {
+            throw new IllegalArgumentException("Amount to allocate must be zero or positive");
+        }
+        BigDecimal totalWeight = BigDecimal.ZERO;
+        for (BigDecimal weight : weights) {
+            if (weight == null || weight.signum() < 0) {
+                throw new IllegalArgumentException("Allocation weights must be zero or positive");
+            }
+            totalWeight = totalWeight.add(weight);
+        }
+        if (totalWeight.signum() == 0) {
+            throw new IllegalArgumentException("At least one allocation weight must be positive");
+        }
+        
+        // Work in whole cents so the reconciliation is exact
+        BigDecimal totalCents = amount.setScale(CENTS_SCALE, RoundingMode.HALF_UP).movePointRight(CENTS_SCALE);
+        long[] cents = new long[weights.size()];
+        BigDecimal[] remainders = new BigDecimal[weights.size()];
+        long allocated = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            BigDecimal[] division = totalCents.multiply(weights.get(i)).divideAndRemainder(totalWeight);
+            cents[i] = division[0].longValueExact();
+            remainders[i] = division[1];
+            allocated += cents[i];
+        }
+        
+        long leftover = totalCents.longValueExact() - allocated;
+        Integer[] order = new Integer[weights.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparing((Integer i) -> remainders[i]).reversed()
+            .thenComparing(Comparator.naturalOrder()));
+        for (int i = 0; i < leftover; i++) {
+            cents[order[i]]++;
+        }
+        
+        List<BigDecimal> shares = new ArrayList<>(weights.size());
+        for (long share : cents) {
+            shares.add(BigDecimal.valueOf(share, CENTS_SCALE));
+        }
+        return shares;
+    }
+}
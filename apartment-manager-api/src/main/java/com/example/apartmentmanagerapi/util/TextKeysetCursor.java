@@ -0,0 +1,69 @@
+package com.example.apartmentmanagerapi.util;
+
+import com.example.apartmentmanagerapi.exception.ValidationException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by (text sort key, id), such as flats by flat number,
+ * encoded as an opaque URL-safe string. The sort direction is part of the cursor, since a
+ * position reached ascending means nothing when continuing descending.
+ */
+@Value
+public class TextKeysetCursor {
+    
+    private static final String SEPARATOR = "|";
+    private static final String ASCENDING = "A";
+    private static final String DESCENDING = "D";
+    
+    /**
+     * Whether the listing is ordered descending
+     */
+    boolean descending;
+    
+    /**
+     * Sort key of the last row returned
+     */
+    String key;
+    
+    /**
+     * ID of the last row returned, breaking ties between equal keys
+     */
+    Long id;
+    
+    /**
+     * Encode the cursor for use in a response
+     * @return Opaque cursor string
+     */
+    public String encode() {
+        String raw = (descending ? DESCENDING : ASCENDING) + SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode a cursor received from a client
+     * @param cursor Opaque cursor string
+     * @return The decoded cursor
+     * @throws ValidationException if the cursor is malformed
+     */
+    public static TextKeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String direction = raw.length() > 1 && raw.startsWith(SEPARATOR, 1) ? raw.substring(0, 1) : "";
+            if (!ASCENDING.equals(direction) && !DESCENDING.equals(direction)) {
+                throw new ValidationException("cursor", "Malformed cursor");
+            }
+            // The ID is numeric, so the last separator ends the key even if the key contains one
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 2) {
+                throw new ValidationException("cursor", "Malformed cursor");
+            }
+            return new TextKeysetCursor(DESCENDING.equals(direction), raw.substring(2, separator),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("cursor", "Malformed cursor");
+        }
+    }
+}
@@ -0,0 +1,6 @@
+-- V10__Pooled_contract_ids.sql
+-- Switch contracts to pooled sequence ids so batch renewals can insert their contracts in JDBC batches
+-- Same scheme as V5: the increment must match allocationSize = 50 in the Contract mapping.
+
+ALTER SEQUENCE contracts_id_seq INCREMENT BY 50;
+SELECT setval('contracts_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM contracts), 1), true);
@@ -0,0 +1,19 @@
+-- V11__Add_recurring_expense_materialization.sql
+-- Columns for the scheduled materialization of recurring expenses (RecurringExpenseService)
+-- A recurring expense acts as the template; each materialized instance references it and is
+-- unique per (template, expense date), so re-running the job for a period inserts nothing.
+
+ALTER TABLE expenses ADD COLUMN IF NOT EXISTS next_occurrence_date DATE;
+ALTER TABLE expenses ADD COLUMN IF NOT EXISTS recurring_template_id BIGINT;
+ALTER TABLE expenses ADD COLUMN IF NOT EXISTS distribution_method VARCHAR(20);
+
+ALTER TABLE expenses ADD CONSTRAINT fk_expense_recurring_template
+    FOREIGN KEY (recurring_template_id) REFERENCES expenses(id) ON DELETE SET NULL;
+ALTER TABLE expenses ADD CONSTRAINT expenses_distribution_method_check
+    CHECK (distribution_method IS NULL OR distribution_method IN ('EQUAL', 'AREA', 'RENT'));
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_expense_recurring_period ON expenses(recurring_template_id, expense_date);
+
+-- Due templates are found by next occurrence; instances and one-off expenses are not indexed
+CREATE INDEX IF NOT EXISTS idx_expense_recurring_due ON expenses(next_occurrence_date, id)
+    WHERE is_recurring AND recurring_template_id IS NULL;
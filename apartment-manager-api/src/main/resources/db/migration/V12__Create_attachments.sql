@@ -0,0 +1,27 @@
+-- V12__Create_attachments.sql
+-- Metadata of receipt and invoice files attached to expenses and payments
+
+-- File contents live on local disk under app.attachments.storage.directory, named by their SHA-256
+-- digest, so identical uploads share one stored file. Each row links one stored file to one expense
+-- or payment; the file is removed when the last row referencing its digest is deleted.
+CREATE SEQUENCE IF NOT EXISTS attachments_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS attachments (
+    id BIGINT PRIMARY KEY DEFAULT nextval('attachments_id_seq'),
+    owner_type VARCHAR(20) NOT NULL CHECK (owner_type IN ('EXPENSE', 'PAYMENT')),
+    owner_id BIGINT NOT NULL,
+    building_id BIGINT NOT NULL REFERENCES apartment_buildings(id) ON DELETE CASCADE,
+    sha256 CHAR(64) NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    uploaded_by VARCHAR(100),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_attachments_owner_sha256 UNIQUE (owner_type, owner_id, sha256)
+);
+
+ALTER SEQUENCE attachments_id_seq OWNED BY attachments.id;
+
+CREATE INDEX IF NOT EXISTS idx_attachments_sha256 ON attachments(sha256);
+
+COMMENT ON TABLE attachments IS 'Expense and payment attachments; contents are stored once per SHA-256 digest on disk';
@@ -0,0 +1,6 @@
+-- V13__Add_flats_keyset_index.sql
+-- Composite index for keyset pagination of a building's flats ordered by (flat_number, id)
+
+-- Each slice of GET /api/apartment-buildings/{buildingId}/flats?cursor=... is a range scan starting
+-- at the cursor, in either direction, instead of sorting all flats of the building per request.
+CREATE INDEX IF NOT EXISTS idx_flats_building_number_id ON flats(apartment_building_id, flat_number, id);
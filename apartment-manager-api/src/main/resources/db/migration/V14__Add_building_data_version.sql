@@ -0,0 +1,7 @@
+-- V14__Add_building_data_version.sql
+-- Per-building data version (IBuildingVersionService)
+
+-- Incremented in the same transaction as every write to a building's flats, contracts, dues, payments
+-- and expenses. Building-scoped GET endpoints derive their ETags from it and answer If-None-Match with
+-- 304 Not Modified after a single primary-key read.
+ALTER TABLE apartment_buildings ADD COLUMN IF NOT EXISTS data_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,9 @@
+-- V15__Add_notification_outbox_claims.sql
+-- Dispatch runs claim outbox entries before sending them, so overlapping runs (several instances,
+-- or a run starting while a slow one is still sending) cannot deliver the same digest twice.
+-- claimed_by identifies the run; a claim older than the dispatch lease is expired and may be taken over.
+
+ALTER TABLE notification_outbox ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(36);
+ALTER TABLE notification_outbox ADD COLUMN IF NOT EXISTS claimed_at TIMESTAMP;
+
+COMMENT ON COLUMN notification_outbox.claimed_by IS 'Dispatch run sending the entry, null when unclaimed';
@@ -0,0 +1,13 @@
+-- V16__Backfill_building_assignments.sql
+-- Building endpoints only admit non-admin users assigned to the building. Before that check existed every
+-- MANAGER and VIEWER could reach every building, so existing users are assigned to all existing buildings to
+-- keep their access. Admins bypass the check and are not assigned. Rows that already exist, active or
+-- deliberately ended, are left alone. From here on assignments are managed through
+-- /api/apartment-buildings/{id}/assignments and managers are assigned to the buildings they create.
+
+INSERT INTO user_building_assignments (user_id, building_id, notes)
+SELECT u.id, b.id, 'Backfilled when building access checks were introduced'
+FROM users u
+CROSS JOIN apartment_buildings b
+WHERE u.role <> 'ADMIN'
+ON CONFLICT (user_id, building_id) DO NOTHING;
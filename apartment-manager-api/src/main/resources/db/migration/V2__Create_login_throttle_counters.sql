@@ -0,0 +1,16 @@
+-- V2__Create_login_throttle_counters.sql
+-- Shared login failure counters used to aggregate per-node throttling state
+
+-- Create login_throttle_counters table
+-- Times are epoch milliseconds; each node upserts its deltas periodically
+CREATE TABLE IF NOT EXISTS login_throttle_counters (
+    throttle_key VARCHAR(200) PRIMARY KEY,
+    failure_count INTEGER NOT NULL DEFAULT 0,
+    window_start BIGINT NOT NULL,
+    locked_until BIGINT NOT NULL DEFAULT 0,
+    updated_at BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_login_throttle_updated_at ON login_throttle_counters(updated_at);
+
+COMMENT ON TABLE login_throttle_counters IS 'Cluster-wide login failure counters keyed by username or client IP';
@@ -0,0 +1,75 @@
+-- V3__Partition_audit_logs.sql
+-- Convert audit_logs to monthly range partitions on timestamp
+-- Retention drops whole partitions instead of deleting rows; time-range queries prune partitions
+
+-- Move the existing table aside, keeping its id sequence
+ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+ALTER TABLE audit_logs_legacy RENAME CONSTRAINT audit_logs_pkey TO audit_logs_legacy_pkey;
+ALTER SEQUENCE audit_logs_id_seq OWNED BY NONE;
+
+DROP INDEX IF EXISTS idx_audit_user_id;
+DROP INDEX IF EXISTS idx_audit_action;
+DROP INDEX IF EXISTS idx_audit_timestamp;
+DROP INDEX IF EXISTS idx_audit_entity_type_id;
+
+-- Create partitioned audit_logs table
+-- The partition key must be part of the primary key
+CREATE TABLE audit_logs (
+    id BIGINT NOT NULL DEFAULT nextval('audit_logs_id_seq'),
+    timestamp TIMESTAMP NOT NULL,
+    user_id BIGINT,
+    username VARCHAR(50) NOT NULL,
+    action VARCHAR(50) NOT NULL,
+    entity_type VARCHAR(50),
+    entity_id BIGINT,
+    description VARCHAR(500),
+    ip_address VARCHAR(45),
+    user_agent VARCHAR(255),
+    correlation_id VARCHAR(36),
+    result VARCHAR(10) NOT NULL,
+    error_message VARCHAR(500),
+    CONSTRAINT audit_logs_pkey PRIMARY KEY (id, timestamp),
+    CONSTRAINT audit_logs_result_check CHECK (result IN ('SUCCESS', 'FAILURE'))
+) PARTITION BY RANGE (timestamp);
+
+ALTER SEQUENCE audit_logs_id_seq OWNED BY audit_logs.id;
+
+-- Create monthly partitions named audit_logs_pYYYYMM from the oldest existing row
+-- through three months ahead; the maintenance job keeps creating future months
+DO $$
+DECLARE
+    partition_month DATE;
+    last_month DATE := (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::date;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(timestamp)), date_trunc('month', CURRENT_DATE))::date
+    INTO partition_month
+    FROM audit_logs_legacy;
+
+    WHILE partition_month <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                       'audit_logs_p' || to_char(partition_month, 'YYYYMM'),
+                       partition_month,
+                       (partition_month + INTERVAL '1 month')::date);
+        partition_month := (partition_month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Safety net for rows outside the pre-created range; expected to stay empty
+CREATE TABLE IF NOT EXISTS audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+-- Copy existing rows and drop the old table
+INSERT INTO audit_logs (id, timestamp, user_id, username, action, entity_type, entity_id,
+                        description, ip_address, user_agent, correlation_id, result, error_message)
+SELECT id, timestamp, user_id, username, action, entity_type, entity_id,
+       description, ip_address, user_agent, correlation_id, result, error_message
+FROM audit_logs_legacy;
+
+DROP TABLE audit_logs_legacy;
+
+-- Partitioned indexes are created on every partition
+CREATE INDEX IF NOT EXISTS idx_audit_user_id ON audit_logs(user_id);
+CREATE INDEX IF NOT EXISTS idx_audit_action ON audit_logs(action);
+CREATE INDEX IF NOT EXISTS idx_audit_timestamp ON audit_logs(timestamp);
+CREATE INDEX IF NOT EXISTS idx_audit_entity_type_id ON audit_logs(entity_type, entity_id);
+
+COMMENT ON TABLE audit_logs IS 'Comprehensive audit trail for all system actions, range partitioned by month on timestamp';
@@ -0,0 +1,17 @@
+-- V4__Add_audit_logs_keyset_indexes.sql
+-- Composite indexes for keyset browsing of audit logs ordered by (timestamp DESC, id DESC)
+-- Each filter column leads its index so a filtered slice is a single index range scan
+
+CREATE INDEX IF NOT EXISTS idx_audit_timestamp_id ON audit_logs(timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_user_timestamp ON audit_logs(user_id, timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_action_timestamp ON audit_logs(action, timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_entity_timestamp ON audit_logs(entity_type, entity_id, timestamp DESC, id DESC);
+
+-- Failures are rare, so a partial index keeps the result filter cheap
+CREATE INDEX IF NOT EXISTS idx_audit_failure_timestamp ON audit_logs(timestamp DESC, id DESC) WHERE result = 'FAILURE';
+
+-- Superseded by the composite indexes above, which share their leading columns
+DROP INDEX IF EXISTS idx_audit_timestamp;
+DROP INDEX IF EXISTS idx_audit_user_id;
+DROP INDEX IF EXISTS idx_audit_action;
+DROP INDEX IF EXISTS idx_audit_entity_type_id;
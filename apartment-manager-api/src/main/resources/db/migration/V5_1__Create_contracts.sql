@@ -0,0 +1,57 @@
+-- V5_1__Create_contracts.sql
+-- Create the contracts table and link monthly dues to their contract
+-- V1 predates contracts, which were only ever created by JPA schema management. Production validates the
+-- schema instead of updating it, so a fresh database needs the table before V6, V8 and V10 alter it.
+-- IF NOT EXISTS keeps this a no-op on databases where JPA already created the table.
+
+CREATE TABLE IF NOT EXISTS contracts (
+    id BIGSERIAL PRIMARY KEY,
+    flat_id BIGINT NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    monthly_rent DECIMAL(10,2) NOT NULL,
+    day_of_month INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    previous_contract_id BIGINT,
+    cancellation_reason VARCHAR(500),
+    cancellation_date TIMESTAMP,
+    cancelled_by_user_id BIGINT,
+    notes TEXT,
+    tenant_name VARCHAR(100),
+    tenant_contact VARCHAR(50),
+    tenant_email VARCHAR(100),
+    security_deposit DECIMAL(10,2),
+    tenant_user_id BIGINT,
+    auto_renew BOOLEAN DEFAULT FALSE,
+    dues_generated BOOLEAN DEFAULT FALSE,
+    status_changed_at TIMESTAMP,
+    status_changed_by VARCHAR(100),
+    status_change_reason VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT fk_contract_flat FOREIGN KEY (flat_id) REFERENCES flats(id) ON DELETE CASCADE,
+    CONSTRAINT fk_contract_previous FOREIGN KEY (previous_contract_id) REFERENCES contracts(id),
+    CONSTRAINT fk_contract_cancelled_by FOREIGN KEY (cancelled_by_user_id) REFERENCES users(id),
+    CONSTRAINT fk_contract_tenant FOREIGN KEY (tenant_user_id) REFERENCES users(id),
+    CONSTRAINT contracts_status_check CHECK (status IN ('PENDING', 'ACTIVE', 'EXPIRED', 'CANCELLED', 'RENEWED', 'SUPERSEDED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_contract_flat_status ON contracts(flat_id, status);
+CREATE INDEX IF NOT EXISTS idx_contract_dates ON contracts(start_date, end_date);
+CREATE INDEX IF NOT EXISTS idx_contract_status ON contracts(status);
+
+ALTER TABLE monthly_dues ADD COLUMN IF NOT EXISTS contract_id BIGINT;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint WHERE conname = 'fk_due_contract'
+    ) THEN
+        ALTER TABLE monthly_dues ADD CONSTRAINT fk_due_contract
+            FOREIGN KEY (contract_id) REFERENCES contracts(id);
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_monthly_dues_contract_id ON monthly_dues(contract_id);
+
+COMMENT ON TABLE contracts IS 'Rental contracts of flats; a renewal or modification links to the contract it replaces';
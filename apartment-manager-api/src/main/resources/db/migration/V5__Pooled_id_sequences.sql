@@ -0,0 +1,16 @@
+-- V5__Pooled_id_sequences.sql
+-- Switch high-volume tables to pooled sequence ids so Hibernate can batch their inserts
+-- With IDENTITY ids Hibernate must execute each INSERT on its own to read the generated key
+
+-- Hibernate's pooled optimizer reserves the block (value - 49 .. value) for each nextval,
+-- so the increment must match allocationSize = 50 in the entity mappings.
+-- The sequences are positioned at the current maximum id so the first block starts above it.
+-- Column defaults stay on nextval(); rows inserted outside Hibernate consume a whole block.
+ALTER SEQUENCE monthly_dues_id_seq INCREMENT BY 50;
+SELECT setval('monthly_dues_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM monthly_dues), 1), true);
+
+ALTER SEQUENCE payments_id_seq INCREMENT BY 50;
+SELECT setval('payments_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM payments), 1), true);
+
+ALTER SEQUENCE expenses_id_seq INCREMENT BY 50;
+SELECT setval('expenses_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM expenses), 1), true);
@@ -0,0 +1,19 @@
+-- V6__Add_contract_overlap_exclusion.sql
+-- Enforce non-overlapping contracts per flat in the database
+-- A GiST exclusion constraint makes each INSERT/UPDATE a single indexed check, and unlike the
+-- findOverlappingContracts pre-check it cannot be raced by concurrent writers.
+-- Statuses and inclusive date bounds match ContractRepository.findOverlappingContracts.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- The contracts table is created by V5_1
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint WHERE conname = 'ex_contracts_flat_period'
+    ) THEN
+        ALTER TABLE contracts ADD CONSTRAINT ex_contracts_flat_period
+            EXCLUDE USING gist (flat_id WITH =, daterange(start_date, end_date, '[]') WITH &&)
+            WHERE (status NOT IN ('CANCELLED', 'SUPERSEDED'));
+    END IF;
+END $$;
@@ -0,0 +1,31 @@
+-- V7__Create_notification_outbox.sql
+-- Outbox for outgoing notifications; producers insert rows and NotificationDispatchService delivers them
+
+-- One row per notification item and recipient. dedup_key identifies the item, e.g.
+-- "contract-expiry:<contractId>:<endDate>:within-30d:<recipient>", so a contract is queued at most
+-- once per recipient and notification window no matter how often the producing job runs.
+-- Pending rows of one recipient are coalesced into a single digest message when dispatched.
+CREATE SEQUENCE IF NOT EXISTS notification_outbox_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id BIGINT PRIMARY KEY DEFAULT nextval('notification_outbox_id_seq'),
+    dedup_key VARCHAR(300) NOT NULL,
+    notification_type VARCHAR(50) NOT NULL,
+    reference_id BIGINT,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body VARCHAR(2000) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP,
+    CONSTRAINT uk_notification_outbox_dedup_key UNIQUE (dedup_key)
+);
+
+ALTER SEQUENCE notification_outbox_id_seq OWNED BY notification_outbox.id;
+
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_status_recipient ON notification_outbox(status, recipient);
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_sent_at ON notification_outbox(sent_at);
+
+COMMENT ON TABLE notification_outbox IS 'Queued notifications with per-item dedup keys, delivered as per-recipient digests';
@@ -0,0 +1,12 @@
+-- V8__Add_trigram_search_indexes.sql
+-- Trigram indexes for the type-ahead tenant, flat and vendor searches
+-- A GIN gin_trgm_ops index serves LIKE '%term%', LIKE 'term%' and the word similarity operator (<%),
+-- so these searches no longer scan the whole table. Expressions match the lower(...) predicates
+-- used by ContractRepository.searchIdsByTenantRanked and ExpenseRepository.searchVendorNamesRanked.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_flats_flat_number_trgm ON flats USING gin (lower(flat_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_expenses_vendor_name_trgm ON expenses USING gin (lower(vendor_name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_contracts_tenant_name_trgm ON contracts USING gin (lower(tenant_name) gin_trgm_ops);
@@ -0,0 +1,31 @@
+-- V9__Create_background_jobs.sql
+-- Durable queue for side effects of domain writes (e.g. generating the dues of a new contract)
+
+-- Jobs are inserted in the same transaction as the write that causes them, so they survive a crash
+-- right after commit. Workers on any node claim due jobs with SELECT ... FOR UPDATE SKIP LOCKED, mark
+-- them RUNNING with a lease (locked_by, locked_at) and run them outside the claiming transaction.
+-- Failed jobs are rescheduled with exponential backoff via run_at; after max_attempts they are kept
+-- as DEAD for inspection. RUNNING jobs whose lease expired (the worker died) are returned to PENDING.
+CREATE SEQUENCE IF NOT EXISTS background_jobs_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS background_jobs (
+    id BIGINT PRIMARY KEY DEFAULT nextval('background_jobs_id_seq'),
+    job_type VARCHAR(50) NOT NULL,
+    payload VARCHAR(2000) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    max_attempts INTEGER NOT NULL,
+    run_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(100),
+    locked_at TIMESTAMP,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+ALTER SEQUENCE background_jobs_id_seq OWNED BY background_jobs.id;
+
+CREATE INDEX IF NOT EXISTS idx_background_jobs_claim ON background_jobs(status, job_type, run_at);
+CREATE INDEX IF NOT EXISTS idx_background_jobs_completed_at ON background_jobs(completed_at);
+
+COMMENT ON TABLE background_jobs IS 'Durable job queue claimed with FOR UPDATE SKIP LOCKED; DEAD rows are dead-lettered jobs';
@@ -0,0 +1,108 @@
+package com.example.apartmentmanagerapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for AsyncConfig
+ * Tests per-workload pool bounds, rejection policies and rejection metrics
+ */
+class AsyncConfigTest {
+
+    private MeterRegistry meterRegistry;
+    private AsyncConfig asyncConfig;
+    private ThreadPoolTaskExecutor executor;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        asyncConfig = new AsyncConfig(meterRegistry);
+        for (String prefix : new String[] {"domainEvent", "notification", "job"}) {
+            ReflectionTestUtils.setField(asyncConfig, prefix + "CoreSize", 1);
+            ReflectionTestUtils.setField(asyncConfig, prefix + "MaxSize", 1);
+            ReflectionTestUtils.setField(asyncConfig, prefix + "QueueCapacity", 1);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private void saturate(ThreadPoolTaskExecutor target) {
+        target.initialize();
+        executor = target;
+        // One task occupies the only thread, the second fills the queue
+        for (int i = 0; i < 2; i++) {
+            target.execute(() -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+    }
+
+    private double rejected(String name) {
+        return meterRegistry.get("executor.rejected").tag("name", name).counter().count();
+    }
+
+    @Test
+    @DisplayName("Job executor - Rejects when saturated and counts the rejection")
+    void jobExecutor_AbortsWhenSaturated() {
+        saturate(asyncConfig.jobExecutor());
+
+        assertThatThrownBy(() -> executor.execute(() -> { }))
+                .isInstanceOf(TaskRejectedException.class);
+        assertThat(rejected(AsyncConfig.JOB_EXECUTOR)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Notification executor - Discards when saturated without failing the caller")
+    void notificationExecutor_DiscardsWhenSaturated() {
+        saturate(asyncConfig.notificationExecutor());
+
+        executor.execute(() -> { });
+
+        assertThat(rejected(AsyncConfig.NOTIFICATION_EXECUTOR)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Domain event executor - Runs on the caller thread when saturated")
+    void domainEventExecutor_CallerRunsWhenSaturated() {
+        saturate(asyncConfig.domainEventExecutor());
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        executor.execute(() -> ranOn.set(Thread.currentThread()));
+
+        assertThat(ranOn.get()).isSameAs(Thread.currentThread());
+        assertThat(rejected(AsyncConfig.DOMAIN_EVENT_EXECUTOR)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Executors - Threads are named after their workload")
+    void executors_HaveWorkloadThreadNames() {
+        assertThat(asyncConfig.domainEventExecutor().getThreadNamePrefix()).isEqualTo("DomainEvent-");
+        assertThat(asyncConfig.notificationExecutor().getThreadNamePrefix()).isEqualTo("Notification-");
+        assertThat(asyncConfig.jobExecutor().getThreadNamePrefix()).isEqualTo("Job-");
+    }
+}
@@ -10,8 +10,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
@@ -31,7 +33,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
 @ActiveProfiles("test")
+@Import({TestDatabaseConfig.class, TestJpaConfig.class})
 @Transactional
 @DisplayName("Security Configuration Integration Tests")
 class SecurityConfigIntegrationTest {
@@ -99,6 +103,22 @@ class SecurityConfigIntegrationTest {
                 .andExpect(status().isUnauthorized());
     }
     
+    /**
+     * Test that health probes and the Prometheus scraper need no token, unlike other actuator endpoints
+     */
+    @Test
+    @DisplayName("Should allow health and Prometheus endpoints without authentication")
+    void testMonitoringEndpointsAccessible() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+        
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk());
+        
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+    }
+    
     /**
      * Test successful user registration
      */
@@ -340,6 +340,28 @@ class GlobalExceptionHandlerTest {
         assertEquals(2, errorResponse.getFieldErrors().size());
     }
     
+    /**
+     * Test handling of the contract overlap exclusion constraint
+     */
+    @Test
+    @DisplayName("Should map contract overlap exclusion violation to ContractOverlapException and return 422")
+    void testHandleDataIntegrityViolationContractOverlap() {
+        // Given
+        org.hibernate.exception.ConstraintViolationException cause = new org.hibernate.exception.ConstraintViolationException(
+                "conflicting key value violates exclusion constraint", null, GlobalExceptionHandler.CONTRACT_OVERLAP_CONSTRAINT);
+        DataIntegrityViolationException exception = new DataIntegrityViolationException("could not execute statement", cause);
+        
+        // When
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDataIntegrityViolation(exception, request);
+        
+        // Then
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        ErrorResponse errorResponse = response.getBody();
+        assertNotNull(errorResponse);
+        assertEquals("Flat has overlapping contracts for the specified period", errorResponse.getMessage());
+        assertEquals(new ContractOverlapException("").getErrorCode(), errorResponse.getErrorCode());
+    }
+    
     /**
      * Test handling of DataIntegrityViolationException with unique constraint
      */
@@ -0,0 +1,186 @@
+package com.example.apartmentmanagerapi.filter;
+
+import com.example.apartmentmanagerapi.service.IBuildingAccessService;
+import com.example.apartmentmanagerapi.service.IBuildingVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BuildingETagInterceptor
+ * Tests ETag emission, 304 answers, version changes, role checks and requests that are left alone
+ */
+@ExtendWith(MockitoExtension.class)
+class BuildingETagInterceptorTest {
+
+    @Mock
+    private IBuildingVersionService buildingVersionService;
+
+    @Mock
+    private IBuildingAccessService buildingAccessService;
+
+    private BuildingETagInterceptor interceptor;
+
+    private HandlerMethod handler;
+
+    /**
+     * Stand-in for building-scoped controller methods
+     */
+    static class FlatReads {
+
+        @PreAuthorize("hasRole('MANAGER')")
+        public String activeFlats(Long buildingId) {
+            return "flats";
+        }
+
+        @PreAuthorize("hasRole('MANAGER') and #buildingId == 1")
+        public String firstBuildingFlats(String fields, Long buildingId) {
+            return "flats";
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setRoleHierarchy(RoleHierarchyImpl.fromHierarchy("ROLE_ADMIN > ROLE_MANAGER"));
+        interceptor = new BuildingETagInterceptor(buildingVersionService, buildingAccessService, expressionHandler);
+        ReflectionTestUtils.setField(interceptor, "enabled", true);
+        handler = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void authenticate(String role) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("user", null, "ROLE_" + role));
+    }
+
+    private static HandlerMethod flatReads(String method, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return new HandlerMethod(new FlatReads(), FlatReads.class.getMethod(method, parameterTypes));
+    }
+
+    private MockHttpServletRequest request(String method, Map<String, String> variables) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/monthly-dues/building/1/debtors");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, variables);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Building reads - ETag is sent, and a matching If-None-Match is answered with 304")
+    void answersNotModified() {
+        when(buildingAccessService.canAccess(1L)).thenReturn(true);
+        when(buildingVersionService.getVersion(1L)).thenReturn(Optional.of(7L));
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("GET", Map.of("buildingId", "1")), first, handler)).isTrue();
+        String etag = first.getHeader("ETag");
+        assertThat(etag).matches("\"7-[0-9a-f]{8}\"");
+        assertThat(first.getHeader("Cache-Control")).isEqualTo("private, no-cache");
+
+        MockHttpServletRequest revalidation = request("GET", Map.of("buildingId", "1"));
+        revalidation.addHeader("If-None-Match", etag);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(revalidation, second, handler)).isFalse();
+        assertThat(second.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    @DisplayName("Building reads - A new data version invalidates the previous ETag")
+    void versionChangeInvalidatesETag() {
+        when(buildingAccessService.canAccess(1L)).thenReturn(true);
+        when(buildingVersionService.getVersion(1L)).thenReturn(Optional.of(7L), Optional.of(8L));
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        interceptor.preHandle(request("GET", Map.of("buildingId", "1")), first, handler);
+
+        MockHttpServletRequest revalidation = request("GET", Map.of("buildingId", "1"));
+        revalidation.addHeader("If-None-Match", first.getHeader("ETag"));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(revalidation, second, handler)).isTrue();
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getHeader("ETag")).startsWith("\"8-");
+    }
+
+    @Test
+    @DisplayName("Other requests - Writes, unscoped paths and inaccessible buildings get no ETag")
+    void leavesOtherRequestsAlone() {
+        when(buildingAccessService.canAccess(2L)).thenReturn(false);
+
+        MockHttpServletResponse write = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("POST", Map.of("buildingId", "1")), write, handler)).isTrue();
+        MockHttpServletResponse unscoped = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("GET", Map.of("flatId", "1")), unscoped, handler)).isTrue();
+        MockHttpServletResponse denied = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("GET", Map.of("buildingId", "2")), denied, handler)).isTrue();
+
+        assertThat(write.getHeader("ETag")).isNull();
+        assertThat(unscoped.getHeader("ETag")).isNull();
+        assertThat(denied.getHeader("ETag")).isNull();
+        verify(buildingVersionService, never()).getVersion(anyLong());
+    }
+
+    @Test
+    @DisplayName("Role checks - A role the handler rejects gets neither an ETag nor a 304")
+    void deniedRoleIsNotAnsweredNotModified() throws NoSuchMethodException {
+        when(buildingAccessService.canAccess(1L)).thenReturn(true);
+        when(buildingVersionService.getVersion(1L)).thenReturn(Optional.of(7L));
+        HandlerMethod managerOnly = flatReads("activeFlats", Long.class);
+
+        authenticate("MANAGER");
+        MockHttpServletResponse managerResponse = new MockHttpServletResponse();
+        interceptor.preHandle(request("GET", Map.of("buildingId", "1")), managerResponse, managerOnly);
+        String etag = managerResponse.getHeader("ETag");
+        assertThat(etag).isNotNull();
+
+        authenticate("TENANT");
+        MockHttpServletRequest probe = request("GET", Map.of("buildingId", "1"));
+        probe.addHeader("If-None-Match", etag);
+        MockHttpServletResponse tenantResponse = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(probe, tenantResponse, managerOnly)).isTrue();
+        assertThat(tenantResponse.getStatus()).isEqualTo(200);
+        assertThat(tenantResponse.getHeader("ETag")).isNull();
+        verify(buildingVersionService, times(1)).getVersion(1L);
+    }
+
+    @Test
+    @DisplayName("Role checks - Role hierarchy and the building ID argument are applied")
+    void roleHierarchyAndBuildingIdAreApplied() throws NoSuchMethodException {
+        when(buildingAccessService.canAccess(anyLong())).thenReturn(true);
+        when(buildingVersionService.getVersion(1L)).thenReturn(Optional.of(7L));
+        HandlerMethod firstBuildingOnly = flatReads("firstBuildingFlats", String.class, Long.class);
+        authenticate("ADMIN");
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        interceptor.preHandle(request("GET", Map.of("buildingId", "1")), first, firstBuildingOnly);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        interceptor.preHandle(request("GET", Map.of("buildingId", "2")), second, firstBuildingOnly);
+
+        assertThat(first.getHeader("ETag")).startsWith("\"7-");
+        assertThat(second.getHeader("ETag")).isNull();
+        verify(buildingVersionService, never()).getVersion(2L);
+    }
+}
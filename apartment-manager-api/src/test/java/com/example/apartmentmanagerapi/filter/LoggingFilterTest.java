@@ -0,0 +1,100 @@
+package com.example.apartmentmanagerapi.filter;
+
+import com.example.apartmentmanagerapi.util.LoggingUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for LoggingFilter
+ * Tests correlation ID propagation, MDC cleanup and access-log sampling decisions
+ */
+class LoggingFilterTest {
+
+    private LoggingFilter loggingFilter;
+
+    @BeforeEach
+    void setUp() {
+        loggingFilter = new LoggingFilter();
+        ReflectionTestUtils.setField(loggingFilter, "accessLogEnabled", true);
+        ReflectionTestUtils.setField(loggingFilter, "successSampleRate", 0.0);
+        ReflectionTestUtils.setField(loggingFilter, "slowRequestThresholdMs", 1000L);
+    }
+
+    @Test
+    @DisplayName("Correlation ID - Generated when absent and echoed in the response")
+    void generatesCorrelationId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/flats");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seenInChain = new AtomicReference<>();
+
+        loggingFilter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                seenInChain.set(LoggingUtils.getCorrelationId());
+            }
+        });
+
+        String correlationId = response.getHeader("X-Correlation-ID");
+        assertThat(correlationId).isEqualTo(seenInChain.get());
+        assertThat(UUID.fromString(correlationId).version()).isEqualTo(4);
+        assertThat(LoggingUtils.getCorrelationId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Correlation ID - Incoming header is reused")
+    void reusesIncomingCorrelationId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/flats");
+        request.addHeader("X-Correlation-ID", "client-supplied-id");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        loggingFilter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getHeader("X-Correlation-ID")).isEqualTo("client-supplied-id");
+    }
+
+    @Test
+    @DisplayName("MDC - Cleared even when the chain throws")
+    void clearsContextOnFailure() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/payments");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThatThrownBy(() -> loggingFilter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                throw new IllegalStateException("boom");
+            }
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(LoggingUtils.getCorrelationId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Sampling - Errors and slow requests are always logged")
+    void alwaysLogsErrorsAndSlowRequests() {
+        assertThat(loggingFilter.shouldLogAccess(500, 5)).isTrue();
+        assertThat(loggingFilter.shouldLogAccess(404, 5)).isTrue();
+        assertThat(loggingFilter.shouldLogAccess(200, 1500)).isTrue();
+        assertThat(loggingFilter.shouldLogAccess(200, 5)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Sampling - Full sample rate logs every success, disabled logs nothing")
+    void sampleRateBounds() {
+        ReflectionTestUtils.setField(loggingFilter, "successSampleRate", 1.0);
+        assertThat(loggingFilter.shouldLogAccess(200, 5)).isTrue();
+
+        ReflectionTestUtils.setField(loggingFilter, "accessLogEnabled", false);
+        assertThat(loggingFilter.shouldLogAccess(500, 5000)).isFalse();
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.apartmentmanagerapi.integration;
+
+import com.example.apartmentmanagerapi.config.TestDatabaseConfig;
+import com.example.apartmentmanagerapi.config.TestJpaConfig;
+import com.example.apartmentmanagerapi.entity.ApartmentBuilding;
+import com.example.apartmentmanagerapi.entity.User;
+import com.example.apartmentmanagerapi.entity.UserBuildingAssignment;
+import com.example.apartmentmanagerapi.repository.ApartmentBuildingRepository;
+import com.example.apartmentmanagerapi.repository.UserBuildingAssignmentRepository;
+import com.example.apartmentmanagerapi.repository.UserRepository;
+import com.example.apartmentmanagerapi.service.IBuildingAccessService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for building-scoped access.
+ * Non-admin users reach a building's endpoints only while they are assigned to it.
+ * Not transactional: assignment changes must be committed to evict the building access cache as in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({TestDatabaseConfig.class, TestJpaConfig.class})
+class BuildingAccessIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApartmentBuildingRepository buildingRepository;
+
+    @Autowired
+    private UserBuildingAssignmentRepository assignmentRepository;
+
+    @Autowired
+    private IBuildingAccessService buildingAccessService;
+
+    private ApartmentBuilding building;
+    private User manager;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        building = new ApartmentBuilding();
+        building.setName("Access Building");
+        building.setAddress("Access Street 1");
+        building = buildingRepository.save(building);
+
+        manager = createUser("access-manager", User.UserRole.MANAGER);
+        createUser("access-admin", User.UserRole.ADMIN);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        assignmentRepository.deleteAll();
+        buildingRepository.deleteAll();
+        userRepository.deleteAll();
+        buildingAccessService.evictAll();
+    }
+
+    private User createUser(String username, User.UserRole role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setEmail(username + "@example.com");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private static RequestPostProcessor asManager() {
+        return user("access-manager").roles("MANAGER");
+    }
+
+    private static RequestPostProcessor asAdmin() {
+        return user("access-admin").roles("ADMIN");
+    }
+
+    @Test
+    @DisplayName("Building access - Assigned manager can use the building's endpoints")
+    void assignedManagerGetsThrough() throws Exception {
+        assignmentRepository.save(UserBuildingAssignment.builder()
+                .user(manager)
+                .building(building)
+                .build());
+
+        mockMvc.perform(get("/api/apartment-buildings/{buildingId}/flats", building.getId()).with(asManager()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Building access - Unassigned manager is forbidden")
+    void unassignedManagerIsForbidden() throws Exception {
+        mockMvc.perform(get("/api/apartment-buildings/{buildingId}/flats", building.getId()).with(asManager()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Building access - Admin assigns and unassigns a manager")
+    void adminManagesAssignments() throws Exception {
+        mockMvc.perform(get("/api/apartment-buildings/{buildingId}/flats", building.getId()).with(asManager()))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(put("/api/apartment-buildings/{id}/assignments/{userId}", building.getId(), manager.getId())
+                        .with(asAdmin()).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("access-manager"))
+                .andExpect(jsonPath("$.assignedBy").value("access-admin"));
+        mockMvc.perform(get("/api/apartment-buildings/{id}/assignments", building.getId()).with(asAdmin()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(get("/api/apartment-buildings/{buildingId}/flats", building.getId()).with(asManager()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/apartment-buildings/{id}/assignments/{userId}", building.getId(), manager.getId())
+                        .with(asAdmin()).with(csrf()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/apartment-buildings/{buildingId}/flats", building.getId()).with(asManager()))
+                .andExpect(status().isForbidden());
+
+        // Reassigning reuses the ended assignment
+        mockMvc.perform(put("/api/apartment-buildings/{id}/assignments/{userId}", building.getId(), manager.getId())
+                        .with(asAdmin()).with(csrf()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/apartment-buildings/{buildingId}/flats", building.getId()).with(asManager()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Building access - Managers cannot manage assignments")
+    void managerCannotAssign() throws Exception {
+        mockMvc.perform(put("/api/apartment-buildings/{id}/assignments/{userId}", building.getId(), manager.getId())
+                        .with(asManager()).with(csrf()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Building access - Manager keeps access to a building they create")
+    void creatorIsAssigned() throws Exception {
+        String body = mockMvc.perform(post("/api/apartment-buildings")
+                        .with(asManager()).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Created Building\",\"address\":\"Created Street 2\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode created = objectMapper.readTree(body);
+
+        mockMvc.perform(get("/api/apartment-buildings/{buildingId}/flats", created.get("id").asLong()).with(asManager()))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.apartmentmanagerapi.integration;
+
+import com.example.apartmentmanagerapi.config.TestDatabaseConfig;
+import com.example.apartmentmanagerapi.config.TestJpaConfig;
+import com.example.apartmentmanagerapi.entity.ApartmentBuilding;
+import com.example.apartmentmanagerapi.entity.Flat;
+import com.example.apartmentmanagerapi.repository.ApartmentBuildingRepository;
+import com.example.apartmentmanagerapi.repository.FlatRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for ETag revalidation of cached building-scoped reads.
+ * A write must change both the ETag and the body, even when the body is served from a cache.
+ * Not transactional: caches are evicted again after commit, as in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({TestDatabaseConfig.class, TestJpaConfig.class})
+class BuildingETagIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApartmentBuildingRepository buildingRepository;
+
+    @Autowired
+    private FlatRepository flatRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private ApartmentBuilding building;
+    private Flat flat;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        building = new ApartmentBuilding();
+        building.setName("ETag Building");
+        building.setAddress("ETag Street 1");
+        building = buildingRepository.save(building);
+
+        flat = new Flat();
+        flat.setFlatNumber("E1");
+        flat.setNumberOfRooms(2);
+        flat.setMonthlyRent(new BigDecimal("1000"));
+        flat.setApartmentBuilding(building);
+        flat.setIsActive(true);
+        flat = flatRepository.save(flat);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        flatRepository.deleteAll();
+        buildingRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    private static RequestPostProcessor asAdmin() {
+        return user("etag-admin").roles("ADMIN");
+    }
+
+    @Test
+    @DisplayName("Building ETag - Revalidation after a write returns the fresh flat list")
+    void writeRefreshesCachedList() throws Exception {
+        String etag = mockMvc.perform(get("/api/apartment-buildings/{buildingId}/flats", building.getId()).with(asAdmin()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].isActive").value(true))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        mockMvc.perform(get("/api/apartment-buildings/{buildingId}/flats", building.getId()).with(asAdmin())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/apartment-buildings/{buildingId}/flats/{flatId}/deactivate", building.getId(), flat.getId())
+                        .with(asAdmin()).with(csrf()))
+                .andExpect(status().isOk());
+
+        String freshEtag = mockMvc.perform(get("/api/apartment-buildings/{buildingId}/flats", building.getId()).with(asAdmin())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].isActive").value(false))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(freshEtag).isNotEqualTo(etag);
+        mockMvc.perform(get("/api/apartment-buildings/{buildingId}/flats", building.getId()).with(asAdmin())
+                        .header(HttpHeaders.IF_NONE_MATCH, freshEtag))
+                .andExpect(status().isNotModified());
+    }
+}
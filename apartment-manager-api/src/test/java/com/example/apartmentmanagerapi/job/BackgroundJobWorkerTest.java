@@ -0,0 +1,133 @@
+package com.example.apartmentmanagerapi.job;
+
+import com.example.apartmentmanagerapi.entity.BackgroundJob;
+import com.example.apartmentmanagerapi.service.IJobQueueService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BackgroundJobWorker
+ * Tests per-type concurrency limits, outcome recording and executor saturation
+ */
+@ExtendWith(MockitoExtension.class)
+class BackgroundJobWorkerTest {
+
+    private static final BackgroundJob.JobType TYPE = BackgroundJob.JobType.GENERATE_CONTRACT_DUES;
+
+    @Mock
+    private IJobQueueService jobQueueService;
+
+    private final List<Runnable> submitted = new ArrayList<>();
+    private final List<BackgroundJob> handled = new ArrayList<>();
+    private final List<BackgroundJob> deadLettered = new ArrayList<>();
+    private RuntimeException failure;
+
+    private final JobHandler handler = new JobHandler() {
+        @Override
+        public Set<BackgroundJob.JobType> getJobTypes() {
+            return EnumSet.of(TYPE);
+        }
+
+        @Override
+        public int getMaxConcurrency() {
+            return 2;
+        }
+
+        @Override
+        public void handle(BackgroundJob job) {
+            handled.add(job);
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        @Override
+        public void onDeadLetter(BackgroundJob job, Exception error) {
+            deadLettered.add(job);
+        }
+    };
+
+    private BackgroundJobWorker worker(Executor executor) {
+        BackgroundJobWorker worker = new BackgroundJobWorker(jobQueueService, List.of(handler), executor);
+        ReflectionTestUtils.setField(worker, "batchSize", 10);
+        return worker;
+    }
+
+    private BackgroundJob job(long id) {
+        return BackgroundJob.builder().id(id).jobType(TYPE).payload("{}").attempts(1).maxAttempts(3).build();
+    }
+
+    @Test
+    @DisplayName("Concurrency - Claims no more jobs of a type than it has free permits")
+    void poll_RespectsConcurrencyLimit() {
+        BackgroundJobWorker worker = worker(submitted::add);
+        when(jobQueueService.claim(eq(TYPE), eq(2), anyString())).thenReturn(List.of(job(1), job(2)));
+
+        assertThat(worker.poll()).isEqualTo(2);
+        assertThat(worker.poll()).isZero();
+        verify(jobQueueService, times(1)).claim(any(), anyInt(), anyString());
+
+        // Finishing one job frees one permit for the next poll
+        when(jobQueueService.claim(eq(TYPE), eq(1), anyString())).thenReturn(List.of(job(3)));
+        submitted.get(0).run();
+        assertThat(worker.poll()).isEqualTo(1);
+        verify(jobQueueService).markSucceeded(any(BackgroundJob.class), eq(worker.getWorkerId()));
+    }
+
+    @Test
+    @DisplayName("Failure - Failed attempts are recorded and dead-lettered jobs reach the handler")
+    void poll_RecordsFailures() {
+        BackgroundJobWorker worker = worker(Runnable::run);
+        failure = new IllegalStateException("Database down");
+        when(jobQueueService.claim(eq(TYPE), eq(2), anyString())).thenReturn(List.of(job(1)));
+        when(jobQueueService.markFailed(any(BackgroundJob.class), anyString(), eq(failure))).thenReturn(true);
+
+        worker.poll();
+
+        assertThat(handled).hasSize(1);
+        assertThat(deadLettered).hasSize(1);
+        verify(jobQueueService, never()).markSucceeded(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Saturation - Jobs the executor rejects are handed back to the queue")
+    void poll_ReleasesRejectedJobs() {
+        BackgroundJobWorker worker = worker(task -> {
+            throw new TaskRejectedException("saturated");
+        });
+        BackgroundJob job = job(1);
+        when(jobQueueService.claim(eq(TYPE), eq(2), anyString())).thenReturn(List.of(job));
+
+        assertThat(worker.poll()).isZero();
+
+        verify(jobQueueService).release(job, worker.getWorkerId());
+        when(jobQueueService.claim(eq(TYPE), eq(2), anyString())).thenReturn(List.of());
+        assertThat(worker.poll()).isZero();
+    }
+
+    @Test
+    @DisplayName("Registration - Two handlers for one job type are rejected")
+    void duplicateHandlers_Rejected() {
+        assertThatThrownBy(() -> new BackgroundJobWorker(jobQueueService, List.of(handler, handler), Runnable::run))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.apartmentmanagerapi.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test helpers for SQL statement budgets.
+ * Wrap a repository call, service call or MockMvc request; statements prepared on the
+ * calling thread are counted through {@link QueryCountInspector}.
+ */
+public final class QueryCountAssertions {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private QueryCountAssertions() {
+    }
+
+    /**
+     * Run an action inside a fresh counting scope
+     * @param action Code to measure
+     * @return Statements prepared by the action
+     */
+    public static QueryCount countQueries(Action action) throws Exception {
+        QueryCount count = QueryCounter.start();
+        try {
+            action.run();
+        } finally {
+            QueryCounter.stop();
+        }
+        return count;
+    }
+
+    /**
+     * Assert that an action prepares at most the given number of statements
+     * @param max Statement budget
+     * @param action Code to measure
+     * @return Statements prepared by the action
+     */
+    public static QueryCount assertMaxQueries(int max, Action action) throws Exception {
+        QueryCount count = countQueries(action);
+        assertThat(count.getTotal())
+                .as("SQL statements prepared, distinct statements: %s", count.getRepeatedStatements(1).keySet())
+                .isLessThanOrEqualTo(max);
+        return count;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.apartmentmanagerapi.metrics;
+
+import com.example.apartmentmanagerapi.config.TestDatabaseConfig;
+import com.example.apartmentmanagerapi.config.TestJpaConfig;
+import com.example.apartmentmanagerapi.entity.AuditLog;
+import com.example.apartmentmanagerapi.repository.AuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.apartmentmanagerapi.metrics.QueryCountAssertions.assertMaxQueries;
+import static com.example.apartmentmanagerapi.metrics.QueryCountAssertions.countQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for QueryCountInspector registration and the query budget assertions
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestDatabaseConfig.class, TestJpaConfig.class})
+class QueryCountInspectorTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            AuditLog auditLog = AuditLog.success(1L, "alice", AuditLog.AuditAction.PAYMENT_CREATED, "Payment " + i);
+            ids.add(entityManager.persistAndFlush(auditLog).getId());
+        }
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Counting - A single query is counted once")
+    void countsSingleQuery() throws Exception {
+        QueryCount count = assertMaxQueries(1, () -> auditLogRepository.findAllById(ids));
+
+        assertThat(count.getTotal()).isEqualTo(1);
+        assertThat(count.getRepeatedStatements(2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Counting - Per-row loading shows up as a repeated statement")
+    void detectsRepeatedStatements() throws Exception {
+        QueryCount count = countQueries(() -> ids.forEach(id -> auditLogRepository.findById(id)));
+
+        assertThat(count.getTotal()).isEqualTo(ids.size());
+        assertThat(count.getRepeatedStatements(3)).hasSize(1).containsValue(ids.size());
+    }
+
+    @Test
+    @DisplayName("Budget - Exceeding the maximum fails the assertion")
+    void failsOverBudget() {
+        assertThatThrownBy(() -> assertMaxQueries(2, () -> ids.forEach(id -> auditLogRepository.findById(id))))
+                .isInstanceOf(AssertionError.class);
+        assertThat(QueryCounter.isActive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Counting - Statements outside a scope are ignored")
+    void ignoresStatementsOutsideScope() {
+        auditLogRepository.findAll();
+
+        assertThat(QueryCounter.current()).isNull();
+    }
+}
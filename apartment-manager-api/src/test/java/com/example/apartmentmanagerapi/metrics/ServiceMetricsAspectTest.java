@@ -0,0 +1,89 @@
+package com.example.apartmentmanagerapi.metrics;
+
+import com.example.apartmentmanagerapi.repository.ContractRepository;
+import com.example.apartmentmanagerapi.repository.NotificationOutboxRepository;
+import com.example.apartmentmanagerapi.service.ContractNotificationService;
+import com.example.apartmentmanagerapi.service.IContractNotificationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ServiceMetricsAspect
+ * Tests operation and outcome tags on service timers
+ */
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+
+    private MeterRegistry meterRegistry;
+    private IContractNotificationService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ContractNotificationService(contractRepository, outboxRepository));
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Timer - Tagged with operation and outcome")
+    void recordsOperation() {
+        service.areNotificationsEnabled(42L);
+
+        Timer timer = meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tag("operation", "ContractNotificationService.areNotificationsEnabled")
+                .tag("outcome", "success")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Timer - Building arguments do not add a tag")
+    void omitsBuildingTag() {
+        service.areNotificationsEnabled(42L);
+        service.areNotificationsEnabled(43L);
+
+        Timer timer = meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tag("operation", "ContractNotificationService.areNotificationsEnabled")
+                .timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.getId().getTag("building")).isNull();
+    }
+
+    @Test
+    @DisplayName("Timer - Failures are tagged with outcome and exception type")
+    void recordsFailures() {
+        when(contractRepository.findExpiringContractRecipients(any(LocalDate.class), any(LocalDate.class)))
+                .thenThrow(new IllegalStateException("Database down"));
+
+        assertThatThrownBy(() -> service.sendExpiryNotifications(30))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tag("operation", "ContractNotificationService.sendExpiryNotifications")
+                .tag("outcome", "error")
+                .tag("exception", "IllegalStateException")
+                .timer().count()).isEqualTo(1);
+    }
+}
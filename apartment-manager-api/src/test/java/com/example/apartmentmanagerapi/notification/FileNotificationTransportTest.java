@@ -0,0 +1,64 @@
+package com.example.apartmentmanagerapi.notification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for FileNotificationTransport
+ * Tests the .eml drop files written in place of SMTP delivery
+ */
+class FileNotificationTransportTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileNotificationTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        transport = new FileNotificationTransport();
+        ReflectionTestUtils.setField(transport, "directory", tempDir.resolve("outbox").toString());
+        ReflectionTestUtils.setField(transport, "from", "no-reply@test.local");
+    }
+
+    @Test
+    @DisplayName("Send - Writes one message file with headers and body")
+    void writesMessageFile() throws IOException {
+        transport.send(new NotificationDigest("jane@test.com", "2 contract notifications", "line 1\nline 2", 2));
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(tempDir.resolve("outbox"))) {
+            files = stream.toList();
+        }
+        assertThat(files).hasSize(1);
+        assertThat(files.get(0).getFileName().toString()).endsWith(".eml");
+        String message = Files.readString(files.get(0));
+        assertThat(message)
+                .contains("From: no-reply@test.local\r\n")
+                .contains("To: jane@test.com\r\n")
+                .contains("Subject: 2 contract notifications\r\n")
+                .endsWith("\r\n\r\nline 1\r\nline 2\r\n");
+    }
+
+    @Test
+    @DisplayName("Send - Write failures surface as delivery exceptions")
+    void failsWhenDirectoryUnusable() throws IOException {
+        Path blocker = Files.createFile(tempDir.resolve("blocker"));
+        ReflectionTestUtils.setField(transport, "directory", blocker.toString());
+
+        assertThatThrownBy(() -> transport.send(new NotificationDigest("jane@test.com", "s", "b", 1)))
+                .isInstanceOf(NotificationDeliveryException.class);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.apartmentmanagerapi.repository;
+
+import com.example.apartmentmanagerapi.config.TestDatabaseConfig;
+import com.example.apartmentmanagerapi.config.TestJpaConfig;
+import com.example.apartmentmanagerapi.entity.ApartmentBuilding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository tests for the building data version behind building ETags
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestDatabaseConfig.class, TestJpaConfig.class})
+class ApartmentBuildingRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ApartmentBuildingRepository apartmentBuildingRepository;
+
+    private ApartmentBuilding building;
+    private ApartmentBuilding otherBuilding;
+
+    @BeforeEach
+    void setUp() {
+        building = entityManager.persist(building("Version Tower"));
+        otherBuilding = entityManager.persist(building("Other Tower"));
+        entityManager.flush();
+    }
+
+    private static ApartmentBuilding building(String name) {
+        ApartmentBuilding building = new ApartmentBuilding();
+        building.setName(name);
+        building.setAddress("1 Version Street");
+        return building;
+    }
+
+    @Test
+    @DisplayName("Data version - Increment changes only the given buildings")
+    void incrementChangesOnlyGivenBuildings() {
+        assertThat(apartmentBuildingRepository.findDataVersionById(building.getId())).contains(0L);
+
+        assertThat(apartmentBuildingRepository.incrementDataVersions(List.of(building.getId()))).isEqualTo(1);
+
+        assertThat(apartmentBuildingRepository.findDataVersionById(building.getId())).contains(1L);
+        assertThat(apartmentBuildingRepository.findDataVersionById(otherBuilding.getId())).contains(0L);
+    }
+
+    @Test
+    @DisplayName("Data version - Saving an edited building keeps the incremented version")
+    void entityUpdateKeepsIncrementedVersion() {
+        building.setAddress("2 Version Street");
+        apartmentBuildingRepository.save(building);
+        apartmentBuildingRepository.incrementDataVersions(List.of(building.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        ApartmentBuilding reloaded = entityManager.find(ApartmentBuilding.class, building.getId());
+        assertThat(reloaded.getAddress()).isEqualTo("2 Version Street");
+        assertThat(reloaded.getDataVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Data version - Deleted buildings have no version")
+    void deletedBuildingHasNoVersion() {
+        apartmentBuildingRepository.deleteById(otherBuilding.getId());
+        entityManager.flush();
+
+        assertThat(apartmentBuildingRepository.findDataVersionById(otherBuilding.getId())).isEmpty();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.apartmentmanagerapi.repository;
+
+import com.example.apartmentmanagerapi.config.TestDatabaseConfig;
+import com.example.apartmentmanagerapi.config.TestJpaConfig;
+import com.example.apartmentmanagerapi.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository tests for attachment cleanup when expenses, payments and flats are deleted
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestDatabaseConfig.class, TestJpaConfig.class})
+class AttachmentRepositoryTest {
+
+    private static final String SHA256 = "185f8db32271fe25f561a6fc938b2e264306ec304eda518007d1764826381969";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    private ApartmentBuilding building;
+    private Flat flat;
+    private Payment payment;
+    private Expense expense;
+
+    @BeforeEach
+    void setUp() {
+        building = new ApartmentBuilding();
+        building.setName("Attachment Tower");
+        building.setAddress("1 Receipt Street");
+        building = entityManager.persist(building);
+
+        flat = new Flat();
+        flat.setFlatNumber("A1");
+        flat.setApartmentBuilding(building);
+        flat.setIsActive(true);
+        flat = entityManager.persist(flat);
+
+        User manager = new User();
+        manager.setUsername("manager");
+        manager.setEmail("manager@test.com");
+        manager.setPassword("password");
+        manager.setRole(User.UserRole.MANAGER);
+        manager = entityManager.persist(manager);
+
+        payment = entityManager.persist(Payment.builder()
+                .flat(flat)
+                .amount(new BigDecimal("100.00"))
+                .paymentMethod(Payment.PaymentMethod.CASH)
+                .build());
+        expense = entityManager.persist(Expense.builder()
+                .building(building)
+                .category(Expense.ExpenseCategory.MAINTENANCE)
+                .amount(new BigDecimal("50.00"))
+                .expenseDate(LocalDate.now())
+                .description("Lift repair")
+                .recordedBy(manager)
+                .build());
+        entityManager.flush();
+    }
+
+    private Attachment attach(Attachment.OwnerType ownerType, Long ownerId) {
+        return entityManager.persist(Attachment.builder()
+                .ownerType(ownerType)
+                .ownerId(ownerId)
+                .buildingId(building.getId())
+                .sha256(SHA256)
+                .fileName("receipt.pdf")
+                .contentType("application/pdf")
+                .sizeBytes(5)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Owner deletes - A flat's payment attachments are deleted, expense attachments kept")
+    void deletesPaymentAttachmentsOfFlat() {
+        attach(Attachment.OwnerType.PAYMENT, payment.getId());
+        Attachment expenseAttachment = attach(Attachment.OwnerType.EXPENSE, expense.getId());
+        entityManager.flush();
+
+        int removed = attachmentRepository.deletePaymentAttachmentsOfFlat(flat.getId());
+        entityManager.clear();
+
+        assertThat(removed).isEqualTo(1);
+        assertThat(attachmentRepository.findAll()).extracting(Attachment::getId)
+                .containsExactly(expenseAttachment.getId());
+    }
+
+    @Test
+    @DisplayName("Orphans - Attachments whose owner no longer exists are deleted")
+    void deletesOrphaned() {
+        Attachment paymentAttachment = attach(Attachment.OwnerType.PAYMENT, payment.getId());
+        Attachment expenseAttachment = attach(Attachment.OwnerType.EXPENSE, expense.getId());
+        // Owner IDs of the other type and of deleted owners
+        attach(Attachment.OwnerType.PAYMENT, expense.getId() + payment.getId() + 1000);
+        attach(Attachment.OwnerType.EXPENSE, expense.getId() + payment.getId() + 1000);
+        entityManager.flush();
+
+        int removed = attachmentRepository.deleteOrphaned();
+        entityManager.clear();
+
+        assertThat(removed).isEqualTo(2);
+        assertThat(attachmentRepository.findAll()).extracting(Attachment::getId)
+                .containsExactlyInAnyOrder(paymentAttachment.getId(), expenseAttachment.getId());
+        assertThat(attachmentRepository.findReferencedSha256(List.of(SHA256))).containsExactly(SHA256);
+    }
+}
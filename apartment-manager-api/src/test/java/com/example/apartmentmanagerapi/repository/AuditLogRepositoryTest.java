@@ -0,0 +1,118 @@
+package com.example.apartmentmanagerapi.repository;
+
+import com.example.apartmentmanagerapi.config.TestDatabaseConfig;
+import com.example.apartmentmanagerapi.config.TestJpaConfig;
+import com.example.apartmentmanagerapi.dto.AuditLogFilter;
+import com.example.apartmentmanagerapi.entity.AuditLog;
+import com.example.apartmentmanagerapi.util.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository tests for keyset browsing of audit logs
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestDatabaseConfig.class, TestJpaConfig.class})
+class AuditLogRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    private final LocalDateTime base = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        // Two entries share each timestamp so ties must be broken by id
+        for (int i = 0; i < 10; i++) {
+            AuditLog auditLog = AuditLog.builder()
+                    .timestamp(base.plusMinutes(i / 2))
+                    .userId(i % 2 == 0 ? 1L : 2L)
+                    .username(i % 2 == 0 ? "alice" : "bob")
+                    .action(i < 6 ? AuditLog.AuditAction.PAYMENT_CREATED : AuditLog.AuditAction.LOGIN_FAILED)
+                    .entityType("Payment")
+                    .entityId((long) i)
+                    .result(i < 6 ? AuditLog.AuditResult.SUCCESS : AuditLog.AuditResult.FAILURE)
+                    .build();
+            entityManager.persist(auditLog);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Keyset - Walking slices returns every row once, newest first")
+    void findByKeyset_WalksAllRowsWithoutGapsOrDuplicates() {
+        List<AuditLog> seen = new ArrayList<>();
+        KeysetCursor after = null;
+        List<AuditLog> slice;
+        do {
+            slice = auditLogRepository.findByKeyset(null, after, 3);
+            seen.addAll(slice);
+            if (!slice.isEmpty()) {
+                AuditLog last = slice.get(slice.size() - 1);
+                after = new KeysetCursor(last.getTimestamp(), last.getId());
+            }
+        } while (slice.size() == 3);
+
+        assertThat(seen).hasSize(10);
+        assertThat(seen).extracting(AuditLog::getId).doesNotHaveDuplicates();
+        for (int i = 1; i < seen.size(); i++) {
+            AuditLog previous = seen.get(i - 1);
+            AuditLog current = seen.get(i);
+            assertThat(current.getTimestamp()).isBeforeOrEqualTo(previous.getTimestamp());
+            if (current.getTimestamp().equals(previous.getTimestamp())) {
+                assertThat(current.getId()).isLessThan(previous.getId());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Keyset - Filters are combined with AND")
+    void findByKeyset_CombinesFilters() {
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .userId(1L)
+                .result(AuditLog.AuditResult.FAILURE)
+                .build();
+
+        List<AuditLog> result = auditLogRepository.findByKeyset(filter, null, 50);
+
+        assertThat(result).hasSize(2)
+                .allSatisfy(auditLog -> {
+                    assertThat(auditLog.getUserId()).isEqualTo(1L);
+                    assertThat(auditLog.getResult()).isEqualTo(AuditLog.AuditResult.FAILURE);
+                });
+    }
+
+    @Test
+    @DisplayName("Keyset - Time range is inclusive at the start and exclusive at the end")
+    void findByKeyset_AppliesTimeRange() {
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .from(base.plusMinutes(1))
+                .to(base.plusMinutes(3))
+                .build();
+
+        List<AuditLog> result = auditLogRepository.findByKeyset(filter, null, 50);
+
+        assertThat(result).hasSize(4)
+                .extracting(AuditLog::getEntityId)
+                .containsExactlyInAnyOrder(2L, 3L, 4L, 5L);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.apartmentmanagerapi.repository;
+
+import com.example.apartmentmanagerapi.config.TestDatabaseConfig;
+import com.example.apartmentmanagerapi.config.TestJpaConfig;
+import com.example.apartmentmanagerapi.entity.BackgroundJob;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository tests for the background job queue: claiming due jobs, lease-guarded outcomes and lease recovery
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestDatabaseConfig.class, TestJpaConfig.class})
+class BackgroundJobRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BackgroundJobRepository jobRepository;
+
+    private BackgroundJob job(BackgroundJob.JobType jobType, LocalDateTime runAt) {
+        return entityManager.persist(BackgroundJob.builder()
+                .jobType(jobType)
+                .payload("{\"contractId\":1}")
+                .maxAttempts(3)
+                .runAt(runAt)
+                .build());
+    }
+
+    private BackgroundJob running(String workerId, int attempts, LocalDateTime lockedAt) {
+        BackgroundJob job = job(BackgroundJob.JobType.GENERATE_CONTRACT_DUES, lockedAt);
+        job.setStatus(BackgroundJob.Status.RUNNING);
+        job.setLockedBy(workerId);
+        job.setLockedAt(lockedAt);
+        job.setAttempts(attempts);
+        return job;
+    }
+
+    @Test
+    @DisplayName("Claim - Only due pending jobs of the type are returned, oldest first")
+    void findClaimable() {
+        LocalDateTime now = LocalDateTime.now();
+        BackgroundJob older = job(BackgroundJob.JobType.GENERATE_CONTRACT_DUES, now.minusMinutes(5));
+        BackgroundJob newer = job(BackgroundJob.JobType.GENERATE_CONTRACT_DUES, now.minusMinutes(1));
+        job(BackgroundJob.JobType.GENERATE_CONTRACT_DUES, now.plusMinutes(5));
+        job(BackgroundJob.JobType.CANCEL_CONTRACT_DUES, now.minusMinutes(10));
+        running("worker-1", 1, now.minusMinutes(10));
+        entityManager.flush();
+
+        List<BackgroundJob> claimable = jobRepository.findClaimable(
+                BackgroundJob.JobType.GENERATE_CONTRACT_DUES, now, PageRequest.of(0, 10));
+
+        assertThat(claimable).extracting(BackgroundJob::getId).containsExactly(older.getId(), newer.getId());
+        assertThat(jobRepository.findClaimable(BackgroundJob.JobType.GENERATE_CONTRACT_DUES, now, PageRequest.of(0, 1)))
+                .extracting(BackgroundJob::getId).containsExactly(older.getId());
+    }
+
+    @Test
+    @DisplayName("Outcomes - Only the worker holding the lease can record the outcome")
+    void outcomesAreLeaseGuarded() {
+        BackgroundJob job = running("worker-1", 1, LocalDateTime.now());
+        entityManager.flush();
+
+        assertThat(jobRepository.markSucceeded(job.getId(), "worker-2", LocalDateTime.now())).isZero();
+        assertThat(jobRepository.markSucceeded(job.getId(), "worker-1", LocalDateTime.now())).isEqualTo(1);
+        entityManager.clear();
+
+        BackgroundJob reloaded = entityManager.find(BackgroundJob.class, job.getId());
+        assertThat(reloaded.getStatus()).isEqualTo(BackgroundJob.Status.SUCCEEDED);
+        assertThat(reloaded.getLockedBy()).isNull();
+        assertThat(reloaded.getCompletedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Release - The job returns to the queue without counting the attempt")
+    void release() {
+        BackgroundJob job = running("worker-1", 2, LocalDateTime.now());
+        entityManager.flush();
+
+        jobRepository.release(job.getId(), "worker-1");
+        entityManager.clear();
+
+        BackgroundJob reloaded = entityManager.find(BackgroundJob.class, job.getId());
+        assertThat(reloaded.getStatus()).isEqualTo(BackgroundJob.Status.PENDING);
+        assertThat(reloaded.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Lease recovery - Expired leases are requeued, or dead-lettered when out of attempts")
+    void recoverExpiredLeases() {
+        LocalDateTime now = LocalDateTime.now();
+        BackgroundJob retryable = running("worker-1", 1, now.minusHours(1));
+        BackgroundJob exhausted = running("worker-1", 3, now.minusHours(1));
+        BackgroundJob active = running("worker-2", 1, now);
+        entityManager.flush();
+
+        int recovered = jobRepository.recoverExpiredLeases(now.minusMinutes(10), "Worker lease expired");
+        entityManager.clear();
+
+        assertThat(recovered).isEqualTo(2);
+        assertThat(entityManager.find(BackgroundJob.class, retryable.getId()).getStatus())
+                .isEqualTo(BackgroundJob.Status.PENDING);
+        assertThat(entityManager.find(BackgroundJob.class, exhausted.getId()).getStatus())
+                .isEqualTo(BackgroundJob.Status.DEAD);
+        assertThat(entityManager.find(BackgroundJob.class, active.getId()).getLockedBy()).isEqualTo("worker-2");
+    }
+}
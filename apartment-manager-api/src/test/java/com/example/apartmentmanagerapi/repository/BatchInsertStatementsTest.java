@@ -0,0 +1,129 @@
+package com.example.apartmentmanagerapi.repository;
+
+import com.example.apartmentmanagerapi.config.TestDatabaseConfig;
+import com.example.apartmentmanagerapi.config.TestJpaConfig;
+import com.example.apartmentmanagerapi.entity.*;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement counts for bulk inserts with the production batching settings.
+ * Monthly dues use a pooled sequence and are inserted in JDBC batches;
+ * flats keep IDENTITY ids and show the one-INSERT-per-row behaviour dues had before.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestDatabaseConfig.class, TestJpaConfig.class})
+class BatchInsertStatementsTest {
+
+    private static final int DUES_PER_CONTRACT = 60;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MonthlyDueRepository monthlyDueRepository;
+
+    @Autowired
+    private FlatRepository flatRepository;
+
+    private ApartmentBuilding building;
+    private Contract contract;
+
+    @BeforeEach
+    void setUp() {
+        // TestJpaConfig disables batching globally; use the production batch size for this session
+        entityManager.getEntityManager().unwrap(Session.class).setJdbcBatchSize(25);
+
+        building = new ApartmentBuilding();
+        building.setName("Batch Building");
+        building.setAddress("Batch Address");
+        building.setDefaultMonthlyFee(new BigDecimal("1000.00"));
+        building = entityManager.persistAndFlush(building);
+
+        Flat flat = new Flat();
+        flat.setFlatNumber("B1");
+        flat.setNumberOfRooms(2);
+        flat.setMonthlyRent(new BigDecimal("1000"));
+        flat.setApartmentBuilding(building);
+        flat.setIsActive(true);
+        flat = entityManager.persistAndFlush(flat);
+
+        contract = entityManager.persistAndFlush(Contract.builder()
+            .flat(flat)
+            .startDate(LocalDate.of(2020, 1, 1))
+            .endDate(LocalDate.of(2024, 12, 31))
+            .monthlyRent(new BigDecimal("1000"))
+            .dayOfMonth(1)
+            .status(Contract.ContractStatus.ACTIVE)
+            .build());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @Test
+    @DisplayName("Monthly dues - A five-year generation is inserted in batches")
+    void monthlyDuesAreBatched() {
+        List<MonthlyDue> dues = new ArrayList<>();
+        for (int i = 0; i < DUES_PER_CONTRACT; i++) {
+            dues.add(MonthlyDue.builder()
+                .flat(contract.getFlat())
+                .contract(contract)
+                .dueAmount(new BigDecimal("1000"))
+                .dueDate(contract.getStartDate().plusMonths(i))
+                .build());
+        }
+
+        Statistics statistics = statistics();
+        monthlyDueRepository.saveAll(dues);
+        entityManager.flush();
+
+        // 60 rows: a few sequence calls for blocks of 50 ids plus at most 3 batches of 25
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(DUES_PER_CONTRACT);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Flats - IDENTITY ids still need one INSERT per row")
+    void identityInsertsAreNotBatched() {
+        List<Flat> flats = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Flat flat = new Flat();
+            flat.setFlatNumber("C" + i);
+            flat.setNumberOfRooms(1);
+            flat.setMonthlyRent(new BigDecimal("500"));
+            flat.setApartmentBuilding(building);
+            flat.setIsActive(true);
+            flats.add(flat);
+        }
+
+        Statistics statistics = statistics();
+        flatRepository.saveAll(flats);
+        entityManager.flush();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(flats.size());
+    }
+}
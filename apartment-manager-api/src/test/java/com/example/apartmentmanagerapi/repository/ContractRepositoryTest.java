@@ -2,6 +2,9 @@ package com.example.apartmentmanagerapi.repository;
 
 import com.example.apartmentmanagerapi.config.TestDatabaseConfig;
 import com.example.apartmentmanagerapi.config.TestJpaConfig;
+import com.example.apartmentmanagerapi.dto.ContractDuesStats;
+import com.example.apartmentmanagerapi.dto.ExpiringContractRecipientRow;
+import com.example.apartmentmanagerapi.dto.OccupancyContractRow;
 import com.example.apartmentmanagerapi.entity.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -29,6 +32,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import static com.example.apartmentmanagerapi.metrics.QueryCountAssertions.assertMaxQueries;
 import static org.assertj.core.api.Assertions.*;
 
 /**
@@ -46,6 +50,9 @@ class ContractRepositoryTest {
     @Autowired
     private ContractRepository contractRepository;
 
+    @Autowired
+    private MonthlyDueRepository monthlyDueRepository;
+
     private ApartmentBuilding building;
     private Flat flat1;
     private Flat flat2;
@@ -198,34 +205,6 @@ class ContractRepositoryTest {
             // Assert
             assertThat(found).isEmpty();
         }
-
-        @Test
-        @DisplayName("Should find all active contracts")
-        void shouldFindAllActiveContracts() {
-            // Arrange
-            Contract anotherActive = Contract.builder()
-                .flat(flat2)
-                .tenant(tenant2)
-                .startDate(LocalDate.now().minusDays(10))
-                .endDate(LocalDate.now().plusMonths(6))
-                .monthlyRent(new BigDecimal("8000"))
-                .dayOfMonth(15)
-                .status(Contract.ContractStatus.ACTIVE)
-                .build();
-            entityManager.persistAndFlush(anotherActive);
-
-            // Act
-            List<Contract> activeContracts = contractRepository.findContractsNeedingStatusUpdate(LocalDate.now().plusYears(1));
-            // Filter only active contracts
-            activeContracts = activeContracts.stream()
-                .filter(c -> c.getStatus() == Contract.ContractStatus.ACTIVE)
-                .toList();
-
-            // Assert
-            assertThat(activeContracts).hasSize(2);
-            assertThat(activeContracts).extracting(Contract::getStatus)
-                .containsOnly(Contract.ContractStatus.ACTIVE);
-        }
     }
 
     @Nested
@@ -320,39 +299,74 @@ class ContractRepositoryTest {
         }
 
         @Test
-        @DisplayName("Should update expired contracts")
-        void shouldUpdateExpiredContracts() {
+        @DisplayName("Should load expiring contracts with active building managers in one query")
+        void shouldLoadExpiringContractRecipientsInOneQuery() throws Exception {
             // Arrange
-            Contract shouldExpire = Contract.builder()
+            Contract expiringContract = Contract.builder()
                 .flat(flat2)
                 .tenant(tenant2)
-                .startDate(LocalDate.now().minusMonths(12))
-                .endDate(LocalDate.now().minusDays(1))
+                .startDate(LocalDate.now().minusMonths(11))
+                .endDate(LocalDate.now().plusDays(10))
                 .monthlyRent(new BigDecimal("8000"))
-                .dayOfMonth(15)
+                .dayOfMonth(20)
                 .status(Contract.ContractStatus.ACTIVE)
+                .tenantName("Jane Roe")
+                .tenantEmail("jane@test.com")
                 .build();
-            entityManager.persistAndFlush(shouldExpire);
-
-            // Act
-            // Find contracts that need to be expired
-            List<Contract> toExpire = contractRepository.findContractsNeedingStatusUpdate(LocalDate.now());
-            List<Long> contractIds = toExpire.stream()
-                .filter(c -> c.getStatus() == Contract.ContractStatus.ACTIVE && c.getEndDate().isBefore(LocalDate.now()))
-                .map(Contract::getId)
-                .toList();
-            
-            int updated = 0;
-            if (!contractIds.isEmpty()) {
-                updated = contractRepository.updateContractStatusBulk(contractIds, Contract.ContractStatus.EXPIRED);
-            }
+            entityManager.persist(expiringContract);
+            entityManager.persist(UserBuildingAssignment.builder()
+                .user(tenant1).building(building).isActive(true).build());
+            entityManager.persist(UserBuildingAssignment.builder()
+                .user(tenant2).building(building).isActive(false).build());
             entityManager.flush();
             entityManager.clear();
 
+            // Act
+            List<ExpiringContractRecipientRow> rows = new ArrayList<>();
+            assertMaxQueries(1, () -> rows.addAll(contractRepository.findExpiringContractRecipients(
+                LocalDate.now(), LocalDate.now().plusDays(30))));
+
+            // Assert
+            assertThat(rows).hasSize(1);
+            ExpiringContractRecipientRow row = rows.get(0);
+            assertThat(row.getContractId()).isEqualTo(expiringContract.getId());
+            assertThat(row.getFlatNumber()).isEqualTo("A102");
+            assertThat(row.getBuildingName()).isEqualTo("Test Building");
+            assertThat(row.getTenantEmail()).isEqualTo("jane@test.com");
+            assertThat(row.getManagerEmail()).isEqualTo("tenant1@test.com");
+        }
+
+        @Test
+        @DisplayName("Should transition only contracts still in the expected status")
+        void shouldTransitionStatusesInBulk() {
+            // Arrange
+            Contract pending = entityManager.persistAndFlush(Contract.builder()
+                .flat(flat2)
+                .tenant(tenant2)
+                .startDate(LocalDate.now().minusDays(1))
+                .endDate(LocalDate.now().plusYears(1))
+                .monthlyRent(new BigDecimal("8000"))
+                .dayOfMonth(1)
+                .status(Contract.ContractStatus.PENDING)
+                .build());
+            List<Long> due = contractRepository.findIdsByStatusAndStartDateOnOrBefore(
+                Contract.ContractStatus.PENDING, LocalDate.now());
+            LocalDateTime changedAt = LocalDateTime.now();
+
+            // Act - the active contract is included by mistake and must be left alone
+            int updated = contractRepository.transitionStatusBulk(
+                List.of(pending.getId(), activeContract.getId()), Contract.ContractStatus.PENDING,
+                Contract.ContractStatus.ACTIVE, changedAt, "SYSTEM", "Contract activated on start date");
+
             // Assert
+            assertThat(due).containsExactly(pending.getId());
             assertThat(updated).isEqualTo(1);
-            Contract expired = contractRepository.findById(shouldExpire.getId()).orElseThrow();
-            assertThat(expired.getStatus()).isEqualTo(Contract.ContractStatus.EXPIRED);
+            Contract activated = contractRepository.findById(pending.getId()).orElseThrow();
+            assertThat(activated.getStatus()).isEqualTo(Contract.ContractStatus.ACTIVE);
+            assertThat(activated.getStatusChangedBy()).isEqualTo("SYSTEM");
+            assertThat(activated.getStatusChangeReason()).isEqualTo("Contract activated on start date");
+            assertThat(contractRepository.findIdsByStatusAndEndDateBefore(Contract.ContractStatus.ACTIVE, LocalDate.now()))
+                .isEmpty();
         }
     }
 
@@ -418,6 +432,22 @@ class ContractRepositoryTest {
             assertThat(chain).extracting(Contract::getId)
                 .containsExactly(renewal.getId(), activeContract.getId());
         }
+
+        @Test
+        @DisplayName("Should load building occupancy rows per flat in start date order with one query")
+        void shouldLoadBuildingOccupancyRowsInOneQuery() throws Exception {
+            // Act
+            List<OccupancyContractRow> rows = new ArrayList<>();
+            assertMaxQueries(1, () -> rows.addAll(contractRepository.findOccupancyRowsByBuildingId(building.getId())));
+
+            // Assert - flat2 has no contracts and yields one empty row
+            assertThat(rows).extracting(OccupancyContractRow::getFlatId)
+                .containsExactly(flat1.getId(), flat1.getId(), flat2.getId());
+            assertThat(rows).extracting(OccupancyContractRow::getContractId)
+                .containsExactly(expiredContract.getId(), activeContract.getId(), null);
+            assertThat(rows.get(1).getStatus()).isEqualTo(Contract.ContractStatus.ACTIVE);
+            assertThat(rows.get(2).hasContract()).isFalse();
+        }
     }
 
     @Nested
@@ -474,6 +504,30 @@ class ContractRepositoryTest {
     @DisplayName("Complex Query Tests")
     class ComplexQueryTests {
 
+        @Test
+        @DisplayName("Should rank tenant names starting with the search term first")
+        void shouldRankPrefixMatchesFirst() {
+            // Arrange
+            entityManager.persistAndFlush(Contract.builder()
+                .flat(flat2)
+                .tenant(tenant2)
+                .startDate(LocalDate.now().minusYears(3))
+                .endDate(LocalDate.now().minusYears(2))
+                .monthlyRent(new BigDecimal("8000"))
+                .dayOfMonth(1)
+                .status(Contract.ContractStatus.EXPIRED)
+                .tenantName("Doe Family")
+                .build());
+
+            // Act
+            Page<Contract> results = contractRepository.searchByTenantName("doe", PageRequest.of(0, 10));
+
+            // Assert
+            assertThat(results.getTotalElements()).isEqualTo(3);
+            assertThat(results.getContent()).extracting(Contract::getTenantName)
+                .containsExactly("Doe Family", "John Doe", "John Doe");
+        }
+
         @Test
         @DisplayName("Should find contracts by building with status filter")
         void shouldFindContractsByBuildingWithStatusFilter() {
@@ -554,6 +608,81 @@ class ContractRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("Dues Statistics Tests")
+    class DuesStatisticsTests {
+
+        private MonthlyDue due(Contract contract, String amount, LocalDate dueDate, MonthlyDue.DueStatus status) {
+            return entityManager.persist(MonthlyDue.builder()
+                .flat(contract.getFlat())
+                .contract(contract)
+                .dueAmount(new BigDecimal(amount))
+                .dueDate(dueDate)
+                .status(status)
+                .build());
+        }
+
+        @Test
+        @DisplayName("Should aggregate dues per contract in one grouped query")
+        void shouldAggregateDuesPerContract() {
+            // Arrange
+            LocalDate today = LocalDate.now();
+            due(activeContract, "1000", today.minusMonths(2), MonthlyDue.DueStatus.PAID);
+            due(activeContract, "1000", today.minusMonths(1), MonthlyDue.DueStatus.UNPAID);
+            due(activeContract, "1200", today.plusDays(10), MonthlyDue.DueStatus.UNPAID);
+            due(activeContract, "1200", today.plusMonths(1).plusDays(10), MonthlyDue.DueStatus.UNPAID);
+            due(expiredContract, "900", today.minusYears(1), MonthlyDue.DueStatus.PAID);
+            entityManager.flush();
+            entityManager.clear();
+
+            // Act
+            List<ContractDuesStats> stats = monthlyDueRepository.getDuesStatsByContractIds(
+                List.of(activeContract.getId(), expiredContract.getId()), today);
+
+            // Assert
+            assertThat(stats).hasSize(2);
+            ContractDuesStats active = stats.stream()
+                .filter(s -> s.getContractId().equals(activeContract.getId())).findFirst().orElseThrow();
+            assertThat(active.getTotalDues()).isEqualTo(4);
+            assertThat(active.getPaidDues()).isEqualTo(1);
+            assertThat(active.getUnpaidDues()).isEqualTo(3);
+            assertThat(active.getTotalAmountDue()).isEqualByComparingTo("4400");
+            assertThat(active.getTotalAmountPaid()).isEqualByComparingTo("1000");
+            assertThat(active.getOutstandingBalance()).isEqualByComparingTo("3400");
+            assertThat(active.getTotalAmountUnpaid()).isEqualByComparingTo("3400");
+            assertThat(active.hasOverdueDues()).isTrue();
+            assertThat(active.getNextDueDate()).isEqualTo(today.plusDays(10));
+        }
+
+        @Test
+        @DisplayName("Should load a building page and its dues figures with a fixed number of queries")
+        void shouldLoadPageWithoutPerContractQueries() throws Exception {
+            // Arrange
+            for (int i = 0; i < 10; i++) {
+                Contract contract = entityManager.persist(Contract.builder()
+                    .flat(flat2)
+                    .tenant(tenant2)
+                    .startDate(LocalDate.now().minusYears(3 + i))
+                    .endDate(LocalDate.now().minusYears(2 + i).minusDays(1))
+                    .monthlyRent(new BigDecimal("8000"))
+                    .dayOfMonth(1)
+                    .status(Contract.ContractStatus.EXPIRED)
+                    .build());
+                due(contract, "8000", contract.getStartDate(), MonthlyDue.DueStatus.PAID);
+            }
+            entityManager.flush();
+            entityManager.clear();
+
+            // Act & Assert - page content with flat and building, count and one grouped dues query
+            assertMaxQueries(3, () -> {
+                Page<Contract> page = contractRepository.findByBuildingId(building.getId(), PageRequest.of(0, 5));
+                List<Long> ids = page.getContent().stream().map(Contract::getId).toList();
+                monthlyDueRepository.getDuesStatsByContractIds(ids, LocalDate.now());
+                page.getContent().forEach(c -> c.getFlat().getApartmentBuilding().getName());
+            });
+        }
+    }
+
     @Nested
     @DisplayName("Edge Case Tests")
     class EdgeCaseTests {
@@ -0,0 +1,143 @@
+package com.example.apartmentmanagerapi.repository;
+
+import com.example.apartmentmanagerapi.config.TestDatabaseConfig;
+import com.example.apartmentmanagerapi.config.TestJpaConfig;
+import com.example.apartmentmanagerapi.entity.NotificationOutbox;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository tests for the notification outbox: dedup lookups, recipient selection, claims and outcome updates
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestDatabaseConfig.class, TestJpaConfig.class})
+class NotificationOutboxRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    private NotificationOutbox entry(String dedupKey, String recipient) {
+        return entityManager.persist(NotificationOutbox.builder()
+                .dedupKey(dedupKey)
+                .notificationType(NotificationOutbox.NotificationType.CONTRACT_EXPIRY)
+                .referenceId(1L)
+                .recipient(recipient)
+                .subject("Subject " + dedupKey)
+                .body("Body " + dedupKey)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Dedup keys - Only already queued keys are returned")
+    void findExistingDedupKeys() {
+        entry("contract-expiry:1", "a@test.com");
+        entry("contract-expiry:2", "a@test.com");
+        entityManager.flush();
+
+        List<String> existing = outboxRepository.findExistingDedupKeys(
+                List.of("contract-expiry:2", "contract-expiry:3"));
+
+        assertThat(existing).containsExactly("contract-expiry:2");
+    }
+
+    @Test
+    @DisplayName("Recipients - Pending recipients are returned longest waiting first")
+    void findClaimableRecipients() {
+        entry("k1", "b@test.com");
+        entry("k2", "a@test.com");
+        entry("k3", "b@test.com");
+        NotificationOutbox sent = entry("k4", "c@test.com");
+        sent.setStatus(NotificationOutbox.Status.SENT);
+        NotificationOutbox claimed = entry("k5", "d@test.com");
+        claimed.setClaimedBy("run-1");
+        claimed.setClaimedAt(LocalDateTime.now());
+        entityManager.flush();
+
+        LocalDateTime claimedBefore = LocalDateTime.now().minusMinutes(10);
+        List<String> recipients = outboxRepository.findClaimableRecipients(claimedBefore, PageRequest.of(0, 10));
+
+        assertThat(recipients).containsExactly("b@test.com", "a@test.com");
+        assertThat(outboxRepository.findClaimableRecipients(claimedBefore, PageRequest.of(0, 1)))
+                .containsExactly("b@test.com");
+    }
+
+    @Test
+    @DisplayName("Claims - Each entry is claimed by one run until its claim expires")
+    void claim() {
+        NotificationOutbox first = entry("k1", "a@test.com");
+        NotificationOutbox second = entry("k2", "a@test.com");
+        entityManager.flush();
+        List<Long> ids = List.of(first.getId(), second.getId());
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(outboxRepository.claim(List.of(first.getId()), "run-1", now, now.minusMinutes(10))).isEqualTo(1);
+        assertThat(outboxRepository.claim(ids, "run-2", now, now.minusMinutes(10))).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(outboxRepository.findByIdInAndClaimedByOrderByIdAsc(ids, "run-2"))
+                .extracting(NotificationOutbox::getId).containsExactly(second.getId());
+        assertThat(outboxRepository.findClaimable(List.of("a@test.com"), now.minusMinutes(10))).isEmpty();
+        // Once the lease has passed, a later run takes over the claims of a run that never finished
+        assertThat(outboxRepository.claim(ids, "run-3", now.plusMinutes(11), now.plusMinutes(1))).isEqualTo(2);
+        assertThat(outboxRepository.markSent(ids, "run-1", now)).isZero();
+    }
+
+    @Test
+    @DisplayName("Outcomes - Failures count attempts and give up at the limit, successes are marked sent")
+    void recordOutcomes() {
+        NotificationOutbox first = entry("k1", "a@test.com");
+        NotificationOutbox second = entry("k2", "b@test.com");
+        second.setAttempts(2);
+        entityManager.flush();
+
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.claim(List.of(first.getId(), second.getId()), "run-1", now, now.minusMinutes(10));
+        outboxRepository.recordFailure(List.of(first.getId(), second.getId()), "run-1", "SMTP down", 3);
+        outboxRepository.claim(List.of(first.getId()), "run-2", now, now.minusMinutes(10));
+        outboxRepository.markSent(List.of(first.getId()), "run-2", now);
+        entityManager.clear();
+
+        NotificationOutbox reloadedFirst = entityManager.find(NotificationOutbox.class, first.getId());
+        NotificationOutbox reloadedSecond = entityManager.find(NotificationOutbox.class, second.getId());
+        assertThat(reloadedFirst.getStatus()).isEqualTo(NotificationOutbox.Status.SENT);
+        assertThat(reloadedFirst.getAttempts()).isEqualTo(1);
+        assertThat(reloadedFirst.getSentAt()).isNotNull();
+        assertThat(reloadedFirst.getClaimedBy()).isNull();
+        assertThat(reloadedSecond.getStatus()).isEqualTo(NotificationOutbox.Status.FAILED);
+        assertThat(reloadedSecond.getAttempts()).isEqualTo(3);
+        assertThat(reloadedSecond.getLastError()).isEqualTo("SMTP down");
+    }
+
+    @Test
+    @DisplayName("Purge - Only completed entries before the cutoff are removed")
+    void deleteCompletedBefore() {
+        NotificationOutbox pending = entry("k1", "a@test.com");
+        NotificationOutbox sent = entry("k2", "a@test.com");
+        sent.setStatus(NotificationOutbox.Status.SENT);
+        entityManager.flush();
+
+        int removed = outboxRepository.deleteCompletedBefore(LocalDateTime.now().plusMinutes(1));
+        entityManager.clear();
+
+        assertThat(removed).isEqualTo(1);
+        assertThat(entityManager.find(NotificationOutbox.class, pending.getId())).isNotNull();
+        assertThat(entityManager.find(NotificationOutbox.class, sent.getId())).isNull();
+    }
+}
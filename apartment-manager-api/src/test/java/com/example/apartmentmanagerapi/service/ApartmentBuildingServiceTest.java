@@ -7,6 +7,7 @@ import com.example.apartmentmanagerapi.exception.DuplicateResourceException;
 import com.example.apartmentmanagerapi.exception.ResourceNotFoundException;
 import com.example.apartmentmanagerapi.mapper.ApartmentBuildingMapper;
 import com.example.apartmentmanagerapi.repository.ApartmentBuildingRepository;
+import com.example.apartmentmanagerapi.repository.AttachmentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,6 +23,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -38,6 +40,15 @@ class ApartmentBuildingServiceTest {
     @Mock
     private ApartmentBuildingMapper apartmentBuildingMapper;
 
+    @Mock
+    private IBuildingVersionService buildingVersionService;
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private IBuildingAssignmentService buildingAssignmentService;
+
     @InjectMocks
     private ApartmentBuildingService apartmentBuildingService;
 
@@ -89,6 +100,7 @@ class ApartmentBuildingServiceTest {
         verify(apartmentBuildingMapper).toEntity(testRequest);
         verify(apartmentBuildingRepository).save(testBuilding);
         verify(apartmentBuildingMapper).toResponse(testBuilding);
+        verify(buildingAssignmentService).assignCurrentUser(1L);
     }
 
     @Test
@@ -222,6 +234,7 @@ class ApartmentBuildingServiceTest {
         verify(apartmentBuildingMapper).updateEntityFromRequest(testRequest, testBuilding);
         verify(apartmentBuildingRepository).save(testBuilding);
         verify(apartmentBuildingMapper).toResponse(testBuilding);
+        verify(buildingVersionService).bump(buildingId);
     }
 
     @Test
@@ -266,6 +279,7 @@ class ApartmentBuildingServiceTest {
         // Verify
         verify(apartmentBuildingRepository).findById(buildingId);
         verify(apartmentBuildingRepository, never()).save(any());
+        verify(buildingVersionService, never()).bump(anyLong());
     }
 
     @Test
@@ -309,6 +323,8 @@ class ApartmentBuildingServiceTest {
         // Assert & Verify
         verify(apartmentBuildingRepository).existsById(buildingId);
         verify(apartmentBuildingRepository).deleteById(buildingId);
+        verify(buildingVersionService).bump(buildingId);
+        verify(attachmentRepository).deleteByBuildingId(buildingId);
     }
 
     @Test
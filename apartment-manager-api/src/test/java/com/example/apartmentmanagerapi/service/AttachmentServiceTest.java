@@ -0,0 +1,182 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.entity.Attachment;
+import com.example.apartmentmanagerapi.exception.ResourceNotFoundException;
+import com.example.apartmentmanagerapi.exception.UnauthorizedException;
+import com.example.apartmentmanagerapi.exception.ValidationException;
+import com.example.apartmentmanagerapi.repository.AttachmentRepository;
+import com.example.apartmentmanagerapi.repository.ExpenseRepository;
+import com.example.apartmentmanagerapi.repository.PaymentRepository;
+import com.example.apartmentmanagerapi.storage.AttachmentStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AttachmentService
+ * Tests owner resolution, access checks, per-owner deduplication and the unreferenced content sweep
+ */
+@ExtendWith(MockitoExtension.class)
+class AttachmentServiceTest {
+
+    private static final String SHA256 = "185f8db32271fe25f561a6fc938b2e264306ec304eda518007d1764826381969";
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private IBuildingAccessService buildingAccessService;
+
+    @Mock
+    private AttachmentStorage storage;
+
+    @InjectMocks
+    private AttachmentService attachmentService;
+
+    private final InputStream content = new ByteArrayInputStream("Hello".getBytes());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(attachmentService, "allowedContentTypes", Set.of("application/pdf", "image/jpeg"));
+    }
+
+    private Attachment attachment(Long id) {
+        return Attachment.builder()
+                .id(id)
+                .ownerType(Attachment.OwnerType.EXPENSE)
+                .ownerId(10L)
+                .buildingId(1L)
+                .sha256(SHA256)
+                .fileName("invoice.pdf")
+                .contentType("application/pdf")
+                .sizeBytes(5)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Attach - Stores the content and records its metadata")
+    void attachStoresContent() {
+        when(paymentRepository.findBuildingIdById(20L)).thenReturn(Optional.of(1L));
+        when(buildingAccessService.canAccess(1L)).thenReturn(true);
+        when(storage.store(content)).thenReturn(new AttachmentStorage.StoredContent(SHA256, 5));
+        when(attachmentRepository.findByOwnerTypeAndOwnerIdAndSha256(Attachment.OwnerType.PAYMENT, 20L, SHA256))
+                .thenReturn(Optional.empty());
+        when(attachmentRepository.save(any(Attachment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Attachment result = attachmentService.attach(Attachment.OwnerType.PAYMENT, 20L,
+                "C:\\scans\\receipt.jpg", "image/JPEG; name=receipt.jpg", content);
+
+        ArgumentCaptor<Attachment> saved = ArgumentCaptor.forClass(Attachment.class);
+        verify(attachmentRepository).save(saved.capture());
+        assertThat(result).isSameAs(saved.getValue());
+        assertThat(result.getBuildingId()).isEqualTo(1L);
+        assertThat(result.getSha256()).isEqualTo(SHA256);
+        assertThat(result.getSizeBytes()).isEqualTo(5);
+        assertThat(result.getFileName()).isEqualTo("receipt.jpg");
+        assertThat(result.getContentType()).isEqualTo("image/jpeg");
+    }
+
+    @Test
+    @DisplayName("Attach - The same content attached again returns the existing attachment")
+    void attachSameContentAgain() {
+        Attachment existing = attachment(5L);
+        when(expenseRepository.findBuildingIdById(10L)).thenReturn(Optional.of(1L));
+        when(buildingAccessService.canAccess(1L)).thenReturn(true);
+        when(storage.store(content)).thenReturn(new AttachmentStorage.StoredContent(SHA256, 5));
+        when(attachmentRepository.findByOwnerTypeAndOwnerIdAndSha256(Attachment.OwnerType.EXPENSE, 10L, SHA256))
+                .thenReturn(Optional.of(existing));
+
+        Attachment result = attachmentService.attach(Attachment.OwnerType.EXPENSE, 10L,
+                "invoice.pdf", "application/pdf", content);
+
+        assertThat(result).isSameAs(existing);
+        verify(attachmentRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Attach - Unsupported types are rejected before anything is stored")
+    void attachRejectsUnsupportedType() {
+        when(expenseRepository.findBuildingIdById(10L)).thenReturn(Optional.of(1L));
+        when(buildingAccessService.canAccess(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> attachmentService.attach(Attachment.OwnerType.EXPENSE, 10L,
+                "run.sh", "application/x-sh", content))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(storage);
+    }
+
+    @Test
+    @DisplayName("Attach - Owners of inaccessible buildings or unknown owners are rejected")
+    void attachChecksOwner() {
+        when(expenseRepository.findBuildingIdById(10L)).thenReturn(Optional.of(2L));
+        when(expenseRepository.findBuildingIdById(11L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> attachmentService.attach(Attachment.OwnerType.EXPENSE, 10L,
+                "invoice.pdf", "application/pdf", content))
+                .isInstanceOf(UnauthorizedException.class);
+        assertThatThrownBy(() -> attachmentService.attach(Attachment.OwnerType.EXPENSE, 11L,
+                "invoice.pdf", "application/pdf", content))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(storage);
+    }
+
+    @Test
+    @DisplayName("Delete - Only the row is deleted, the content is left to the sweep")
+    void deleteLeavesContentToSweep() {
+        Attachment attachment = attachment(5L);
+        when(attachmentRepository.findById(5L)).thenReturn(Optional.of(attachment));
+        when(buildingAccessService.canAccess(1L)).thenReturn(true);
+
+        attachmentService.deleteAttachment(5L);
+
+        verify(attachmentRepository).delete(attachment);
+        verifyNoInteractions(storage);
+    }
+
+    @Test
+    @DisplayName("Purge - Orphaned rows go first, then unreferenced contents older than the grace period")
+    void purgesUnreferencedContent() {
+        String orphan = "a".repeat(64);
+        ReflectionTestUtils.setField(attachmentService, "purgeGraceHours", 24L);
+        when(storage.findStoredBefore(any(Instant.class))).thenReturn(Stream.of(SHA256, orphan));
+        when(attachmentRepository.findReferencedSha256(List.of(SHA256, orphan))).thenReturn(List.of(SHA256));
+        when(storage.deleteIfStoredBefore(eq(orphan), any(Instant.class))).thenReturn(true);
+
+        int removed = attachmentService.purgeUnreferencedContent();
+
+        assertThat(removed).isEqualTo(1);
+        verify(attachmentRepository).deleteOrphaned();
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(storage).deleteIfStoredBefore(eq(orphan), cutoff.capture());
+        verify(storage, never()).deleteIfStoredBefore(eq(SHA256), any(Instant.class));
+        assertThat(cutoff.getValue()).isBefore(Instant.now().minus(Duration.ofHours(23)));
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.entity.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AuditLogBatchWriter
+ * Tests batching, overflow policies and metrics
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditLogBatchWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path tempDir;
+
+    private MeterRegistry meterRegistry;
+    private AuditLogBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = new AuditLogBatchWriter(jdbcTemplate, transactionManager, meterRegistry, objectMapper);
+        ReflectionTestUtils.setField(writer, "capacity", 4);
+        ReflectionTestUtils.setField(writer, "batchSize", 10);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 50L);
+        ReflectionTestUtils.setField(writer, "overflowPolicy", AuditLogBatchWriter.OverflowPolicy.DROP);
+        ReflectionTestUtils.setField(writer, "blockTimeoutMs", 10L);
+        ReflectionTestUtils.setField(writer, "spillFile", tempDir.resolve("audit-spill.jsonl").toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    private AuditLog entry(String description) {
+        return AuditLog.success(1L, "testuser", AuditLog.AuditAction.PAYMENT_CREATED, description);
+    }
+
+    @Test
+    @DisplayName("Writer - Flushes queued entries as one batch after the interval")
+    @SuppressWarnings("unchecked")
+    void flushesQueuedEntriesInOneBatch() {
+        writer.initialize();
+        writer.start();
+
+        writer.enqueue(entry("first"));
+        writer.enqueue(entry("second"));
+        writer.enqueue(entry("third"));
+
+        verify(jdbcTemplate, timeout(2000)).batchUpdate(eq(AuditLogBatchWriter.INSERT_SQL),
+                argThat((Collection<AuditLog> batch) -> batch.size() == 3), eq(3),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(meterRegistry.get("audit.writer.batch.size").summary().totalAmount()).isEqualTo(3);
+        assertThat(writer.getQueueDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("Overflow DROP - Entries beyond capacity are dropped and counted")
+    void dropPolicyCountsDroppedEntries() {
+        writer.initialize();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(writer.enqueue(entry("queued " + i))).isTrue();
+        }
+        assertThat(writer.enqueue(entry("overflow"))).isFalse();
+
+        assertThat(writer.getQueueDepth()).isEqualTo(4);
+        assertThat(meterRegistry.get("audit.writer.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.writer.queue.depth").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Overflow BLOCK - Gives up after the block timeout")
+    void blockPolicyDropsAfterTimeout() {
+        ReflectionTestUtils.setField(writer, "overflowPolicy", AuditLogBatchWriter.OverflowPolicy.BLOCK);
+        writer.initialize();
+
+        for (int i = 0; i < 4; i++) {
+            writer.enqueue(entry("queued " + i));
+        }
+
+        assertThat(writer.enqueue(entry("overflow"))).isFalse();
+        assertThat(meterRegistry.get("audit.writer.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Overflow SPILL - Entries beyond capacity are appended to the spill file")
+    void spillPolicyWritesToFile() throws Exception {
+        ReflectionTestUtils.setField(writer, "overflowPolicy", AuditLogBatchWriter.OverflowPolicy.SPILL);
+        writer.initialize();
+
+        for (int i = 0; i < 4; i++) {
+            writer.enqueue(entry("queued " + i));
+        }
+
+        assertThat(writer.enqueue(entry("spilled"))).isTrue();
+
+        Path spillFile = tempDir.resolve("audit-spill.jsonl");
+        assertThat(Files.readAllLines(spillFile)).hasSize(1).first().asString().contains("spilled");
+        assertThat(meterRegistry.get("audit.writer.spilled").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Failed batch - Counted as failed when spilling is not enabled")
+    @SuppressWarnings("unchecked")
+    void failedBatchIsCounted() {
+        writer.initialize();
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new RuntimeException("Database unavailable"));
+
+        writer.enqueue(entry("lost"));
+        writer.start();
+
+        verify(jdbcTemplate, timeout(2000)).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        writer.stop();
+        assertThat(meterRegistry.get("audit.writer.failed").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.apartmentmanagerapi.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AuditPartitionService
+ * Tests partition naming, pre-creation and retention by partition drop
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditPartitionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AuditPartitionService auditPartitionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(auditPartitionService, "lockTimeoutMs", 5000L);
+        auditPartitionService.initialize();
+        auditPartitionService.setClock(Clock.fixed(Instant.parse("2024-11-15T10:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenDatabase(String product, boolean partitioned) {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(product);
+        lenient().when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq("audit_logs")))
+                .thenReturn(partitioned);
+    }
+
+    @Test
+    @DisplayName("Partition names - Round trip between month and name")
+    void partitionNameRoundTrip() {
+        assertThat(AuditPartitionService.partitionName(YearMonth.of(2024, 3))).isEqualTo("audit_logs_p202403");
+        assertThat(AuditPartitionService.parsePartitionMonth("audit_logs_p202403")).isEqualTo(YearMonth.of(2024, 3));
+        assertThat(AuditPartitionService.parsePartitionMonth("audit_logs_default")).isNull();
+        assertThat(AuditPartitionService.parsePartitionMonth("audit_logs_pbad")).isNull();
+    }
+
+    @Test
+    @DisplayName("Non-PostgreSQL database - Maintenance is a no-op")
+    void nonPostgresIsNoOp() {
+        givenDatabase("H2", false);
+
+        assertThat(auditPartitionService.isPartitioned()).isFalse();
+        assertThat(auditPartitionService.createFuturePartitions(3)).isZero();
+        assertThat(auditPartitionService.dropPartitionsBefore(LocalDateTime.now())).isZero();
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class), any());
+    }
+
+    @Test
+    @DisplayName("Create future partitions - Only missing months are created")
+    void createFuturePartitions_CreatesMissingMonths() {
+        givenDatabase("PostgreSQL", true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("audit_logs")))
+                .thenReturn(List.of("audit_logs_default", "audit_logs_p202411", "audit_logs_p202412"));
+
+        int created = auditPartitionService.createFuturePartitions(3);
+
+        assertThat(created).isEqualTo(2);
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS audit_logs_p202501 PARTITION OF audit_logs " +
+                "FOR VALUES FROM ('2025-01-01') TO ('2025-02-01')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS audit_logs_p202502 PARTITION OF audit_logs " +
+                "FOR VALUES FROM ('2025-02-01') TO ('2025-03-01')");
+    }
+
+    @Test
+    @DisplayName("Drop partitions - Only partitions entirely before the cutoff are dropped")
+    void dropPartitionsBefore_DropsExpiredOnly() {
+        givenDatabase("PostgreSQL", true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("audit_logs")))
+                .thenReturn(List.of("audit_logs_default", "audit_logs_p202401", "audit_logs_p202402", "audit_logs_p202403"));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), anyString())).thenReturn(500L);
+
+        long removed = auditPartitionService.dropPartitionsBefore(LocalDateTime.of(2024, 3, 1, 0, 0));
+
+        assertThat(removed).isEqualTo(1000L);
+        verify(jdbcTemplate).execute("ALTER TABLE audit_logs DETACH PARTITION audit_logs_p202401");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS audit_logs_p202401");
+        verify(jdbcTemplate).execute("ALTER TABLE audit_logs DETACH PARTITION audit_logs_p202402");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE audit_logs DETACH PARTITION audit_logs_p202403");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE audit_logs DETACH PARTITION audit_logs_default");
+    }
+}
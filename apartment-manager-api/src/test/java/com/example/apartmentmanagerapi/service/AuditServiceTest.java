@@ -1,7 +1,11 @@
 package com.example.apartmentmanagerapi.service;
 
+import com.example.apartmentmanagerapi.dto.AuditLogFilter;
+import com.example.apartmentmanagerapi.dto.CursorSliceResponse;
 import com.example.apartmentmanagerapi.entity.AuditLog;
+import com.example.apartmentmanagerapi.exception.ValidationException;
 import com.example.apartmentmanagerapi.repository.AuditLogRepository;
+import com.example.apartmentmanagerapi.util.KeysetCursor;
 import com.example.apartmentmanagerapi.util.LoggingUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +13,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -29,10 +34,13 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -45,6 +53,12 @@ class AuditServiceTest {
     @Mock
     private AuditLogRepository auditLogRepository;
 
+    @Mock
+    private IAuditLogWriter auditLogWriter;
+
+    @Mock
+    private IAuditPartitionService auditPartitionService;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -67,19 +81,14 @@ class AuditServiceTest {
     @Test
     @DisplayName("Log success - Basic success logging")
     void logSuccess_BasicLogging() {
-        // Arrange
-        AuditLog savedLog = new AuditLog();
-        when(auditLogRepository.save(any(AuditLog.class))).thenReturn(savedLog);
-        
         try (MockedStatic<LoggingUtils> mockedUtils = mockStatic(LoggingUtils.class)) {
             mockedUtils.when(LoggingUtils::getCorrelationId).thenReturn(TEST_CORRELATION_ID);
             
             // Act
             auditService.logSuccess(AuditLog.AuditAction.USER_LOGIN, "User logged in successfully");
             
-            // Assert - verify async execution by checking method was called
-            // Note: In real async test, we'd need to wait or use CompletableFuture
-            verify(auditLogRepository, timeout(1000)).save(argThat(log -> 
+            // Assert - entry handed to the batched writer
+            verify(auditLogWriter).enqueue(argThat(log -> 
                 log.getAction() == AuditLog.AuditAction.USER_LOGIN &&
                 log.getDescription().equals("User logged in successfully") &&
                 log.getResult() == AuditLog.AuditResult.SUCCESS &&
@@ -91,10 +100,6 @@ class AuditServiceTest {
     @Test
     @DisplayName("Log success with entity - Entity information included")
     void logSuccess_WithEntity() {
-        // Arrange
-        AuditLog savedLog = new AuditLog();
-        when(auditLogRepository.save(any(AuditLog.class))).thenReturn(savedLog);
-        
         try (MockedStatic<LoggingUtils> mockedUtils = mockStatic(LoggingUtils.class)) {
             mockedUtils.when(LoggingUtils::getCorrelationId).thenReturn(TEST_CORRELATION_ID);
             
@@ -102,7 +107,7 @@ class AuditServiceTest {
             auditService.logSuccess(AuditLog.AuditAction.PAYMENT_CREATED, "Payment", 123L, "Payment recorded");
             
             // Assert
-            verify(auditLogRepository, timeout(1000)).save(argThat(log -> 
+            verify(auditLogWriter).enqueue(argThat(log -> 
                 log.getEntityType().equals("Payment") &&
                 log.getEntityId().equals(123L) &&
                 log.getAction() == AuditLog.AuditAction.PAYMENT_CREATED
@@ -113,10 +118,6 @@ class AuditServiceTest {
     @Test
     @DisplayName("Log failure - Failure logging with error message")
     void logFailure_WithErrorMessage() {
-        // Arrange
-        AuditLog savedLog = new AuditLog();
-        when(auditLogRepository.save(any(AuditLog.class))).thenReturn(savedLog);
-        
         try (MockedStatic<LoggingUtils> mockedUtils = mockStatic(LoggingUtils.class)) {
             mockedUtils.when(LoggingUtils::getCorrelationId).thenReturn(TEST_CORRELATION_ID);
             
@@ -124,7 +125,7 @@ class AuditServiceTest {
             auditService.logFailure(AuditLog.AuditAction.LOGIN_FAILED, "Login attempt", "Invalid credentials");
             
             // Assert
-            verify(auditLogRepository, timeout(1000)).save(argThat(log -> 
+            verify(auditLogWriter).enqueue(argThat(log -> 
                 log.getAction() == AuditLog.AuditAction.LOGIN_FAILED &&
                 log.getResult() == AuditLog.AuditResult.FAILURE &&
                 log.getErrorMessage().equals("Invalid credentials")
@@ -162,9 +163,6 @@ class AuditServiceTest {
     @DisplayName("Log authentication - Authentication logging with IP address")
     void logAuthentication_WithIpAddress() {
         // Arrange
-        AuditLog savedLog = new AuditLog();
-        when(auditLogRepository.save(any(AuditLog.class))).thenReturn(savedLog);
-        
         // Set up request context
         ServletRequestAttributes requestAttributes = new ServletRequestAttributes(request);
         RequestContextHolder.setRequestAttributes(requestAttributes);
@@ -184,7 +182,7 @@ class AuditServiceTest {
             );
             
             // Assert
-            verify(auditLogRepository, timeout(1000)).save(argThat(log -> 
+            verify(auditLogWriter).enqueue(argThat(log -> 
                 log.getUserId().equals(TEST_USER_ID) &&
                 log.getUsername().equals(TEST_USERNAME) &&
                 log.getIpAddress().equals("192.168.1.1") &&
@@ -209,9 +207,6 @@ class AuditServiceTest {
                 userDetails, null, userDetails.getAuthorities());
         when(securityContext.getAuthentication()).thenReturn(authentication);
         
-        AuditLog savedLog = new AuditLog();
-        when(auditLogRepository.save(any(AuditLog.class))).thenReturn(savedLog);
-        
         try (MockedStatic<LoggingUtils> mockedUtils = mockStatic(LoggingUtils.class)) {
             mockedUtils.when(LoggingUtils::getCorrelationId).thenReturn(TEST_CORRELATION_ID);
             
@@ -219,7 +214,7 @@ class AuditServiceTest {
             auditService.logSuccess(AuditLog.AuditAction.FLAT_CREATED, "Flat created");
             
             // Assert
-            verify(auditLogRepository, timeout(1000)).save(argThat(log -> 
+            verify(auditLogWriter).enqueue(argThat(log -> 
                 log.getUsername().equals(TEST_USERNAME)
             ));
         }
@@ -235,9 +230,6 @@ class AuditServiceTest {
         when(request.getHeader("X-Forwarded-For")).thenReturn("192.168.1.1, 10.0.0.1");
         when(request.getHeader("User-Agent")).thenReturn("Test User Agent");
         
-        AuditLog savedLog = new AuditLog();
-        when(auditLogRepository.save(any(AuditLog.class))).thenReturn(savedLog);
-        
         try (MockedStatic<LoggingUtils> mockedUtils = mockStatic(LoggingUtils.class)) {
             mockedUtils.when(LoggingUtils::getCorrelationId).thenReturn(TEST_CORRELATION_ID);
             
@@ -245,7 +237,7 @@ class AuditServiceTest {
             auditService.logSuccess(AuditLog.AuditAction.PAYMENT_CREATED, "Payment created");
             
             // Assert
-            verify(auditLogRepository, timeout(1000)).save(argThat(log -> 
+            verify(auditLogWriter).enqueue(argThat(log -> 
                 log.getIpAddress().equals("192.168.1.1") && // Should use X-Forwarded-For
                 log.getUserAgent().equals("Test User Agent")
             ));
@@ -374,12 +366,82 @@ class AuditServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("Cleanup old audit logs - Drop expired partitions before deleting the remainder")
+    void cleanupOldAuditLogs_DropsPartitionsWhenPartitioned() {
+        // Arrange
+        when(auditPartitionService.isPartitioned()).thenReturn(true);
+        when(auditPartitionService.dropPartitionsBefore(any(LocalDateTime.class))).thenReturn(1000L);
+        when(auditLogRepository.deleteOldAuditLogs(any(LocalDateTime.class))).thenReturn(25);
+        
+        // Act
+        int deletedCount = auditService.cleanupOldAuditLogs(90);
+        
+        // Assert
+        assertThat(deletedCount).isEqualTo(1025);
+        
+        ArgumentCaptor<LocalDateTime> partitionCutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> deleteCutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        InOrder inOrder = inOrder(auditPartitionService, auditLogRepository);
+        inOrder.verify(auditPartitionService).dropPartitionsBefore(partitionCutoff.capture());
+        inOrder.verify(auditLogRepository).deleteOldAuditLogs(deleteCutoff.capture());
+        assertThat(partitionCutoff.getValue()).isEqualTo(deleteCutoff.getValue());
+    }
+
+    @Test
+    @DisplayName("Find audit logs - Returns a slice with a cursor when more rows exist")
+    void findAuditLogs_ReturnsSliceWithNextCursor() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditLog> rows = List.of(
+                AuditLog.builder().id(30L).timestamp(now).build(),
+                AuditLog.builder().id(20L).timestamp(now.minusMinutes(1)).build(),
+                AuditLog.builder().id(10L).timestamp(now.minusMinutes(2)).build());
+        AuditLogFilter filter = AuditLogFilter.builder().userId(TEST_USER_ID).build();
+        when(auditLogRepository.findByKeyset(eq(filter), isNull(), eq(3))).thenReturn(rows);
+        
+        // Act
+        CursorSliceResponse<AuditLog> slice = auditService.findAuditLogs(filter, null, 2);
+        
+        // Assert
+        assertThat(slice.getContent()).extracting(AuditLog::getId).containsExactly(30L, 20L);
+        assertThat(slice.isHasNext()).isTrue();
+        KeysetCursor next = KeysetCursor.decode(slice.getNextCursor());
+        assertThat(next.getId()).isEqualTo(20L);
+        assertThat(next.getTimestamp()).isEqualTo(now.minusMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Find audit logs - Last slice has no cursor")
+    void findAuditLogs_LastSliceHasNoCursor() {
+        // Arrange
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.now(), 5L);
+        when(auditLogRepository.findByKeyset(isNull(), eq(cursor), eq(AuditService.MAX_SLICE_SIZE + 1)))
+                .thenReturn(List.of(AuditLog.builder().id(4L).timestamp(LocalDateTime.now()).build()));
+        
+        // Act
+        CursorSliceResponse<AuditLog> slice = auditService.findAuditLogs(null, cursor.encode(), 1000);
+        
+        // Assert
+        assertThat(slice.getContent()).hasSize(1);
+        assertThat(slice.isHasNext()).isFalse();
+        assertThat(slice.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Find audit logs - Malformed cursor is rejected")
+    void findAuditLogs_MalformedCursor() {
+        assertThatThrownBy(() -> auditService.findAuditLogs(null, "not-a-cursor", 10))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(auditLogRepository);
+    }
+
     @Test
     @DisplayName("Handle exception during async logging - Should not throw")
     void handleExceptionDuringAsyncLogging_ShouldNotThrow() {
         // Arrange
-        when(auditLogRepository.save(any(AuditLog.class)))
-                .thenThrow(new RuntimeException("Database error"));
+        when(auditLogWriter.enqueue(any(AuditLog.class)))
+                .thenThrow(new RuntimeException("Queue error"));
         
         try (MockedStatic<LoggingUtils> mockedUtils = mockStatic(LoggingUtils.class)) {
             mockedUtils.when(LoggingUtils::getCorrelationId).thenReturn(TEST_CORRELATION_ID);
@@ -387,8 +449,8 @@ class AuditServiceTest {
             // Act & Assert - should not throw exception
             auditService.logSuccess(AuditLog.AuditAction.PAYMENT_CREATED, "Payment created");
             
-            // Verify save was attempted
-            verify(auditLogRepository, timeout(1000)).save(any(AuditLog.class));
+            // Verify enqueue was attempted
+            verify(auditLogWriter).enqueue(any(AuditLog.class));
         }
     }
 
@@ -402,9 +464,6 @@ class AuditServiceTest {
         when(request.getHeader("X-Forwarded-For")).thenReturn(null);
         when(request.getHeader("X-Real-IP")).thenReturn("203.0.113.1");
         
-        AuditLog savedLog = new AuditLog();
-        when(auditLogRepository.save(any(AuditLog.class))).thenReturn(savedLog);
-        
         try (MockedStatic<LoggingUtils> mockedUtils = mockStatic(LoggingUtils.class)) {
             mockedUtils.when(LoggingUtils::getCorrelationId).thenReturn(TEST_CORRELATION_ID);
             
@@ -412,7 +471,7 @@ class AuditServiceTest {
             auditService.logSuccess(AuditLog.AuditAction.PAYMENT_CREATED, "Payment created");
             
             // Assert
-            verify(auditLogRepository, timeout(1000)).save(argThat(log -> 
+            verify(auditLogWriter).enqueue(argThat(log -> 
                 log.getIpAddress().equals("203.0.113.1") // Should use X-Real-IP
             ));
         }
@@ -429,9 +488,6 @@ class AuditServiceTest {
                 "anonymousUser", null, Collections.emptyList());
         when(securityContext.getAuthentication()).thenReturn(authentication);
         
-        AuditLog savedLog = new AuditLog();
-        when(auditLogRepository.save(any(AuditLog.class))).thenReturn(savedLog);
-        
         try (MockedStatic<LoggingUtils> mockedUtils = mockStatic(LoggingUtils.class)) {
             mockedUtils.when(LoggingUtils::getCorrelationId).thenReturn(TEST_CORRELATION_ID);
             
@@ -439,7 +495,7 @@ class AuditServiceTest {
             auditService.logSuccess(AuditLog.AuditAction.EXPENSE_CREATED, "Expense created");
             
             // Assert
-            verify(auditLogRepository, timeout(1000)).save(argThat(log -> 
+            verify(auditLogWriter).enqueue(argThat(log -> 
                 log.getUsername() == null && // Anonymous user should not have username
                 log.getUserId() == null
             ));
@@ -0,0 +1,99 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.repository.UserBuildingAssignmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BuildingAccessService
+ * Tests role handling, cached building sets and eviction
+ */
+@ExtendWith(MockitoExtension.class)
+class BuildingAccessServiceTest {
+
+    @Mock
+    private UserBuildingAssignmentRepository assignmentRepository;
+
+    @InjectMocks
+    private BuildingAccessService buildingAccessService;
+
+    private static final String MANAGER = "manager";
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(buildingAccessService, "cacheTtlSeconds", 300L);
+        ReflectionTestUtils.setField(buildingAccessService, "cacheMaxUsers", 100L);
+        buildingAccessService.initialize();
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void authenticate(String username, String role) {
+        SecurityContextHolder.setContext(new SecurityContextImpl(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority(role)))));
+    }
+
+    @Test
+    @DisplayName("Can access - Admin bypasses assignment lookup")
+    void canAccess_Admin() {
+        authenticate("admin", "ROLE_ADMIN");
+
+        assertThat(buildingAccessService.canAccess(42L)).isTrue();
+        verifyNoInteractions(assignmentRepository);
+    }
+
+    @Test
+    @DisplayName("Can access - Manager limited to assigned buildings")
+    void canAccess_ManagerAssignedOnly() {
+        authenticate(MANAGER, "ROLE_MANAGER");
+        when(assignmentRepository.findActiveBuildingIdsByUsername(MANAGER)).thenReturn(List.of(7L, 3L, 11L));
+
+        assertThat(buildingAccessService.canAccess(3L)).isTrue();
+        assertThat(buildingAccessService.canAccess(11L)).isTrue();
+        assertThat(buildingAccessService.canAccess(5L)).isFalse();
+
+        // Building set loaded once and served from the cache afterwards
+        verify(assignmentRepository, times(1)).findActiveBuildingIdsByUsername(MANAGER);
+    }
+
+    @Test
+    @DisplayName("Can access - Denied without authentication")
+    void canAccess_Unauthenticated() {
+        assertThat(buildingAccessService.canAccess(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Evict user - Reloads assignments on next check")
+    void evictUser_ReloadsAssignments() {
+        when(assignmentRepository.findActiveBuildingIdsByUsername(MANAGER))
+                .thenReturn(List.of(1L))
+                .thenReturn(List.of(1L, 2L));
+
+        assertThat(buildingAccessService.isAssigned(MANAGER, 2L)).isFalse();
+
+        buildingAccessService.evictUser(MANAGER);
+
+        assertThat(buildingAccessService.isAssigned(MANAGER, 2L)).isTrue();
+        assertThat(buildingAccessService.getAssignedBuildingIds(MANAGER)).containsExactly(1L, 2L);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.dto.ActiveContractInfo;
+import com.example.apartmentmanagerapi.dto.ContractDuesStats;
+import com.example.apartmentmanagerapi.entity.Contract;
+import com.example.apartmentmanagerapi.entity.Flat;
+import com.example.apartmentmanagerapi.repository.ContractRepository;
+import com.example.apartmentmanagerapi.repository.MonthlyDueRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ContractLoadingService
+ * Tests batched enrichment of active contracts with dues figures
+ */
+@ExtendWith(MockitoExtension.class)
+class ContractLoadingServiceTest {
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    @Mock
+    private MonthlyDueRepository monthlyDueRepository;
+
+    @InjectMocks
+    private ContractLoadingService contractLoadingService;
+
+    private Contract contract(long id, long flatId) {
+        Flat flat = new Flat();
+        flat.setId(flatId);
+        return Contract.builder()
+                .id(id)
+                .flat(flat)
+                .tenantName("Tenant " + id)
+                .startDate(LocalDate.now().minusMonths(6))
+                .endDate(LocalDate.now().plusMonths(6))
+                .monthlyRent(new BigDecimal("1000"))
+                .status(Contract.ContractStatus.ACTIVE)
+                .monthlyDues(null)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Active contract infos - Dues figures for all contracts come from one grouped query")
+    void loadActiveContractInfos_UsesOneGroupedQuery() {
+        Map<Long, Contract> activeContracts = Map.of(10L, contract(1L, 10L), 20L, contract(2L, 20L));
+        ContractDuesStats stats = ContractDuesStats.empty(1L);
+        stats.setTotalAmountUnpaid(new BigDecimal("2000"));
+        stats.setOverdueDues(1);
+        when(monthlyDueRepository.getDuesStatsByContractIds(anyCollection(), any(LocalDate.class)))
+                .thenReturn(List.of(stats));
+
+        Map<Long, ActiveContractInfo> infos = contractLoadingService.loadActiveContractInfos(activeContracts);
+
+        assertThat(infos).containsOnlyKeys(10L, 20L);
+        assertThat(infos.get(10L).getContractId()).isEqualTo(1L);
+        assertThat(infos.get(10L).getOutstandingBalance()).isEqualByComparingTo("2000");
+        assertThat(infos.get(10L).isHasOverdueDues()).isTrue();
+        assertThat(infos.get(20L).getOutstandingBalance()).isEqualByComparingTo("0");
+        assertThat(infos.get(20L).isHasOverdueDues()).isFalse();
+        verify(monthlyDueRepository, times(1)).getDuesStatsByContractIds(
+                argThat((Collection<Long> ids) -> ids.size() == 2 && ids.containsAll(List.of(1L, 2L))),
+                any(LocalDate.class));
+    }
+
+    @Test
+    @DisplayName("Active contract infos - No query without active contracts")
+    void loadActiveContractInfos_Empty() {
+        assertThat(contractLoadingService.loadActiveContractInfos(Map.of())).isEmpty();
+        verifyNoInteractions(monthlyDueRepository);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.dto.ContractExpiryNotification;
+import com.example.apartmentmanagerapi.dto.ExpiringContractRecipientRow;
+import com.example.apartmentmanagerapi.entity.NotificationOutbox;
+import com.example.apartmentmanagerapi.repository.ContractRepository;
+import com.example.apartmentmanagerapi.repository.NotificationOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ContractNotificationService
+ * Tests queueing of expiry notifications in the outbox and deduplication between runs
+ */
+@ExtendWith(MockitoExtension.class)
+class ContractNotificationServiceTest {
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+
+    @InjectMocks
+    private ContractNotificationService notificationService;
+
+    private LocalDate endDate;
+
+    @BeforeEach
+    void setUp() {
+        endDate = LocalDate.now().plusDays(20);
+        lenient().when(outboxRepository.saveAll(anyCollection()))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<NotificationOutbox>>getArgument(0)));
+    }
+
+    private ExpiringContractRecipientRow row(long contractId, String tenantEmail, Long managerId, String managerEmail) {
+        return new ExpiringContractRecipientRow(contractId, 10L + contractId, "A" + contractId, 1L, "Test Building",
+                "Tenant " + contractId, tenantEmail, "+1234567890", endDate, new BigDecimal("1000"),
+                managerId, managerId != null ? "manager" + managerId : null, managerEmail, "Mary", "Manager");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<NotificationOutbox> capturedEntries() {
+        ArgumentCaptor<Collection<NotificationOutbox>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxRepository).saveAll(captor.capture());
+        return new ArrayList<>(captor.getValue());
+    }
+
+    @Test
+    @DisplayName("Expiry notifications - Queued once per contract and recipient from a single query")
+    void queuesEntryPerRecipient() {
+        when(contractRepository.findExpiringContractRecipients(any(), any())).thenReturn(List.of(
+                row(1, "Tenant1@Test.com", 7L, "manager@test.com"),
+                row(1, "Tenant1@Test.com", 8L, "other@test.com"),
+                row(2, null, 7L, "manager@test.com")));
+        when(outboxRepository.findExistingDedupKeys(anyCollection())).thenReturn(List.of());
+
+        List<ContractExpiryNotification> notifications = notificationService.sendExpiryNotifications(30);
+
+        assertThat(notifications).extracting(ContractExpiryNotification::getContractId).containsExactly(1L, 2L);
+        assertThat(notifications.get(0).getAssignedManagers()).hasSize(2);
+        assertThat(notifications.get(0).getDaysUntilExpiry()).isEqualTo(20);
+        List<NotificationOutbox> entries = capturedEntries();
+        assertThat(entries).extracting(NotificationOutbox::getRecipient).containsExactly(
+                "tenant1@test.com", "manager@test.com", "other@test.com", "manager@test.com");
+        assertThat(entries.get(0).getDedupKey())
+                .isEqualTo("contract-expiry:1:" + endDate + ":within-30d:tenant1@test.com");
+        assertThat(entries).allMatch(entry -> entry.getStatus() == NotificationOutbox.Status.PENDING);
+        verify(contractRepository, times(1)).findExpiringContractRecipients(any(), any());
+    }
+
+    @Test
+    @DisplayName("Expiry notifications - Already queued items are not queued again")
+    void skipsExistingDedupKeys() {
+        when(contractRepository.findExpiringContractRecipients(any(), any())).thenReturn(List.of(
+                row(1, "tenant1@test.com", null, null),
+                row(2, "tenant2@test.com", null, null)));
+        when(outboxRepository.findExistingDedupKeys(anyCollection()))
+                .thenReturn(List.of("contract-expiry:1:" + endDate + ":within-30d:tenant1@test.com"));
+
+        List<ContractExpiryNotification> notifications = notificationService.sendExpiryNotifications(30);
+
+        assertThat(notifications).extracting(ContractExpiryNotification::getContractId).containsExactly(2L);
+        assertThat(capturedEntries()).extracting(NotificationOutbox::getRecipient).containsExactly("tenant2@test.com");
+    }
+
+    @Test
+    @DisplayName("Expiry notifications - Nothing is queried or queued without expiring contracts")
+    void noExpiringContracts() {
+        when(contractRepository.findExpiringContractRecipients(any(), any())).thenReturn(List.of());
+
+        assertThat(notificationService.sendExpiryNotifications(7)).isEmpty();
+        verifyNoInteractions(outboxRepository);
+    }
+}
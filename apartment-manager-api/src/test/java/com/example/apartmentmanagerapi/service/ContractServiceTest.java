@@ -30,6 +30,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -68,6 +69,15 @@ class ContractServiceTest {
     @Mock
     private IAuditService auditService;
     
+    @Mock
+    private MonthlyDueRepository monthlyDueRepository;
+    
+    @Mock
+    private IContractDueGenerationService dueGenerationService;
+    
+    @Mock
+    private IBuildingVersionService buildingVersionService;
+    
     @Mock
     private Authentication authentication;
     
@@ -99,8 +109,12 @@ class ContractServiceTest {
             userRepository, 
             contractMapper, 
             eventPublisher,
-            auditService
+            auditService,
+            monthlyDueRepository,
+            dueGenerationService,
+            buildingVersionService
         );
+        ReflectionTestUtils.setField(contractService, "overlapPrecheckEnabled", true);
         
         // Setup test data
         testUser = new User();
@@ -114,6 +128,9 @@ class ContractServiceTest {
         testFlat.setFlatNumber("A101");
         testFlat.setMonthlyRent(new BigDecimal("10000"));
         testFlat.setIsActive(true);
+        ApartmentBuilding testBuilding = new ApartmentBuilding();
+        testBuilding.setId(1L);
+        testFlat.setApartmentBuilding(testBuilding);
         
         testContract = Contract.builder()
             .id(1L)
@@ -192,6 +209,24 @@ class ContractServiceTest {
                 .hasMessageContaining("overlapping contracts");
         }
         
+        @Test
+        @DisplayName("Should leave overlap enforcement to the database when the pre-check is disabled")
+        void shouldSkipOverlapPrecheckWhenDisabled() {
+            // Arrange
+            ReflectionTestUtils.setField(contractService, "overlapPrecheckEnabled", false);
+            setupSecurityContext("testuser");
+            when(flatRepository.findById(1L)).thenReturn(Optional.of(testFlat));
+            when(contractMapper.toEntity(contractRequest)).thenReturn(testContract);
+            when(contractRepository.save(any(Contract.class))).thenReturn(testContract);
+            when(contractMapper.toResponse(testContract)).thenReturn(contractResponse);
+            
+            // Act
+            contractService.createContract(contractRequest);
+            
+            // Assert
+            verify(contractRepository, never()).findOverlappingContracts(anyLong(), any(), any(), any());
+        }
+        
         @Test
         @DisplayName("Should handle flat not found")
         void shouldHandleFlatNotFound() {
@@ -350,6 +385,133 @@ class ContractServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Batch Contract Renewal Tests")
+    class BatchContractRenewalTests {
+        
+        private Contract activeContract(Long id, Long flatId, LocalDate endDate) {
+            Flat flat = new Flat();
+            flat.setId(flatId);
+            flat.setApartmentBuilding(testFlat.getApartmentBuilding());
+            return Contract.builder()
+                .id(id)
+                .flat(flat)
+                .startDate(endDate.minusYears(1))
+                .endDate(endDate)
+                .monthlyRent(new BigDecimal("10000"))
+                .dayOfMonth(5)
+                .status(Contract.ContractStatus.ACTIVE)
+                .build();
+        }
+        
+        private BatchContractRenewalRequest.Item item(Long contractId, LocalDate newEndDate, boolean generateDues) {
+            return BatchContractRenewalRequest.Item.builder()
+                .contractId(contractId)
+                .renewal(ContractRenewalRequest.builder()
+                    .newEndDate(newEndDate)
+                    .generateDuesImmediately(generateDues)
+                    .build())
+                .build();
+        }
+        
+        @Test
+        @DisplayName("Should renew valid contracts and report the others per item")
+        void shouldRenewValidContractsAndReportFailures() {
+            // Arrange
+            LocalDate today = LocalDate.now();
+            Contract renewable = activeContract(1L, 1L, today.plusMonths(1));
+            Contract withoutDues = activeContract(2L, 2L, today.plusMonths(2));
+            Contract cancelled = activeContract(3L, 3L, today.plusMonths(1));
+            cancelled.setStatus(Contract.ContractStatus.CANCELLED);
+            Contract blocked = activeContract(4L, 4L, today.plusMonths(1));
+            Contract pendingOnFlat4 = activeContract(40L, 4L, today.plusMonths(14));
+            pendingOnFlat4.setStartDate(today.plusMonths(2));
+            pendingOnFlat4.setStatus(Contract.ContractStatus.PENDING);
+            
+            BatchContractRenewalRequest request = BatchContractRenewalRequest.builder()
+                .renewals(List.of(
+                    item(1L, today.plusYears(1), true),
+                    item(99L, today.plusYears(1), true),
+                    item(3L, today.plusYears(1), true),
+                    item(1L, today.plusYears(2), true),
+                    item(4L, today.plusYears(1), true),
+                    item(2L, today.plusYears(1), false)))
+                .build();
+            
+            when(contractRepository.findAllWithFlatAndBuildingByIdIn(anyCollection()))
+                .thenReturn(List.of(renewable, withoutDues, cancelled, blocked));
+            when(contractRepository.findOverlapCandidatesByFlatIds(anyCollection(), any(LocalDate.class)))
+                .thenReturn(List.of(renewable, withoutDues, blocked, pendingOnFlat4));
+            when(contractRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Contract> saved = invocation.getArgument(0);
+                long nextId = 101L;
+                for (Contract contract : saved) {
+                    contract.setId(nextId++);
+                }
+                return saved;
+            });
+            List<MonthlyDue> extensionDues = List.of(new MonthlyDue(), new MonthlyDue(), new MonthlyDue());
+            when(dueGenerationService.buildDuesForContractExtension(any(Contract.class), any(LocalDate.class)))
+                .thenReturn(extensionDues);
+            
+            // Act
+            BatchContractRenewalResponse response = contractService.renewContracts(request);
+            
+            // Assert
+            assertThat(response.getRequested()).isEqualTo(6);
+            assertThat(response.getRenewed()).isEqualTo(2);
+            assertThat(response.getFailed()).isEqualTo(4);
+            assertThat(response.getDuesGenerated()).isEqualTo(3);
+            assertThat(response.getResults())
+                .extracting(BatchContractRenewalResponse.ItemResult::isSuccess)
+                .containsExactly(true, false, false, false, false, true);
+            assertThat(response.getResults().get(1).getError()).contains("99");
+            assertThat(response.getResults().get(2).getError()).contains("Only active contracts can be renewed");
+            assertThat(response.getResults().get(3).getError()).contains("more than once");
+            assertThat(response.getResults().get(4).getError()).contains("overlapping");
+            assertThat(response.getResults().get(0).getRenewedContractId()).isEqualTo(101L);
+            assertThat(response.getResults().get(0).getStartDate()).isEqualTo(renewable.getEndDate().plusDays(1));
+            assertThat(response.getResults().get(0).getDuesGenerated()).isEqualTo(3);
+            assertThat(response.getResults().get(5).getDuesGenerated()).isNull();
+            
+            assertThat(renewable.getStatus()).isEqualTo(Contract.ContractStatus.RENEWED);
+            assertThat(renewable.getStatusChangeReason()).isEqualTo("Renewed with contract ID: 101");
+            assertThat(withoutDues.getStatus()).isEqualTo(Contract.ContractStatus.RENEWED);
+            assertThat(blocked.getStatus()).isEqualTo(Contract.ContractStatus.ACTIVE);
+            
+            // One overlap query, one save per table and one event for the batch
+            verify(contractRepository, times(1)).findOverlapCandidatesByFlatIds(anyCollection(), any(LocalDate.class));
+            verify(contractRepository, never()).save(any(Contract.class));
+            verify(dueGenerationService, times(1)).buildDuesForContractExtension(any(Contract.class), any(LocalDate.class));
+            verify(monthlyDueRepository, times(1)).saveAll(extensionDues);
+            ArgumentCaptor<ContractsRenewedEvent> eventCaptor = ArgumentCaptor.forClass(ContractsRenewedEvent.class);
+            verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
+            assertThat(eventCaptor.getValue().getRenewalContracts())
+                .extracting(Contract::getPreviousContract)
+                .containsExactly(renewable, withoutDues);
+            assertThat(eventCaptor.getValue().getDuesGenerated()).isEqualTo(3);
+        }
+        
+        @Test
+        @DisplayName("Should publish nothing when no contract can be renewed")
+        void shouldPublishNothingWhenAllItemsFail() {
+            // Arrange
+            BatchContractRenewalRequest request = BatchContractRenewalRequest.builder()
+                .renewals(List.of(item(99L, LocalDate.now().plusYears(1), true)))
+                .build();
+            when(contractRepository.findAllWithFlatAndBuildingByIdIn(anyCollection())).thenReturn(List.of());
+            
+            // Act
+            BatchContractRenewalResponse response = contractService.renewContracts(request);
+            
+            // Assert
+            assertThat(response.getRenewed()).isZero();
+            assertThat(response.getFailed()).isEqualTo(1);
+            verify(contractRepository, never()).findOverlapCandidatesByFlatIds(anyCollection(), any(LocalDate.class));
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+    }
+
     @Nested
     @DisplayName("Contract Cancellation Tests")
     class ContractCancellationTests {
@@ -495,7 +657,10 @@ class ContractServiceTest {
             
             when(contractRepository.findByBuildingId(buildingId, pageable))
                 .thenReturn(contractPage);
-            when(contractMapper.toSummaryResponse(testContract)).thenReturn(summaryResponse);
+            when(monthlyDueRepository.getDuesStatsByContractIds(List.of(testContract.getId()), LocalDate.now()))
+                .thenReturn(List.of(ContractDuesStats.empty(testContract.getId())));
+            when(contractMapper.toSummaryResponseList(eq(List.of(testContract)), anyMap()))
+                .thenReturn(List.of(summaryResponse));
             
             // Act
             Page<ContractSummaryResponse> response = contractService
@@ -506,6 +671,48 @@ class ContractServiceTest {
             assertThat(response.getContent().get(0)).isEqualTo(summaryResponse);
         }
         
+        @Test
+        @DisplayName("Should return trigram-ranked search hits in rank order")
+        void shouldSearchTenantsInRankOrder() {
+            // Arrange
+            ReflectionTestUtils.setField(contractService, "trigramSearchEnabled", true);
+            Pageable pageable = PageRequest.of(0, 10);
+            Contract second = Contract.builder().id(2L).tenantName("Jon Doe").build();
+            when(contractRepository.searchIdsByTenantRanked("jon", "%jon%", "jon%", PageRequest.of(0, 10)))
+                .thenReturn(new PageImpl<>(List.of(2L, 1L), pageable, 12));
+            when(contractRepository.findAllWithFlatAndBuildingByIdIn(List.of(2L, 1L)))
+                .thenReturn(List.of(testContract, second));
+            when(contractMapper.toSummaryResponseList(eq(List.of(second, testContract)), anyMap()))
+                .thenReturn(List.of(ContractSummaryResponse.builder().id(2L).build(),
+                    ContractSummaryResponse.builder().id(1L).build()));
+
+            // Act
+            Page<ContractSummaryResponse> response = contractService.searchContractsByTenantName("  Jon ", pageable);
+
+            // Assert
+            assertThat(response.getContent()).extracting(ContractSummaryResponse::getId).containsExactly(2L, 1L);
+            assertThat(response.getTotalElements()).isEqualTo(12);
+            verify(contractRepository, never()).searchByTenantName(anyString(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should fall back to LIKE search when trigram search is disabled")
+        void shouldFallBackToLikeSearch() {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 10);
+            when(contractRepository.searchByTenantName("Jon", pageable))
+                .thenReturn(new PageImpl<>(List.of(testContract), pageable, 1));
+            when(contractMapper.toSummaryResponseList(eq(List.of(testContract)), anyMap()))
+                .thenReturn(List.of(ContractSummaryResponse.builder().id(1L).build()));
+
+            // Act
+            Page<ContractSummaryResponse> response = contractService.searchContractsByTenantName("Jon", pageable);
+
+            // Assert
+            assertThat(response.getContent()).hasSize(1);
+            verify(contractRepository, never()).searchIdsByTenantRanked(any(), any(), any(), any());
+        }
+
         @Test
         @DisplayName("Should find expiring contracts")
         void shouldFindExpiringContracts() {
@@ -520,8 +727,8 @@ class ContractServiceTest {
             
             when(contractRepository.findExpiringContracts(any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(expiringContracts);
-            when(contractMapper.toSummaryResponse(testContract))
-                .thenReturn(summary);
+            when(contractMapper.toSummaryResponseList(eq(expiringContracts), anyMap()))
+                .thenReturn(List.of(summary));
             
             // Act
             List<ContractSummaryResponse> notifications = 
@@ -680,6 +887,58 @@ class ContractServiceTest {
         when(authentication.getName()).thenReturn(username);
     }
 
+    @Nested
+    @DisplayName("Status Update Tests")
+    class StatusUpdateTests {
+        
+        @Test
+        @DisplayName("Should apply transitions in chunks and publish one event per chunk")
+        void shouldUpdateStatusesInChunks() {
+            // Arrange
+            ReflectionTestUtils.setField(contractService, "statusUpdateChunkSize", 2);
+            when(contractRepository.findIdsByStatusAndStartDateOnOrBefore(eq(Contract.ContractStatus.PENDING), any()))
+                .thenReturn(List.of(1L, 2L, 3L));
+            when(contractRepository.findIdsByStatusAndEndDateBefore(eq(Contract.ContractStatus.ACTIVE), any()))
+                .thenReturn(List.of(4L));
+            when(contractRepository.transitionStatusBulk(anyList(), any(), any(), any(), anyString(), anyString()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+            
+            // Act
+            contractService.updateContractStatuses();
+            
+            // Assert
+            verify(contractRepository).transitionStatusBulk(eq(List.of(1L, 2L)), eq(Contract.ContractStatus.PENDING),
+                eq(Contract.ContractStatus.ACTIVE), any(), eq("SYSTEM"), anyString());
+            verify(contractRepository).transitionStatusBulk(eq(List.of(3L)), eq(Contract.ContractStatus.PENDING),
+                eq(Contract.ContractStatus.ACTIVE), any(), eq("SYSTEM"), anyString());
+            verify(contractRepository).transitionStatusBulk(eq(List.of(4L)), eq(Contract.ContractStatus.ACTIVE),
+                eq(Contract.ContractStatus.EXPIRED), any(), eq("SYSTEM"), anyString());
+            verify(contractRepository, never()).save(any());
+            
+            ArgumentCaptor<ContractStatusesChangedEvent> events = ArgumentCaptor.forClass(ContractStatusesChangedEvent.class);
+            verify(eventPublisher, times(3)).publishEvent(events.capture());
+            assertThat(events.getAllValues())
+                .extracting(ContractStatusesChangedEvent::getContractIds)
+                .containsExactly(List.of(1L, 2L), List.of(3L), List.of(4L));
+            assertThat(events.getAllValues().get(2).getNewStatus()).isEqualTo(Contract.ContractStatus.EXPIRED);
+        }
+        
+        @Test
+        @DisplayName("Should not update or publish when no contract needs a transition")
+        void shouldDoNothingWhenNoTransitionsAreDue() {
+            // Arrange
+            when(contractRepository.findIdsByStatusAndStartDateOnOrBefore(any(), any())).thenReturn(List.of());
+            when(contractRepository.findIdsByStatusAndEndDateBefore(any(), any())).thenReturn(List.of());
+            
+            // Act
+            contractService.updateContractStatuses();
+            
+            // Assert
+            verify(contractRepository, never()).transitionStatusBulk(anyList(), any(), any(), any(), anyString(), anyString());
+            verify(eventPublisher, never()).publishEvent(any(ContractStatusesChangedEvent.class));
+        }
+    }
+
     @Nested
     @DisplayName("Security and Authorization Tests")
     class SecurityAuthorizationTests {
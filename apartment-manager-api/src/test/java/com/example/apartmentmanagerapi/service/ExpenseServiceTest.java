@@ -1,11 +1,13 @@
 package com.example.apartmentmanagerapi.service;
 
 import com.example.apartmentmanagerapi.entity.ApartmentBuilding;
+import com.example.apartmentmanagerapi.entity.Attachment;
 import com.example.apartmentmanagerapi.entity.Expense;
 import com.example.apartmentmanagerapi.entity.Flat;
 import com.example.apartmentmanagerapi.entity.MonthlyDue;
 import com.example.apartmentmanagerapi.event.ExpenseRecordedEvent;
 import com.example.apartmentmanagerapi.repository.ApartmentBuildingRepository;
+import com.example.apartmentmanagerapi.repository.AttachmentRepository;
 import com.example.apartmentmanagerapi.repository.ExpenseRepository;
 import com.example.apartmentmanagerapi.repository.FlatRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,8 +17,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -26,7 +33,11 @@ import java.util.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -51,6 +62,15 @@ class ExpenseServiceTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    @Mock
+    private IBuildingVersionService buildingVersionService;
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
     @InjectMocks
     private ExpenseService expenseService;
 
@@ -111,7 +131,7 @@ class ExpenseServiceTest {
         verify(apartmentBuildingRepository).findById(1L);
         verify(expenseRepository).save(testExpense);
         verify(flatRepository, never()).findByApartmentBuildingIdAndIsActiveTrue(anyLong());
-        verify(monthlyDueService, never()).createMonthlyDue(any());
+        verify(monthlyDueService, never()).createMonthlyDues(anyLong(), anyList());
 
         // Verify event was published
         ArgumentCaptor<ExpenseRecordedEvent> eventCaptor = ArgumentCaptor.forClass(ExpenseRecordedEvent.class);
@@ -143,12 +163,10 @@ class ExpenseServiceTest {
         // Verify distribution occurred
         verify(flatRepository).findByApartmentBuildingIdAndIsActiveTrue(1L);
         
-        // Verify monthly dues were created for each flat
-        ArgumentCaptor<MonthlyDue> dueCaptor = ArgumentCaptor.forClass(MonthlyDue.class);
-        verify(monthlyDueService, times(2)).createMonthlyDue(dueCaptor.capture());
-        
-        List<MonthlyDue> capturedDues = dueCaptor.getAllValues();
+        // Verify monthly dues were created for each flat in one batch
+        List<MonthlyDue> capturedDues = captureDistributedDues();
         assertThat(capturedDues).hasSize(2);
+        verify(monthlyDueService, never()).createMonthlyDue(any());
         
         // Each flat should get 500 (1000 / 2 flats)
         assertThat(capturedDues.get(0).getDueAmount()).isEqualByComparingTo(BigDecimal.valueOf(500));
@@ -193,7 +211,26 @@ class ExpenseServiceTest {
         // Assert
         assertThat(result).isNotNull();
         verify(flatRepository).findByApartmentBuildingIdAndIsActiveTrue(1L);
-        verify(monthlyDueService, never()).createMonthlyDue(any());
+        verify(monthlyDueService, never()).createMonthlyDues(anyLong(), anyList());
+    }
+
+    @Test
+    @DisplayName("Create expense - Recurring expense is scheduled for its next occurrence")
+    void createExpense_RecurringSchedulesNextOccurrence() {
+        // Arrange
+        testExpense.setIsRecurring(true);
+        testExpense.setRecurrenceFrequency(Expense.RecurrenceFrequency.MONTHLY);
+        testExpense.setExpenseDate(LocalDate.of(2024, 1, 31));
+        when(apartmentBuildingRepository.findById(1L)).thenReturn(Optional.of(testBuilding));
+        when(expenseRepository.save(any(Expense.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(flatRepository.findByApartmentBuildingIdAndIsActiveTrue(1L)).thenReturn(List.of(testFlat1, testFlat2));
+
+        // Act
+        Expense result = expenseService.createExpense(testExpense, Expense.DistributionMethod.EQUAL);
+
+        // Assert
+        assertThat(result.getNextOccurrenceDate()).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(result.getDistributionMethod()).isEqualTo(Expense.DistributionMethod.EQUAL);
     }
 
     // Tests for getExpensesByBuildingAndDateRange method
@@ -274,14 +311,16 @@ class ExpenseServiceTest {
 
     // Tests for getMonthlyExpenseTotals method
     @Test
-    @DisplayName("Get monthly expense totals - Success")
+    @DisplayName("Get monthly expense totals - One grouped query, months without expenses are zero")
     void getMonthlyExpenseTotals_Success() {
         // Arrange
         YearMonth startMonth = YearMonth.now().minusMonths(2);
         YearMonth endMonth = YearMonth.now();
         
-        when(expenseRepository.getTotalExpensesByBuildingAndDateRange(anyLong(), any(), any()))
-                .thenReturn(BigDecimal.valueOf(1000), BigDecimal.valueOf(1500), BigDecimal.valueOf(1200));
+        when(expenseRepository.getMonthlyExpenseTotalsBetween(1L, startMonth.atDay(1), endMonth.plusMonths(1).atDay(1)))
+                .thenReturn(List.of(
+                        new Object[]{startMonth.getYear(), startMonth.getMonthValue(), BigDecimal.valueOf(1000)},
+                        new Object[]{endMonth.getYear(), endMonth.getMonthValue(), BigDecimal.valueOf(1200)}));
 
         // Act
         Map<YearMonth, BigDecimal> result = 
@@ -289,22 +328,50 @@ class ExpenseServiceTest {
 
         // Assert
         assertThat(result).isNotNull();
-        assertThat(result).hasSize(3);
+        assertThat(result.keySet()).containsExactly(startMonth, startMonth.plusMonths(1), endMonth);
         assertThat(result.get(startMonth)).isEqualTo(BigDecimal.valueOf(1000));
-        assertThat(result.get(startMonth.plusMonths(1))).isEqualTo(BigDecimal.valueOf(1500));
+        assertThat(result.get(startMonth.plusMonths(1))).isEqualTo(BigDecimal.ZERO);
         assertThat(result.get(endMonth)).isEqualTo(BigDecimal.valueOf(1200));
 
         // Verify
-        verify(expenseRepository, times(3)).getTotalExpensesByBuildingAndDateRange(anyLong(), any(), any());
+        verify(expenseRepository, times(1)).getMonthlyExpenseTotalsBetween(anyLong(), any(), any());
+        verify(expenseRepository, never()).getTotalExpensesByBuildingAndDateRange(anyLong(), any(), any());
     }
 
     @Test
-    @DisplayName("Get monthly expense totals - Null returns zero")
+    @DisplayName("Get monthly expense totals - Cached months are reused and only the missing span is queried")
+    void getMonthlyExpenseTotals_AssemblesFromCachedMonths() {
+        // Arrange
+        YearMonth january = YearMonth.of(2024, 1);
+        YearMonth march = YearMonth.of(2024, 3);
+        YearMonth june = YearMonth.of(2024, 6);
+        when(expenseRepository.getMonthlyExpenseTotalsBetween(anyLong(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{2024, 2, BigDecimal.valueOf(300)}))
+                .thenReturn(List.<Object[]>of(new Object[]{2024, 5, BigDecimal.valueOf(700)}));
+        expenseService.getMonthlyExpenseTotals(1L, january, march);
+
+        // Act
+        Map<YearMonth, BigDecimal> result = expenseService.getMonthlyExpenseTotals(1L, YearMonth.of(2024, 2), june);
+
+        // Assert
+        assertThat(result).hasSize(5);
+        assertThat(result.get(YearMonth.of(2024, 2))).isEqualTo(BigDecimal.valueOf(300));
+        assertThat(result.get(YearMonth.of(2024, 5))).isEqualTo(BigDecimal.valueOf(700));
+        verify(expenseRepository).getMonthlyExpenseTotalsBetween(1L, january.atDay(1), YearMonth.of(2024, 4).atDay(1));
+        verify(expenseRepository).getMonthlyExpenseTotalsBetween(1L, YearMonth.of(2024, 4).atDay(1), YearMonth.of(2024, 7).atDay(1));
+
+        // A fully cached range needs no query
+        expenseService.getMonthlyExpenseTotals(1L, january, june);
+        verify(expenseRepository, times(2)).getMonthlyExpenseTotalsBetween(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Get monthly expense totals - No expenses returns zero")
     void getMonthlyExpenseTotals_NullReturnsZero() {
         // Arrange
         YearMonth currentMonth = YearMonth.now();
-        when(expenseRepository.getTotalExpensesByBuildingAndDateRange(anyLong(), any(), any()))
-                .thenReturn(null);
+        when(expenseRepository.getMonthlyExpenseTotalsBetween(anyLong(), any(), any()))
+                .thenReturn(List.of());
 
         // Act
         Map<YearMonth, BigDecimal> result = 
@@ -337,6 +404,44 @@ class ExpenseServiceTest {
         verify(expenseRepository).findByBuildingIdAndIsRecurringTrue(1L);
     }
 
+    @Test
+    @DisplayName("Search vendor names - Falls back to escaped LIKE patterns without trigram search")
+    void searchVendorNames_Fallback() {
+        // Arrange
+        when(expenseRepository.searchVendorNames(eq(1L), eq("%acme\\_co%"), eq("acme\\_co%"), any(Pageable.class)))
+                .thenReturn(List.of("ACME_CO"));
+
+        // Act
+        List<String> result = expenseService.searchVendorNames(1L, " ACME_co ", 500);
+
+        // Assert
+        assertThat(result).containsExactly("ACME_CO");
+        verify(expenseRepository).searchVendorNames(eq(1L), anyString(), anyString(),
+                argThat(pageable -> pageable.getPageSize() == 50));
+    }
+
+    @Test
+    @DisplayName("Search vendor names - Uses the ranked trigram query when enabled")
+    void searchVendorNames_Trigram() {
+        // Arrange
+        ReflectionTestUtils.setField(expenseService, "trigramSearchEnabled", true);
+        when(expenseRepository.searchVendorNamesRanked(1L, "acme", "%acme%", "acme%", 10))
+                .thenReturn(List.of("Acme Plumbing", "Acne Electric"));
+
+        // Act
+        List<String> result = expenseService.searchVendorNames(1L, "Acme", 10);
+
+        // Assert
+        assertThat(result).containsExactly("Acme Plumbing", "Acne Electric");
+    }
+
+    @Test
+    @DisplayName("Search vendor names - Blank input returns no suggestions")
+    void searchVendorNames_Blank() {
+        assertThat(expenseService.searchVendorNames(1L, "   ", 10)).isEmpty();
+        verifyNoInteractions(expenseRepository);
+    }
+
     // Tests for updateExpense method
     @Test
     @DisplayName("Update expense - Success")
@@ -347,6 +452,7 @@ class ExpenseServiceTest {
         existingExpense.setId(1L);
         existingExpense.setAmount(BigDecimal.valueOf(800));
         existingExpense.setCategory(Expense.ExpenseCategory.UTILITIES);
+        existingExpense.setBuilding(testBuilding);
         
         when(expenseRepository.findById(1L)).thenReturn(Optional.of(existingExpense));
         when(expenseRepository.save(any(Expense.class))).thenReturn(existingExpense);
@@ -395,6 +501,7 @@ class ExpenseServiceTest {
         // Assert & Verify
         verify(expenseRepository).findById(1L);
         verify(expenseRepository).delete(testExpense);
+        verify(attachmentRepository).deleteByOwner(Attachment.OwnerType.EXPENSE, 1L);
     }
 
     @Test
@@ -411,6 +518,7 @@ class ExpenseServiceTest {
         // Verify
         verify(expenseRepository).findById(999L);
         verify(expenseRepository, never()).delete(any());
+        verify(attachmentRepository, never()).deleteByOwner(any(), any());
     }
 
     // Tests for calculateAverageMonthlyExpenses method
@@ -548,11 +656,99 @@ class ExpenseServiceTest {
         expenseService.createExpense(testExpense, true);
 
         // Assert
-        ArgumentCaptor<MonthlyDue> dueCaptor = ArgumentCaptor.forClass(MonthlyDue.class);
-        verify(monthlyDueService, times(3)).createMonthlyDue(dueCaptor.capture());
+        List<MonthlyDue> capturedDues = captureDistributedDues();
+        // Shares are reconciled to the cent: the leftover cent goes to the first flat
+        assertThat(capturedDues).extracting(MonthlyDue::getDueAmount)
+                .containsExactly(new BigDecimal("333.34"), new BigDecimal("333.33"), new BigDecimal("333.33"));
+    }
+
+    @Test
+    @DisplayName("Distribute expense - Area-weighted shares add up to the expense")
+    void distributeExpense_ByArea() {
+        // Arrange
+        Flat testFlat3 = new Flat();
+        testFlat3.setId(3L);
+        testFlat3.setFlatNumber("103");
+        testFlat3.setIsActive(true);
+        testFlat1.setAreaSqMeters(new BigDecimal("50.00"));
+        testFlat2.setAreaSqMeters(new BigDecimal("75.50"));
+        testFlat3.setAreaSqMeters(new BigDecimal("120.25"));
         
-        List<MonthlyDue> capturedDues = dueCaptor.getAllValues();
-        // Each flat should get 333.33
-        assertThat(capturedDues.get(0).getDueAmount()).isEqualTo(BigDecimal.valueOf(333.33));
+        testExpense.setAmount(new BigDecimal("999.99"));
+        when(apartmentBuildingRepository.findById(1L)).thenReturn(Optional.of(testBuilding));
+        when(expenseRepository.save(any(Expense.class))).thenReturn(testExpense);
+        when(flatRepository.findByApartmentBuildingIdAndIsActiveTrue(1L))
+                .thenReturn(Arrays.asList(testFlat1, testFlat2, testFlat3));
+
+        // Act
+        expenseService.createExpense(testExpense, Expense.DistributionMethod.AREA);
+
+        // Assert - exact shares are 203.456.., 307.219.., 489.313..; the two leftover cents go to the largest remainders
+        List<MonthlyDue> capturedDues = captureDistributedDues();
+        assertThat(capturedDues).extracting(MonthlyDue::getDueAmount)
+                .containsExactly(new BigDecimal("203.46"), new BigDecimal("307.22"), new BigDecimal("489.31"));
+        assertThat(capturedDues.stream().map(MonthlyDue::getDueAmount).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo("999.99");
+    }
+
+    @Test
+    @DisplayName("Distribute expense - Rent-weighted shares")
+    void distributeExpense_ByRent() {
+        // Arrange
+        testFlat1.setMonthlyRent(new BigDecimal("1000"));
+        testFlat2.setMonthlyRent(new BigDecimal("3000"));
+        when(apartmentBuildingRepository.findById(1L)).thenReturn(Optional.of(testBuilding));
+        when(expenseRepository.save(any(Expense.class))).thenReturn(testExpense);
+        when(flatRepository.findByApartmentBuildingIdAndIsActiveTrue(1L))
+                .thenReturn(Arrays.asList(testFlat1, testFlat2));
+
+        // Act
+        expenseService.createExpense(testExpense, Expense.DistributionMethod.RENT);
+
+        // Assert
+        assertThat(captureDistributedDues()).extracting(MonthlyDue::getDueAmount)
+                .containsExactly(new BigDecimal("250.00"), new BigDecimal("750.00"));
+    }
+
+    @Test
+    @DisplayName("Distribute expense - Area-weighted distribution requires every flat's area")
+    void distributeExpense_ByArea_MissingArea() {
+        // Arrange
+        testFlat1.setAreaSqMeters(new BigDecimal("50.00"));
+        when(apartmentBuildingRepository.findById(1L)).thenReturn(Optional.of(testBuilding));
+        when(expenseRepository.save(any(Expense.class))).thenReturn(testExpense);
+        when(flatRepository.findByApartmentBuildingIdAndIsActiveTrue(1L))
+                .thenReturn(Arrays.asList(testFlat1, testFlat2));
+
+        // Act & Assert
+        assertThatThrownBy(() -> expenseService.createExpense(testExpense, Expense.DistributionMethod.AREA))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Flat 102 has no area");
+        verify(monthlyDueService, never()).createMonthlyDues(anyLong(), anyList());
+    }
+
+    @Test
+    @DisplayName("Distribute expense - Rent-weighted distribution requires a positive total rent")
+    void distributeExpense_ByRent_ZeroTotal() {
+        // Arrange
+        testFlat1.setMonthlyRent(BigDecimal.ZERO);
+        testFlat2.setMonthlyRent(new BigDecimal("0.00"));
+        when(apartmentBuildingRepository.findById(1L)).thenReturn(Optional.of(testBuilding));
+        when(expenseRepository.save(any(Expense.class))).thenReturn(testExpense);
+        when(flatRepository.findByApartmentBuildingIdAndIsActiveTrue(1L))
+                .thenReturn(Arrays.asList(testFlat1, testFlat2));
+
+        // Act & Assert
+        assertThatThrownBy(() -> expenseService.createExpense(testExpense, Expense.DistributionMethod.RENT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No flat has a positive monthly rent");
+        verify(monthlyDueService, never()).createMonthlyDues(anyLong(), anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<MonthlyDue> captureDistributedDues() {
+        ArgumentCaptor<List<MonthlyDue>> duesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(monthlyDueService, times(1)).createMonthlyDues(eq(1L), duesCaptor.capture());
+        return duesCaptor.getValue();
     }
 }
\ No newline at end of file
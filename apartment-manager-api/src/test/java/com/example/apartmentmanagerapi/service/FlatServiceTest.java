@@ -1,17 +1,24 @@
 package com.example.apartmentmanagerapi.service;
 
+import com.example.apartmentmanagerapi.dto.ActiveContractInfo;
+import com.example.apartmentmanagerapi.dto.CursorSliceResponse;
+import com.example.apartmentmanagerapi.dto.FlatListItem;
 import com.example.apartmentmanagerapi.dto.FlatRequest;
 import com.example.apartmentmanagerapi.dto.FlatResponse;
 import com.example.apartmentmanagerapi.entity.ApartmentBuilding;
+import com.example.apartmentmanagerapi.entity.Contract;
 import com.example.apartmentmanagerapi.entity.Flat;
 import com.example.apartmentmanagerapi.entity.Payment;
 import com.example.apartmentmanagerapi.entity.MonthlyDue;
 import com.example.apartmentmanagerapi.event.FlatCreatedEvent;
 import com.example.apartmentmanagerapi.exception.ResourceNotFoundException;
 import com.example.apartmentmanagerapi.exception.DuplicateResourceException;
+import com.example.apartmentmanagerapi.exception.ValidationException;
 import com.example.apartmentmanagerapi.mapper.FlatMapper;
 import com.example.apartmentmanagerapi.repository.ApartmentBuildingRepository;
+import com.example.apartmentmanagerapi.repository.AttachmentRepository;
 import com.example.apartmentmanagerapi.repository.FlatRepository;
+import com.example.apartmentmanagerapi.util.TextKeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,9 +28,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +42,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -60,6 +70,15 @@ class FlatServiceTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private ContractLoadingService contractLoadingService;
+
+    @Mock
+    private IBuildingVersionService buildingVersionService;
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
     @InjectMocks
     private FlatService flatService;
 
@@ -322,6 +341,29 @@ class FlatServiceTest {
         verify(flatRepository).save(testFlat);
     }
 
+    @Test
+    @DisplayName("Update flat - Moving a flat changes the data version of both buildings")
+    void updateFlat_MovedFlat_BumpsBothBuildingVersions() {
+        // Arrange
+        ApartmentBuilding otherBuilding = new ApartmentBuilding("Other Building", "456 Other Street");
+        otherBuilding.setId(2L);
+        FlatRequest updateRequest = new FlatRequest();
+        updateRequest.setFlatNumber("101");
+        updateRequest.setApartmentBuildingId(2L);
+
+        when(apartmentBuildingRepository.findById(1L)).thenReturn(Optional.of(testBuilding));
+        when(apartmentBuildingRepository.findById(2L)).thenReturn(Optional.of(otherBuilding));
+        when(flatRepository.findByApartmentBuildingIdAndId(1L, 1L)).thenReturn(Optional.of(testFlat));
+        when(flatRepository.save(any(Flat.class))).thenReturn(testFlat);
+
+        // Act
+        flatService.updateFlat(1L, 1L, updateRequest);
+
+        // Assert
+        assertThat(testFlat.getApartmentBuilding()).isSameAs(otherBuilding);
+        verify(buildingVersionService).bump(List.of(1L, 2L));
+    }
+
     @Test
     @DisplayName("Update flat - Duplicate new flat number throws exception")
     void updateFlat_DuplicateNewFlatNumber_ThrowsException() {
@@ -364,6 +406,7 @@ class FlatServiceTest {
         verify(flatRepository).findByApartmentBuildingIdAndId(1L, 1L);
         verify(paymentService).calculateOutstandingBalance(1L);
         verify(flatRepository).delete(testFlat);
+        verify(attachmentRepository).deletePaymentAttachmentsOfFlat(1L);
     }
 
     @Test
@@ -398,6 +441,7 @@ class FlatServiceTest {
         // Verify
         verify(flatRepository).existsById(999L);
         verify(flatRepository, never()).delete(any());
+        verify(attachmentRepository, never()).deletePaymentAttachmentsOfFlat(any());
     }
 
     // Tests for getFlatWithFinancialInfo method
@@ -501,4 +545,73 @@ class FlatServiceTest {
         verify(flatRepository).findByApartmentBuildingIdAndId(1L, 999L);
         verify(flatRepository, never()).save(any());
     }
+
+    // Tests for getFlatSlice method
+    private FlatListItem listItem(Long id, String flatNumber) {
+        return new FlatListItem(id, flatNumber, 3, BigDecimal.valueOf(80), true, "Tenant " + id, BigDecimal.valueOf(1000));
+    }
+
+    @Test
+    @DisplayName("Get flat slice - Default fields, one extra row yields the next cursor")
+    void getFlatSlice_DefaultFields() {
+        when(apartmentBuildingRepository.existsById(1L)).thenReturn(true);
+        when(flatRepository.findListItemsByKeyset(1L, false, false, null, 3))
+                .thenReturn(new ArrayList<>(List.of(listItem(1L, "101"), listItem(2L, "102"), listItem(3L, "103"))));
+
+        CursorSliceResponse<FlatListItem> slice = flatService.getFlatSlice(1L, false, null, Sort.Direction.ASC, null, 2);
+
+        assertThat(slice.getContent()).extracting(FlatListItem::getFlatNumber).containsExactly("101", "102");
+        assertThat(slice.isHasNext()).isTrue();
+        assertThat(TextKeysetCursor.decode(slice.getNextCursor())).isEqualTo(new TextKeysetCursor(false, "102", 2L));
+        assertThat(slice.getContent().get(0).getTenantName()).isNull();
+        assertThat(slice.getContent().get(0).getMonthlyRent()).isNull();
+        verifyNoInteractions(contractLoadingService);
+    }
+
+    @Test
+    @DisplayName("Get flat slice - Contracts are loaded only for requested contract fields")
+    void getFlatSlice_ContractFieldsRequested() {
+        Contract contract = new Contract();
+        ActiveContractInfo info = ActiveContractInfo.builder().contractId(7L).build();
+        when(apartmentBuildingRepository.existsById(1L)).thenReturn(true);
+        when(flatRepository.findListItemsByKeyset(eq(1L), eq(true), eq(true), eq(new TextKeysetCursor(true, "105", 5L)), eq(51)))
+                .thenReturn(new ArrayList<>(List.of(listItem(4L, "104"), listItem(3L, "103"))));
+        when(contractLoadingService.loadActiveContractsForFlats(List.of(4L, 3L))).thenReturn(Map.of(4L, contract));
+        when(contractLoadingService.loadActiveContractInfos(Map.of(4L, contract))).thenReturn(Map.of(4L, info));
+
+        CursorSliceResponse<FlatListItem> slice = flatService.getFlatSlice(1L, true, "flatNumber, activeContract,occupancyStatus",
+                Sort.Direction.DESC, new TextKeysetCursor(true, "105", 5L).encode(), 50);
+
+        assertThat(slice.isHasNext()).isFalse();
+        assertThat(slice.getNextCursor()).isNull();
+        FlatListItem occupied = slice.getContent().get(0);
+        assertThat(occupied.getOccupancyStatus()).isEqualTo(FlatResponse.OccupancyStatus.OCCUPIED);
+        assertThat(occupied.getActiveContract()).isSameAs(info);
+        assertThat(occupied.getNumberOfRooms()).isNull();
+        FlatListItem vacant = slice.getContent().get(1);
+        assertThat(vacant.getOccupancyStatus()).isEqualTo(FlatResponse.OccupancyStatus.VACANT);
+        assertThat(vacant.getActiveContract()).isNull();
+
+        // Occupancy alone does not need the contract details
+        when(flatRepository.findListItemsByKeyset(1L, false, false, null, 51))
+                .thenReturn(new ArrayList<>(List.of(listItem(3L, "103"))));
+        when(contractLoadingService.loadActiveContractsForFlats(List.of(3L))).thenReturn(Map.of());
+        flatService.getFlatSlice(1L, false, "occupancyStatus", Sort.Direction.ASC, null, 50);
+        verify(contractLoadingService, times(1)).loadActiveContractInfos(any());
+    }
+
+    @Test
+    @DisplayName("Get flat slice - Unknown fields, malformed cursors and direction mismatches are rejected")
+    void getFlatSlice_InvalidInput_ThrowsException() {
+        when(apartmentBuildingRepository.existsById(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> flatService.getFlatSlice(1L, false, "flatNumber,password", Sort.Direction.ASC, null, 50))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> flatService.getFlatSlice(1L, false, null, Sort.Direction.ASC, "not-a-cursor", 50))
+                .isInstanceOf(ValidationException.class);
+        String descendingCursor = new TextKeysetCursor(true, "105", 5L).encode();
+        assertThatThrownBy(() -> flatService.getFlatSlice(1L, false, null, Sort.Direction.ASC, descendingCursor, 50))
+                .isInstanceOf(ValidationException.class);
+        verify(flatRepository, never()).findListItemsByKeyset(anyLong(), anyBoolean(), anyBoolean(), any(), anyInt());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.entity.BackgroundJob;
+import com.example.apartmentmanagerapi.repository.BackgroundJobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JobQueueService
+ * Tests enqueueing, claiming, retry backoff and dead-lettering
+ */
+@ExtendWith(MockitoExtension.class)
+class JobQueueServiceTest {
+
+    @Mock
+    private BackgroundJobRepository jobRepository;
+
+    private JobQueueService jobQueueService;
+
+    @BeforeEach
+    void setUp() {
+        jobQueueService = new JobQueueService(jobRepository, new ObjectMapper());
+        ReflectionTestUtils.setField(jobQueueService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(jobQueueService, "initialBackoffSeconds", 30L);
+        ReflectionTestUtils.setField(jobQueueService, "maxBackoffSeconds", 100L);
+        ReflectionTestUtils.setField(jobQueueService, "leaseSeconds", 600L);
+    }
+
+    private BackgroundJob runningJob(int attempts) {
+        return BackgroundJob.builder()
+                .id(7L)
+                .jobType(BackgroundJob.JobType.GENERATE_CONTRACT_DUES)
+                .payload("{\"contractId\":1}")
+                .status(BackgroundJob.Status.RUNNING)
+                .attempts(attempts)
+                .maxAttempts(3)
+                .lockedBy("worker-1")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Enqueue - Payload is stored as JSON with the configured attempt limit")
+    void enqueue_StoresJsonPayload() {
+        when(jobRepository.save(any(BackgroundJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BackgroundJob job = jobQueueService.enqueue(BackgroundJob.JobType.GENERATE_CONTRACT_DUES,
+                Map.of("contractId", 42L));
+
+        assertThat(job.getPayload()).isEqualTo("{\"contractId\":42}");
+        assertThat(job.getMaxAttempts()).isEqualTo(3);
+        assertThat(job.getStatus()).isEqualTo(BackgroundJob.Status.PENDING);
+        assertThat(job.getRunAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Claim - Claimed jobs run under the worker's lease and count an attempt")
+    void claim_LeasesJobs() {
+        BackgroundJob pending = runningJob(0);
+        pending.setStatus(BackgroundJob.Status.PENDING);
+        pending.setLockedBy(null);
+        when(jobRepository.findClaimable(eq(BackgroundJob.JobType.GENERATE_CONTRACT_DUES),
+                any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(pending));
+
+        List<BackgroundJob> claimed = jobQueueService.claim(BackgroundJob.JobType.GENERATE_CONTRACT_DUES, 5, "worker-2");
+
+        assertThat(claimed).singleElement().satisfies(job -> {
+            assertThat(job.getStatus()).isEqualTo(BackgroundJob.Status.RUNNING);
+            assertThat(job.getLockedBy()).isEqualTo("worker-2");
+            assertThat(job.getLockedAt()).isNotNull();
+            assertThat(job.getAttempts()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @DisplayName("Failure - Jobs with attempts left are rescheduled with backoff")
+    void markFailed_ReschedulesWithBackoff() {
+        when(jobRepository.reschedule(eq(7L), eq("worker-1"), any(LocalDateTime.class), anyString())).thenReturn(1);
+        LocalDateTime before = LocalDateTime.now();
+
+        boolean dead = jobQueueService.markFailed(runningJob(2), "worker-1", new IllegalStateException("Database down"));
+
+        ArgumentCaptor<LocalDateTime> runAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(jobRepository).reschedule(eq(7L), eq("worker-1"), runAt.capture(),
+                eq("java.lang.IllegalStateException: Database down"));
+        assertThat(dead).isFalse();
+        assertThat(runAt.getValue()).isAfterOrEqualTo(before.plusSeconds(60));
+        verify(jobRepository, never()).markDead(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Failure - Jobs out of attempts are dead-lettered")
+    void markFailed_DeadLettersExhaustedJobs() {
+        when(jobRepository.markDead(eq(7L), eq("worker-1"), anyString(), any(LocalDateTime.class))).thenReturn(1);
+
+        boolean dead = jobQueueService.markFailed(runningJob(3), "worker-1", new IllegalStateException("Database down"));
+
+        assertThat(dead).isTrue();
+        verify(jobRepository, never()).reschedule(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Failure - A lost lease is not reported as dead-lettered")
+    void markFailed_LostLease() {
+        when(jobRepository.markDead(eq(7L), eq("worker-1"), anyString(), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThat(jobQueueService.markFailed(runningJob(3), "worker-1", new IllegalStateException("boom"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Backoff - Doubles per failed attempt up to the maximum")
+    void backoff_DoublesAndCaps() {
+        assertThat(jobQueueService.backoffFor(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(jobQueueService.backoffFor(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(jobQueueService.backoffFor(3)).isEqualTo(Duration.ofSeconds(100));
+        assertThat(jobQueueService.backoffFor(100)).isEqualTo(Duration.ofSeconds(100));
+    }
+}
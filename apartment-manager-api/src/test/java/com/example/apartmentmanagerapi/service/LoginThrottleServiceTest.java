@@ -0,0 +1,207 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.entity.LoginThrottleCounter;
+import com.example.apartmentmanagerapi.exception.TooManyLoginAttemptsException;
+import com.example.apartmentmanagerapi.repository.LoginThrottleCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LoginThrottleService
+ * Tests sliding-window counting, exponential lockout and cluster synchronization
+ */
+@ExtendWith(MockitoExtension.class)
+class LoginThrottleServiceTest {
+
+    @Mock
+    private LoginThrottleCounterRepository counterRepository;
+
+    @InjectMocks
+    private LoginThrottleService loginThrottleService;
+
+    private static final String USERNAME = "testuser";
+    private static final String CLIENT_IP = "10.0.0.1";
+
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loginThrottleService, "enabled", true);
+        ReflectionTestUtils.setField(loginThrottleService, "maxFailuresPerUser", 3);
+        ReflectionTestUtils.setField(loginThrottleService, "maxFailuresPerIp", 10);
+        ReflectionTestUtils.setField(loginThrottleService, "windowSeconds", 60L);
+        ReflectionTestUtils.setField(loginThrottleService, "baseLockoutSeconds", 30L);
+        ReflectionTestUtils.setField(loginThrottleService, "maxLockoutSeconds", 300L);
+        ReflectionTestUtils.setField(loginThrottleService, "maxTrackedKeys", 1000L);
+        loginThrottleService.initialize();
+
+        now = Instant.parse("2024-01-01T10:00:00Z");
+        loginThrottleService.setClock(Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private void advance(Duration duration) {
+        now = now.plus(duration);
+        loginThrottleService.setClock(Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private void failTimes(String username, String ip, int times) {
+        for (int i = 0; i < times; i++) {
+            loginThrottleService.recordFailedLogin(username, ip);
+        }
+    }
+
+    @Test
+    @DisplayName("Check login - Allowed below the failure limit")
+    void checkLoginAllowed_BelowLimit() {
+        failTimes(USERNAME, CLIENT_IP, 2);
+
+        assertThatCode(() -> loginThrottleService.checkLoginAllowed(USERNAME, CLIENT_IP))
+                .doesNotThrowAnyException();
+        verifyNoInteractions(counterRepository);
+    }
+
+    @Test
+    @DisplayName("Check login - Username locked out after reaching the limit")
+    void checkLoginAllowed_UsernameLockedOut() {
+        failTimes(USERNAME, CLIENT_IP, 3);
+
+        assertThatThrownBy(() -> loginThrottleService.checkLoginAllowed(USERNAME, "10.0.0.2"))
+                .isInstanceOf(TooManyLoginAttemptsException.class)
+                .satisfies(ex -> assertThat(((TooManyLoginAttemptsException) ex).getRetryAfterSeconds()).isEqualTo(30));
+
+        // Usernames are matched case-insensitively
+        assertThatThrownBy(() -> loginThrottleService.checkLoginAllowed("TestUser", "10.0.0.2"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+    }
+
+    @Test
+    @DisplayName("Check login - Failures outside the sliding window are forgotten")
+    void checkLoginAllowed_WindowSlides() {
+        failTimes(USERNAME, CLIENT_IP, 2);
+        advance(Duration.ofSeconds(61));
+        failTimes(USERNAME, CLIENT_IP, 2);
+
+        assertThatCode(() -> loginThrottleService.checkLoginAllowed(USERNAME, CLIENT_IP))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Check login - Lockout doubles on repeated lockouts")
+    void checkLoginAllowed_ExponentialLockout() {
+        failTimes(USERNAME, CLIENT_IP, 3);
+        advance(Duration.ofSeconds(31));
+        loginThrottleService.checkLoginAllowed(USERNAME, CLIENT_IP);
+
+        failTimes(USERNAME, CLIENT_IP, 3);
+
+        assertThatThrownBy(() -> loginThrottleService.checkLoginAllowed(USERNAME, CLIENT_IP))
+                .isInstanceOf(TooManyLoginAttemptsException.class)
+                .satisfies(ex -> assertThat(((TooManyLoginAttemptsException) ex).getRetryAfterSeconds()).isEqualTo(60));
+    }
+
+    @Test
+    @DisplayName("Check login - Client IP locked out across usernames")
+    void checkLoginAllowed_IpLockedOut() {
+        for (int i = 0; i < 10; i++) {
+            loginThrottleService.recordFailedLogin("user" + i, CLIENT_IP);
+        }
+
+        assertThatThrownBy(() -> loginThrottleService.checkLoginAllowed("another", CLIENT_IP))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+        assertThatCode(() -> loginThrottleService.checkLoginAllowed("another", "10.0.0.2"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Record success - Clears the username window")
+    void recordSuccessfulLogin_ResetsUsername() {
+        failTimes(USERNAME, CLIENT_IP, 2);
+        loginThrottleService.recordSuccessfulLogin(USERNAME, CLIENT_IP);
+        failTimes(USERNAME, CLIENT_IP, 2);
+
+        assertThatCode(() -> loginThrottleService.checkLoginAllowed(USERNAME, CLIENT_IP))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Disabled throttle - Never blocks")
+    void checkLoginAllowed_Disabled() {
+        ReflectionTestUtils.setField(loginThrottleService, "enabled", false);
+        failTimes(USERNAME, CLIENT_IP, 10);
+
+        assertThatCode(() -> loginThrottleService.checkLoginAllowed(USERNAME, CLIENT_IP))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Cluster sync - Flushes local deltas once")
+    void synchronizeWithCluster_FlushesDeltas() {
+        failTimes(USERNAME, CLIENT_IP, 2);
+        when(counterRepository.findByUpdatedAtGreaterThan(anyLong())).thenReturn(List.of());
+
+        loginThrottleService.synchronizeWithCluster();
+        loginThrottleService.synchronizeWithCluster();
+
+        verify(counterRepository).mergeCounter(eq("user:testuser"), eq(2), eq(0L), eq(now.toEpochMilli()), anyLong());
+        verify(counterRepository).mergeCounter(eq("ip:10.0.0.1"), eq(2), eq(0L), eq(now.toEpochMilli()), anyLong());
+        verify(counterRepository, times(2)).mergeCounter(anyString(), anyInt(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Cluster sync - Applies remote lockouts locally")
+    void synchronizeWithCluster_AppliesRemoteLockout() {
+        long lockedUntil = now.plusSeconds(120).toEpochMilli();
+        LoginThrottleCounter remote = LoginThrottleCounter.builder()
+                .throttleKey("user:remoteuser")
+                .failureCount(3)
+                .windowStart(now.minusSeconds(10).toEpochMilli())
+                .lockedUntil(lockedUntil)
+                .updatedAt(now.toEpochMilli())
+                .build();
+        when(counterRepository.findByUpdatedAtGreaterThan(anyLong())).thenReturn(List.of(remote));
+
+        loginThrottleService.synchronizeWithCluster();
+
+        assertThatThrownBy(() -> loginThrottleService.checkLoginAllowed("remoteuser", CLIENT_IP))
+                .isInstanceOf(TooManyLoginAttemptsException.class)
+                .satisfies(ex -> assertThat(((TooManyLoginAttemptsException) ex).getRetryAfterSeconds()).isEqualTo(120));
+    }
+
+    @Test
+    @DisplayName("Cluster sync - Locks keys whose combined count reaches the limit")
+    void synchronizeWithCluster_LocksOnAggregateCount() {
+        LoginThrottleCounter remote = LoginThrottleCounter.builder()
+                .throttleKey("user:spread")
+                .failureCount(4)
+                .windowStart(now.minusSeconds(10).toEpochMilli())
+                .lockedUntil(0)
+                .updatedAt(now.toEpochMilli())
+                .build();
+        when(counterRepository.findByUpdatedAtGreaterThan(anyLong())).thenReturn(List.of(remote));
+
+        loginThrottleService.synchronizeWithCluster();
+
+        assertThatThrownBy(() -> loginThrottleService.checkLoginAllowed("spread", CLIENT_IP))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+    }
+}
@@ -52,6 +52,9 @@ class MonthlyDueServiceTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private IBuildingVersionService buildingVersionService;
+
     @InjectMocks
     private MonthlyDueService monthlyDueService;
 
@@ -338,10 +341,10 @@ class MonthlyDueServiceTest {
         // Arrange
         when(monthlyDueRepository.findFlatsWithOverdueDues(1L))
                 .thenReturn(Arrays.asList(testFlat1, testFlat2));
-        when(monthlyDueRepository.getTotalUnpaidDuesByFlat(1L))
-                .thenReturn(BigDecimal.valueOf(2000));
-        when(monthlyDueRepository.getTotalUnpaidDuesByFlat(2L))
-                .thenReturn(BigDecimal.valueOf(1500));
+        when(monthlyDueRepository.getTotalUnpaidDuesByFlatIds(List.of(1L, 2L)))
+                .thenReturn(Arrays.asList(
+                        new Object[]{1L, BigDecimal.valueOf(2000)},
+                        new Object[]{2L, BigDecimal.valueOf(1500)}));
 
         // Act
         Map<Flat, BigDecimal> result = monthlyDueService.getDebtorDetailsForBuilding(1L);
@@ -350,6 +353,7 @@ class MonthlyDueServiceTest {
         assertThat(result).hasSize(2);
         assertThat(result.get(testFlat1)).isEqualTo(BigDecimal.valueOf(2000));
         assertThat(result.get(testFlat2)).isEqualTo(BigDecimal.valueOf(1500));
+        verify(monthlyDueRepository, never()).getTotalUnpaidDuesByFlat(anyLong());
     }
 
     // Tests for calculateTotalDebt method
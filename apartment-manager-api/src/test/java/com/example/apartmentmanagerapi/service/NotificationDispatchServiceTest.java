@@ -0,0 +1,186 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.entity.NotificationOutbox;
+import com.example.apartmentmanagerapi.notification.NotificationDeliveryException;
+import com.example.apartmentmanagerapi.notification.NotificationDigest;
+import com.example.apartmentmanagerapi.notification.NotificationTransport;
+import com.example.apartmentmanagerapi.repository.NotificationOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationDispatchService
+ * Tests per-recipient digest coalescing, claims, per-run limits and failure handling
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatchServiceTest {
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+
+    private final List<NotificationDigest> delivered = new ArrayList<>();
+    private final List<String> failingRecipients = new ArrayList<>();
+
+    private NotificationDispatchService dispatchService;
+
+    @BeforeEach
+    void setUp() {
+        NotificationTransport transport = digest -> {
+            if (failingRecipients.contains(digest.getRecipient())) {
+                throw new NotificationDeliveryException("SMTP unavailable");
+            }
+            delivered.add(digest);
+        };
+        dispatchService = new NotificationDispatchService(outboxRepository, transport);
+        ReflectionTestUtils.setField(dispatchService, "maxDigestsPerRun", 10);
+        ReflectionTestUtils.setField(dispatchService, "maxItemsPerDigest", 50);
+        ReflectionTestUtils.setField(dispatchService, "maxAttempts", 5);
+    }
+
+    private NotificationOutbox entry(long id, String recipient) {
+        return NotificationOutbox.builder()
+                .id(id)
+                .dedupKey("key-" + id)
+                .notificationType(NotificationOutbox.NotificationType.CONTRACT_EXPIRY)
+                .referenceId(id)
+                .recipient(recipient)
+                .subject("Contract " + id + " expires")
+                .body("Details of contract " + id)
+                .build();
+    }
+
+    private void givenPending(List<String> recipients, List<NotificationOutbox> entries) {
+        givenPending(recipients, entries, entries);
+    }
+
+    /**
+     * @param claimed The candidates this run wins; the others are claimed by a concurrent run
+     */
+    @SuppressWarnings("unchecked")
+    private void givenPending(List<String> recipients, List<NotificationOutbox> entries, List<NotificationOutbox> claimed) {
+        when(outboxRepository.findClaimableRecipients(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(recipients);
+        when(outboxRepository.findClaimable(eq(recipients), any(LocalDateTime.class))).thenReturn(entries);
+        when(outboxRepository.claim(anyCollection(), anyString(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> (int) claimed.stream()
+                        .filter(item -> ((Collection<Long>) invocation.getArgument(0)).contains(item.getId()))
+                        .count());
+        lenient().when(outboxRepository.findByIdInAndClaimedByOrderByIdAsc(anyCollection(), anyString()))
+                .thenAnswer(invocation -> claimed.stream()
+                        .filter(item -> ((Collection<Long>) invocation.getArgument(0)).contains(item.getId()))
+                        .toList());
+        lenient().when(outboxRepository.markSent(anyCollection(), anyString(), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> ((Collection<Long>) invocation.getArgument(0)).size());
+    }
+
+    @Test
+    @DisplayName("Dispatch - Entries of one recipient are sent as a single digest")
+    void coalescesEntriesPerRecipient() {
+        givenPending(List.of("manager@test.com", "tenant@test.com"), List.of(
+                entry(1, "manager@test.com"), entry(2, "tenant@test.com"), entry(3, "manager@test.com")));
+
+        int sent = dispatchService.dispatchPending();
+
+        assertThat(sent).isEqualTo(2);
+        assertThat(delivered).extracting(NotificationDigest::getRecipient)
+                .containsExactly("manager@test.com", "tenant@test.com");
+        NotificationDigest managerDigest = delivered.get(0);
+        assertThat(managerDigest.getItemCount()).isEqualTo(2);
+        assertThat(managerDigest.getSubject()).isEqualTo("2 contract notifications");
+        assertThat(managerDigest.getBody()).contains("Contract 1 expires", "Contract 3 expires");
+        assertThat(delivered.get(1).getSubject()).isEqualTo("Contract 2 expires");
+        verify(outboxRepository).markSent(eq(List.of(1L, 3L)), anyString(), any(LocalDateTime.class));
+        verify(outboxRepository).markSent(eq(List.of(2L)), anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Dispatch - Recipients per run are limited")
+    void limitsDigestsPerRun() {
+        ReflectionTestUtils.setField(dispatchService, "maxDigestsPerRun", 3);
+        when(outboxRepository.findClaimableRecipients(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        dispatchService.dispatchPending();
+
+        verify(outboxRepository).findClaimableRecipients(any(LocalDateTime.class),
+                argThat(pageable -> pageable.getPageSize() == 3));
+        verify(outboxRepository, never()).findClaimable(any(), any());
+    }
+
+    @Test
+    @DisplayName("Dispatch - Oversized backlogs are split over runs")
+    void limitsItemsPerDigest() {
+        ReflectionTestUtils.setField(dispatchService, "maxItemsPerDigest", 2);
+        givenPending(List.of("manager@test.com"), List.of(
+                entry(1, "manager@test.com"), entry(2, "manager@test.com"), entry(3, "manager@test.com")));
+
+        dispatchService.dispatchPending();
+
+        assertThat(delivered).singleElement().extracting(NotificationDigest::getItemCount).isEqualTo(2);
+        verify(outboxRepository).claim(eq(List.of(1L, 2L)), anyString(), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(outboxRepository).markSent(eq(List.of(1L, 2L)), anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Dispatch - A failing recipient is recorded and does not stop the others")
+    void recordsFailures() {
+        failingRecipients.add("broken@test.com");
+        givenPending(List.of("broken@test.com", "tenant@test.com"), List.of(
+                entry(1, "broken@test.com"), entry(2, "tenant@test.com")));
+
+        int sent = dispatchService.dispatchPending();
+
+        assertThat(sent).isEqualTo(1);
+        verify(outboxRepository).recordFailure(eq(List.of(1L)), anyString(), anyString(), eq(5));
+        verify(outboxRepository).markSent(eq(List.of(2L)), anyString(), any(LocalDateTime.class));
+        verify(outboxRepository, never()).markSent(eq(List.of(1L)), anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Claims - Entries claimed by a concurrent run are not sent, outcomes use this run's claim")
+    void sendsOnlyClaimedEntries() {
+        NotificationOutbox mine = entry(1, "manager@test.com");
+        givenPending(List.of("manager@test.com", "tenant@test.com"),
+                List.of(mine, entry(2, "tenant@test.com"), entry(3, "manager@test.com")), List.of(mine));
+
+        int sent = dispatchService.dispatchPending();
+
+        assertThat(sent).isEqualTo(1);
+        assertThat(delivered).singleElement().extracting(NotificationDigest::getItemCount).isEqualTo(1);
+        ArgumentCaptor<String> runId = ArgumentCaptor.forClass(String.class);
+        verify(outboxRepository).claim(eq(List.of(1L, 3L, 2L)), runId.capture(),
+                any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(outboxRepository).markSent(eq(List.of(1L)), eq(runId.getValue()), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Claims - Nothing is sent when a concurrent run claimed every candidate")
+    void sendsNothingWhenAllClaimedElsewhere() {
+        givenPending(List.of("manager@test.com"), List.of(entry(1, "manager@test.com")), List.of());
+
+        assertThat(dispatchService.dispatchPending()).isZero();
+
+        assertThat(delivered).isEmpty();
+        verify(outboxRepository, never()).markSent(anyCollection(), anyString(), any(LocalDateTime.class));
+    }
+}
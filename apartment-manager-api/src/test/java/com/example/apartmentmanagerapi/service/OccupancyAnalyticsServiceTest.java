@@ -0,0 +1,150 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.dto.BuildingOccupancyResponse;
+import com.example.apartmentmanagerapi.dto.OccupancyContractRow;
+import com.example.apartmentmanagerapi.entity.Contract;
+import com.example.apartmentmanagerapi.exception.ResourceNotFoundException;
+import com.example.apartmentmanagerapi.repository.ApartmentBuildingRepository;
+import com.example.apartmentmanagerapi.repository.ContractRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OccupancyAnalyticsService
+ * Tests per-flat summaries and the monthly occupancy series computed from one ordered scan
+ */
+@ExtendWith(MockitoExtension.class)
+class OccupancyAnalyticsServiceTest {
+
+    private static final Long BUILDING_ID = 1L;
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    @Mock
+    private ApartmentBuildingRepository apartmentBuildingRepository;
+
+    @InjectMocks
+    private OccupancyAnalyticsService occupancyAnalyticsService;
+
+    private final YearMonth thisMonth = YearMonth.now();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(occupancyAnalyticsService, "timelineMonths", 12);
+    }
+
+    private OccupancyContractRow row(long flatId, Long contractId, LocalDate start, LocalDate end, String rent,
+                                     Contract.ContractStatus status, LocalDateTime cancellationDate) {
+        return new OccupancyContractRow(flatId, "A" + flatId, contractId, start, end,
+                rent != null ? new BigDecimal(rent) : null, status, cancellationDate);
+    }
+
+    private OccupancyContractRow emptyFlat(long flatId) {
+        return row(flatId, null, null, null, null, null, null);
+    }
+
+    private BuildingOccupancyResponse.MonthlyOccupancy month(BuildingOccupancyResponse response, int monthsAgo) {
+        return response.getTimeline().get(11 - monthsAgo);
+    }
+
+    @Test
+    @DisplayName("Occupancy - Per-flat summaries and monthly rates come from one scan of the building's contracts")
+    void getBuildingOccupancy_ComputesSummariesAndTimeline() {
+        LocalDate cancelledStart = thisMonth.minusMonths(2).atDay(1);
+        when(apartmentBuildingRepository.existsById(BUILDING_ID)).thenReturn(true);
+        when(contractRepository.findOccupancyRowsByBuildingId(BUILDING_ID)).thenReturn(List.of(
+                row(1, 10L, thisMonth.minusMonths(20).atDay(1), thisMonth.minusMonths(6).atEndOfMonth(), "1000",
+                        Contract.ContractStatus.EXPIRED, null),
+                row(1, 11L, thisMonth.minusMonths(3).atDay(1), thisMonth.plusMonths(9).atEndOfMonth(), "1200",
+                        Contract.ContractStatus.ACTIVE, null),
+                row(2, 20L, cancelledStart, cancelledStart.plusMonths(10), "900",
+                        Contract.ContractStatus.CANCELLED, thisMonth.minusMonths(1).atDay(1).atTime(10, 0)),
+                emptyFlat(3)));
+
+        BuildingOccupancyResponse response = occupancyAnalyticsService.getBuildingOccupancy(BUILDING_ID);
+
+        verify(contractRepository, times(1)).findOccupancyRowsByBuildingId(BUILDING_ID);
+        assertThat(response.getTotalFlats()).isEqualTo(3);
+        assertThat(response.getOccupiedFlats()).isEqualTo(1);
+        assertThat(response.getOccupancyRate()).isEqualByComparingTo("33.33");
+
+        BuildingOccupancyResponse.FlatOccupancy flat1 = response.getFlats().get(0);
+        assertThat(flat1.getCurrentlyOccupied()).isTrue();
+        assertThat(flat1.getSummary().getTotalContracts()).isEqualTo(2);
+        assertThat(flat1.getSummary().getFirstOccupancyDate()).isEqualTo(thisMonth.minusMonths(20).atDay(1));
+        assertThat(flat1.getSummary().getLastVacancyDate()).isEqualTo(thisMonth.minusMonths(5).atDay(1));
+        assertThat(flat1.getSummary().getAverageRent()).isEqualByComparingTo("1100.00");
+
+        BuildingOccupancyResponse.FlatOccupancy flat2 = response.getFlats().get(1);
+        assertThat(flat2.getCurrentlyOccupied()).isFalse();
+        assertThat(flat2.getSummary().getLastVacancyDate()).isEqualTo(thisMonth.minusMonths(1).atDay(2));
+
+        BuildingOccupancyResponse.FlatOccupancy flat3 = response.getFlats().get(2);
+        assertThat(flat3.getSummary().getTotalContracts()).isZero();
+        assertThat(flat3.getSummary().getAverageRent()).isEqualByComparingTo(BigDecimal.ZERO);
+
+        assertThat(response.getTimeline()).hasSize(12);
+        assertThat(month(response, 11).getMonth()).isEqualTo(thisMonth.minusMonths(11).atDay(1));
+        assertThat(month(response, 11).getOccupiedFlats()).isEqualTo(1);
+        assertThat(month(response, 5).getOccupiedFlats()).isZero();
+        assertThat(month(response, 2).getOccupiedFlats()).isEqualTo(2);
+        assertThat(month(response, 2).getOccupancyRate()).isEqualByComparingTo("66.67");
+        assertThat(month(response, 0).getOccupiedFlats()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Occupancy - Contracts cancelled before they started never occupy the flat")
+    void getBuildingOccupancy_IgnoresContractsCancelledBeforeStart() {
+        LocalDate start = thisMonth.plusMonths(1).atDay(1);
+        when(apartmentBuildingRepository.existsById(BUILDING_ID)).thenReturn(true);
+        when(contractRepository.findOccupancyRowsByBuildingId(BUILDING_ID)).thenReturn(List.of(
+                row(1, 10L, start, start.plusYears(1), "1000",
+                        Contract.ContractStatus.CANCELLED, LocalDateTime.now())));
+
+        BuildingOccupancyResponse response = occupancyAnalyticsService.getBuildingOccupancy(BUILDING_ID);
+
+        assertThat(response.getFlats().get(0).getSummary().getTotalContracts()).isEqualTo(1);
+        assertThat(response.getFlats().get(0).getSummary().getLastVacancyDate()).isNull();
+        assertThat(response.getTimeline()).allSatisfy(month -> assertThat(month.getOccupiedFlats()).isZero());
+    }
+
+    @Test
+    @DisplayName("Occupancy - Buildings without flats report zero rates")
+    void getBuildingOccupancy_EmptyBuilding() {
+        when(apartmentBuildingRepository.existsById(BUILDING_ID)).thenReturn(true);
+        when(contractRepository.findOccupancyRowsByBuildingId(BUILDING_ID)).thenReturn(List.of());
+
+        BuildingOccupancyResponse response = occupancyAnalyticsService.getBuildingOccupancy(BUILDING_ID);
+
+        assertThat(response.getTotalFlats()).isZero();
+        assertThat(response.getOccupancyRate()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(response.getTimeline()).hasSize(12);
+    }
+
+    @Test
+    @DisplayName("Occupancy - Unknown buildings are rejected")
+    void getBuildingOccupancy_UnknownBuilding() {
+        when(apartmentBuildingRepository.existsById(BUILDING_ID)).thenReturn(false);
+
+        assertThatThrownBy(() -> occupancyAnalyticsService.getBuildingOccupancy(BUILDING_ID))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(contractRepository);
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.apartmentmanagerapi.service;
 
 import com.example.apartmentmanagerapi.entity.ApartmentBuilding;
+import com.example.apartmentmanagerapi.entity.Attachment;
 import com.example.apartmentmanagerapi.entity.Flat;
 import com.example.apartmentmanagerapi.entity.Payment;
 import com.example.apartmentmanagerapi.entity.MonthlyDue;
 import com.example.apartmentmanagerapi.event.PaymentRecordedEvent;
+import com.example.apartmentmanagerapi.repository.AttachmentRepository;
 import com.example.apartmentmanagerapi.repository.FlatRepository;
 import com.example.apartmentmanagerapi.repository.PaymentRepository;
 import com.example.apartmentmanagerapi.repository.MonthlyDueRepository;
@@ -51,6 +53,12 @@ class PaymentServiceTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private IBuildingVersionService buildingVersionService;
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
     @InjectMocks
     private PaymentService paymentService;
 
@@ -335,6 +343,7 @@ class PaymentServiceTest {
         existingPayment.setPaymentMethod(Payment.PaymentMethod.CASH);
         existingPayment.setDescription("Old description");
         existingPayment.setReceiptNumber("OLD001");
+        existingPayment.setFlat(testFlat);
 
         when(paymentRepository.findById(1L)).thenReturn(Optional.of(existingPayment));
         when(paymentRepository.save(any(Payment.class))).thenReturn(existingPayment);
@@ -398,6 +407,7 @@ class PaymentServiceTest {
         verify(monthlyDueRepository).findByFlatIdAndPaymentDate(1L, testPayment.getPaymentDate());
         verify(monthlyDueRepository).save(testDue1);
         verify(paymentRepository).delete(testPayment);
+        verify(attachmentRepository).deleteByOwner(Attachment.OwnerType.PAYMENT, 1L);
     }
 
     @Test
@@ -414,6 +424,7 @@ class PaymentServiceTest {
         // Verify
         verify(paymentRepository).findById(999L);
         verify(paymentRepository, never()).delete(any());
+        verify(attachmentRepository, never()).deleteByOwner(any(), any());
     }
 
     // Tests for allocation logic
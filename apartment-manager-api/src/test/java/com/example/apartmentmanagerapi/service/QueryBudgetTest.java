@@ -0,0 +1,146 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.config.TestDatabaseConfig;
+import com.example.apartmentmanagerapi.config.TestJpaConfig;
+import com.example.apartmentmanagerapi.dto.ActiveContractInfo;
+import com.example.apartmentmanagerapi.dto.ContractSummaryResponse;
+import com.example.apartmentmanagerapi.entity.*;
+import com.example.apartmentmanagerapi.mapper.ContractMapperImpl;
+import com.example.apartmentmanagerapi.mapper.FlatMapperImpl;
+import com.example.apartmentmanagerapi.metrics.QueryCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.apartmentmanagerapi.metrics.QueryCountAssertions.assertMaxQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SQL statement budgets for the read paths that used to load dues per contract or per flat.
+ * Each budget is independent of the number of flats, so a per-row query fails the test.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestDatabaseConfig.class, TestJpaConfig.class, ContractService.class, ContractLoadingService.class,
+        MonthlyDueService.class, BuildingVersionService.class, ContractMapperImpl.class, FlatMapperImpl.class})
+class QueryBudgetTest {
+
+    private static final int FLATS = 6;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private IContractService contractService;
+
+    @Autowired
+    private ContractLoadingService contractLoadingService;
+
+    @Autowired
+    private IMonthlyDueService monthlyDueService;
+
+    @MockBean
+    private IAuditService auditService;
+
+    @MockBean
+    private IContractDueGenerationService dueGenerationService;
+
+    private ApartmentBuilding building;
+    private final List<Long> flatIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        building = new ApartmentBuilding();
+        building.setName("Budget Building");
+        building.setAddress("Budget Address");
+        building = entityManager.persist(building);
+
+        LocalDate start = LocalDate.now().minusMonths(3).withDayOfMonth(1);
+        for (int i = 0; i < FLATS; i++) {
+            Flat flat = new Flat();
+            flat.setFlatNumber("Q" + i);
+            flat.setNumberOfRooms(2);
+            flat.setMonthlyRent(new BigDecimal("1000"));
+            flat.setApartmentBuilding(building);
+            flat.setIsActive(true);
+            flat = entityManager.persist(flat);
+            flatIds.add(flat.getId());
+
+            Contract contract = entityManager.persist(Contract.builder()
+                .flat(flat)
+                .startDate(start)
+                .endDate(start.plusYears(1).minusDays(1))
+                .monthlyRent(new BigDecimal("1000"))
+                .dayOfMonth(1)
+                .status(Contract.ContractStatus.ACTIVE)
+                .build());
+
+            for (int month = 0; month < 3; month++) {
+                entityManager.persist(MonthlyDue.builder()
+                    .flat(flat)
+                    .contract(contract)
+                    .dueAmount(new BigDecimal("1000"))
+                    .dueDate(start.plusMonths(month))
+                    .status(month == 0 ? MonthlyDue.DueStatus.OVERDUE : MonthlyDue.DueStatus.UNPAID)
+                    .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Contracts - A page of summaries aggregates dues in one query")
+    void contractSummariesWithinBudget() throws Exception {
+        List<Page<ContractSummaryResponse>> result = new ArrayList<>();
+
+        // page query, count query, grouped dues query
+        assertMaxQueries(3, () -> result.add(contractService.getContractsByBuildingId(building.getId(),
+                PageRequest.of(0, 2 * FLATS))));
+
+        assertThat(result.get(0).getContent()).hasSize(FLATS)
+                .allSatisfy(summary -> assertThat(summary.isHasOverdueDues()).isTrue());
+    }
+
+    @Test
+    @DisplayName("Active contracts - Infos for all flats use one grouped dues query")
+    void activeContractInfosWithinBudget() throws Exception {
+        List<Map<Long, ActiveContractInfo>> result = new ArrayList<>();
+
+        // active contracts with flats, grouped dues query
+        QueryCount count = assertMaxQueries(2, () -> result.add(contractLoadingService.loadActiveContractInfos(
+                contractLoadingService.loadActiveContractsForFlats(flatIds))));
+
+        assertThat(count.getRepeatedStatements(2)).isEmpty();
+        assertThat(result.get(0)).hasSize(FLATS)
+                .allSatisfy((flatId, info) -> assertThat(info.isHasOverdueDues()).isTrue());
+    }
+
+    @Test
+    @DisplayName("Debtors - Debts of all debtors are summed in one grouped query")
+    void debtorDetailsWithinBudget() throws Exception {
+        List<Map<Flat, BigDecimal>> result = new ArrayList<>();
+
+        // debtor flats, grouped debt query
+        assertMaxQueries(2, () -> result.add(monthlyDueService.getDebtorDetailsForBuilding(building.getId())));
+
+        assertThat(result.get(0)).hasSize(FLATS)
+                .allSatisfy((flat, debt) -> assertThat(debt).isEqualByComparingTo("3000"));
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.apartmentmanagerapi.service;
+
+import com.example.apartmentmanagerapi.entity.ApartmentBuilding;
+import com.example.apartmentmanagerapi.entity.Expense;
+import com.example.apartmentmanagerapi.entity.Flat;
+import com.example.apartmentmanagerapi.entity.MonthlyDue;
+import com.example.apartmentmanagerapi.repository.ExpenseRepository;
+import com.example.apartmentmanagerapi.repository.FlatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RecurringExpenseService
+ * Tests period scheduling, idempotent materialization, bulk distribution and cache invalidation
+ */
+@ExtendWith(MockitoExtension.class)
+class RecurringExpenseServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 10);
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private FlatRepository flatRepository;
+
+    @Mock
+    private IMonthlyDueService monthlyDueService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    @Mock
+    private IBuildingVersionService buildingVersionService;
+
+    @InjectMocks
+    private RecurringExpenseService recurringExpenseService;
+
+    private ApartmentBuilding building;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(recurringExpenseService, "chunkSize", 200);
+        ReflectionTestUtils.setField(recurringExpenseService, "maxPeriodsPerRun", 12);
+        recurringExpenseService.initialize();
+
+        building = new ApartmentBuilding();
+        building.setId(1L);
+        building.setName("Test Building");
+    }
+
+    private Expense template(Long id, LocalDate firstDate, LocalDate nextOccurrence,
+                             Expense.DistributionMethod distributionMethod) {
+        Expense template = Expense.builder()
+                .building(building)
+                .category(Expense.ExpenseCategory.CLEANING)
+                .amount(new BigDecimal("300.00"))
+                .expenseDate(firstDate)
+                .description("Stairwell cleaning")
+                .isRecurring(true)
+                .recurrenceFrequency(Expense.RecurrenceFrequency.MONTHLY)
+                .nextOccurrenceDate(nextOccurrence)
+                .distributionMethod(distributionMethod)
+                .build();
+        template.setId(id);
+        return template;
+    }
+
+    private Flat flat(Long id, BigDecimal area) {
+        Flat flat = new Flat();
+        flat.setId(id);
+        flat.setFlatNumber(String.valueOf(100 + id));
+        flat.setApartmentBuilding(building);
+        flat.setIsActive(true);
+        flat.setAreaSqMeters(area);
+        return flat;
+    }
+
+    private void givenDueTemplates(Expense... templates) {
+        when(expenseRepository.findDueRecurringTemplates(eq(TODAY), eq(0L), any()))
+                .thenReturn(List.of(templates));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Expense> savedInstances() {
+        ArgumentCaptor<List<Expense>> captor = ArgumentCaptor.forClass(List.class);
+        verify(expenseRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Recurrence - Occurrences are counted from the first date and do not drift at month end")
+    void occurrencesDoNotDrift() {
+        LocalDate first = LocalDate.of(2024, 1, 31);
+
+        assertThat(Expense.RecurrenceFrequency.MONTHLY.occurrence(first, 1)).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(Expense.RecurrenceFrequency.MONTHLY.occurrence(first, 2)).isEqualTo(LocalDate.of(2024, 3, 31));
+        assertThat(Expense.RecurrenceFrequency.QUARTERLY.occurrence(first, 1)).isEqualTo(LocalDate.of(2024, 4, 30));
+        assertThat(Expense.RecurrenceFrequency.WEEKLY.occurrence(first, 1)).isEqualTo(LocalDate.of(2024, 2, 7));
+    }
+
+    @Test
+    @DisplayName("Materialize - Due periods are created once and the next occurrence advances")
+    void materializeDuePeriods() {
+        Expense template = template(5L, LocalDate.of(2024, 1, 5), LocalDate.of(2024, 4, 5), null);
+        givenDueTemplates(template);
+        // May was created by an earlier, interrupted run
+        List<Object[]> existing = new ArrayList<>();
+        existing.add(new Object[]{5L, LocalDate.of(2024, 5, 5)});
+        when(expenseRepository.findMaterializedPeriods(List.of(5L), LocalDate.of(2024, 4, 5), TODAY))
+                .thenReturn(existing);
+        cacheManager.getCache("monthlyExpenseTotals").put("1-2024-04", BigDecimal.TEN);
+        cacheManager.getCache("monthlyExpenseTotals").put("1-2024-03", BigDecimal.ONE);
+
+        int created = recurringExpenseService.materializeDueExpenses(TODAY);
+
+        assertThat(created).isEqualTo(2);
+        List<Expense> instances = savedInstances();
+        assertThat(instances).extracting(Expense::getExpenseDate)
+                .containsExactly(LocalDate.of(2024, 4, 5), LocalDate.of(2024, 6, 5));
+        assertThat(instances).allSatisfy(instance -> {
+            assertThat(instance.getRecurringTemplateId()).isEqualTo(5L);
+            assertThat(instance.getIsRecurring()).isFalse();
+            assertThat(instance.getAmount()).isEqualByComparingTo("300.00");
+        });
+        assertThat(template.getNextOccurrenceDate()).isEqualTo(LocalDate.of(2024, 7, 5));
+        verify(expenseRepository).findDueRecurringTemplates(eq(TODAY), eq(5L), any());
+        verifyNoInteractions(flatRepository, monthlyDueService);
+        assertThat(cacheManager.getCache("monthlyExpenseTotals").get("1-2024-04")).isNull();
+        assertThat(cacheManager.getCache("monthlyExpenseTotals").get("1-2024-03")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Materialize - Unscheduled templates start today without backfilling past periods")
+    void unscheduledTemplateIsNotBackfilled() {
+        Expense dueToday = template(5L, LocalDate.of(2023, 3, 10), null, null);
+        Expense dueLater = template(6L, LocalDate.of(2023, 3, 20), null, null);
+        givenDueTemplates(dueToday, dueLater);
+
+        int created = recurringExpenseService.materializeDueExpenses(TODAY);
+
+        assertThat(created).isEqualTo(1);
+        assertThat(savedInstances()).extracting(Expense::getExpenseDate).containsExactly(TODAY);
+        assertThat(dueToday.getNextOccurrenceDate()).isEqualTo(LocalDate.of(2024, 7, 10));
+        assertThat(dueLater.getNextOccurrenceDate()).isEqualTo(LocalDate.of(2024, 6, 20));
+    }
+
+    @Test
+    @DisplayName("Materialize - Catch-up is capped per run")
+    void catchUpIsCapped() {
+        ReflectionTestUtils.setField(recurringExpenseService, "maxPeriodsPerRun", 3);
+        Expense template = template(5L, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 2, 1), null);
+        givenDueTemplates(template);
+
+        int created = recurringExpenseService.materializeDueExpenses(TODAY);
+
+        assertThat(created).isEqualTo(3);
+        assertThat(template.getNextOccurrenceDate()).isEqualTo(LocalDate.of(2023, 5, 1));
+    }
+
+    @Test
+    @DisplayName("Materialize - Distributed templates create all flat shares of a building with one call")
+    void distributedTemplatesAreDistributedInBulk() {
+        Expense equal = template(5L, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 6, 1), Expense.DistributionMethod.EQUAL);
+        Expense byArea = template(6L, LocalDate.of(2024, 5, 3), LocalDate.of(2024, 6, 3), Expense.DistributionMethod.AREA);
+        givenDueTemplates(equal, byArea);
+        when(flatRepository.findByApartmentBuildingIdInAndIsActiveTrueOrderByApartmentBuildingIdAscIdAsc(anyCollection()))
+                .thenReturn(List.of(flat(1L, new BigDecimal("50")), flat(2L, new BigDecimal("100"))));
+
+        int created = recurringExpenseService.materializeDueExpenses(TODAY);
+
+        assertThat(created).isEqualTo(2);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MonthlyDue>> dues = ArgumentCaptor.forClass(List.class);
+        verify(monthlyDueService).createMonthlyDues(eq(1L), dues.capture());
+        assertThat(dues.getValue()).extracting(MonthlyDue::getDueAmount)
+                .containsExactly(new BigDecimal("150.00"), new BigDecimal("150.00"),
+                        new BigDecimal("100.00"), new BigDecimal("200.00"));
+        assertThat(dues.getValue()).extracting(MonthlyDue::getDueDate)
+                .containsExactly(LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 1),
+                        LocalDate.of(2024, 7, 3), LocalDate.of(2024, 7, 3));
+    }
+
+    @Test
+    @DisplayName("Materialize - A template that cannot be distributed is skipped and stays due")
+    void undistributableTemplateIsSkipped() {
+        Expense byArea = template(5L, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 6, 1), Expense.DistributionMethod.AREA);
+        Expense plain = template(6L, LocalDate.of(2024, 5, 2), LocalDate.of(2024, 6, 2), null);
+        givenDueTemplates(byArea, plain);
+        when(flatRepository.findByApartmentBuildingIdInAndIsActiveTrueOrderByApartmentBuildingIdAscIdAsc(anyCollection()))
+                .thenReturn(List.of(flat(1L, new BigDecimal("50")), flat(2L, null)));
+
+        int created = recurringExpenseService.materializeDueExpenses(TODAY);
+
+        assertThat(created).isEqualTo(1);
+        assertThat(savedInstances()).extracting(Expense::getRecurringTemplateId).containsExactly(6L);
+        assertThat(byArea.getNextOccurrenceDate()).isEqualTo(LocalDate.of(2024, 6, 1));
+        verify(monthlyDueService, never()).createMonthlyDues(anyLong(), anyList());
+    }
+
+    @Test
+    @DisplayName("Materialize - Nothing due leaves the caches alone")
+    void nothingDue() {
+        cacheManager.getCache("buildingFinancials").put("avg-expense-1-6", BigDecimal.TEN);
+
+        assertThat(recurringExpenseService.materializeDueExpenses(TODAY)).isZero();
+
+        verify(expenseRepository, never()).saveAll(any());
+        assertThat(cacheManager.getCache("buildingFinancials").get("avg-expense-1-6")).isNotNull();
+    }
+}
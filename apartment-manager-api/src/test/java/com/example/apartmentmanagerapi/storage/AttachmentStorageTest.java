@@ -0,0 +1,130 @@
+package com.example.apartmentmanagerapi.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for AttachmentStorage
+ * Tests content addressing, deduplication, ranged transfers and age-checked deletion
+ */
+class AttachmentStorageTest {
+
+    private static final String HELLO_SHA256 = "185f8db32271fe25f561a6fc938b2e264306ec304eda518007d1764826381969";
+
+    @TempDir
+    Path tempDir;
+
+    private AttachmentStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new AttachmentStorage();
+        ReflectionTestUtils.setField(storage, "directory", tempDir.toString());
+    }
+
+    private AttachmentStorage.StoredContent store(String content) {
+        return storage.store(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private List<Path> storedFiles() throws IOException {
+        try (Stream<Path> stream = Files.walk(tempDir)) {
+            return stream.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Store - Content is stored under its SHA-256 digest")
+    void storesByDigest() throws IOException {
+        AttachmentStorage.StoredContent stored = store("Hello");
+
+        assertThat(stored.sha256()).isEqualTo(HELLO_SHA256);
+        assertThat(stored.size()).isEqualTo(5);
+        Path file = tempDir.resolve("18").resolve("5f").resolve(HELLO_SHA256);
+        assertThat(Files.readString(file)).isEqualTo("Hello");
+        assertThat(storedFiles()).containsExactly(file);
+    }
+
+    @Test
+    @DisplayName("Store - The same content is stored once and no temporary files remain")
+    void deduplicates() throws IOException {
+        store("Hello");
+        store("Hello");
+        store("World");
+
+        assertThat(storedFiles()).hasSize(2);
+        assertThat(storage.exists(HELLO_SHA256)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Transfer - Copies the requested byte range")
+    void transfersRange() {
+        String sha256 = store("0123456789").sha256();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long transferred = storage.transferTo(sha256, 3, 4, Channels.newChannel(out));
+
+        assertThat(transferred).isEqualTo(4);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("3456");
+    }
+
+    @Test
+    @DisplayName("Delete - Removes contents stored before the cutoff only")
+    void deletesOlderContent() throws IOException {
+        store("Hello");
+        Path file = tempDir.resolve("18").resolve("5f").resolve(HELLO_SHA256);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+
+        assertThat(storage.deleteIfStoredBefore(HELLO_SHA256, Instant.now().minus(Duration.ofDays(3)))).isFalse();
+        assertThat(storage.exists(HELLO_SHA256)).isTrue();
+        assertThat(storage.deleteIfStoredBefore(HELLO_SHA256, Instant.now().minus(Duration.ofDays(1)))).isTrue();
+        assertThat(storage.exists(HELLO_SHA256)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Delete - Storing the same content again protects it from a pending delete")
+    void storeRefreshesAge() throws IOException {
+        store("Hello");
+        Path file = tempDir.resolve("18").resolve("5f").resolve(HELLO_SHA256);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        Instant cutoff = Instant.now().minus(Duration.ofDays(1));
+        try (Stream<String> candidates = storage.findStoredBefore(cutoff)) {
+            assertThat(candidates).containsExactly(HELLO_SHA256);
+        }
+
+        store("Hello");
+
+        assertThat(storage.deleteIfStoredBefore(HELLO_SHA256, cutoff)).isFalse();
+        assertThat(storage.exists(HELLO_SHA256)).isTrue();
+        try (Stream<String> candidates = storage.findStoredBefore(cutoff)) {
+            assertThat(candidates).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Resolve - Anything but a hex digest is rejected")
+    void rejectsInvalidDigest() {
+        assertThatThrownBy(() -> storage.exists("../../etc/passwd"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> storage.exists(HELLO_SHA256.toUpperCase()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
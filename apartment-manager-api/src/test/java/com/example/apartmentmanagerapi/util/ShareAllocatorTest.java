@@ -0,0 +1,83 @@
+package com.example.apartmentmanagerapi.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ShareAllocator
+ * Tests cent reconciliation, remainder tie-breaks and weight validation
+ */
+class ShareAllocatorTest {
+
+    private static List<BigDecimal> weights(String... values) {
+        return Arrays.stream(values).map(BigDecimal::new).toList();
+    }
+
+    private static BigDecimal sum(List<BigDecimal> shares) {
+        return shares.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Test
+    @DisplayName("Allocate - Shares always add up to the amount to the cent")
+    void allocate_ReconcilesPennies() {
+        List<BigDecimal> shares = ShareAllocator.allocate(new BigDecimal("100.00"), weights("1", "1", "1", "1", "1", "1", "1"));
+
+        // 100 / 7 = 14.2857..; the four leftover cents go to the first four shares
+        assertThat(shares).containsExactly(
+                new BigDecimal("14.29"), new BigDecimal("14.29"), new BigDecimal("14.29"), new BigDecimal("14.29"),
+                new BigDecimal("14.28"), new BigDecimal("14.28"), new BigDecimal("14.28"));
+        assertThat(sum(shares)).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    @DisplayName("Allocate - Leftover cents go to the largest remainders")
+    void allocate_LargestRemainderWins() {
+        // Exact shares 0.1428.., 0.2857.., 0.5714..: the middle share has the largest rounded-off remainder
+        List<BigDecimal> shares = ShareAllocator.allocate(new BigDecimal("1.00"), weights("1", "2", "4"));
+
+        assertThat(shares).containsExactly(new BigDecimal("0.14"), new BigDecimal("0.29"), new BigDecimal("0.57"));
+        assertThat(sum(shares)).isEqualByComparingTo("1.00");
+    }
+
+    @Test
+    @DisplayName("Allocate - Equal remainders are broken in favour of earlier shares")
+    void allocate_TieBreakByPosition() {
+        List<BigDecimal> shares = ShareAllocator.allocate(new BigDecimal("0.05"), weights("2", "1", "2", "1"));
+
+        // Exact shares 0.0166.., 0.0083.., 0.0166.., 0.0083..: the weight-1 shares have the larger remainders
+        // and get a cent each, the last cent goes to the earlier of the two tied weight-2 shares
+        assertThat(shares).containsExactly(new BigDecimal("0.02"), new BigDecimal("0.01"), new BigDecimal("0.01"),
+                new BigDecimal("0.01"));
+    }
+
+    @Test
+    @DisplayName("Allocate - Zero weights get nothing and amounts are rounded to cents first")
+    void allocate_ZeroWeightAndRounding() {
+        List<BigDecimal> shares = ShareAllocator.allocate(new BigDecimal("10.005"), weights("0", "1", "1"));
+
+        assertThat(shares).containsExactly(new BigDecimal("0.00"), new BigDecimal("5.01"), new BigDecimal("5.00"));
+    }
+
+    @Test
+    @DisplayName("Allocate - All-zero weights, negative weights and negative amounts are rejected")
+    void allocate_InvalidInput_ThrowsException() {
+        assertThatThrownBy(() -> ShareAllocator.allocate(BigDecimal.TEN, weights("0", "0.00")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must be positive");
+        assertThatThrownBy(() -> ShareAllocator.allocate(BigDecimal.TEN, Collections.emptyList()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ShareAllocator.allocate(BigDecimal.TEN, weights("3", "-1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("zero or positive");
+        assertThatThrownBy(() -> ShareAllocator.allocate(new BigDecimal("-1"), weights("1")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}